@@ -0,0 +1,570 @@
+/*
+Árvore B+ (B+ Tree)
+O que é? A Árvore B+ é uma árvore de busca balanceada de alta ramificação (fanout): em vez de uma chave e dois filhos
+por nó, como na ArvoreBinaria, cada nó guarda até 'ordem' chaves em um array e tem até 'ordem + 1' filhos. Todos os
+valores ficam nas folhas, e as folhas são ligadas entre si (próxima/anterior) como uma ListaDuplamenteEncadeada, o que
+transforma uma consulta por intervalo em "descer até a primeira folha e depois andar para o lado". Os nós internos só
+guardam chaves separadoras que guiam a descida. Todas as folhas estão na mesma profundidade.
+
+Para que serve? É a estrutura clássica de índices de bancos de dados e sistemas de arquivos. Em memória, é ideal para
+consultas por intervalo ("todos os ids entre X e Y") e para grandes volumes de chaves, porque cada nó visitado traz
+dezenas de chaves vizinhas para a cache de uma vez, em vez de um ponteiro por nível.
+
+Vantagens:
+Altura muito pequena: com ordem 64, um milhão de chaves cabe em 4 níveis.
+Chaves em arrays primitivos contíguos: busca binária dentro do nó com ótimo uso de cache.
+Varredura de intervalos sequencial pelas folhas ligadas, com cursor reutilizável que não aloca memória.
+Carga em lote (bulk loading) de chaves ordenadas em O(n), sem divisões de nós.
+Inserção, busca e remoção em O(log n), com redistribuição ou fusão de nós na remoção.
+
+Desvantagens:
+Implementação bem mais complexa que uma árvore binária (divisões, empréstimos e fusões de nós).
+Inserir no meio de um nó desloca as chaves do array (O(ordem) por operação, compensado pela altura menor).
+Nós parcialmente cheios desperdiçam parte dos arrays (ocupação mínima de 50%).
+ */
+
+import java.util.Arrays;
+
+public class ArvoreBMais {
+
+    /**
+     * Nó genérico: um array de chaves ordenadas e quantas estão em uso.
+     * Os arrays têm uma posição a mais que a ordem para que a inserção possa transbordar antes da divisão.
+     */
+    private abstract static class No {
+        final int[] chaves;
+        int quantidade;
+
+        No(int ordem) {
+            this.chaves = new int[ordem + 1];
+        }
+    }
+
+    /**
+     * Folha: chaves com seus valores, ligada às folhas vizinhas.
+     */
+    private static final class Folha extends No {
+        final long[] valores;
+        Folha proxima;
+        Folha anterior;
+
+        Folha(int ordem) {
+            super(ordem);
+            this.valores = new long[ordem + 1];
+        }
+    }
+
+    /**
+     * Nó interno: filhos[i] contém as chaves em [chaves[i - 1], chaves[i]).
+     */
+    private static final class Interno extends No {
+        final No[] filhos;
+
+        Interno(int ordem) {
+            super(ordem);
+            this.filhos = new No[ordem + 2];
+        }
+    }
+
+    private final int ordem;   // Máximo de chaves por nó
+    private final int minimo;  // Mínimo de chaves por nó (exceto a raiz)
+    private No raiz;
+    private int tamanho;
+
+    // Resultado de uma divisão durante a inserção recursiva (evita alocar um objeto de retorno)
+    private int chaveQueSobe;
+    private No noQueSobe;
+    // Resultado da remoção recursiva
+    private boolean removeu;
+
+    public ArvoreBMais() {
+        this(64);
+    }
+
+    /**
+     * @param ordem Máximo de chaves por nó (pelo menos 3). Por exemplo, 16 chaves = 64 bytes (uma linha de cache)
+     *              ou 1024 chaves = 4 KB (uma página).
+     */
+    public ArvoreBMais(int ordem) {
+        if (ordem < 3) {
+            throw new IllegalArgumentException("A ordem deve ser pelo menos 3.");
+        }
+        this.ordem = ordem;
+        this.minimo = ordem / 2;
+        this.raiz = new Folha(ordem);
+        this.tamanho = 0;
+    }
+
+    /**
+     * Constrói uma árvore de uma vez a partir de chaves em ordem estritamente crescente, em O(n).
+     * As folhas são preenchidas da esquerda para a direita e cada nível interno é montado sobre o anterior,
+     * sem nenhuma divisão de nó. As chaves são distribuídas igualmente para que todo nó respeite o mínimo.
+     * @param valores Valores das chaves (mesmo tamanho), ou null para usar 0.
+     * @throws IllegalArgumentException se as chaves não estiverem em ordem estritamente crescente.
+     */
+    public static ArvoreBMais carregarOrdenado(int ordem, int[] chaves, long[] valores) {
+        for (int i = 1; i < chaves.length; i++) {
+            if (chaves[i - 1] >= chaves[i]) {
+                throw new IllegalArgumentException("As chaves precisam estar em ordem estritamente crescente.");
+            }
+        }
+        ArvoreBMais arvore = new ArvoreBMais(ordem);
+        int n = chaves.length;
+        if (n == 0) {
+            return arvore;
+        }
+        // 1. Folhas
+        int numeroDeFolhas = (n + ordem - 1) / ordem;
+        No[] nivel = new No[numeroDeFolhas];
+        int[] menores = new int[numeroDeFolhas]; // Menor chave de cada subárvore (vira separadora no nível de cima)
+        Folha anterior = null;
+        int inicio = 0;
+        for (int f = 0; f < numeroDeFolhas; f++) {
+            int fim = (int) ((long) n * (f + 1) / numeroDeFolhas); // Distribuição igual entre as folhas
+            Folha folha = new Folha(ordem);
+            folha.quantidade = fim - inicio;
+            System.arraycopy(chaves, inicio, folha.chaves, 0, folha.quantidade);
+            if (valores != null) {
+                System.arraycopy(valores, inicio, folha.valores, 0, folha.quantidade);
+            }
+            folha.anterior = anterior;
+            if (anterior != null) {
+                anterior.proxima = folha;
+            }
+            anterior = folha;
+            nivel[f] = folha;
+            menores[f] = chaves[inicio];
+            inicio = fim;
+        }
+        // 2. Níveis internos, até sobrar um único nó (a raiz)
+        while (nivel.length > 1) {
+            int numeroDeNos = (nivel.length + ordem) / (ordem + 1); // Até ordem + 1 filhos por nó
+            No[] acima = new No[numeroDeNos];
+            int[] menoresAcima = new int[numeroDeNos];
+            inicio = 0;
+            for (int k = 0; k < numeroDeNos; k++) {
+                int fim = (int) ((long) nivel.length * (k + 1) / numeroDeNos);
+                Interno interno = new Interno(ordem);
+                interno.quantidade = fim - inicio - 1;
+                for (int i = inicio; i < fim; i++) {
+                    interno.filhos[i - inicio] = nivel[i];
+                    if (i > inicio) {
+                        interno.chaves[i - inicio - 1] = menores[i];
+                    }
+                }
+                acima[k] = interno;
+                menoresAcima[k] = menores[inicio];
+                inicio = fim;
+            }
+            nivel = acima;
+            menores = menoresAcima;
+        }
+        arvore.raiz = nivel[0];
+        arvore.tamanho = n;
+        return arvore;
+    }
+
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Índice da primeira chave >= chave dentro do nó (busca binária).
+     */
+    private static int primeiraMaiorOuIgual(No no, int chave) {
+        int baixo = 0;
+        int alto = no.quantidade;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (no.chaves[meio] < chave) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Índice do filho de um nó interno que pode conter a chave: quantas separadoras são <= chave.
+     */
+    private static int indiceDoFilho(Interno no, int chave) {
+        int baixo = 0;
+        int alto = no.quantidade;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (no.chaves[meio] <= chave) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private Folha folhaDe(int chave) {
+        No no = raiz;
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            no = interno.filhos[indiceDoFilho(interno, chave)];
+        }
+        return (Folha) no;
+    }
+
+    public boolean contem(int chave) {
+        Folha folha = folhaDe(chave);
+        int i = primeiraMaiorOuIgual(folha, chave);
+        return i < folha.quantidade && folha.chaves[i] == chave;
+    }
+
+    /**
+     * Retorna o valor da chave, ou 'valorPadrao' se ela não existir.
+     */
+    public long obter(int chave, long valorPadrao) {
+        Folha folha = folhaDe(chave);
+        int i = primeiraMaiorOuIgual(folha, chave);
+        return (i < folha.quantidade && folha.chaves[i] == chave) ? folha.valores[i] : valorPadrao;
+    }
+
+    /**
+     * Insere a chave com o valor, ou atualiza o valor se a chave já existir.
+     */
+    public void colocar(int chave, long valor) {
+        noQueSobe = null;
+        inserir(raiz, chave, valor);
+        if (noQueSobe != null) {
+            // A raiz se dividiu: cria uma nova raiz com as duas metades (a árvore cresce pelo topo)
+            Interno novaRaiz = new Interno(ordem);
+            novaRaiz.filhos[0] = raiz;
+            novaRaiz.filhos[1] = noQueSobe;
+            novaRaiz.chaves[0] = chaveQueSobe;
+            novaRaiz.quantidade = 1;
+            raiz = novaRaiz;
+            noQueSobe = null;
+        }
+    }
+
+    private void inserir(No no, int chave, long valor) {
+        if (no instanceof Folha) {
+            Folha folha = (Folha) no;
+            int i = primeiraMaiorOuIgual(folha, chave);
+            if (i < folha.quantidade && folha.chaves[i] == chave) {
+                folha.valores[i] = valor;
+                return;
+            }
+            int mover = folha.quantidade - i;
+            System.arraycopy(folha.chaves, i, folha.chaves, i + 1, mover);
+            System.arraycopy(folha.valores, i, folha.valores, i + 1, mover);
+            folha.chaves[i] = chave;
+            folha.valores[i] = valor;
+            folha.quantidade++;
+            tamanho++;
+            if (folha.quantidade > ordem) {
+                dividirFolha(folha);
+            }
+            return;
+        }
+        Interno interno = (Interno) no;
+        int i = indiceDoFilho(interno, chave);
+        inserir(interno.filhos[i], chave, valor);
+        if (noQueSobe == null) {
+            return;
+        }
+        // O filho se dividiu: a separadora e o novo irmão entram neste nó, logo depois do filho i
+        int mover = interno.quantidade - i;
+        System.arraycopy(interno.chaves, i, interno.chaves, i + 1, mover);
+        System.arraycopy(interno.filhos, i + 1, interno.filhos, i + 2, mover);
+        interno.chaves[i] = chaveQueSobe;
+        interno.filhos[i + 1] = noQueSobe;
+        interno.quantidade++;
+        noQueSobe = null;
+        if (interno.quantidade > ordem) {
+            dividirInterno(interno);
+        }
+    }
+
+    // Divide uma folha cheia ao meio. A primeira chave da nova folha é copiada para o pai.
+    private void dividirFolha(Folha folha) {
+        Folha nova = new Folha(ordem);
+        int ficam = folha.quantidade / 2;
+        nova.quantidade = folha.quantidade - ficam;
+        System.arraycopy(folha.chaves, ficam, nova.chaves, 0, nova.quantidade);
+        System.arraycopy(folha.valores, ficam, nova.valores, 0, nova.quantidade);
+        folha.quantidade = ficam;
+        nova.proxima = folha.proxima;
+        if (nova.proxima != null) {
+            nova.proxima.anterior = nova;
+        }
+        nova.anterior = folha;
+        folha.proxima = nova;
+        chaveQueSobe = nova.chaves[0];
+        noQueSobe = nova;
+    }
+
+    // Divide um nó interno cheio. A chave do meio sobe para o pai (não fica em nenhuma das metades).
+    private void dividirInterno(Interno no) {
+        Interno novo = new Interno(ordem);
+        int meio = no.quantidade / 2;
+        novo.quantidade = no.quantidade - meio - 1;
+        System.arraycopy(no.chaves, meio + 1, novo.chaves, 0, novo.quantidade);
+        System.arraycopy(no.filhos, meio + 1, novo.filhos, 0, novo.quantidade + 1);
+        Arrays.fill(no.filhos, meio + 1, no.quantidade + 1, null); // Solta as referências movidas
+        chaveQueSobe = no.chaves[meio];
+        no.quantidade = meio;
+        noQueSobe = novo;
+    }
+
+    /**
+     * Remove a chave. Se algum nó ficar abaixo do mínimo, pega uma chave emprestada de um irmão ou se funde a ele.
+     * @return true se a chave existia.
+     */
+    public boolean remover(int chave) {
+        removeu = false;
+        remover(raiz, chave);
+        if (raiz instanceof Interno && raiz.quantidade == 0) {
+            raiz = ((Interno) raiz).filhos[0]; // A raiz ficou com um único filho: a árvore encolhe pelo topo
+        }
+        return removeu;
+    }
+
+    private void remover(No no, int chave) {
+        if (no instanceof Folha) {
+            Folha folha = (Folha) no;
+            int i = primeiraMaiorOuIgual(folha, chave);
+            if (i < folha.quantidade && folha.chaves[i] == chave) {
+                int mover = folha.quantidade - i - 1;
+                System.arraycopy(folha.chaves, i + 1, folha.chaves, i, mover);
+                System.arraycopy(folha.valores, i + 1, folha.valores, i, mover);
+                folha.quantidade--;
+                tamanho--;
+                removeu = true;
+            }
+            return;
+        }
+        Interno pai = (Interno) no;
+        int i = indiceDoFilho(pai, chave);
+        No filho = pai.filhos[i];
+        remover(filho, chave);
+        if (removeu && filho.quantidade < minimo) {
+            corrigirFilho(pai, i);
+        }
+    }
+
+    /**
+     * O filho i de 'pai' ficou com menos chaves que o mínimo: empresta de um irmão com sobra ou funde com um irmão.
+     */
+    private void corrigirFilho(Interno pai, int i) {
+        No filho = pai.filhos[i];
+        No esquerdo = i > 0 ? pai.filhos[i - 1] : null;
+        No direito = i < pai.quantidade ? pai.filhos[i + 1] : null;
+        if (esquerdo != null && esquerdo.quantidade > minimo) {
+            emprestarDaEsquerda(pai, i, esquerdo, filho);
+        } else if (direito != null && direito.quantidade > minimo) {
+            emprestarDaDireita(pai, i, filho, direito);
+        } else if (esquerdo != null) {
+            fundir(pai, i - 1, esquerdo, filho);
+        } else {
+            fundir(pai, i, filho, direito);
+        }
+    }
+
+    private void emprestarDaEsquerda(Interno pai, int i, No esquerdo, No filho) {
+        System.arraycopy(filho.chaves, 0, filho.chaves, 1, filho.quantidade);
+        if (filho instanceof Folha) {
+            Folha f = (Folha) filho;
+            Folha e = (Folha) esquerdo;
+            System.arraycopy(f.valores, 0, f.valores, 1, f.quantidade);
+            f.chaves[0] = e.chaves[e.quantidade - 1];
+            f.valores[0] = e.valores[e.quantidade - 1];
+            pai.chaves[i - 1] = f.chaves[0]; // A nova menor chave do filho vira a separadora
+        } else {
+            Interno f = (Interno) filho;
+            Interno e = (Interno) esquerdo;
+            System.arraycopy(f.filhos, 0, f.filhos, 1, f.quantidade + 1);
+            // Rotação: a separadora desce para o filho e a última chave do irmão sobe para o pai
+            f.chaves[0] = pai.chaves[i - 1];
+            f.filhos[0] = e.filhos[e.quantidade];
+            e.filhos[e.quantidade] = null;
+            pai.chaves[i - 1] = e.chaves[e.quantidade - 1];
+        }
+        filho.quantidade++;
+        esquerdo.quantidade--;
+    }
+
+    private void emprestarDaDireita(Interno pai, int i, No filho, No direito) {
+        if (filho instanceof Folha) {
+            Folha f = (Folha) filho;
+            Folha d = (Folha) direito;
+            f.chaves[f.quantidade] = d.chaves[0];
+            f.valores[f.quantidade] = d.valores[0];
+            System.arraycopy(d.chaves, 1, d.chaves, 0, d.quantidade - 1);
+            System.arraycopy(d.valores, 1, d.valores, 0, d.quantidade - 1);
+            pai.chaves[i] = d.chaves[0];
+        } else {
+            Interno f = (Interno) filho;
+            Interno d = (Interno) direito;
+            f.chaves[f.quantidade] = pai.chaves[i];
+            f.filhos[f.quantidade + 1] = d.filhos[0];
+            pai.chaves[i] = d.chaves[0];
+            System.arraycopy(d.chaves, 1, d.chaves, 0, d.quantidade - 1);
+            System.arraycopy(d.filhos, 1, d.filhos, 0, d.quantidade);
+            d.filhos[d.quantidade] = null;
+        }
+        filho.quantidade++;
+        direito.quantidade--;
+    }
+
+    /**
+     * Funde 'direito' (filho k + 1 do pai) em 'esquerdo' (filho k) e remove a separadora k do pai.
+     */
+    private void fundir(Interno pai, int k, No esquerdo, No direito) {
+        if (esquerdo instanceof Folha) {
+            Folha e = (Folha) esquerdo;
+            Folha d = (Folha) direito;
+            System.arraycopy(d.chaves, 0, e.chaves, e.quantidade, d.quantidade);
+            System.arraycopy(d.valores, 0, e.valores, e.quantidade, d.quantidade);
+            e.quantidade += d.quantidade;
+            e.proxima = d.proxima;
+            if (d.proxima != null) {
+                d.proxima.anterior = e;
+            }
+        } else {
+            Interno e = (Interno) esquerdo;
+            Interno d = (Interno) direito;
+            // Em nós internos a separadora desce e fica entre as chaves das duas metades
+            e.chaves[e.quantidade] = pai.chaves[k];
+            System.arraycopy(d.chaves, 0, e.chaves, e.quantidade + 1, d.quantidade);
+            System.arraycopy(d.filhos, 0, e.filhos, e.quantidade + 1, d.quantidade + 1);
+            e.quantidade += d.quantidade + 1;
+        }
+        int mover = pai.quantidade - k - 1;
+        System.arraycopy(pai.chaves, k + 1, pai.chaves, k, mover);
+        System.arraycopy(pai.filhos, k + 2, pai.filhos, k + 1, mover);
+        pai.filhos[pai.quantidade] = null;
+        pai.quantidade--;
+    }
+
+    /**
+     * Cria um cursor para varrer intervalos. O mesmo cursor pode ser reposicionado quantas vezes for preciso,
+     * então uma consulta por intervalo não aloca nada.
+     */
+    public Cursor novoCursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Cursor de varredura por intervalo [inicio, fim] que anda pelas folhas ligadas.
+     * Uso: cursor.posicionar(a, b); while (cursor.avancar()) { cursor.chave(); cursor.valor(); }
+     * A árvore não deve ser modificada durante a varredura.
+     */
+    public final class Cursor {
+        private Folha folha;
+        private int posicao;
+        private int fim;
+        private int chaveAtual;
+        private long valorAtual;
+
+        private Cursor() {
+        }
+
+        /**
+         * Posiciona o cursor antes da primeira chave >= inicio; a varredura para depois da última chave <= fim.
+         */
+        public void posicionar(int inicio, int fim) {
+            this.folha = folhaDe(inicio);
+            this.posicao = primeiraMaiorOuIgual(folha, inicio);
+            this.fim = fim;
+        }
+
+        /**
+         * Avança para a próxima chave do intervalo.
+         * @return false quando o intervalo terminou.
+         */
+        public boolean avancar() {
+            while (folha != null && posicao >= folha.quantidade) {
+                folha = folha.proxima; // Fim desta folha: segue para a vizinha
+                posicao = 0;
+            }
+            if (folha == null || folha.chaves[posicao] > fim) {
+                folha = null;
+                return false;
+            }
+            chaveAtual = folha.chaves[posicao];
+            valorAtual = folha.valores[posicao];
+            posicao++;
+            return true;
+        }
+
+        public int chave() {
+            return chaveAtual;
+        }
+
+        public long valor() {
+            return valorAtual;
+        }
+    }
+
+    /**
+     * Altura da árvore (uma árvore com só a raiz folha tem altura 1).
+     */
+    public int getAltura() {
+        int altura = 1;
+        for (No no = raiz; no instanceof Interno; no = ((Interno) no).filhos[0]) {
+            altura++;
+        }
+        return altura;
+    }
+
+    public static void main(String[] args) {
+        ArvoreBMais arvore = new ArvoreBMais(4); // Ordem pequena para a estrutura aparecer com poucas chaves
+        for (int chave : new int[]{50, 20, 80, 10, 30, 60, 90, 40, 70, 25, 35, 45}) {
+            arvore.colocar(chave, chave * 100L);
+        }
+        System.out.println("Tamanho: " + arvore.getTamanho() + ", altura: " + arvore.getAltura()); // Esperado: 12, 2
+        System.out.println("Valor de 35: " + arvore.obter(35, -1)); // Esperado: 3500
+        System.out.println("Contém 55? " + arvore.contem(55));      // Esperado: false
+
+        Cursor cursor = arvore.novoCursor();
+        cursor.posicionar(25, 60);
+        System.out.print("Chaves entre 25 e 60: ");
+        while (cursor.avancar()) {
+            System.out.print(cursor.chave() + " ");
+        }
+        System.out.println(); // Esperado: 25 30 35 40 45 50 60
+
+        for (int chave : new int[]{30, 35, 40, 45, 50}) {
+            arvore.remover(chave);
+        }
+        cursor.posicionar(Integer.MIN_VALUE, Integer.MAX_VALUE); // O mesmo cursor, reaproveitado
+        System.out.print("Depois das remoções: ");
+        while (cursor.avancar()) {
+            System.out.print(cursor.chave() + " ");
+        }
+        System.out.println(); // Esperado: 10 20 25 60 70 80 90
+
+        System.out.println("\n--- Carga em lote de 10.000.000 chaves (ordem 128) ---");
+        int n = 10_000_000;
+        int[] chaves = new int[n];
+        for (int i = 0; i < n; i++) {
+            chaves[i] = i * 3;
+        }
+        long inicio = System.nanoTime();
+        ArvoreBMais grande = carregarOrdenado(128, chaves, null);
+        System.out.printf("Construída em %d ms, altura %d%n", (System.nanoTime() - inicio) / 1_000_000, grande.getAltura());
+        Cursor intervalo = grande.novoCursor();
+        inicio = System.nanoTime();
+        long soma = 0;
+        for (int consulta = 0; consulta < 10_000; consulta++) {
+            int a = Math.floorMod(consulta * 2_654_435, n * 3 - 3_000);
+            intervalo.posicionar(a, a + 3_000); // Cerca de 1000 chaves por intervalo
+            while (intervalo.avancar()) {
+                soma += intervalo.chave();
+            }
+        }
+        System.out.printf("10.000 varreduras de intervalo em %d ms (soma %d)%n", (System.nanoTime() - inicio) / 1_000_000, soma);
+    }
+}
@@ -0,0 +1,963 @@
+/*
+Árvore B+ Persistente (Disk-backed / Memory-mapped B+ Tree)
+O que é? É a ArvoreBMais guardada em um arquivo, dividido em páginas de 4 KB. Cada nó ocupa exatamente uma página e os
+filhos de um nó interno são NÚMEROS DE PÁGINA, não referências Java. O arquivo é acessado por mapeamento em memória
+(MappedByteBuffer): o sistema operacional traz as páginas do disco conforme são lidas. Os nós mais usados ficam
+decodificados em um cache de páginas de tamanho fixo, com remoção pelo algoritmo do relógio (clock).
+As alterações usam cópia na escrita (copy-on-write): uma página confirmada nunca é sobrescrita. Alterar um nó grava
+uma cópia em outra página, e o caminho até a raiz também é copiado. A confirmação (confirmar) grava as páginas novas,
+força a ida delas para o disco e só então grava o "meta". O meta é uma das duas primeiras páginas e diz qual é a raiz.
+Os dois metas se alternam e têm número de transação e checksum; na abertura vale o meta válido mais recente.
+
+Para que serve? Para índices que precisam sobreviver a reinícios e podem ser maiores que a memória da JVM. Abrir o
+arquivo é só mapeá-lo e ler o meta, sem reconstruir nada, e uma busca toca poucas páginas (a altura da árvore).
+
+Vantagens:
+Abertura instantânea: nada é lido além do meta até a primeira consulta.
+Segura contra quedas: se o processo ou a máquina cair no meio de uma escrita, o meta antigo continua apontando para
+uma árvore íntegra, e o meta novo meio gravado é rejeitado pelo checksum.
+O índice pode ser maior que o heap: só o cache de páginas fica em objetos Java.
+Busca em O(log n) páginas; com 340 chaves por folha, 100 milhões de chaves cabem em 4 níveis.
+
+Desvantagens:
+Cada transação copia o caminho da raiz até cada folha alterada; agrupar muitas alterações por confirmar() amortiza esse
+custo.
+Por causa da cópia na escrita as folhas não são ligadas entre si (mudar uma folha obrigaria a copiar a vizinha); o
+cursor guarda o caminho desde a raiz para passar de uma folha para a próxima.
+Um único escritor por vez e nenhuma leitura concorrente com escrita (a classe não é thread-safe).
+As páginas livres não são gravadas no arquivo: elas são recalculadas percorrendo os nós internos na primeira escrita
+depois da abertura.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+public class ArvoreBMaisPersistente implements AutoCloseable {
+
+    private static final int TAMANHO_PAGINA = 4096;
+    private static final int PAGINAS_POR_REGIAO = 4096; // Cada mapeamento cobre 16 MB do arquivo
+    private static final int MAGICO = 0x42504C55;
+    private static final int TIPO_FOLHA = 1;
+    private static final int TIPO_INTERNO = 2;
+
+    // Página de nó: tipo (4 bytes), quantidade (4), transação que a criou (8), depois os arrays
+    private static final int CABECALHO = 16;
+    private static final int ORDEM_FOLHA = (TAMANHO_PAGINA - CABECALHO) / 12;       // 340 pares chave (4) + valor (8)
+    private static final int ORDEM_INTERNO = (TAMANHO_PAGINA - CABECALHO - 4) / 8;  // 509 chaves e 510 filhos
+    private static final int INICIO_VALORES = CABECALHO + ORDEM_FOLHA * 4;
+    private static final int INICIO_FILHOS = CABECALHO + ORDEM_INTERNO * 4;
+    private static final int TAMANHO_META = 40; // Bytes do meta cobertos pelo checksum
+
+    /**
+     * Nó decodificado de uma página. Os arrays têm uma posição a mais para a inserção transbordar antes da divisão.
+     */
+    private abstract static class No {
+        int pagina;
+        long transacao;      // Transação que criou esta página; só a transação atual pode alterá-la no lugar
+        int quantidade;
+        final int[] chaves;
+        boolean sujo;        // Alterado e ainda não gravado no arquivo
+        boolean referenciado; // Bit de uso do algoritmo do relógio
+        int quadro;          // Posição no relógio do cache
+
+        No(int ordem) {
+            this.chaves = new int[ordem + 1];
+        }
+    }
+
+    private static final class Folha extends No {
+        final long[] valores = new long[ORDEM_FOLHA + 1];
+
+        Folha() {
+            super(ORDEM_FOLHA);
+        }
+    }
+
+    private static final class Interno extends No {
+        final int[] filhos = new int[ORDEM_INTERNO + 2]; // Números de página
+
+        Interno() {
+            super(ORDEM_INTERNO);
+        }
+    }
+
+    /**
+     * Pilha de ints que cresce conforme a necessidade (listas de páginas e de quadros livres).
+     */
+    private static final class ListaDeInts {
+        private int[] itens = new int[16];
+        private int tamanho;
+
+        void adicionar(int x) {
+            if (tamanho == itens.length) {
+                itens = Arrays.copyOf(itens, tamanho * 2);
+            }
+            itens[tamanho++] = x;
+        }
+
+        int removerUltimo() {
+            return itens[--tamanho];
+        }
+
+        boolean estaVazia() {
+            return tamanho == 0;
+        }
+
+        void limpar() {
+            tamanho = 0;
+        }
+    }
+
+    private final FileChannel canal;
+    private MappedByteBuffer[] regioes = new MappedByteBuffer[0];
+    private boolean[] regiaoSuja = new boolean[0];
+
+    // Cache de páginas: mapa página -> nó e o "relógio" (array circular de quadros percorrido pelo ponteiro)
+    private final int capacidadeDoCache;
+    private final HashMap<Integer, No> cache = new HashMap<>();
+    private No[] relogio = new No[64];
+    private int quadrosCriados;
+    private int ponteiro;
+    private final ListaDeInts quadrosLivres = new ListaDeInts();
+
+    // Estado da árvore (o da última confirmação mais as alterações da transação em andamento)
+    private int raiz;
+    private int altura;
+    private int numeroDePaginas;
+    private long tamanho;
+    private long transacaoConfirmada;
+    private long transacaoAtual;
+    private boolean emTransacao;
+
+    private final ListaDeInts paginasLivres = new ListaDeInts();        // Podem ser reutilizadas já
+    private final ListaDeInts liberadasNaTransacao = new ListaDeInts(); // Só depois de confirmar
+    private boolean livresCalculadas;
+
+    // Resultados das operações recursivas (evita alocar objetos de retorno)
+    private int chaveQueSobe;
+    private int paginaQueSobe;
+
+    private ArvoreBMaisPersistente(FileChannel canal, int capacidadeDoCache) throws IOException {
+        this.canal = canal;
+        this.capacidadeDoCache = capacidadeDoCache;
+        if (canal.size() == 0) {
+            inicializar();
+        } else if (!carregarMeta()) {
+            throw new IOException("O arquivo não contém uma árvore B+ válida.");
+        }
+    }
+
+    /**
+     * Abre (ou cria) o índice no arquivo. Só o meta é lido; as páginas são carregadas sob demanda.
+     * @param capacidadeDoCache Quantas páginas decodificadas manter em memória (pelo menos 16).
+     */
+    public static ArvoreBMaisPersistente abrir(Path arquivo, int capacidadeDoCache) throws IOException {
+        if (capacidadeDoCache < 16) {
+            throw new IllegalArgumentException("O cache precisa de pelo menos 16 páginas.");
+        }
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE);
+        try {
+            return new ArvoreBMaisPersistente(canal, capacidadeDoCache);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    public static ArvoreBMaisPersistente abrir(Path arquivo) throws IOException {
+        return abrir(arquivo, 4096);
+    }
+
+    // Arquivo novo: páginas 0 e 1 são os metas e a página 2 é a raiz, uma folha vazia
+    private void inicializar() {
+        transacaoAtual = 1;
+        Folha folha = new Folha();
+        folha.pagina = 2;
+        folha.transacao = transacaoAtual;
+        gravar(folha);
+        raiz = 2;
+        altura = 1;
+        numeroDePaginas = 3;
+        tamanho = 0;
+        forcarParaODisco();
+        gravarMeta();
+        forcarParaODisco();
+        transacaoConfirmada = transacaoAtual;
+        transacaoAtual++;
+        livresCalculadas = true;
+    }
+
+    private MappedByteBuffer regiao(int pagina) {
+        int r = pagina / PAGINAS_POR_REGIAO;
+        if (r >= regioes.length) {
+            regioes = Arrays.copyOf(regioes, r + 1);
+            regiaoSuja = Arrays.copyOf(regiaoSuja, r + 1);
+        }
+        if (regioes[r] == null) {
+            try {
+                // Mapear além do fim do arquivo em modo READ_WRITE aumenta o arquivo
+                long inicio = (long) r * PAGINAS_POR_REGIAO * TAMANHO_PAGINA;
+                MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, inicio,
+                        (long) PAGINAS_POR_REGIAO * TAMANHO_PAGINA);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                regioes[r] = buffer;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return regioes[r];
+    }
+
+    private static int deslocamento(int pagina) {
+        return (pagina % PAGINAS_POR_REGIAO) * TAMANHO_PAGINA;
+    }
+
+    private void forcarParaODisco() {
+        for (int r = 0; r < regioes.length; r++) {
+            if (regiaoSuja[r]) {
+                regioes[r].force();
+                regiaoSuja[r] = false;
+            }
+        }
+    }
+
+
+    private void gravarMeta() {
+        MappedByteBuffer b = regiao(0);
+        int base = (int) (transacaoAtual % 2) * TAMANHO_PAGINA; // Alterna entre as páginas 0 e 1
+        b.putInt(base, MAGICO);
+        b.putInt(base + 4, TAMANHO_PAGINA);
+        b.putLong(base + 8, transacaoAtual);
+        b.putInt(base + 16, raiz);
+        b.putInt(base + 20, altura);
+        b.putInt(base + 24, numeroDePaginas);
+        b.putInt(base + 28, 0);
+        b.putLong(base + 32, tamanho);
+        b.putLong(base + TAMANHO_META, checksum(b, base));
+        regiaoSuja[0] = true;
+    }
+
+    private static long checksum(MappedByteBuffer b, int base) {
+        byte[] bytes = new byte[TAMANHO_META];
+        b.get(base, bytes);
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * Carrega o meta válido de maior número de transação.
+     * @return false se nenhum dos dois for válido.
+     */
+    private boolean carregarMeta() {
+        MappedByteBuffer b = regiao(0);
+        int melhor = -1;
+        long melhorTransacao = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            int base = slot * TAMANHO_PAGINA;
+            if (b.getInt(base) == MAGICO && b.getInt(base + 4) == TAMANHO_PAGINA
+                    && b.getLong(base + TAMANHO_META) == checksum(b, base) && b.getLong(base + 8) > melhorTransacao) {
+                melhor = base;
+                melhorTransacao = b.getLong(base + 8);
+            }
+        }
+        if (melhor < 0) {
+            return false;
+        }
+        transacaoConfirmada = melhorTransacao;
+        transacaoAtual = melhorTransacao + 1;
+        raiz = b.getInt(melhor + 16);
+        altura = b.getInt(melhor + 20);
+        numeroDePaginas = b.getInt(melhor + 24);
+        tamanho = b.getLong(melhor + 32);
+        return true;
+    }
+
+
+    private No decodificar(int pagina) {
+        MappedByteBuffer b = regiao(pagina);
+        int base = deslocamento(pagina);
+        int tipo = b.getInt(base);
+        int q = b.getInt(base + 4);
+        No no;
+        if (tipo == TIPO_FOLHA) {
+            Folha folha = new Folha();
+            for (int i = 0; i < q; i++) {
+                folha.chaves[i] = b.getInt(base + CABECALHO + 4 * i);
+                folha.valores[i] = b.getLong(base + INICIO_VALORES + 8 * i);
+            }
+            no = folha;
+        } else if (tipo == TIPO_INTERNO) {
+            Interno interno = new Interno();
+            for (int i = 0; i < q; i++) {
+                interno.chaves[i] = b.getInt(base + CABECALHO + 4 * i);
+            }
+            for (int i = 0; i <= q; i++) {
+                interno.filhos[i] = b.getInt(base + INICIO_FILHOS + 4 * i);
+            }
+            no = interno;
+        } else {
+            throw new IllegalStateException("A página " + pagina + " não contém um nó válido.");
+        }
+        no.pagina = pagina;
+        no.quantidade = q;
+        no.transacao = b.getLong(base + 8);
+        return no;
+    }
+
+    private void gravar(No no) {
+        MappedByteBuffer b = regiao(no.pagina);
+        int base = deslocamento(no.pagina);
+        b.putInt(base + 4, no.quantidade);
+        b.putLong(base + 8, no.transacao);
+        for (int i = 0; i < no.quantidade; i++) {
+            b.putInt(base + CABECALHO + 4 * i, no.chaves[i]);
+        }
+        if (no instanceof Folha) {
+            b.putInt(base, TIPO_FOLHA);
+            long[] valores = ((Folha) no).valores;
+            for (int i = 0; i < no.quantidade; i++) {
+                b.putLong(base + INICIO_VALORES + 8 * i, valores[i]);
+            }
+        } else {
+            b.putInt(base, TIPO_INTERNO);
+            int[] filhos = ((Interno) no).filhos;
+            for (int i = 0; i <= no.quantidade; i++) {
+                b.putInt(base + INICIO_FILHOS + 4 * i, filhos[i]);
+            }
+        }
+        regiaoSuja[no.pagina / PAGINAS_POR_REGIAO] = true;
+        no.sujo = false;
+    }
+
+    private No ler(int pagina) {
+        No no = cache.get(pagina);
+        if (no == null) {
+            no = decodificar(pagina);
+            guardarNoCache(no);
+        }
+        no.referenciado = true;
+        return no;
+    }
+
+    private void guardarNoCache(No no) {
+        int quadro;
+        if (!quadrosLivres.estaVazia()) {
+            quadro = quadrosLivres.removerUltimo();
+        } else {
+            if (quadrosCriados == relogio.length) {
+                relogio = Arrays.copyOf(relogio, quadrosCriados * 2);
+            }
+            quadro = quadrosCriados++;
+        }
+        relogio[quadro] = no;
+        no.quadro = quadro;
+        cache.put(no.pagina, no);
+    }
+
+    private void tirarDoCache(No no) {
+        cache.remove(no.pagina);
+        relogio[no.quadro] = null;
+        quadrosLivres.adicionar(no.quadro);
+    }
+
+    /**
+     * Algoritmo do relógio: o ponteiro percorre os quadros em círculo; um nó referenciado ganha uma segunda chance
+     * (o bit é zerado) e um nó não referenciado sai do cache.
+     * Só é chamado entre operações, então nenhum nó em uso por uma operação em andamento é removido.
+     */
+    private void ajustarCache() {
+        while (cache.size() > capacidadeDoCache) {
+            No no = relogio[ponteiro];
+            ponteiro = (ponteiro + 1) % quadrosCriados;
+            if (no == null) {
+                continue;
+            }
+            if (no.referenciado) {
+                no.referenciado = false;
+                continue;
+            }
+            if (no.sujo) {
+                // Página criada nesta transação: nenhum meta confirmado aponta para ela, então já pode ir para o arquivo
+                gravar(no);
+            }
+            tirarDoCache(no);
+        }
+    }
+
+    /**
+     * Aloca uma página para um nó novo, reaproveitando uma página livre se houver.
+     */
+    private No novoNo(boolean folha) {
+        int pagina = paginasLivres.estaVazia() ? numeroDePaginas++ : paginasLivres.removerUltimo();
+        No no = folha ? new Folha() : new Interno();
+        no.pagina = pagina;
+        no.transacao = transacaoAtual;
+        no.sujo = true;
+        no.referenciado = true;
+        guardarNoCache(no);
+        return no;
+    }
+
+    private void liberar(No no) {
+        tirarDoCache(no);
+        if (no.transacao == transacaoAtual) {
+            paginasLivres.adicionar(no.pagina); // Criada nesta transação: nenhuma versão confirmada a usa
+        } else {
+            liberadasNaTransacao.adicionar(no.pagina); // Ainda faz parte da versão confirmada até a próxima confirmação
+        }
+    }
+
+    /**
+     * Cópia na escrita: devolve uma versão alterável do nó. Se o nó pertence a uma versão já confirmada, ele é
+     * copiado para uma página nova e a página antiga fica intocada; quem chama deve atualizar a referência do pai.
+     */
+    private No paraEscrita(No no) {
+        if (no.transacao == transacaoAtual) {
+            no.sujo = true;
+            return no;
+        }
+        No copia = novoNo(no instanceof Folha);
+        copia.quantidade = no.quantidade;
+        System.arraycopy(no.chaves, 0, copia.chaves, 0, no.quantidade);
+        if (no instanceof Folha) {
+            System.arraycopy(((Folha) no).valores, 0, ((Folha) copia).valores, 0, no.quantidade);
+        } else {
+            System.arraycopy(((Interno) no).filhos, 0, ((Interno) copia).filhos, 0, no.quantidade + 1);
+        }
+        liberar(no);
+        return copia;
+    }
+
+    private void iniciarEscrita() {
+        if (!livresCalculadas) {
+            recuperarPaginasLivres();
+        }
+        emTransacao = true;
+    }
+
+    /**
+     * Marca as páginas alcançáveis a partir da raiz; todas as outras estão livres. Só os nós internos são lidos,
+     * pois o número de página das folhas já está nos seus pais.
+     */
+    private void recuperarPaginasLivres() {
+        boolean[] usada = new boolean[numeroDePaginas];
+        usada[0] = true;
+        usada[1] = true;
+        marcar(raiz, 1, usada);
+        paginasLivres.limpar();
+        for (int p = numeroDePaginas - 1; p >= 2; p--) { // As páginas menores saem primeiro
+            if (!usada[p]) {
+                paginasLivres.adicionar(p);
+            }
+        }
+        livresCalculadas = true;
+        ajustarCache();
+    }
+
+    private void marcar(int pagina, int nivel, boolean[] usada) {
+        usada[pagina] = true;
+        if (nivel < altura) {
+            Interno no = (Interno) ler(pagina);
+            for (int i = 0; i <= no.quantidade; i++) {
+                marcar(no.filhos[i], nivel + 1, usada);
+            }
+        }
+    }
+
+
+    private static int primeiraMaiorOuIgual(No no, int chave) {
+        int baixo = 0;
+        int alto = no.quantidade;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (no.chaves[meio] < chave) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private static int indiceDoFilho(Interno no, int chave) {
+        int baixo = 0;
+        int alto = no.quantidade;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (no.chaves[meio] <= chave) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private Folha folhaDe(int chave) {
+        No no = ler(raiz);
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            no = ler(interno.filhos[indiceDoFilho(interno, chave)]);
+        }
+        return (Folha) no;
+    }
+
+    public boolean contem(int chave) {
+        Folha folha = folhaDe(chave);
+        int i = primeiraMaiorOuIgual(folha, chave);
+        boolean existe = i < folha.quantidade && folha.chaves[i] == chave;
+        ajustarCache();
+        return existe;
+    }
+
+    /**
+     * Retorna o valor da chave, ou 'valorPadrao' se ela não existir.
+     */
+    public long obter(int chave, long valorPadrao) {
+        Folha folha = folhaDe(chave);
+        int i = primeiraMaiorOuIgual(folha, chave);
+        long valor = (i < folha.quantidade && folha.chaves[i] == chave) ? folha.valores[i] : valorPadrao;
+        ajustarCache();
+        return valor;
+    }
+
+
+    /**
+     * Insere ou atualiza a chave na transação em andamento. A alteração só sobrevive a uma queda depois de confirmar().
+     */
+    public void colocar(int chave, long valor) {
+        iniciarEscrita();
+        paginaQueSobe = -1;
+        raiz = inserir(ler(raiz), chave, valor).pagina;
+        if (paginaQueSobe >= 0) {
+            Interno novaRaiz = (Interno) novoNo(false);
+            novaRaiz.filhos[0] = raiz;
+            novaRaiz.filhos[1] = paginaQueSobe;
+            novaRaiz.chaves[0] = chaveQueSobe;
+            novaRaiz.quantidade = 1;
+            raiz = novaRaiz.pagina;
+            altura++;
+            paginaQueSobe = -1;
+        }
+        ajustarCache();
+    }
+
+    /**
+     * @return A versão alterável do nó (pode estar em outra página), para o pai atualizar o número do filho.
+     */
+    private No inserir(No no, int chave, long valor) {
+        no = paraEscrita(no);
+        if (no instanceof Folha) {
+            Folha folha = (Folha) no;
+            int i = primeiraMaiorOuIgual(folha, chave);
+            if (i < folha.quantidade && folha.chaves[i] == chave) {
+                folha.valores[i] = valor;
+                return folha;
+            }
+            int mover = folha.quantidade - i;
+            System.arraycopy(folha.chaves, i, folha.chaves, i + 1, mover);
+            System.arraycopy(folha.valores, i, folha.valores, i + 1, mover);
+            folha.chaves[i] = chave;
+            folha.valores[i] = valor;
+            folha.quantidade++;
+            tamanho++;
+            if (folha.quantidade > ORDEM_FOLHA) {
+                dividirFolha(folha);
+            }
+            return folha;
+        }
+        Interno interno = (Interno) no;
+        int i = indiceDoFilho(interno, chave);
+        interno.filhos[i] = inserir(ler(interno.filhos[i]), chave, valor).pagina;
+        if (paginaQueSobe < 0) {
+            return interno;
+        }
+        int mover = interno.quantidade - i;
+        System.arraycopy(interno.chaves, i, interno.chaves, i + 1, mover);
+        System.arraycopy(interno.filhos, i + 1, interno.filhos, i + 2, mover);
+        interno.chaves[i] = chaveQueSobe;
+        interno.filhos[i + 1] = paginaQueSobe;
+        interno.quantidade++;
+        paginaQueSobe = -1;
+        if (interno.quantidade > ORDEM_INTERNO) {
+            dividirInterno(interno);
+        }
+        return interno;
+    }
+
+    private void dividirFolha(Folha folha) {
+        Folha nova = (Folha) novoNo(true);
+        int ficam = folha.quantidade / 2;
+        nova.quantidade = folha.quantidade - ficam;
+        System.arraycopy(folha.chaves, ficam, nova.chaves, 0, nova.quantidade);
+        System.arraycopy(folha.valores, ficam, nova.valores, 0, nova.quantidade);
+        folha.quantidade = ficam;
+        chaveQueSobe = nova.chaves[0];
+        paginaQueSobe = nova.pagina;
+    }
+
+    private void dividirInterno(Interno no) {
+        Interno novo = (Interno) novoNo(false);
+        int meio = no.quantidade / 2;
+        novo.quantidade = no.quantidade - meio - 1;
+        System.arraycopy(no.chaves, meio + 1, novo.chaves, 0, novo.quantidade);
+        System.arraycopy(no.filhos, meio + 1, novo.filhos, 0, novo.quantidade + 1);
+        chaveQueSobe = no.chaves[meio];
+        no.quantidade = meio;
+        paginaQueSobe = novo.pagina;
+    }
+
+
+    private static int minimo(No no) {
+        return no instanceof Folha ? ORDEM_FOLHA / 2 : ORDEM_INTERNO / 2;
+    }
+
+    /**
+     * Remove a chave na transação em andamento, redistribuindo ou fundindo nós que fiquem abaixo do mínimo.
+     * @return true se a chave existia.
+     */
+    public boolean remover(int chave) {
+        if (!contem(chave)) {
+            return false; // Evita copiar o caminho até uma folha que não vai mudar
+        }
+        iniciarEscrita();
+        No novaRaiz = removerRecursivo(ler(raiz), chave);
+        raiz = novaRaiz.pagina;
+        if (novaRaiz instanceof Interno && novaRaiz.quantidade == 0) {
+            raiz = ((Interno) novaRaiz).filhos[0]; // A raiz ficou com um único filho: a árvore encolhe pelo topo
+            liberar(novaRaiz);
+            altura--;
+        }
+        tamanho--;
+        ajustarCache();
+        return true;
+    }
+
+    private No removerRecursivo(No no, int chave) {
+        no = paraEscrita(no);
+        if (no instanceof Folha) {
+            Folha folha = (Folha) no;
+            int i = primeiraMaiorOuIgual(folha, chave); // A chave existe (verificado em remover)
+            int mover = folha.quantidade - i - 1;
+            System.arraycopy(folha.chaves, i + 1, folha.chaves, i, mover);
+            System.arraycopy(folha.valores, i + 1, folha.valores, i, mover);
+            folha.quantidade--;
+            return folha;
+        }
+        Interno pai = (Interno) no;
+        int i = indiceDoFilho(pai, chave);
+        No filho = removerRecursivo(ler(pai.filhos[i]), chave);
+        pai.filhos[i] = filho.pagina;
+        if (filho.quantidade < minimo(filho)) {
+            corrigirFilho(pai, i, filho);
+        }
+        return pai;
+    }
+
+    private void corrigirFilho(Interno pai, int i, No filho) {
+        int minimo = minimo(filho);
+        if (i > 0 && ler(pai.filhos[i - 1]).quantidade > minimo) {
+            No esquerdo = paraEscrita(ler(pai.filhos[i - 1]));
+            pai.filhos[i - 1] = esquerdo.pagina;
+            emprestarDaEsquerda(pai, i, esquerdo, filho);
+        } else if (i < pai.quantidade && ler(pai.filhos[i + 1]).quantidade > minimo) {
+            No direito = paraEscrita(ler(pai.filhos[i + 1]));
+            pai.filhos[i + 1] = direito.pagina;
+            emprestarDaDireita(pai, i, filho, direito);
+        } else if (i > 0) {
+            No esquerdo = paraEscrita(ler(pai.filhos[i - 1]));
+            pai.filhos[i - 1] = esquerdo.pagina;
+            fundir(pai, i - 1, esquerdo, filho);
+        } else {
+            fundir(pai, i, filho, ler(pai.filhos[i + 1])); // O irmão direito só é lido e depois liberado
+        }
+    }
+
+    private void emprestarDaEsquerda(Interno pai, int i, No esquerdo, No filho) {
+        System.arraycopy(filho.chaves, 0, filho.chaves, 1, filho.quantidade);
+        if (filho instanceof Folha) {
+            Folha f = (Folha) filho;
+            Folha e = (Folha) esquerdo;
+            System.arraycopy(f.valores, 0, f.valores, 1, f.quantidade);
+            f.chaves[0] = e.chaves[e.quantidade - 1];
+            f.valores[0] = e.valores[e.quantidade - 1];
+            pai.chaves[i - 1] = f.chaves[0];
+        } else {
+            Interno f = (Interno) filho;
+            Interno e = (Interno) esquerdo;
+            System.arraycopy(f.filhos, 0, f.filhos, 1, f.quantidade + 1);
+            f.chaves[0] = pai.chaves[i - 1];
+            f.filhos[0] = e.filhos[e.quantidade];
+            pai.chaves[i - 1] = e.chaves[e.quantidade - 1];
+        }
+        filho.quantidade++;
+        esquerdo.quantidade--;
+    }
+
+    private void emprestarDaDireita(Interno pai, int i, No filho, No direito) {
+        if (filho instanceof Folha) {
+            Folha f = (Folha) filho;
+            Folha d = (Folha) direito;
+            f.chaves[f.quantidade] = d.chaves[0];
+            f.valores[f.quantidade] = d.valores[0];
+            System.arraycopy(d.chaves, 1, d.chaves, 0, d.quantidade - 1);
+            System.arraycopy(d.valores, 1, d.valores, 0, d.quantidade - 1);
+            pai.chaves[i] = d.chaves[0];
+        } else {
+            Interno f = (Interno) filho;
+            Interno d = (Interno) direito;
+            f.chaves[f.quantidade] = pai.chaves[i];
+            f.filhos[f.quantidade + 1] = d.filhos[0];
+            pai.chaves[i] = d.chaves[0];
+            System.arraycopy(d.chaves, 1, d.chaves, 0, d.quantidade - 1);
+            System.arraycopy(d.filhos, 1, d.filhos, 0, d.quantidade);
+        }
+        filho.quantidade++;
+        direito.quantidade--;
+    }
+
+    /**
+     * Funde 'direito' (filho k + 1) em 'esquerdo' (filho k, já alterável), remove a separadora k do pai e libera a
+     * página do direito.
+     */
+    private void fundir(Interno pai, int k, No esquerdo, No direito) {
+        if (esquerdo instanceof Folha) {
+            System.arraycopy(direito.chaves, 0, esquerdo.chaves, esquerdo.quantidade, direito.quantidade);
+            System.arraycopy(((Folha) direito).valores, 0, ((Folha) esquerdo).valores, esquerdo.quantidade,
+                    direito.quantidade);
+            esquerdo.quantidade += direito.quantidade;
+        } else {
+            esquerdo.chaves[esquerdo.quantidade] = pai.chaves[k];
+            System.arraycopy(direito.chaves, 0, esquerdo.chaves, esquerdo.quantidade + 1, direito.quantidade);
+            System.arraycopy(((Interno) direito).filhos, 0, ((Interno) esquerdo).filhos, esquerdo.quantidade + 1,
+                    direito.quantidade + 1);
+            esquerdo.quantidade += direito.quantidade + 1;
+        }
+        int mover = pai.quantidade - k - 1;
+        System.arraycopy(pai.chaves, k + 1, pai.chaves, k, mover);
+        System.arraycopy(pai.filhos, k + 2, pai.filhos, k + 1, mover);
+        pai.quantidade--;
+        liberar(direito);
+    }
+
+
+    /**
+     * Torna permanentes as alterações feitas desde a última confirmação:
+     * 1. grava as páginas novas e força a ida delas para o disco;
+     * 2. só então grava o meta (no slot da versão anterior à atual) e força de novo.
+     * Se houver uma queda antes do passo 2 terminar, a abertura encontra o meta anterior, íntegro.
+     */
+    public void confirmar() {
+        if (!emTransacao) {
+            return;
+        }
+        for (No no : cache.values()) {
+            if (no.sujo) {
+                gravar(no);
+            }
+        }
+        forcarParaODisco();
+        gravarMeta();
+        forcarParaODisco();
+        transacaoConfirmada = transacaoAtual;
+        transacaoAtual++;
+        // As páginas da versão anterior já não são alcançáveis pelo meta mais recente
+        while (!liberadasNaTransacao.estaVazia()) {
+            paginasLivres.adicionar(liberadasNaTransacao.removerUltimo());
+        }
+        emTransacao = false;
+    }
+
+    /**
+     * Descarta as alterações não confirmadas e volta para a última versão confirmada.
+     */
+    public void descartar() {
+        if (!emTransacao) {
+            return;
+        }
+        cache.clear();
+        Arrays.fill(relogio, null);
+        quadrosCriados = 0;
+        ponteiro = 0;
+        quadrosLivres.limpar();
+        carregarMeta();
+        liberadasNaTransacao.limpar();
+        livresCalculadas = false; // As páginas que a transação usou voltam a ser livres na próxima escrita
+        emTransacao = false;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public int getAltura() {
+        return altura;
+    }
+
+    public long getTransacaoConfirmada() {
+        return transacaoConfirmada;
+    }
+
+    /**
+     * Confirma as alterações pendentes e fecha o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        confirmar();
+        regioes = new MappedByteBuffer[0];
+        regiaoSuja = new boolean[0];
+        canal.close();
+    }
+
+
+    public Cursor novoCursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Cursor de varredura por intervalo [inicio, fim]. Como as folhas não são ligadas, o cursor guarda o caminho
+     * desde a raiz (página e filho seguido em cada nível) e sobe por ele ao terminar uma folha.
+     * O cursor pode ser reposicionado e reutilizado; a árvore não deve ser alterada durante a varredura.
+     */
+    public final class Cursor {
+        private int[] caminho = new int[8];
+        private int[] indices = new int[8];
+        private Folha folha;
+        private int posicao;
+        private int fim;
+        private int chaveAtual;
+        private long valorAtual;
+
+        private Cursor() {
+        }
+
+        public void posicionar(int inicio, int fim) {
+            if (caminho.length < altura) {
+                caminho = new int[altura];
+                indices = new int[altura];
+            }
+            this.fim = fim;
+            int pagina = raiz;
+            for (int nivel = 0; nivel < altura - 1; nivel++) {
+                Interno no = (Interno) ler(pagina);
+                int i = indiceDoFilho(no, inicio);
+                caminho[nivel] = pagina;
+                indices[nivel] = i;
+                pagina = no.filhos[i];
+            }
+            folha = (Folha) ler(pagina);
+            posicao = primeiraMaiorOuIgual(folha, inicio);
+            ajustarCache();
+        }
+
+        public boolean avancar() {
+            if (folha == null) {
+                return false;
+            }
+            if (posicao >= folha.quantidade && !proximaFolha()) {
+                folha = null;
+                return false;
+            }
+            if (folha.chaves[posicao] > fim) {
+                folha = null;
+                return false;
+            }
+            chaveAtual = folha.chaves[posicao];
+            valorAtual = folha.valores[posicao];
+            posicao++;
+            return true;
+        }
+
+        // Sobe até o nível mais baixo que ainda tem um filho à direita e desce pelo caminho mais à esquerda
+        private boolean proximaFolha() {
+            int nivel = altura - 2;
+            while (nivel >= 0 && indices[nivel] >= ler(caminho[nivel]).quantidade) {
+                nivel--;
+            }
+            if (nivel < 0) {
+                return false;
+            }
+            indices[nivel]++;
+            int pagina = ((Interno) ler(caminho[nivel])).filhos[indices[nivel]];
+            for (int k = nivel + 1; k < altura - 1; k++) {
+                caminho[k] = pagina;
+                indices[k] = 0;
+                pagina = ((Interno) ler(pagina)).filhos[0];
+            }
+            folha = (Folha) ler(pagina);
+            posicao = 0;
+            ajustarCache();
+            return true;
+        }
+
+        public int chave() {
+            return chaveAtual;
+        }
+
+        public long valor() {
+            return valorAtual;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path arquivo = Files.createTempFile("indice", ".bpt");
+        int n = 2_000_000;
+        long inicio = System.nanoTime();
+        try (ArvoreBMaisPersistente arvore = abrir(arquivo, 1024)) {
+            for (int i = 0; i < n; i++) {
+                arvore.colocar(i * 2, i);
+                if (i % 200_000 == 199_999) {
+                    arvore.confirmar(); // Uma transação a cada 200.000 inserções
+                }
+            }
+        }
+        System.out.printf("%d chaves gravadas em %d ms, arquivo com %d MB%n", n,
+                (System.nanoTime() - inicio) / 1_000_000, Files.size(arquivo) / (1024 * 1024));
+
+        inicio = System.nanoTime();
+        try (ArvoreBMaisPersistente arvore = abrir(arquivo, 256)) {
+            System.out.printf("Reaberta em %.2f ms%n", (System.nanoTime() - inicio) / 1e6); // Só mapeia e lê o meta
+            System.out.println("Tamanho: " + arvore.getTamanho() + ", altura: " + arvore.getAltura()); // Esperado: 2000000, 3
+            System.out.println("Valor de 1000: " + arvore.obter(1000, -1)); // Esperado: 500
+            System.out.println("Contém 1001? " + arvore.contem(1001));       // Esperado: false
+
+            Cursor cursor = arvore.novoCursor();
+            cursor.posicionar(675, 690); // Atravessa a fronteira entre duas folhas
+            System.out.print("Chaves entre 675 e 690: ");
+            while (cursor.avancar()) {
+                System.out.print(cursor.chave() + " ");
+            }
+            System.out.println(); // Esperado: 676 678 680 682 684 686 688 690
+
+            arvore.colocar(7, 70); // Não confirmado
+            try (ArvoreBMaisPersistente outra = abrir(arquivo, 64)) {
+                // Simula uma queda: quem abre o arquivo agora só enxerga a última versão confirmada
+                System.out.println("Após a \"queda\", contém 7? " + outra.contem(7)); // Esperado: false
+            }
+            arvore.descartar();
+            System.out.println("Após descartar, contém 7? " + arvore.contem(7)); // Esperado: false
+
+            for (int i = 0; i < n; i += 2) {
+                arvore.remover(i * 2); // Remove metade das chaves
+            }
+            arvore.confirmar();
+            System.out.println("Tamanho após remover metade: " + arvore.getTamanho()); // Esperado: 1000000
+        }
+        try (ArvoreBMaisPersistente arvore = abrir(arquivo, 64)) {
+            System.out.println("Reaberta, valor de 6: " + arvore.obter(6, -1) + ", contém 4? " + arvore.contem(4));
+            // Esperado: 3, false
+        }
+        Files.delete(arquivo);
+    }
+}
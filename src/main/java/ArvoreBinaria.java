@@ -38,7 +38,1309 @@ pós-ordem, em nível), e a escolha depende da aplicação. A implementação de
 complexa, requer atenção.
 Uso de Memória: Cada nó armazena dados e ponteiros para os filhos, similar às listas encadeadas, mas potencialmente
 com mais ponteiros se informações adicionais (como ponteiro para o pai ou fatores de balanceamento) forem necessárias.
+ 
+Implementação: a classe abaixo é uma Árvore AVL (árvore binária de busca auto-balanceada) com chaves int primitivas.
+Em cada nó, as alturas das subárvores esquerda e direita diferem no máximo em 1; quando uma inserção ou remoção quebra
+essa regra, rotações simples ou duplas restauram o equilíbrio. Assim a altura fica sempre abaixo de 1,44 * log2(n) e
+inserir, remover, buscar, piso, teto, mínimo e máximo são O(log n) no pior caso. Cada chave pode ter, opcionalmente,
+um valor long (que também serve para int) e/ou um valor Object, sem boxing da chave.
+Cada nó também guarda o tamanho da sua subárvore, recalculado junto com a altura (inclusive nas rotações). Com isso a
+árvore responde estatísticas de ordem em O(log n): a k-ésima menor chave (select), quantas chaves são menores que x
+(rank) e quantas estão em um intervalo, sem ordenar nada de novo a cada consulta.
+Uma árvore pode ser montada de uma vez a partir de um array ordenado (por exemplo, saída do RadixSort ou do TimSort) em
+O(n), opcionalmente em paralelo, e duas árvores podem ser combinadas (união, interseção, diferença) com as operações
+de dividir (split) e juntar (join), em O(m log(n/m + 1)) para árvores de tamanhos m <= n.
+Para percorrer sem recursão nem alocação por consulta há dois caminhos: o percurso de Morris (em ordem e pré-ordem),
+que não usa pilha nenhuma porque costura temporariamente ponteiros vazios da própria árvore, e um Cursor reutilizável
+com pilha de tamanho fixo que faz pré-ordem, em ordem, pós-ordem, por nível e varredura de intervalos [inicio, fim].
+O Cursor também é um Spliterator.OfInt, e spliterator() divide o percurso em ordem por posição (select) para streams
+paralelos.
  */
 
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 public class ArvoreBinaria {
+
+    /**
+     * Valor devolvido por piso e teto quando não existe chave que satisfaça a busca.
+     * Como as chaves são int, nenhum resultado válido (convertido para long) pode ser igual a este.
+     */
+    public static final long NENHUMA_CHAVE = Long.MIN_VALUE;
+
+    /**
+     * Nó da árvore AVL. Guarda a chave, os valores opcionais, a altura e o tamanho da subárvore e os dois filhos.
+     */
+    private static class No {
+        int chave;
+        long valor;     // Valor primitivo opcional associado à chave
+        Object objeto;  // Valor de objeto opcional associado à chave
+        int altura;     // Altura da subárvore com raiz neste nó (uma folha tem altura 1)
+        int tamanho;    // Quantidade de nós da subárvore com raiz neste nó (uma folha tem tamanho 1)
+        No esquerda;
+        No direita;
+
+        No(int chave) {
+            this.chave = chave;
+            this.altura = 1;
+            this.tamanho = 1;
+        }
+    }
+
+    private No raiz;
+    private int tamanho;
+    // Indica se a última remoção recursiva realmente removeu um nó
+    private boolean modificou;
+    // Nó criado pela última inserção recursiva (null se a chave já existia)
+    private No noInserido;
+
+    public ArvoreBinaria() {
+        this.raiz = null;
+        this.tamanho = 0;
+    }
+
+    /**
+     * Constrói uma árvore perfeitamente balanceada a partir de um array em ordem crescente, em O(n).
+     * Chaves repetidas entram uma só vez. O array não é modificado.
+     * @throws IllegalArgumentException se o array não estiver em ordem crescente.
+     */
+    public static ArvoreBinaria deOrdenado(int[] ordenado) {
+        return deOrdenado(ordenado, false);
+    }
+
+    /**
+     * Como deOrdenado(int[]), mas com 'paralelo' as subárvores grandes são construídas em paralelo no
+     * ForkJoinPool comum: as duas metades de cada nó não dependem uma da outra.
+     */
+    public static ArvoreBinaria deOrdenado(int[] ordenado, boolean paralelo) {
+        int repetidas = 0;
+        for (int i = 1; i < ordenado.length; i++) {
+            if (ordenado[i - 1] > ordenado[i]) {
+                throw new IllegalArgumentException("O array precisa estar em ordem crescente.");
+            }
+            if (ordenado[i - 1] == ordenado[i]) {
+                repetidas++;
+            }
+        }
+        int[] chaves = ordenado;
+        if (repetidas > 0) {
+            chaves = new int[ordenado.length - repetidas];
+            int j = 0;
+            for (int i = 0; i < ordenado.length; i++) {
+                if (i == 0 || ordenado[i] != ordenado[i - 1]) {
+                    chaves[j++] = ordenado[i];
+                }
+            }
+        }
+        ArvoreBinaria arvore = new ArvoreBinaria();
+        if (paralelo && chaves.length > LIMITE_PARALELO) {
+            arvore.raiz = ForkJoinPool.commonPool().invoke(new Construcao(chaves, 0, chaves.length - 1));
+        } else {
+            arvore.raiz = construir(chaves, 0, chaves.length - 1);
+        }
+        arvore.tamanho = chaves.length;
+        return arvore;
+    }
+
+    // Subárvores menores que isto são construídas sem dividir mais a tarefa
+    private static final int LIMITE_PARALELO = 1 << 14;
+
+    /**
+     * O elemento do meio vira a raiz e as duas metades viram as subárvores. Os tamanhos das metades diferem no
+     * máximo em 1, então a árvore já nasce balanceada (uma AVL válida) sem nenhuma rotação.
+     */
+    private static No construir(int[] chaves, int esquerda, int direita) {
+        if (esquerda > direita) {
+            return null;
+        }
+        int meio = (esquerda + direita) >>> 1;
+        No no = new No(chaves[meio]);
+        no.esquerda = construir(chaves, esquerda, meio - 1);
+        no.direita = construir(chaves, meio + 1, direita);
+        atualizar(no);
+        return no;
+    }
+
+    private static class Construcao extends RecursiveTask<No> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] chaves;
+        private final int esquerda;
+        private final int direita;
+
+        Construcao(int[] chaves, int esquerda, int direita) {
+            this.chaves = chaves;
+            this.esquerda = esquerda;
+            this.direita = direita;
+        }
+
+        @Override
+        protected No compute() {
+            if (direita - esquerda < LIMITE_PARALELO) {
+                return construir(chaves, esquerda, direita);
+            }
+            int meio = (esquerda + direita) >>> 1;
+            No no = new No(chaves[meio]);
+            Construcao tarefaEsquerda = new Construcao(chaves, esquerda, meio - 1);
+            tarefaEsquerda.fork(); // A metade esquerda vai para outra thread; esta thread faz a direita
+            no.direita = new Construcao(chaves, meio + 1, direita).compute();
+            no.esquerda = tarefaEsquerda.join();
+            atualizar(no);
+            return no;
+        }
+    }
+
+    public boolean estaVazia() {
+        return raiz == null;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    private static int altura(No no) {
+        return no == null ? 0 : no.altura;
+    }
+
+    private static int tamanho(No no) {
+        return no == null ? 0 : no.tamanho;
+    }
+
+    /**
+     * Recalcula os dados que o nó guarda sobre sua subárvore (altura e tamanho) a partir dos filhos.
+     * Toda alteração de filhos passa por aqui (inclusive as rotações), então os tamanhos nunca ficam desatualizados.
+     */
+    private static void atualizar(No no) {
+        no.altura = 1 + Math.max(altura(no.esquerda), altura(no.direita));
+        no.tamanho = 1 + tamanho(no.esquerda) + tamanho(no.direita);
+    }
+
+    /**
+     * Rotação à direita: o filho esquerdo sobe e o nó desce para a direita.
+     * <pre>
+     *       no              e
+     *      /  \            / \
+     *     e    C   ->     A   no
+     *    / \                  / \
+     *   A   B                B   C
+     * </pre>
+     */
+    private static No rotacionarDireita(No no) {
+        No e = no.esquerda;
+        no.esquerda = e.direita;
+        e.direita = no;
+        atualizar(no);
+        atualizar(e);
+        return e;
+    }
+
+    /**
+     * Rotação à esquerda: o espelho da rotação à direita.
+     */
+    private static No rotacionarEsquerda(No no) {
+        No d = no.direita;
+        no.direita = d.esquerda;
+        d.esquerda = no;
+        atualizar(no);
+        atualizar(d);
+        return d;
+    }
+
+    /**
+     * Atualiza o nó e, se a diferença de altura entre os filhos passar de 1, aplica a rotação adequada.
+     * @return A nova raiz desta subárvore.
+     */
+    private static No balancear(No no) {
+        atualizar(no);
+        int fator = altura(no.esquerda) - altura(no.direita);
+        if (fator > 1) {
+            // Pesado à esquerda. Caso esquerda-direita: primeiro gira o filho para virar esquerda-esquerda.
+            if (altura(no.esquerda.esquerda) < altura(no.esquerda.direita)) {
+                no.esquerda = rotacionarEsquerda(no.esquerda);
+            }
+            return rotacionarDireita(no);
+        }
+        if (fator < -1) {
+            // Pesado à direita (espelho do caso acima)
+            if (altura(no.direita.direita) < altura(no.direita.esquerda)) {
+                no.direita = rotacionarDireita(no.direita);
+            }
+            return rotacionarEsquerda(no);
+        }
+        return no;
+    }
+
+    /**
+     * Insere uma chave (uso como conjunto).
+     * @return true se a chave foi adicionada, false se já existia.
+     */
+    public boolean inserir(int chave) {
+        return inserirNo(chave) != null;
+    }
+
+    /**
+     * Associa um valor long (ou int) à chave, inserindo-a se necessário (uso como mapa).
+     */
+    public void colocar(int chave, long valor) {
+        buscarOuInserir(chave).valor = valor;
+    }
+
+    /**
+     * Associa um valor de objeto à chave, inserindo-a se necessário.
+     */
+    public void colocarObjeto(int chave, Object objeto) {
+        buscarOuInserir(chave).objeto = objeto;
+    }
+
+    private No buscarOuInserir(int chave) {
+        No no = buscarNo(chave);
+        return no != null ? no : inserirNo(chave);
+    }
+
+    /**
+     * Insere a chave e retorna o novo nó, ou null se a chave já existia.
+     */
+    private No inserirNo(int chave) {
+        noInserido = null;
+        raiz = inserir(raiz, chave);
+        if (noInserido != null) {
+            tamanho++;
+        }
+        return noInserido;
+    }
+
+    private No inserir(No no, int chave) {
+        if (no == null) {
+            noInserido = new No(chave);
+            return noInserido;
+        }
+        if (chave < no.chave) {
+            no.esquerda = inserir(no.esquerda, chave);
+        } else if (chave > no.chave) {
+            no.direita = inserir(no.direita, chave);
+        } else {
+            return no; // Chave repetida: nada muda
+        }
+        return balancear(no);
+    }
+
+    /**
+     * Remove a chave e seus valores.
+     * @return true se a chave existia.
+     */
+    public boolean remover(int chave) {
+        modificou = false;
+        raiz = remover(raiz, chave);
+        if (modificou) {
+            tamanho--;
+        }
+        return modificou;
+    }
+
+    private No remover(No no, int chave) {
+        if (no == null) {
+            return null;
+        }
+        if (chave < no.chave) {
+            no.esquerda = remover(no.esquerda, chave);
+        } else if (chave > no.chave) {
+            no.direita = remover(no.direita, chave);
+        } else {
+            modificou = true;
+            if (no.esquerda == null) {
+                return no.direita;
+            }
+            if (no.direita == null) {
+                return no.esquerda;
+            }
+            // Dois filhos: o sucessor (menor nó da subárvore direita) ocupa o lugar deste nó
+            No sucessor = no.direita;
+            while (sucessor.esquerda != null) {
+                sucessor = sucessor.esquerda;
+            }
+            sucessor.direita = removerMinimo(no.direita);
+            sucessor.esquerda = no.esquerda;
+            no = sucessor;
+        }
+        return balancear(no);
+    }
+
+    // Remove o menor nó da subárvore (sem liberá-lo) e retorna a nova raiz dela
+    private static No removerMinimo(No no) {
+        if (no.esquerda == null) {
+            return no.direita;
+        }
+        no.esquerda = removerMinimo(no.esquerda);
+        return balancear(no);
+    }
+
+    private No buscarNo(int chave) {
+        No atual = raiz;
+        while (atual != null) {
+            if (chave < atual.chave) {
+                atual = atual.esquerda;
+            } else if (chave > atual.chave) {
+                atual = atual.direita;
+            } else {
+                return atual;
+            }
+        }
+        return null;
+    }
+
+    public boolean contem(int chave) {
+        return buscarNo(chave) != null;
+    }
+
+    /**
+     * Retorna o valor long associado à chave, ou 'valorPadrao' se a chave não existir.
+     */
+    public long obter(int chave, long valorPadrao) {
+        No no = buscarNo(chave);
+        return no != null ? no.valor : valorPadrao;
+    }
+
+    /**
+     * Retorna o objeto associado à chave, ou null.
+     */
+    public Object obterObjeto(int chave) {
+        No no = buscarNo(chave);
+        return no != null ? no.objeto : null;
+    }
+
+    /**
+     * Piso (floor): a maior chave menor ou igual a x, ou NENHUMA_CHAVE.
+     */
+    public long piso(int x) {
+        long resultado = NENHUMA_CHAVE;
+        No atual = raiz;
+        while (atual != null) {
+            if (atual.chave == x) {
+                return x;
+            }
+            if (atual.chave < x) {
+                resultado = atual.chave; // Candidato; pode haver um maior ainda <= x à direita
+                atual = atual.direita;
+            } else {
+                atual = atual.esquerda;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Teto (ceiling): a menor chave maior ou igual a x, ou NENHUMA_CHAVE.
+     */
+    public long teto(int x) {
+        long resultado = NENHUMA_CHAVE;
+        No atual = raiz;
+        while (atual != null) {
+            if (atual.chave == x) {
+                return x;
+            }
+            if (atual.chave > x) {
+                resultado = atual.chave; // Candidato; pode haver um menor ainda >= x à esquerda
+                atual = atual.esquerda;
+            } else {
+                atual = atual.direita;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna a menor chave.
+     * @throws NoSuchElementException se a árvore estiver vazia.
+     */
+    public int minimo() {
+        if (raiz == null) {
+            throw new NoSuchElementException("A árvore está vazia.");
+        }
+        No atual = raiz;
+        while (atual.esquerda != null) {
+            atual = atual.esquerda;
+        }
+        return atual.chave;
+    }
+
+    /**
+     * Retorna a maior chave.
+     * @throws NoSuchElementException se a árvore estiver vazia.
+     */
+    public int maximo() {
+        if (raiz == null) {
+            throw new NoSuchElementException("A árvore está vazia.");
+        }
+        No atual = raiz;
+        while (atual.direita != null) {
+            atual = atual.direita;
+        }
+        return atual.chave;
+    }
+
+    /**
+     * Select: retorna a k-ésima menor chave (k = 0 é o mínimo), em O(log n).
+     * Em cada nó, o tamanho da subárvore esquerda diz quantas chaves são menores que ele, e a busca desce
+     * para o lado onde a posição k está.
+     * @throws IndexOutOfBoundsException se k estiver fora de [0, getTamanho()).
+     */
+    public int select(int k) {
+        if (k < 0 || k >= tamanho) {
+            throw new IndexOutOfBoundsException("Posição " + k + " fora de [0, " + tamanho + ").");
+        }
+        No atual = raiz;
+        while (true) {
+            int menores = tamanho(atual.esquerda);
+            if (k < menores) {
+                atual = atual.esquerda;
+            } else if (k > menores) {
+                k -= menores + 1; // Pula a subárvore esquerda e o próprio nó
+                atual = atual.direita;
+            } else {
+                return atual.chave;
+            }
+        }
+    }
+
+    /**
+     * Rank: quantas chaves são estritamente menores que x, em O(log n). Se x estiver na árvore, é a posição dele
+     * em ordem crescente (select(rank(x)) == x).
+     */
+    public int rank(int x) {
+        int resultado = 0;
+        No atual = raiz;
+        while (atual != null) {
+            if (x <= atual.chave) {
+                atual = atual.esquerda;
+            } else {
+                resultado += tamanho(atual.esquerda) + 1; // O nó e toda a sua subárvore esquerda são menores que x
+                atual = atual.direita;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Quantas chaves estão no intervalo fechado [inicio, fim], em O(log n).
+     */
+    public int contarNoIntervalo(int inicio, int fim) {
+        if (inicio > fim) {
+            return 0;
+        }
+        int ateOFim = fim == Integer.MAX_VALUE ? tamanho : rank(fim + 1); // Chaves <= fim
+        return ateOFim - rank(inicio);
+    }
+
+    /**
+     * Juntar (join): monta uma árvore AVL com as chaves de 'menores', o nó 'meio' e as chaves de 'maiores', sabendo
+     * que todas as chaves de 'menores' < meio < todas as de 'maiores'. Desce pela borda da árvore mais alta até
+     * encontrar uma subárvore da altura da outra, pendura o nó ali e rebalanceia na volta: O(|diferença de altura|).
+     */
+    private static No juntar(No menores, No meio, No maiores) {
+        if (altura(menores) > altura(maiores) + 1) {
+            menores.direita = juntar(menores.direita, meio, maiores);
+            return balancear(menores);
+        }
+        if (altura(maiores) > altura(menores) + 1) {
+            maiores.esquerda = juntar(menores, meio, maiores.esquerda);
+            return balancear(maiores);
+        }
+        meio.esquerda = menores;
+        meio.direita = maiores;
+        atualizar(meio);
+        return meio;
+    }
+
+    // Juntar sem nó do meio: o menor nó de 'maiores' faz esse papel
+    private static No juntar(No menores, No maiores) {
+        if (maiores == null) {
+            return menores;
+        }
+        No minimo = maiores;
+        while (minimo.esquerda != null) {
+            minimo = minimo.esquerda;
+        }
+        return juntar(menores, minimo, removerMinimo(maiores));
+    }
+
+    /**
+     * Dividir (split): separa a árvore em chaves menores que x, o nó com a chave x (se existir) e chaves maiores.
+     * O resultado vai em saida[0], saida[1] e saida[2]. Cada nível da descida faz um juntar, e as alturas se
+     * compensam: O(log n) no total.
+     */
+    private static void dividir(No no, int x, No[] saida) {
+        if (no == null) {
+            saida[0] = null;
+            saida[1] = null;
+            saida[2] = null;
+            return;
+        }
+        No esquerda = no.esquerda;
+        No direita = no.direita;
+        if (x < no.chave) {
+            dividir(esquerda, x, saida);
+            saida[2] = juntar(saida[2], no, direita);
+        } else if (x > no.chave) {
+            dividir(direita, x, saida);
+            saida[0] = juntar(esquerda, no, saida[0]);
+        } else {
+            saida[0] = esquerda;
+            saida[1] = no;
+            saida[2] = direita;
+        }
+    }
+
+    private static No unir(No a, No b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        No esquerda = a.esquerda;
+        No direita = a.direita;
+        No[] partes = new No[3];
+        dividir(b, a.chave, partes); // partes[1], a cópia repetida de a.chave em b, é descartada
+        No maioresDeB = partes[2];
+        No menores = unir(esquerda, partes[0]);
+        No maiores = unir(direita, maioresDeB);
+        return juntar(menores, a, maiores);
+    }
+
+    private static No intersectar(No a, No b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        No esquerda = a.esquerda;
+        No direita = a.direita;
+        No[] partes = new No[3];
+        dividir(b, a.chave, partes);
+        boolean emAmbas = partes[1] != null;
+        No maioresDeB = partes[2];
+        No menores = intersectar(esquerda, partes[0]);
+        No maiores = intersectar(direita, maioresDeB);
+        return emAmbas ? juntar(menores, a, maiores) : juntar(menores, maiores);
+    }
+
+    private static No subtrair(No a, No b) {
+        if (a == null || b == null) {
+            return a;
+        }
+        No esquerda = b.esquerda;
+        No direita = b.direita;
+        No[] partes = new No[3];
+        dividir(a, b.chave, partes); // partes[1], se existir, é justamente a chave que sai
+        No maioresDeA = partes[2];
+        No menores = subtrair(partes[0], esquerda);
+        No maiores = subtrair(maioresDeA, direita);
+        return juntar(menores, maiores);
+    }
+
+    /**
+     * Esta árvore passa a ser a união das duas. Os nós da outra são reaproveitados e ela fica vazia (como em
+     * ListaDuplamenteEncadeada.mesclar). Para chaves presentes nas duas, valem os valores desta árvore.
+     * O(m log(n/m + 1)), com m e n os tamanhos da menor e da maior árvore. Unir a árvore com ela mesma não muda nada.
+     */
+    public void unir(ArvoreBinaria outra) {
+        if (outra == this) {
+            return;
+        }
+        raiz = unir(raiz, outra.raiz);
+        tamanho = tamanho(raiz);
+        outra.esvaziar();
+    }
+
+    /**
+     * Esta árvore passa a ter só as chaves que também estão na outra, que fica vazia. Intersectar a árvore com ela
+     * mesma não muda nada.
+     */
+    public void intersectar(ArvoreBinaria outra) {
+        if (outra == this) {
+            return;
+        }
+        raiz = intersectar(raiz, outra.raiz);
+        tamanho = tamanho(raiz);
+        outra.esvaziar();
+    }
+
+    /**
+     * Remove desta árvore todas as chaves que estão na outra, que fica vazia. Subtrair a árvore dela mesma a esvazia.
+     */
+    public void subtrair(ArvoreBinaria outra) {
+        if (outra == this) {
+            esvaziar();
+            return;
+        }
+        raiz = subtrair(raiz, outra.raiz);
+        tamanho = tamanho(raiz);
+        outra.esvaziar();
+    }
+
+    private void esvaziar() {
+        raiz = null;
+        tamanho = 0;
+    }
+
+    /**
+     * Entrega cada chave, em ordem crescente, para a ação.
+     */
+    public void paraCada(IntConsumer acao) {
+        PrimitiveIterator.OfInt it = iterador();
+        while (it.hasNext()) {
+            acao.accept(it.nextInt());
+        }
+    }
+
+    /**
+     * Iterador em ordem, sem boxing. Usa uma pilha explícita do tamanho da altura da árvore (O(log n)),
+     * então não há recursão. A árvore não deve ser modificada durante a iteração.
+     */
+    public PrimitiveIterator.OfInt iterador() {
+        return new IteradorEmOrdem(raiz);
+    }
+
+    private static class IteradorEmOrdem implements PrimitiveIterator.OfInt {
+        private final No[] pilha;
+        private int topo;
+
+        IteradorEmOrdem(No raiz) {
+            this.pilha = new No[altura(raiz)];
+            empilharEsquerda(raiz);
+        }
+
+        // Empilha o nó e todos os seus descendentes pela esquerda; o topo fica sendo o menor deles
+        private void empilharEsquerda(No no) {
+            while (no != null) {
+                pilha[topo++] = no;
+                no = no.esquerda;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return topo > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (topo == 0) {
+                throw new NoSuchElementException();
+            }
+            No no = pilha[--topo];
+            empilharEsquerda(no.direita);
+            return no.chave;
+        }
+    }
+
+    /**
+     * Percurso em ordem de Morris: visita as chaves em ordem crescente sem pilha e sem recursão (memória O(1)).
+     * Antes de descer para a esquerda de um nó, o ponteiro direito vazio do seu antecessor passa a apontar para ele
+     * (uma "costura"); ao voltar por essa costura, ela é desfeita e o nó é visitado. Cada aresta é percorrida no
+     * máximo três vezes, então o custo continua O(n).
+     * Durante o percurso a árvore fica temporariamente alterada: a ação não deve ler nem modificar esta árvore, e
+     * ela não pode ser usada por outras threads. Se a ação lançar uma exceção, o percurso termina de desfazer as
+     * costuras antes de repassá-la.
+     */
+    public void paraCadaMorris(IntConsumer acao) {
+        Throwable erro = null;
+        No atual = raiz;
+        while (atual != null) {
+            if (atual.esquerda == null) {
+                erro = visitar(acao, atual.chave, erro);
+                atual = atual.direita;
+                continue;
+            }
+            No antecessor = atual.esquerda;
+            while (antecessor.direita != null && antecessor.direita != atual) {
+                antecessor = antecessor.direita;
+            }
+            if (antecessor.direita == null) {
+                antecessor.direita = atual; // Costura: o caminho de volta depois da subárvore esquerda
+                atual = atual.esquerda;
+            } else {
+                antecessor.direita = null;  // Voltou pela costura: a subárvore esquerda já foi visitada
+                erro = visitar(acao, atual.chave, erro);
+                atual = atual.direita;
+            }
+        }
+        relancar(erro);
+    }
+
+    /**
+     * Percurso em pré-ordem de Morris (nó, esquerda, direita), com as mesmas costuras e restrições de
+     * paraCadaMorris; a diferença é que o nó é visitado na ida, quando a costura é criada.
+     */
+    public void paraCadaPreOrdemMorris(IntConsumer acao) {
+        Throwable erro = null;
+        No atual = raiz;
+        while (atual != null) {
+            if (atual.esquerda == null) {
+                erro = visitar(acao, atual.chave, erro);
+                atual = atual.direita;
+                continue;
+            }
+            No antecessor = atual.esquerda;
+            while (antecessor.direita != null && antecessor.direita != atual) {
+                antecessor = antecessor.direita;
+            }
+            if (antecessor.direita == null) {
+                erro = visitar(acao, atual.chave, erro);
+                antecessor.direita = atual;
+                atual = atual.esquerda;
+            } else {
+                antecessor.direita = null;
+                atual = atual.direita;
+            }
+        }
+        relancar(erro);
+    }
+
+    // Chama a ação, a menos que ela já tenha falhado; devolve o erro (o anterior ou o novo) para relançar no final
+    private static Throwable visitar(IntConsumer acao, int chave, Throwable erro) {
+        if (erro != null) {
+            return erro;
+        }
+        try {
+            acao.accept(chave);
+            return null;
+        } catch (Throwable t) {
+            return t;
+        }
+    }
+
+    // Um IntConsumer não lança exceções verificadas: o erro só pode ser RuntimeException ou Error
+    private static void relancar(Throwable erro) {
+        if (erro instanceof RuntimeException) {
+            throw (RuntimeException) erro;
+        }
+        if (erro != null) {
+            throw (Error) erro;
+        }
+    }
+
+    /**
+     * Cria um cursor de percurso. O mesmo cursor pode ser reposicionado quantas vezes for preciso, em qualquer
+     * ordem, sem alocar memória nova (a pilha interna só cresce se a árvore ficar mais alta).
+     */
+    public Cursor novoCursor() {
+        return new Cursor();
+    }
+
+    private static final int EM_ORDEM = 0;
+    private static final int PRE_ORDEM = 1;
+    private static final int POS_ORDEM = 2;
+    private static final int POR_NIVEL = 3;
+
+    /**
+     * Cursor de percurso com pilha explícita de tamanho altura + 1 (O(log n)), reaproveitada entre percursos.
+     * Uso: cursor.posicionar(a, b); while (cursor.avancar()) { cursor.chave(); cursor.valor(); }
+     * Também é um Spliterator.OfInt das chaves (sem divisão): StreamSupport.intStream(cursor, false).
+     * A árvore não deve ser modificada durante um percurso.
+     */
+    public final class Cursor implements Spliterator.OfInt {
+        private No[] pilha = new No[0];
+        private int[] profundidades = new int[0]; // Profundidade de cada nó da pilha (pré-ordem e por nível)
+        private int topo;
+        private int modo;
+        private int fim;           // Em ordem: maior chave do intervalo
+        private int nivel;         // Por nível: profundidade sendo emitida; pré-ordem: sem limite
+        private int alturaDaRaiz;
+        private No descer;         // Pós-ordem: próximo nó a partir do qual descer pela esquerda
+        private No ultimo;         // Pós-ordem: último nó emitido
+        private No corrente;
+        private long restantes;
+
+        private Cursor() {
+        }
+
+        private void reiniciar(int modo) {
+            this.modo = modo;
+            this.alturaDaRaiz = altura(raiz);
+            if (pilha.length < alturaDaRaiz + 1) {
+                pilha = new No[alturaDaRaiz + 1];
+                profundidades = new int[alturaDaRaiz + 1];
+            }
+            topo = 0;
+            descer = null;
+            ultimo = null;
+            corrente = null;
+            restantes = tamanho;
+        }
+
+        /**
+         * Posiciona o cursor antes da primeira chave >= inicio; a varredura, em ordem crescente, para depois da
+         * última chave <= fim. O(log n).
+         */
+        public void posicionar(int inicio, int fim) {
+            reiniciar(EM_ORDEM);
+            this.fim = fim;
+            this.restantes = contarNoIntervalo(inicio, fim);
+            // Empilha só o caminho de nós >= inicio; os menores e suas subárvores esquerdas ficam de fora
+            No no = raiz;
+            while (no != null) {
+                if (no.chave < inicio) {
+                    no = no.direita;
+                } else {
+                    pilha[topo++] = no;
+                    no = no.esquerda;
+                }
+            }
+        }
+
+        /**
+         * Em ordem crescente, todas as chaves.
+         */
+        public void posicionarEmOrdem() {
+            posicionar(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Pré-ordem: cada nó antes das suas subárvores (esquerda e depois direita).
+         */
+        public void posicionarPreOrdem() {
+            reiniciar(PRE_ORDEM);
+            nivel = Integer.MAX_VALUE;
+            empilhar(raiz, 0);
+        }
+
+        /**
+         * Pós-ordem: cada nó depois das suas subárvores (a raiz é a última).
+         */
+        public void posicionarPosOrdem() {
+            reiniciar(POS_ORDEM);
+            descer = raiz;
+        }
+
+        /**
+         * Por nível (em largura): a raiz, depois os nós de profundidade 1 da esquerda para a direita, e assim por diante.
+         * Em vez de uma fila (que chegaria a n/2 nós), faz uma busca em profundidade limitada para cada nível; numa
+         * árvore balanceada os níveis de cima são pequenos e o custo total continua O(n).
+         */
+        public void posicionarPorNivel() {
+            reiniciar(POR_NIVEL);
+            nivel = 0;
+            empilhar(raiz, 0);
+        }
+
+        private void empilhar(No no, int profundidade) {
+            if (no != null) {
+                pilha[topo] = no;
+                profundidades[topo++] = profundidade;
+            }
+        }
+
+        /**
+         * Avança para a próxima chave do percurso.
+         * @return false quando o percurso terminou.
+         */
+        public boolean avancar() {
+            boolean avancou;
+            if (modo == EM_ORDEM) {
+                avancou = avancarEmOrdem();
+            } else if (modo == POS_ORDEM) {
+                avancou = avancarPosOrdem();
+            } else {
+                avancou = avancarEmProfundidade();
+            }
+            if (!avancou) {
+                topo = 0;
+                descer = null;
+                corrente = null;
+                restantes = 0;
+                return false;
+            }
+            restantes--;
+            return true;
+        }
+
+        private boolean avancarEmOrdem() {
+            if (topo == 0 || pilha[topo - 1].chave > fim) {
+                return false;
+            }
+            No no = pilha[--topo];
+            for (No filho = no.direita; filho != null; filho = filho.esquerda) {
+                pilha[topo++] = filho;
+            }
+            corrente = no;
+            return true;
+        }
+
+        private boolean avancarPosOrdem() {
+            while (true) {
+                if (descer != null) {
+                    pilha[topo++] = descer;
+                    descer = descer.esquerda;
+                    continue;
+                }
+                if (topo == 0) {
+                    return false;
+                }
+                No no = pilha[topo - 1];
+                if (no.direita != null && no.direita != ultimo) {
+                    descer = no.direita; // Subárvore direita ainda não percorrida
+                    continue;
+                }
+                topo--;
+                ultimo = no;
+                corrente = no;
+                return true;
+            }
+        }
+
+        // Pré-ordem (sem limite de nível) e por nível (limitada ao nível atual, recomeçando da raiz a cada nível)
+        private boolean avancarEmProfundidade() {
+            while (true) {
+                if (topo == 0) {
+                    if (modo != POR_NIVEL || ++nivel >= alturaDaRaiz) {
+                        return false;
+                    }
+                    empilhar(raiz, 0);
+                }
+                No no = pilha[--topo];
+                int profundidade = profundidades[topo];
+                if (profundidade < nivel) {
+                    empilhar(no.direita, profundidade + 1); // A direita entra primeiro para sair depois
+                    empilhar(no.esquerda, profundidade + 1);
+                }
+                if (modo == PRE_ORDEM || profundidade == nivel) {
+                    corrente = no;
+                    return true;
+                }
+            }
+        }
+
+        public int chave() {
+            return corrente.chave;
+        }
+
+        public long valor() {
+            return corrente.valor;
+        }
+
+        public Object objeto() {
+            return corrente.objeto;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer acao) {
+            if (!avancar()) {
+                return false;
+            }
+            acao.accept(corrente.chave);
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            int caracteristicas = ORDERED | DISTINCT | SIZED | NONNULL;
+            return modo == EM_ORDEM ? caracteristicas | SORTED : caracteristicas;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            if (modo != EM_ORDEM) {
+                throw new IllegalStateException();
+            }
+            return null; // Ordem natural
+        }
+    }
+
+    /**
+     * Spliterator das chaves em ordem crescente. Divide o percurso pela metade das posições com select, em O(log n)
+     * por divisão, então streams paralelos repartem a árvore em pedaços de tamanhos exatos.
+     */
+    public Spliterator.OfInt spliterator() {
+        return new SpliteratorPorPosicao(0, tamanho);
+    }
+
+    /**
+     * Spliterator das chaves do intervalo [inicio, fim], em ordem crescente e divisível como spliterator().
+     */
+    public Spliterator.OfInt spliterator(int inicio, int fim) {
+        int primeira = rank(inicio);
+        return new SpliteratorPorPosicao(primeira, primeira + contarNoIntervalo(inicio, fim));
+    }
+
+    /**
+     * Stream sequencial das chaves em ordem crescente; stream().parallel() usa a divisão por posição.
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    private final class SpliteratorPorPosicao implements Spliterator.OfInt {
+        private static final int MENOR_DIVISAO = 1024; // Pedaços menores não compensam o custo do select
+
+        private int inicio; // Posição (rank) da próxima chave
+        private final int fim; // Posição depois da última chave
+        private Cursor cursor; // Criado na primeira chave entregue; a partir daí não há mais divisão
+
+        SpliteratorPorPosicao(int inicio, int fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (cursor != null || fim - inicio < 2 * MENOR_DIVISAO) {
+                return null;
+            }
+            int meio = (inicio + fim) >>> 1;
+            SpliteratorPorPosicao primeiraMetade = new SpliteratorPorPosicao(inicio, meio);
+            inicio = meio;
+            return primeiraMetade;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer acao) {
+            if (inicio >= fim) {
+                return false;
+            }
+            if (cursor == null) {
+                cursor = new Cursor();
+                cursor.posicionar(select(inicio), Integer.MAX_VALUE);
+            }
+            cursor.avancar();
+            inicio++;
+            acao.accept(cursor.chave());
+            return true;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fim - inicio;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SORTED | DISTINCT | SIZED | SUBSIZED | NONNULL;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null; // Ordem natural
+        }
+    }
+
+    /**
+     * Exibe as chaves em ordem crescente.
+     */
+    public void exibirEmOrdem() {
+        if (raiz == null) {
+            System.out.println("Árvore vazia.");
+            return;
+        }
+        StringBuilder sb = new StringBuilder("Árvore (em ordem): ");
+        paraCada(chave -> sb.append(chave).append(' '));
+        System.out.println(sb.toString().trim());
+    }
+
+    public static void main(String[] args) {
+        ArvoreBinaria arvore = new ArvoreBinaria();
+        System.out.println("Árvore está vazia? " + arvore.estaVazia()); // Esperado: true
+
+        // Inserção em ordem crescente: numa BST comum viraria uma "lista"; a AVL continua balanceada
+        for (int i = 1; i <= 15; i++) {
+            arvore.inserir(i * 10);
+        }
+        arvore.exibirEmOrdem(); // Esperado: 10 20 30 ... 150
+        System.out.println("Tamanho: " + arvore.getTamanho() + ", altura: " + altura(arvore.raiz)); // Esperado: 15, 4
+
+        System.out.println("Contém 70? " + arvore.contem(70));   // Esperado: true
+        System.out.println("Contém 75? " + arvore.contem(75));   // Esperado: false
+        System.out.println("Piso de 75: " + arvore.piso(75));    // Esperado: 70
+        System.out.println("Teto de 75: " + arvore.teto(75));    // Esperado: 80
+        System.out.println("Piso de 5 existe? " + (arvore.piso(5) != NENHUMA_CHAVE)); // Esperado: false
+        System.out.println("Mínimo: " + arvore.minimo() + ", máximo: " + arvore.maximo()); // Esperado: 10, 150
+
+        arvore.remover(80);
+        arvore.remover(10);
+        arvore.exibirEmOrdem(); // Esperado: 20 30 40 50 60 70 90 ... 150
+
+        System.out.println("\n--- Estatísticas de ordem ---");
+        // Chaves atuais: 20 30 40 50 60 70 90 100 110 120 130 140 150
+        System.out.println("select(0): " + arvore.select(0) + ", select(6): " + arvore.select(6)); // Esperado: 20, 90
+        System.out.println("rank(90): " + arvore.rank(90) + ", rank(85): " + arvore.rank(85));   // Esperado: 6, 6
+        System.out.println("Chaves em [45, 105]: " + arvore.contarNoIntervalo(45, 105));        // Esperado: 5
+
+        // Mediana móvel de uma janela de 5 leituras: cada passo é O(log n), sem reordenar a janela
+        int[] leituras = {12, 50, 7, 33, 41, 19, 8, 60, 25, 3};
+        int janela = 5;
+        ArvoreBinaria ordenadas = new ArvoreBinaria();
+        StringBuilder medianas = new StringBuilder();
+        for (int i = 0; i < leituras.length; i++) {
+            ordenadas.inserir(leituras[i]); // As leituras deste exemplo não se repetem (a árvore é um conjunto)
+            if (i >= janela) {
+                ordenadas.remover(leituras[i - janela]);
+            }
+            if (i >= janela - 1) {
+                medianas.append(ordenadas.select(janela / 2)).append(' ');
+            }
+        }
+        System.out.println("Medianas móveis: " + medianas.toString().trim()); // Esperado: 33 33 19 33 25 19
+
+        System.out.println("\n--- Construção em lote e operações de conjunto ---");
+        ArvoreBinaria pares = deOrdenado(new int[]{2, 4, 6, 8, 10, 12});
+        ArvoreBinaria multiplosDe3 = deOrdenado(new int[]{3, 6, 9, 12});
+        pares.unir(multiplosDe3);
+        pares.exibirEmOrdem(); // Esperado: 2 3 4 6 8 9 10 12
+        ArvoreBinaria ate6 = deOrdenado(new int[]{1, 2, 3, 4, 5, 6});
+        pares.intersectar(ate6);
+        pares.exibirEmOrdem(); // Esperado: 2 3 4 6
+        pares.subtrair(deOrdenado(new int[]{3, 4}));
+        pares.exibirEmOrdem(); // Esperado: 2 6
+        System.out.println("Tamanho: " + pares.getTamanho() + ", a outra ficou vazia? " + ate6.estaVazia()); // Esperado: 2, true
+
+        System.out.println("\n--- Percursos sem recursão ---");
+        ArvoreBinaria percursos = deOrdenado(new int[]{10, 20, 30, 40, 50, 60, 70});
+        Cursor cursor = percursos.novoCursor(); // Um só cursor para todos os percursos abaixo
+        StringBuilder saida = new StringBuilder();
+        cursor.posicionarPreOrdem();
+        while (cursor.avancar()) {
+            saida.append(cursor.chave()).append(' ');
+        }
+        System.out.println("Pré-ordem: " + saida.toString().trim()); // Esperado: 40 20 10 30 60 50 70
+        saida.setLength(0);
+        cursor.posicionarPosOrdem();
+        while (cursor.avancar()) {
+            saida.append(cursor.chave()).append(' ');
+        }
+        System.out.println("Pós-ordem: " + saida.toString().trim()); // Esperado: 10 30 20 50 70 60 40
+        saida.setLength(0);
+        cursor.posicionarPorNivel();
+        while (cursor.avancar()) {
+            saida.append(cursor.chave()).append(' ');
+        }
+        System.out.println("Por nível: " + saida.toString().trim()); // Esperado: 40 20 60 10 30 50 70
+        saida.setLength(0);
+        cursor.posicionar(25, 55);
+        while (cursor.avancar()) {
+            saida.append(cursor.chave()).append(' ');
+        }
+        System.out.println("Intervalo [25, 55]: " + saida.toString().trim()); // Esperado: 30 40 50
+        saida.setLength(0);
+        percursos.paraCadaMorris(chave -> saida.append(chave).append(' '));
+        System.out.println("Em ordem (Morris): " + saida.toString().trim()); // Esperado: 10 20 30 40 50 60 70
+        saida.setLength(0);
+        percursos.paraCadaPreOrdemMorris(chave -> saida.append(chave).append(' '));
+        System.out.println("Pré-ordem (Morris): " + saida.toString().trim()); // Esperado: 40 20 10 30 60 50 70
+        System.out.println("Soma de [20, 60] via stream: " + StreamSupport.intStream(percursos.spliterator(20, 60), false).sum()); // Esperado: 200
+
+        System.out.println("\n--- Usando como mapa ---");
+        ArvoreBinaria idades = new ArvoreBinaria();
+        idades.colocar(1001, 34);
+        idades.colocar(1002, 27);
+        idades.colocarObjeto(1001, "Ana");
+        System.out.println("1001 -> " + idades.obterObjeto(1001) + ", " + idades.obter(1001, -1)); // Esperado: Ana, 34
+        System.out.println("1003 -> " + idades.obter(1003, -1)); // Esperado: -1
+
+        System.out.println("\n--- Comparação rápida com TreeMap<Integer, Long> (1.000.000 chaves) ---");
+        int n = 1_000_000;
+        int[] chaves = new int[n];
+        java.util.Random aleatorio = new java.util.Random(1);
+        for (int i = 0; i < n; i++) {
+            chaves[i] = aleatorio.nextInt();
+        }
+        long inicio = System.nanoTime();
+        ArvoreBinaria avl = new ArvoreBinaria();
+        for (int chave : chaves) {
+            avl.colocar(chave, chave);
+        }
+        long encontrados = 0;
+        for (int chave : chaves) {
+            encontrados += avl.contem(chave) ? 1 : 0;
+        }
+        long tempoAvl = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        java.util.TreeMap<Integer, Long> mapa = new java.util.TreeMap<>();
+        for (int chave : chaves) {
+            mapa.put(chave, (long) chave);
+        }
+        for (int chave : chaves) {
+            encontrados += mapa.containsKey(chave) ? 1 : 0;
+        }
+        long tempoTreeMap = System.nanoTime() - inicio;
+        System.out.printf("ArvoreBinaria: %d ms, TreeMap: %d ms (encontrados: %d)%n",
+                tempoAvl / 1_000_000, tempoTreeMap / 1_000_000, encontrados);
+
+        System.out.println("\n--- Reconstrução de um índice de 10.000.000 chaves ordenadas ---");
+        int[] chavesDoIndice = new int[10_000_000];
+        for (int i = 0; i < chavesDoIndice.length; i++) {
+            chavesDoIndice[i] = i * 2;
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            inicio = System.nanoTime();
+            ArvoreBinaria sequencial = deOrdenado(chavesDoIndice);
+            long tempoSequencial = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            ArvoreBinaria paralela = deOrdenado(chavesDoIndice, true);
+            long tempoParalelo = System.nanoTime() - inicio;
+            System.out.printf("Em lote: %d ms, em lote paralelo: %d ms (altura %d)%n", tempoSequencial / 1_000_000,
+                    tempoParalelo / 1_000_000, altura(paralela.raiz));
+            // Esperado: altura 24, o mínimo possível para 10.000.000 chaves
+        }
+        inicio = System.nanoTime();
+        ArvoreBinaria umaAUma = new ArvoreBinaria();
+        for (int chave : chavesDoIndice) {
+            umaAUma.inserir(chave);
+        }
+        System.out.printf("Uma a uma: %d ms%n", (System.nanoTime() - inicio) / 1_000_000);
+
+        ArvoreBinaria grande = deOrdenado(chavesDoIndice);
+        int[] novas = new int[1000];
+        for (int i = 0; i < novas.length; i++) {
+            novas[i] = i * 20_001; // Espalhadas pelo índice inteiro; só as 500 ímpares são novas
+        }
+        inicio = System.nanoTime();
+        grande.unir(deOrdenado(novas));
+        System.out.printf("União de 1.000 chaves com o índice: %.2f ms, tamanho %d%n",
+                (System.nanoTime() - inicio) / 1e6, grande.getTamanho()); // Esperado: 10000500
+
+        System.out.println("\n--- Varredura do índice inteiro: iterador, cursor, Morris e stream paralelo ---");
+        Cursor varredura = grande.novoCursor();
+        for (int rodada = 0; rodada < 2; rodada++) {
+            long[] somas = new long[4];
+            long[] tempos = new long[4];
+            inicio = System.nanoTime();
+            PrimitiveIterator.OfInt iterador = grande.iterador();
+            while (iterador.hasNext()) {
+                somas[0] += iterador.nextInt();
+            }
+            tempos[0] = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            varredura.posicionarEmOrdem();
+            while (varredura.avancar()) {
+                somas[1] += varredura.chave();
+            }
+            tempos[1] = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            long[] acumulador = somas;
+            grande.paraCadaMorris(chave -> acumulador[2] += chave);
+            tempos[2] = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            somas[3] = grande.stream().parallel().asLongStream().sum();
+            tempos[3] = System.nanoTime() - inicio;
+            System.out.printf("Iterador: %d ms, cursor: %d ms, Morris: %d ms, stream paralelo: %d ms (somas iguais? %b)%n",
+                    tempos[0] / 1_000_000, tempos[1] / 1_000_000, tempos[2] / 1_000_000, tempos[3] / 1_000_000,
+                    somas[0] == somas[1] && somas[1] == somas[2] && somas[2] == somas[3]); // Esperado: true
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,394 @@
+/*
+Árvore Crit-Bit (Crit-Bit Tree / PATRICIA Trie binária)
+O que é? É uma trie binária sobre os bits da chave em que só existem os nós onde as chaves realmente se separam: cada
+nó interno guarda a posição do "bit crítico", o primeiro bit em que as chaves da sua subárvore diferem, e tem
+exatamente dois filhos (bit 0 e bit 1). As chaves ficam nas folhas. Os bits iguais entre dois bits críticos não têm
+nó nenhum (compressão de caminho total), então n chaves usam sempre n folhas e n - 1 nós internos, qualquer que seja
+a distribuição.
+A busca desce olhando só os bits críticos e confere a chave inteira uma vez, na folha. A inserção primeiro acha a
+folha mais parecida com a chave nova, calcula o primeiro bit diferente entre as duas e pendura um nó interno desse
+bit no ponto certo do caminho. Como na ArvoreRadixAdaptativa, o bit de sinal é invertido para que a ordem dos bits
+seja a ordem dos números com sinal.
+
+Para que serve? Para conjuntos e mapas ordenados de chaves inteiras esparsas (hashes, ids aleatórios de 64 bits,
+endereços), onde os nós largos da ArvoreRadixAdaptativa ficariam quase vazios. Também serve para consultas por
+prefixo de bits, como tabelas de roteamento.
+
+Vantagens:
+Memória previsível e mínima: 2n - 1 nós de tamanho fixo, sem arrays meio vazios.
+Busca limitada pelo tamanho da chave (no máximo 64 nós internos), sem comparações de chave até a folha.
+Sem rebalanceamento: a forma depende só do conjunto de chaves, não da ordem de inserção.
+Inserção e remoção simples: só um nó interno é criado ou removido por operação.
+Mantém as chaves em ordem: cursor de intervalos e de prefixos sem alocação.
+
+Desvantagens:
+Um nível por bit crítico: para chaves densas a árvore fica mais funda (até log2(n) níveis ou mais) que a
+ArvoreRadixAdaptativa, que consome um byte inteiro por nível.
+Cada nó é um objeto separado: mais saltos de ponteiro por busca que uma estrutura com nós largos.
+ */
+
+public class ArvoreCritBit {
+
+    private abstract static class No {
+    }
+
+    /**
+     * Folha: guarda a chave inteira (já com o sinal invertido) e o valor.
+     */
+    private static final class Folha extends No {
+        final long chave;
+        long valor;
+
+        Folha(long chave, long valor) {
+            this.chave = chave;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Nó interno: as chaves abaixo dele são iguais em todos os bits antes de 'bit' (0 = o mais significativo) e se
+     * separam por ele: 'zero' tem o bit em 0 e 'um' em 1. Os bits críticos crescem ao descer.
+     * Dois campos em vez de um array de filhos: um salto de ponteiro a menos por nível.
+     */
+    private static final class Interno extends No {
+        final int bit;
+        No zero;
+        No um;
+
+        Interno(int bit) {
+            this.bit = bit;
+        }
+
+        No filho(int lado) {
+            return lado == 0 ? zero : um;
+        }
+
+        void definirFilho(int lado, No filho) {
+            if (lado == 0) {
+                zero = filho;
+            } else {
+                um = filho;
+            }
+        }
+    }
+
+    private No raiz;
+    private int tamanho;
+
+    // Inverte o bit de sinal: a ordem sem sinal dos bits passa a ser a ordem com sinal dos números
+    private static long paraBits(long chave) {
+        return chave ^ Long.MIN_VALUE;
+    }
+
+    private static int direcao(long chave, int bit) {
+        return (int) (chave >>> (63 - bit)) & 1;
+    }
+
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    // Folha onde a busca por 'chave' termina: a própria chave, se existir, ou a que tem mais bits críticos em comum
+    private Folha folhaMaisProxima(long chave) {
+        No no = raiz;
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            no = interno.filho(direcao(chave, interno.bit));
+        }
+        return (Folha) no;
+    }
+
+    private Folha buscarFolha(long chave) {
+        if (raiz == null) {
+            return null;
+        }
+        long bits = paraBits(chave);
+        Folha folha = folhaMaisProxima(bits);
+        return folha.chave == bits ? folha : null;
+    }
+
+    public boolean contem(long chave) {
+        return buscarFolha(chave) != null;
+    }
+
+    /**
+     * Retorna o valor associado à chave, ou 'valorPadrao' se a chave não existir.
+     */
+    public long obter(long chave, long valorPadrao) {
+        Folha folha = buscarFolha(chave);
+        return folha != null ? folha.valor : valorPadrao;
+    }
+
+    /**
+     * Associa o valor à chave, substituindo o valor anterior se ela já existir.
+     */
+    public void colocar(long chave, long valor) {
+        long bits = paraBits(chave);
+        if (raiz == null) {
+            raiz = new Folha(bits, valor);
+            tamanho++;
+            return;
+        }
+        Folha parecida = folhaMaisProxima(bits);
+        if (parecida.chave == bits) {
+            parecida.valor = valor;
+            return;
+        }
+        int critico = Long.numberOfLeadingZeros(parecida.chave ^ bits);
+        // Desce de novo até o ponto do caminho onde o bit crítico novo se encaixa (antes do primeiro bit maior)
+        Interno pai = null;
+        int lado = 0;
+        No no = raiz;
+        while (no instanceof Interno && ((Interno) no).bit < critico) {
+            pai = (Interno) no;
+            lado = direcao(bits, pai.bit);
+            no = pai.filho(lado);
+        }
+        Interno novo = new Interno(critico);
+        int direcaoNova = direcao(bits, critico);
+        novo.definirFilho(direcaoNova, new Folha(bits, valor));
+        novo.definirFilho(1 - direcaoNova, no);
+        if (pai == null) {
+            raiz = novo;
+        } else {
+            pai.definirFilho(lado, novo);
+        }
+        tamanho++;
+    }
+
+    /**
+     * Remove a chave. Retorna true se ela existia. O nó interno acima da folha some e o irmão dela sobe.
+     */
+    public boolean remover(long chave) {
+        if (raiz == null) {
+            return false;
+        }
+        long bits = paraBits(chave);
+        Interno avo = null;
+        int ladoDoPai = 0;
+        Interno pai = null;
+        int ladoDaFolha = 0;
+        No no = raiz;
+        while (no instanceof Interno) {
+            avo = pai;
+            ladoDoPai = ladoDaFolha;
+            pai = (Interno) no;
+            ladoDaFolha = direcao(bits, pai.bit);
+            no = pai.filho(ladoDaFolha);
+        }
+        if (((Folha) no).chave != bits) {
+            return false;
+        }
+        if (pai == null) {
+            raiz = null;
+        } else {
+            No irmao = pai.filho(1 - ladoDaFolha);
+            if (avo == null) {
+                raiz = irmao;
+            } else {
+                avo.definirFilho(ladoDoPai, irmao);
+            }
+        }
+        tamanho--;
+        return true;
+    }
+
+    /**
+     * Cria um cursor para varrer intervalos em ordem crescente. O mesmo cursor pode ser reposicionado quantas vezes
+     * for preciso, sem alocar memória (a pilha tem no máximo um nó por bit, mais um).
+     */
+    public Cursor novoCursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Cursor de varredura por intervalo [inicio, fim] em ordem crescente.
+     * Uso: cursor.posicionar(a, b); while (cursor.avancar()) { cursor.chave(); cursor.valor(); }
+     */
+    public final class Cursor {
+        private final No[] pilha = new No[65]; // Subárvores inteiras ainda por visitar; a menor fica no topo
+        private int topo;
+        private long fim;
+        private Folha atual;
+
+        private Cursor() {
+        }
+
+        /**
+         * Posiciona o cursor antes da primeira chave >= inicio; a varredura para depois da última chave <= fim.
+         */
+        public void posicionar(long inicio, long fim) {
+            this.fim = paraBits(fim);
+            this.topo = 0;
+            this.atual = null;
+            if (raiz == null) {
+                return;
+            }
+            long alvo = paraBits(inicio);
+            int critico = Long.numberOfLeadingZeros(folhaMaisProxima(alvo).chave ^ alvo); // 64 se a chave existir
+            // Acima do bit crítico o caminho de 'alvo' é o caminho real: ao descer pela esquerda, o irmão da direita
+            // tem só chaves maiores que 'alvo' e fica para depois
+            No no = raiz;
+            while (no instanceof Interno && ((Interno) no).bit < critico) {
+                Interno interno = (Interno) no;
+                if (direcao(alvo, interno.bit) == 0) {
+                    pilha[topo++] = interno.um;
+                    no = interno.zero;
+                } else {
+                    no = interno.um;
+                }
+            }
+            // Todas as chaves desta subárvore têm o bit crítico diferente do de 'alvo': ou são todas maiores, ou
+            // todas menores (e ficam de fora). Se a chave existe, 'no' é a própria folha.
+            if (critico == 64 || direcao(alvo, critico) == 0) {
+                pilha[topo++] = no;
+            }
+        }
+
+        /**
+         * Posiciona o cursor nas chaves cujos 'bits' bits mais significativos são iguais aos de 'prefixo'.
+         * Com pelo menos um bit o sinal fica fixo, então as chaves do prefixo formam um único intervalo.
+         */
+        public void posicionarPrefixo(long prefixo, int bits) {
+            if (bits < 0 || bits > 64) {
+                throw new IllegalArgumentException("O prefixo deve ter de 0 a 64 bits.");
+            }
+            if (bits == 0) {
+                posicionarNoInicio();
+                return;
+            }
+            long resto = bits == 64 ? 0 : -1L >>> bits; // Bits livres depois do prefixo, todos em 1
+            posicionar(prefixo & ~resto, prefixo | resto);
+        }
+
+        /**
+         * Posiciona o cursor antes da menor chave; a varredura percorre todas.
+         */
+        public void posicionarNoInicio() {
+            posicionar(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        /**
+         * Avança para a próxima chave do intervalo.
+         * @return false quando o intervalo terminou.
+         */
+        public boolean avancar() {
+            if (topo == 0) {
+                atual = null;
+                return false;
+            }
+            No no = pilha[--topo];
+            while (no instanceof Interno) {
+                Interno interno = (Interno) no;
+                pilha[topo++] = interno.um;
+                no = interno.zero;
+            }
+            Folha folha = (Folha) no;
+            if (Long.compareUnsigned(folha.chave, fim) > 0) {
+                topo = 0;
+                atual = null;
+                return false;
+            }
+            atual = folha;
+            return true;
+        }
+
+        public long chave() {
+            return paraBits(atual.chave);
+        }
+
+        public long valor() {
+            return atual.valor;
+        }
+    }
+
+    /**
+     * Profundidade da folha mais funda (uma árvore com uma chave tem profundidade 0).
+     */
+    public int getProfundidadeMaxima() {
+        return profundidade(raiz);
+    }
+
+    private static int profundidade(No no) {
+        if (!(no instanceof Interno)) {
+            return 0;
+        }
+        Interno interno = (Interno) no;
+        return 1 + Math.max(profundidade(interno.zero), profundidade(interno.um));
+    }
+
+    public static void main(String[] args) {
+        ArvoreCritBit arvore = new ArvoreCritBit();
+        for (long chave : new long[]{0b1011, 0b1000, 0b1110, -3, 0b1001, Long.MIN_VALUE}) {
+            arvore.colocar(chave, chave * 100);
+        }
+        System.out.println("Tamanho: " + arvore.getTamanho()); // Esperado: 6
+        System.out.println("Valor de 0b1110: " + arvore.obter(0b1110, -1)); // Esperado: 1400
+        System.out.println("Contém 0b1010? " + arvore.contem(0b1010)); // Esperado: false
+
+        Cursor cursor = arvore.novoCursor();
+        StringBuilder saida = new StringBuilder();
+        cursor.posicionarNoInicio();
+        while (cursor.avancar()) {
+            saida.append(cursor.chave()).append(' ');
+        }
+        System.out.println("Em ordem: " + saida.toString().trim()); // Esperado: -9223372036854775808 -3 8 9 11 14
+        saida.setLength(0);
+        cursor.posicionarPrefixo(0b1000, 62); // Chaves 0b10xx: de 8 a 11
+        while (cursor.avancar()) {
+            saida.append(Long.toBinaryString(cursor.chave())).append(' ');
+        }
+        System.out.println("Prefixo 0b10..: " + saida.toString().trim()); // Esperado: 1000 1001 1011
+        arvore.remover(0b1001);
+        arvore.remover(-3);
+        saida.setLength(0);
+        cursor.posicionar(-10, 12);
+        while (cursor.avancar()) {
+            saida.append(cursor.chave()).append(' ');
+        }
+        System.out.println("Após remover 9 e -3, intervalo [-10, 12]: " + saida.toString().trim()); // Esperado: 8 11
+
+        System.out.println("\n--- 1.000.000 de chaves aleatórias de 64 bits: crit-bit x ART x TreeMap<Long, Long> ---");
+        int n = 1_000_000;
+        java.util.Random aleatorio = new java.util.Random(1);
+        long[] chaves = new long[n];
+        ArvoreCritBit critBit = new ArvoreCritBit();
+        ArvoreRadixAdaptativa art = new ArvoreRadixAdaptativa();
+        java.util.TreeMap<Long, Long> treeMap = new java.util.TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            chaves[i] = aleatorio.nextLong();
+            critBit.colocar(chaves[i], i);
+            art.colocar(chaves[i], i);
+            treeMap.put(chaves[i], (long) i);
+        }
+        int[] nos = art.contarNos();
+        System.out.printf("Crit-bit: %d nós internos, profundidade máxima %d; ART: %d No4, %d No16, %d No48, %d No256%n",
+                critBit.getTamanho() - 1, critBit.getProfundidadeMaxima(), nos[0], nos[1], nos[2], nos[3]);
+        // Esperado: 999999 nós internos e profundidade máxima perto de 25; na ART, a maioria dos nós é No4 ou No16
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long soma = 0;
+            long inicio = System.nanoTime();
+            for (long chave : chaves) {
+                soma += critBit.obter(chave, 0);
+            }
+            long tempoCritBit = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            for (long chave : chaves) {
+                soma -= art.obter(chave, 0);
+            }
+            long tempoArt = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            for (long chave : chaves) {
+                soma += treeMap.get(chave);
+            }
+            long tempoTreeMap = System.nanoTime() - inicio;
+            System.out.printf("Buscas: crit-bit %d ms, ART %d ms, TreeMap %d ms (soma correta? %b)%n",
+                    tempoCritBit / 1_000_000, tempoArt / 1_000_000, tempoTreeMap / 1_000_000,
+                    soma == (long) n * (n - 1) / 2); // Esperado: true
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+Árvore de Intervalos (Interval Tree)
+O que é? É a mesma Árvore AVL da ArvoreBinaria, mas cada nó guarda um intervalo fechado [inicio, fim] em vez de uma
+chave. Os nós são ordenados pelo início (e pelo fim, em caso de empate), e cada nó guarda também o maior "fim" de toda a
+sua subárvore. Esse dado extra é recalculado junto com a altura, inclusive nas rotações, e permite descartar
+subárvores inteiras numa busca: se o maior fim de uma subárvore é menor que o início da consulta, nenhum intervalo dali
+pode se sobrepor a ela.
+
+Para que serve? Para perguntas do tipo "quais reservas se sobrepõem a este horário?", "quais faixas de IP contêm este
+endereço?" ou "quais genes cobrem esta posição?" sobre um conjunto de intervalos que muda com o tempo. Testar cada
+intervalo é O(n) por consulta.
+
+Vantagens:
+Inserir, remover e saber se algum intervalo se sobrepõe à consulta em O(log n).
+Listar todos os k intervalos sobrepostos em O(min(n, (k + 1) log n)), em ordem de início.
+Construção em O(n) a partir de intervalos já ordenados (árvore perfeitamente balanceada, sem rotações).
+
+Desvantagens:
+Um objeto por intervalo, como na ArvoreBinaria.
+Intervalos idênticos são guardados uma única vez (a árvore é um conjunto de intervalos).
+Listar as sobreposições não chega ao O(log n + k) da Árvore de Intervalos Centrada ou da Árvore de Segmentos, que
+guardam cada intervalo em listas ordenadas em mais de um lugar; aqui cada intervalo encontrado pode custar uma descida.
+ */
+
+import java.util.Arrays;
+
+public class ArvoreDeIntervalos {
+
+    /**
+     * Recebe os intervalos encontrados por uma consulta.
+     */
+    @FunctionalInterface
+    public interface ConsumidorDeIntervalo {
+        void aceitar(int inicio, int fim);
+    }
+
+    private static class No {
+        int inicio;
+        int fim;
+        int maiorFim;   // Maior 'fim' entre todos os intervalos da subárvore com raiz neste nó
+        int altura;
+        No esquerda;
+        No direita;
+
+        No(int inicio, int fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.maiorFim = fim;
+            this.altura = 1;
+        }
+    }
+
+    private No raiz;
+    private int tamanho;
+    private boolean modificou; // Indica se a última inserção ou remoção recursiva alterou a árvore
+
+    public ArvoreDeIntervalos() {
+        this.raiz = null;
+        this.tamanho = 0;
+    }
+
+    /**
+     * Constrói a árvore com os intervalos [inicios[i], fins[i]]. Se eles já estiverem ordenados por início (e fim), a
+     * construção é O(n); senão são ordenados antes, em O(n log n). Intervalos repetidos entram uma só vez.
+     * @throws IllegalArgumentException se os arrays tiverem tamanhos diferentes ou algum início for maior que o fim.
+     */
+    public ArvoreDeIntervalos(int[] inicios, int[] fins) {
+        if (inicios.length != fins.length) {
+            throw new IllegalArgumentException("Os arrays de inícios e fins precisam ter o mesmo tamanho.");
+        }
+        long[] chaves = new long[inicios.length];
+        boolean ordenado = true;
+        for (int i = 0; i < chaves.length; i++) {
+            if (inicios[i] > fins[i]) {
+                throw new IllegalArgumentException("Intervalo inválido: [" + inicios[i] + ", " + fins[i] + "].");
+            }
+            chaves[i] = chave(inicios[i], fins[i]);
+            ordenado &= i == 0 || chaves[i - 1] <= chaves[i];
+        }
+        if (!ordenado) {
+            Arrays.sort(chaves);
+        }
+        // Remove repetidos no próprio array
+        int distintos = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            if (i == 0 || chaves[i] != chaves[distintos - 1]) {
+                chaves[distintos++] = chaves[i];
+            }
+        }
+        this.raiz = construir(chaves, 0, distintos - 1);
+        this.tamanho = distintos;
+    }
+
+    /**
+     * Junta início e fim em um long cuja ordem numérica é a ordem (início, fim) dos intervalos.
+     * O fim tem o bit de sinal invertido para que, como parte baixa sem sinal, os negativos venham antes.
+     */
+    private static long chave(int inicio, int fim) {
+        return ((long) inicio << 32) | ((fim ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    // Usa o elemento do meio como raiz e constrói as duas metades recursivamente: O(n), profundidade log2(n)
+    private static No construir(long[] chaves, int esquerda, int direita) {
+        if (esquerda > direita) {
+            return null;
+        }
+        int meio = (esquerda + direita) >>> 1;
+        No no = new No((int) (chaves[meio] >> 32), (int) chaves[meio] ^ Integer.MIN_VALUE);
+        no.esquerda = construir(chaves, esquerda, meio - 1);
+        no.direita = construir(chaves, meio + 1, direita);
+        atualizar(no);
+        return no;
+    }
+
+    public boolean estaVazia() {
+        return raiz == null;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    private static int altura(No no) {
+        return no == null ? 0 : no.altura;
+    }
+
+    /**
+     * Recalcula a altura e o maior fim do nó a partir dos filhos.
+     */
+    private static void atualizar(No no) {
+        no.altura = 1 + Math.max(altura(no.esquerda), altura(no.direita));
+        int maior = no.fim;
+        if (no.esquerda != null) {
+            maior = Math.max(maior, no.esquerda.maiorFim);
+        }
+        if (no.direita != null) {
+            maior = Math.max(maior, no.direita.maiorFim);
+        }
+        no.maiorFim = maior;
+    }
+
+    private static No rotacionarDireita(No no) {
+        No e = no.esquerda;
+        no.esquerda = e.direita;
+        e.direita = no;
+        atualizar(no);
+        atualizar(e);
+        return e;
+    }
+
+    private static No rotacionarEsquerda(No no) {
+        No d = no.direita;
+        no.direita = d.esquerda;
+        d.esquerda = no;
+        atualizar(no);
+        atualizar(d);
+        return d;
+    }
+
+    private static No balancear(No no) {
+        atualizar(no);
+        int fator = altura(no.esquerda) - altura(no.direita);
+        if (fator > 1) {
+            if (altura(no.esquerda.esquerda) < altura(no.esquerda.direita)) {
+                no.esquerda = rotacionarEsquerda(no.esquerda);
+            }
+            return rotacionarDireita(no);
+        }
+        if (fator < -1) {
+            if (altura(no.direita.direita) < altura(no.direita.esquerda)) {
+                no.direita = rotacionarDireita(no.direita);
+            }
+            return rotacionarEsquerda(no);
+        }
+        return no;
+    }
+
+    // Compara o intervalo [inicio, fim] com o do nó, pela ordem (início, fim)
+    private static int comparar(int inicio, int fim, No no) {
+        int c = Integer.compare(inicio, no.inicio);
+        return c != 0 ? c : Integer.compare(fim, no.fim);
+    }
+
+    /**
+     * Insere o intervalo fechado [inicio, fim].
+     * @return true se foi inserido, false se já existia.
+     * @throws IllegalArgumentException se inicio > fim.
+     */
+    public boolean inserir(int inicio, int fim) {
+        if (inicio > fim) {
+            throw new IllegalArgumentException("Intervalo inválido: [" + inicio + ", " + fim + "].");
+        }
+        modificou = false;
+        raiz = inserir(raiz, inicio, fim);
+        if (modificou) {
+            tamanho++;
+        }
+        return modificou;
+    }
+
+    private No inserir(No no, int inicio, int fim) {
+        if (no == null) {
+            modificou = true;
+            return new No(inicio, fim);
+        }
+        int c = comparar(inicio, fim, no);
+        if (c < 0) {
+            no.esquerda = inserir(no.esquerda, inicio, fim);
+        } else if (c > 0) {
+            no.direita = inserir(no.direita, inicio, fim);
+        } else {
+            return no;
+        }
+        return balancear(no);
+    }
+
+    /**
+     * Remove o intervalo [inicio, fim].
+     * @return true se ele existia.
+     */
+    public boolean remover(int inicio, int fim) {
+        modificou = false;
+        raiz = remover(raiz, inicio, fim);
+        if (modificou) {
+            tamanho--;
+        }
+        return modificou;
+    }
+
+    private No remover(No no, int inicio, int fim) {
+        if (no == null) {
+            return null;
+        }
+        int c = comparar(inicio, fim, no);
+        if (c < 0) {
+            no.esquerda = remover(no.esquerda, inicio, fim);
+        } else if (c > 0) {
+            no.direita = remover(no.direita, inicio, fim);
+        } else {
+            modificou = true;
+            if (no.esquerda == null) {
+                return no.direita;
+            }
+            if (no.direita == null) {
+                return no.esquerda;
+            }
+            No sucessor = no.direita;
+            while (sucessor.esquerda != null) {
+                sucessor = sucessor.esquerda;
+            }
+            sucessor.direita = removerMinimo(no.direita);
+            sucessor.esquerda = no.esquerda;
+            no = sucessor;
+        }
+        return balancear(no);
+    }
+
+    private No removerMinimo(No no) {
+        if (no.esquerda == null) {
+            return no.direita;
+        }
+        no.esquerda = removerMinimo(no.esquerda);
+        return balancear(no);
+    }
+
+    public boolean contem(int inicio, int fim) {
+        No atual = raiz;
+        while (atual != null) {
+            int c = comparar(inicio, fim, atual);
+            if (c == 0) {
+                return true;
+            }
+            atual = c < 0 ? atual.esquerda : atual.direita;
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se algum intervalo se sobrepõe a [inicio, fim], em O(log n).
+     * Se a subárvore esquerda pode ter uma sobreposição (seu maior fim alcança 'inicio'), a busca desce por ela; se
+     * não houver nenhuma lá, também não haverá à direita, porque os intervalos da direita começam ainda mais tarde.
+     */
+    public boolean sobrepoe(int inicio, int fim) {
+        No atual = raiz;
+        while (atual != null) {
+            if (atual.inicio <= fim && atual.fim >= inicio) {
+                return true;
+            }
+            if (atual.esquerda != null && atual.esquerda.maiorFim >= inicio) {
+                atual = atual.esquerda;
+            } else {
+                atual = atual.direita;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se algum intervalo contém o ponto.
+     */
+    public boolean contemPonto(int ponto) {
+        return sobrepoe(ponto, ponto);
+    }
+
+    /**
+     * Entrega à ação, em ordem de início, todos os intervalos que se sobrepõem a [inicio, fim], em
+     * O(min(n, (k + 1) log n)) para k intervalos encontrados.
+     * Uma subárvore só é percorrida se o seu maior fim alcança 'inicio': ou ela tem um intervalo entregue, ou a
+     * descida para quando os inícios passam de 'fim'. Cada resultado (e essa parada) custa no máximo uma descida de
+     * O(log n), e nenhum nó é visitado duas vezes.
+     */
+    public void paraCadaSobreposto(int inicio, int fim, ConsumidorDeIntervalo acao) {
+        paraCadaSobreposto(raiz, inicio, fim, acao);
+    }
+
+    private static void paraCadaSobreposto(No no, int inicio, int fim, ConsumidorDeIntervalo acao) {
+        if (no == null || no.maiorFim < inicio) {
+            return; // Nenhum intervalo desta subárvore chega até 'inicio'
+        }
+        paraCadaSobreposto(no.esquerda, inicio, fim, acao);
+        if (no.inicio > fim) {
+            return; // Este e todos os da direita começam depois do fim da consulta
+        }
+        if (no.fim >= inicio) {
+            acao.aceitar(no.inicio, no.fim);
+        }
+        paraCadaSobreposto(no.direita, inicio, fim, acao);
+    }
+
+    public static void main(String[] args) {
+        // Reservas de uma sala, em minutos desde a meia-noite (já ordenadas: construção em O(n))
+        int[] inicios = {480, 540, 600, 660, 780, 900};
+        int[] fins = {530, 620, 640, 720, 840, 960};
+        ArvoreDeIntervalos reservas = new ArvoreDeIntervalos(inicios, fins);
+        System.out.println("Reservas: " + reservas.getTamanho()); // Esperado: 6
+
+        StringBuilder sb = new StringBuilder();
+        reservas.paraCadaSobreposto(610, 670, (inicio, fim) -> sb.append("[").append(inicio).append(", ").append(fim).append("] "));
+        System.out.println("Conflitos com [610, 670]: " + sb.toString().trim()); // Esperado: [540, 620] [600, 640] [660, 720]
+        System.out.println("Algo ocupa o minuto 750? " + reservas.contemPonto(750)); // Esperado: false
+        System.out.println("Algo ocupa o minuto 800? " + reservas.contemPonto(800)); // Esperado: true
+
+        reservas.remover(780, 840);
+        reservas.inserir(730, 770);
+        System.out.println("Algo ocupa o minuto 800 agora? " + reservas.contemPonto(800)); // Esperado: false
+        System.out.println("[725, 735] tem conflito? " + reservas.sobrepoe(725, 735));     // Esperado: true
+
+        System.out.println("\n--- 1.000.000 de intervalos, 100.000 consultas de ponto ---");
+        int n = 1_000_000;
+        int[] a = new int[n];
+        int[] b = new int[n];
+        java.util.Random aleatorio = new java.util.Random(1);
+        for (int i = 0; i < n; i++) {
+            a[i] = aleatorio.nextInt(100_000_000);
+            b[i] = a[i] + aleatorio.nextInt(1000);
+        }
+        long inicio = System.nanoTime();
+        ArvoreDeIntervalos arvore = new ArvoreDeIntervalos(a, b);
+        int[] encontrados = new int[1];
+        for (int q = 0; q < 100_000; q++) {
+            int ponto = aleatorio.nextInt(100_000_000);
+            arvore.paraCadaSobreposto(ponto, ponto, (x, y) -> encontrados[0]++);
+        }
+        System.out.printf("Construção + consultas em %d ms (%d intervalos encontrados)%n",
+                (System.nanoTime() - inicio) / 1_000_000, encontrados[0]);
+    }
+}
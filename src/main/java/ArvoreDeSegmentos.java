@@ -0,0 +1,262 @@
+/*
+Árvore de Segmentos com Propagação Preguiçosa (Segment Tree with Lazy Propagation)
+O que é? É uma árvore binária completa guardada em arrays, na mesma numeração do heap do HeapSort: a raiz é o nó 1, os
+filhos do nó k são 2k e 2k + 1, e as folhas (nós de tamanho a 2 * tamanho - 1) são os elementos do array. Cada nó guarda
+a soma, o mínimo e o máximo do segmento de elementos abaixo dele. Uma consulta de intervalo junta O(log n) nós que
+cobrem o intervalo exatamente.
+Para somar um valor a um intervalo inteiro sem visitar cada elemento, a soma pendente fica anotada nos nós que cobrem
+o intervalo ("preguiça") e só é empurrada para os filhos quando alguém precisar passar por eles. Tudo é feito de forma
+iterativa, de baixo para cima, sem recursão.
+
+Para que serve? Para consultas de soma, mínimo e máximo em intervalos de um array que recebe atualizações o tempo todo,
+inclusive atualizações de intervalos inteiros: "somar 5 ao preço de todos os itens de 100 a 900" e, logo depois, "qual
+o menor preço entre 300 e 700?". Com um array comum cada uma dessas operações custa O(n).
+
+Vantagens:
+Consultas de soma, mínimo e máximo de intervalo e soma de um valor a um intervalo inteiro, todas em O(log n).
+Arrays primitivos e laços iterativos: nenhuma alocação depois de construída.
+Construção em O(n) a partir de um int[].
+
+Desvantagens:
+Usa quatro arrays de long, três deles com duas posições por folha (e o número de folhas é a potência de 2 >= n):
+bem mais memória que a ArvoreFenwick.
+Código mais longo e delicado que o da ArvoreFenwick, que basta quando só são necessárias somas com atualização pontual.
+ */
+
+public class ArvoreDeSegmentos {
+
+    private final int n;
+    private final int tamanho; // Número de folhas: a menor potência de 2 >= n
+    private final int log;     // log2(tamanho): profundidade das folhas
+    private final long[] soma;
+    private final long[] minimo;
+    private final long[] maximo;
+    private final long[] pendente; // Valor a somar em toda a subárvore, ainda não repassado aos filhos
+
+    /**
+     * Constrói a árvore em O(n): preenche as folhas e calcula cada nó interno uma única vez, de baixo para cima.
+     */
+    public ArvoreDeSegmentos(int[] valores) {
+        this.n = valores.length;
+        this.log = n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+        this.tamanho = 1 << log;
+        this.soma = new long[2 * tamanho];
+        this.minimo = new long[2 * tamanho];
+        this.maximo = new long[2 * tamanho];
+        this.pendente = new long[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            if (i < n) {
+                soma[tamanho + i] = valores[i];
+                minimo[tamanho + i] = valores[i];
+                maximo[tamanho + i] = valores[i];
+            } else {
+                // Folhas de preenchimento: neutras para as três operações (nunca recebem somas pendentes, porque
+                // nenhum intervalo válido cobre um nó inteiro que as contenha)
+                minimo[tamanho + i] = Long.MAX_VALUE;
+                maximo[tamanho + i] = Long.MIN_VALUE;
+            }
+        }
+        for (int k = tamanho - 1; k >= 1; k--) {
+            recalcular(k);
+        }
+    }
+
+    private void recalcular(int k) {
+        soma[k] = soma[2 * k] + soma[2 * k + 1];
+        minimo[k] = Math.min(minimo[2 * k], minimo[2 * k + 1]);
+        maximo[k] = Math.max(maximo[2 * k], maximo[2 * k + 1]);
+    }
+
+    // Soma delta a todos os elementos do segmento do nó k: atualiza os agregados e, se não for folha, anota a pendência
+    private void aplicar(int k, long delta) {
+        int profundidade = 31 - Integer.numberOfLeadingZeros(k);
+        soma[k] += delta << (log - profundidade); // delta vezes o número de folhas do segmento
+        minimo[k] += delta;
+        maximo[k] += delta;
+        if (k < tamanho) {
+            pendente[k] += delta;
+        }
+    }
+
+    // Repassa a pendência do nó k para os dois filhos
+    private void empurrar(int k) {
+        if (pendente[k] != 0) {
+            aplicar(2 * k, pendente[k]);
+            aplicar(2 * k + 1, pendente[k]);
+            pendente[k] = 0;
+        }
+    }
+
+    // Empurra as pendências de todos os ancestrais das bordas do intervalo [l, r) (já em índices de folha), de cima
+    // para baixo, para que os nós visitados pela consulta estejam atualizados
+    private void empurrarBordas(int l, int r) {
+        for (int i = log; i >= 1; i--) {
+            if (((l >> i) << i) != l) {
+                empurrar(l >> i);
+            }
+            if (((r >> i) << i) != r) {
+                empurrar((r - 1) >> i);
+            }
+        }
+    }
+
+    private void verificar(int inicio, int fim) {
+        if (inicio < 0 || fim >= n || inicio > fim) {
+            throw new IndexOutOfBoundsException("Intervalo [" + inicio + ", " + fim + "] inválido para " + n + " elementos.");
+        }
+    }
+
+    /**
+     * Soma 'delta' a todos os elementos das posições [inicio, fim], em O(log n).
+     */
+    public void adicionarIntervalo(int inicio, int fim, long delta) {
+        verificar(inicio, fim);
+        int l = inicio + tamanho;
+        int r = fim + 1 + tamanho;
+        empurrarBordas(l, r);
+        // Sobe pelas duas bordas aplicando o delta nos nós que ficam inteiros dentro do intervalo
+        for (int a = l, b = r; a < b; a >>= 1, b >>= 1) {
+            if ((a & 1) == 1) {
+                aplicar(a++, delta);
+            }
+            if ((b & 1) == 1) {
+                aplicar(--b, delta);
+            }
+        }
+        // Recalcula os ancestrais das bordas, que ficaram com agregados antigos
+        for (int i = 1; i <= log; i++) {
+            if (((l >> i) << i) != l) {
+                recalcular(l >> i);
+            }
+            if (((r >> i) << i) != r) {
+                recalcular((r - 1) >> i);
+            }
+        }
+    }
+
+    /**
+     * Troca o valor de um elemento, em O(log n).
+     */
+    public void definir(int posicao, long valor) {
+        verificar(posicao, posicao);
+        int k = posicao + tamanho;
+        for (int i = log; i >= 1; i--) {
+            empurrar(k >> i);
+        }
+        soma[k] = valor;
+        minimo[k] = valor;
+        maximo[k] = valor;
+        for (int i = 1; i <= log; i++) {
+            recalcular(k >> i);
+        }
+    }
+
+    public long obter(int posicao) {
+        verificar(posicao, posicao);
+        int k = posicao + tamanho;
+        for (int i = log; i >= 1; i--) {
+            empurrar(k >> i);
+        }
+        return soma[k];
+    }
+
+    /**
+     * Soma dos elementos das posições [inicio, fim], em O(log n).
+     */
+    public long somaIntervalo(int inicio, int fim) {
+        verificar(inicio, fim);
+        int l = inicio + tamanho;
+        int r = fim + 1 + tamanho;
+        empurrarBordas(l, r);
+        long resultado = 0;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                resultado += soma[l++];
+            }
+            if ((r & 1) == 1) {
+                resultado += soma[--r];
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Menor elemento das posições [inicio, fim], em O(log n).
+     */
+    public long minimoIntervalo(int inicio, int fim) {
+        verificar(inicio, fim);
+        int l = inicio + tamanho;
+        int r = fim + 1 + tamanho;
+        empurrarBordas(l, r);
+        long resultado = Long.MAX_VALUE;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                resultado = Math.min(resultado, minimo[l++]);
+            }
+            if ((r & 1) == 1) {
+                resultado = Math.min(resultado, minimo[--r]);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Maior elemento das posições [inicio, fim], em O(log n).
+     */
+    public long maximoIntervalo(int inicio, int fim) {
+        verificar(inicio, fim);
+        int l = inicio + tamanho;
+        int r = fim + 1 + tamanho;
+        empurrarBordas(l, r);
+        long resultado = Long.MIN_VALUE;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                resultado = Math.max(resultado, maximo[l++]);
+            }
+            if ((r & 1) == 1) {
+                resultado = Math.max(resultado, maximo[--r]);
+            }
+        }
+        return resultado;
+    }
+
+    public int getTamanho() {
+        return n;
+    }
+
+    public static void main(String[] args) {
+        int[] precos = {50, 20, 80, 10, 60, 30, 70, 40, 90};
+        ArvoreDeSegmentos arvore = new ArvoreDeSegmentos(precos);
+        System.out.println("Soma de [2, 6]: " + arvore.somaIntervalo(2, 6));     // Esperado: 250
+        System.out.println("Mínimo de [2, 6]: " + arvore.minimoIntervalo(2, 6)); // Esperado: 10
+        System.out.println("Máximo de [0, 8]: " + arvore.maximoIntervalo(0, 8)); // Esperado: 90
+
+        arvore.adicionarIntervalo(1, 4, 100); // 50, 120, 180, 110, 160, 30, 70, 40, 90
+        System.out.println("Após somar 100 em [1, 4]:");
+        System.out.println("Soma de [2, 6]: " + arvore.somaIntervalo(2, 6));     // Esperado: 550
+        System.out.println("Mínimo de [2, 6]: " + arvore.minimoIntervalo(2, 6)); // Esperado: 30
+        System.out.println("Máximo de [0, 3]: " + arvore.maximoIntervalo(0, 3)); // Esperado: 180
+        arvore.definir(5, 500);
+        System.out.println("Máximo de [4, 8] após definir a posição 5: " + arvore.maximoIntervalo(4, 8)); // Esperado: 500
+        System.out.println("Valor da posição 3: " + arvore.obter(3)); // Esperado: 110
+
+        System.out.println("\n--- 1.000.000 de elementos, 100.000 somas em intervalo e 200.000 consultas ---");
+        int n = 1_000_000;
+        int[] grande = new int[n];
+        java.util.Random aleatorio = new java.util.Random(1);
+        for (int i = 0; i < n; i++) {
+            grande[i] = aleatorio.nextInt(1000);
+        }
+        long inicio = System.nanoTime();
+        ArvoreDeSegmentos segmentos = new ArvoreDeSegmentos(grande);
+        long verificacao = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int a = aleatorio.nextInt(n);
+            int b = a + aleatorio.nextInt(n - a);
+            segmentos.adicionarIntervalo(a, b, aleatorio.nextInt(21) - 10);
+            verificacao += segmentos.minimoIntervalo(a, b) + segmentos.somaIntervalo(a, b);
+        }
+        System.out.printf("Construção + 300.000 operações em %d ms (verificação %d)%n",
+                (System.nanoTime() - inicio) / 1_000_000, verificacao);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+Árvore de Eytzinger (Eytzinger Layout / Árvore Binária Implícita)
+O que é? É uma árvore binária de busca completa guardada em um array, sem nós nem ponteiros, na mesma numeração
+usada pelo heap do HeapSort: a raiz fica na posição 1 e os filhos do nó k ficam em 2k e 2k + 1. O array é montado a
+partir de um array ORDENADO, colocando os elementos na ordem em que um percurso em ordem (esquerda, nó, direita)
+visitaria as posições. A busca desce da raiz: k = 2k + (arvore[k] < x ? 1 : 0), sem desvio condicional (branchless).
+
+Para que serve? Para responder milhões de consultas (contém, lower bound, rank) sobre um conjunto fixo de inteiros já
+ordenados, por exemplo o resultado de um QuickSort ou RadixSort. Na busca binária comum, os primeiros passos saltam
+para posições muito distantes do array e cada passo costuma ser uma falha de cache. No layout de Eytzinger os primeiros
+níveis da árvore ficam todos juntos no início do array (sempre em cache) e os 16 "bisnetos de 4ª geração" de um nó
+ocupam posições vizinhas (k*16 até k*16+15), o que permite pedir esse bloco de memória antes de precisar dele.
+
+Vantagens:
+Mais rápida que Arrays.binarySearch em arrays grandes (maiores que a cache); o ganho depende do hardware.
+Construção em O(n) a partir de um array ordenado.
+Laço de busca sem desvios imprevisíveis: o processador não erra previsões de branch.
+Sem ponteiros: mesma memória que o array original.
+
+Desvantagens:
+Estrutura imutável: inserir ou remover exige reconstruir tudo.
+A ordem dos elementos no array não é a ordem crescente; a posição ordenada de um nó (usada pelo rank) precisa ser
+calculada a partir do seu número no layout.
+Java não oferece uma instrução de prefetch; aqui ela é imitada lendo antecipadamente o bloco dos descendentes.
+ */
+
+import java.util.Arrays;
+
+public class ArvoreEytzinger {
+
+    /**
+     * Valor devolvido por lowerBound quando todas as chaves são menores que a consulta.
+     */
+    public static final long NENHUMA_CHAVE = Long.MIN_VALUE;
+
+    private final int[] arvore;   // arvore[1..n] no layout de Eytzinger; arvore[0] não é usado
+    private final int n;
+    private final int altura;     // Número de níveis da árvore
+    private final int noUltimoNivel; // Quantos nós existem de fato no último nível (que pode estar incompleto)
+
+    /**
+     * Constrói o índice em O(n) a partir de um array ordenado em ordem crescente (que não é modificado).
+     * @throws IllegalArgumentException se o array não estiver ordenado.
+     */
+    public ArvoreEytzinger(int[] ordenado) {
+        for (int i = 1; i < ordenado.length; i++) {
+            if (ordenado[i - 1] > ordenado[i]) {
+                throw new IllegalArgumentException("O array precisa estar em ordem crescente.");
+            }
+        }
+        this.n = ordenado.length;
+        this.arvore = new int[n + 1];
+        this.altura = 32 - Integer.numberOfLeadingZeros(n);
+        this.noUltimoNivel = n - ((1 << (altura - 1)) - 1);
+        construir(ordenado, 0, 1);
+    }
+
+    /**
+     * Preenche a subárvore de raiz k com um percurso em ordem, consumindo o array ordenado a partir de 'i'.
+     * A profundidade da recursão é a altura da árvore, log2(n). 'k' é long porque 2k + 1 passa de
+     * Integer.MAX_VALUE quando n > 2^30.
+     * @return O próximo índice do array ordenado ainda não usado.
+     */
+    private int construir(int[] ordenado, int i, long k) {
+        if (k <= n) {
+            i = construir(ordenado, i, 2 * k);      // Subárvore esquerda: os menores
+            arvore[(int) k] = ordenado[i];
+            i = construir(ordenado, i + 1, 2 * k + 1); // Subárvore direita: os maiores
+        }
+        return i;
+    }
+
+    /**
+     * Desce a árvore e retorna a posição (no layout) da menor chave >= x, ou 0 se não houver, nos 32 bits baixos.
+     * Os 32 bits altos trazem a soma das leituras antecipadas: a busca não escreve nada no objeto (que continua
+     * imutável e pode ser consultado por várias threads), e quem quiser garantir que o compilador JIT não descarte
+     * essas leituras soma esses bits em um checksum, como faz o main.
+     */
+    private long buscar(int x) {
+        long k = 1; // Termina em até 2n + 1, que não cabe em int quando n > 2^30
+        int limiteAdiante = n >>> 4; // k * 16 <= n sem calcular k * 16, que estouraria a partir de k = 2^27
+        int leituras = 0;
+        while (k <= n) {
+            int i = (int) k;
+            // "Prefetch": lê o bloco dos descendentes 4 níveis abaixo, para que ele já esteja vindo da memória
+            // quando a busca chegar lá. O resultado não participa da decisão, então o processador não espera por ele.
+            if (i <= limiteAdiante) {
+                leituras += arvore[i << 4];
+            }
+            // Vai para a direita (2k + 1) se arvore[k] < x, senão para a esquerda (2k), sem if
+            k = 2 * k + (arvore[i] < x ? 1 : 0);
+        }
+        // O caminho codifica em bits as decisões tomadas (1 = direita). O último "virar à esquerda" marca a
+        // menor chave >= x: remove os 1s finais (viradas à direita) e mais um bit.
+        int posicao = (int) (k >>> (Long.numberOfTrailingZeros(~k) + 1));
+        return (long) leituras << 32 | posicao;
+    }
+
+    /**
+     * Calcula em O(1), sem acessar a memória, a posição que o nó k ocupava no array ordenado.
+     * Numa árvore perfeita com 'altura' níveis, o p-ésimo nó do nível d tem posição em ordem
+     * (2p + 1) * 2^(altura - 1 - d) - 1. Como o último nível pode estar incompleto, descontamos as posições do
+     * último nível que não existem e que viriam antes dele (no percurso em ordem, elas ocupam as posições pares).
+     */
+    private int posicaoOrdenada(int k) {
+        int nivel = 31 - Integer.numberOfLeadingZeros(k);
+        int p = k - (1 << nivel);
+        int posicaoPerfeita = ((2 * p + 1) << (altura - 1 - nivel)) - 1;
+        int faltantesAntes = Math.max(0, ((posicaoPerfeita + 1) >>> 1) - noUltimoNivel); // + 1 chega a 2^31
+        return posicaoPerfeita - faltantesAntes;
+    }
+
+    /**
+     * Verifica se x está no índice.
+     */
+    public boolean contem(int x) {
+        int k = (int) buscar(x);
+        return k != 0 && arvore[k] == x;
+    }
+
+    /**
+     * Lower bound: a menor chave maior ou igual a x, ou NENHUMA_CHAVE.
+     */
+    public long lowerBound(int x) {
+        int k = (int) buscar(x);
+        return k == 0 ? NENHUMA_CHAVE : arvore[k];
+    }
+
+    /**
+     * Rank: quantas chaves são estritamente menores que x (a posição onde x seria inserido no array ordenado).
+     */
+    public int rank(int x) {
+        int k = (int) buscar(x);
+        return k == 0 ? n : posicaoOrdenada(k);
+    }
+
+    public int getTamanho() {
+        return n;
+    }
+
+    public static void main(String[] args) {
+        int[] ordenado = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29};
+        ArvoreEytzinger indice = new ArvoreEytzinger(ordenado);
+        System.out.println("Layout de Eytzinger: " + Arrays.toString(Arrays.copyOfRange(indice.arvore, 1, indice.n + 1)));
+        // Esperado: [17, 7, 23, 3, 13, 19, 29, 2, 5, 11]
+        System.out.println("Contém 13? " + indice.contem(13));      // Esperado: true
+        System.out.println("Contém 14? " + indice.contem(14));      // Esperado: false
+        System.out.println("lowerBound(14): " + indice.lowerBound(14)); // Esperado: 17
+        System.out.println("rank(14): " + indice.rank(14));          // Esperado: 6
+        System.out.println("lowerBound(30) existe? " + (indice.lowerBound(30) != NENHUMA_CHAVE)); // Esperado: false
+
+        System.out.println("\n--- Comparação com Arrays.binarySearch (16.000.000 chaves) ---");
+        int n = 16_000_000;
+        int[] grande = new int[n];
+        java.util.Random aleatorio = new java.util.Random(1);
+        for (int i = 0; i < n; i++) {
+            grande[i] = i * 128 + aleatorio.nextInt(128); // Já em ordem crescente e sem repetições
+        }
+        ArvoreEytzinger eytzinger = new ArvoreEytzinger(grande);
+        int[] consultas = new int[5_000_000];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = aleatorio.nextInt(n * 128);
+        }
+        for (int rodada = 0; rodada < 3; rodada++) { // A primeira rodada aquece o compilador JIT
+            long inicio = System.nanoTime();
+            long soma1 = 0;
+            for (int x : consultas) {
+                int i = Arrays.binarySearch(grande, x);
+                soma1 += i >= 0 ? i : -i - 1;
+            }
+            long tempoBinaria = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            long soma2 = 0;
+            long leituras = 0; // Checksum das leituras antecipadas: mantém o "prefetch" vivo no código compilado
+            for (int x : consultas) {
+                long busca = eytzinger.buscar(x);
+                int k = (int) busca;
+                soma2 += k == 0 ? n : eytzinger.posicaoOrdenada(k); // O mesmo que eytzinger.rank(x)
+                leituras += busca >>> 32;
+            }
+            long tempoEytzinger = System.nanoTime() - inicio;
+            System.out.printf("binarySearch: %d ms, Eytzinger: %d ms (mesmos resultados? %b, checksum das leituras %d)%n",
+                    tempoBinaria / 1_000_000, tempoEytzinger / 1_000_000, soma1 == soma2, leituras);
+        }
+
+        verificarIndiceGrande();
+    }
+
+    // A partir de 2^27 chaves, k * 16 passa de Integer.MAX_VALUE na busca: confere um índice desse tamanho.
+    // Precisa de cerca de 1 GB (o array ordenado e a árvore); com pouco heap, rode com -Xmx2g.
+    private static void verificarIndiceGrande() {
+        int n = (1 << 27) + 5;
+        System.out.println("\n--- Índice com 2^27 + 5 chaves (as chaves pares 0, 2, 4, ...) ---");
+        if (Runtime.getRuntime().maxMemory() < 3L * 4 * n) {
+            System.out.println("Pulado: heap pequeno demais, rode com -Xmx2g");
+            return;
+        }
+        int[] pares = new int[n];
+        for (int i = 0; i < n; i++) {
+            pares[i] = 2 * i;
+        }
+        ArvoreEytzinger indice = new ArvoreEytzinger(pares);
+        pares = null; // Libera o array ordenado; a árvore já tem uma cópia
+        boolean corretos = indice.rank(0) == 0 && indice.contem(0) && !indice.contem(1)
+                && indice.rank(2 * n) == n && indice.lowerBound(2 * n - 1) == NENHUMA_CHAVE;
+        java.util.Random aleatorio = new java.util.Random(2);
+        for (int t = 0; t < 1_000_000 && corretos; t++) {
+            int x = aleatorio.nextInt(2 * n);
+            int esperado = (x + 1) / 2; // Quantas chaves pares são menores que x
+            corretos = indice.rank(x) == esperado && indice.contem(x) == (x % 2 == 0);
+        }
+        System.out.println("rank, contem e lowerBound corretos? " + corretos); // Esperado: true
+    }
+}
@@ -0,0 +1,153 @@
+/*
+Árvore de Fenwick (Fenwick Tree / Binary Indexed Tree)
+O que é? É um array que guarda somas parciais de um outro array de forma que tanto alterar um elemento quanto somar
+um prefixo custem O(log n). A posição i (contando a partir de 1) guarda a soma dos (i & -i) elementos que terminam em
+i, ou seja, de um bloco cujo tamanho é o bit menos significativo de i. Para somar o prefixo [1, i], basta ir
+removendo o bit menos significativo de i e somando os blocos; para alterar o elemento i, basta ir somando o bit menos
+significativo e atualizando os blocos que contêm i.
+
+Para que serve? Para somas de intervalos sobre arrays que mudam o tempo todo: contadores por faixa de tempo,
+frequências acumuladas, ranking de pontuações, contagem de inversões. Somar um intervalo percorrendo o array é O(n)
+por consulta; aqui são dois prefixos de O(log n).
+
+Vantagens:
+Muito simples e compacta: um único array de n + 1 posições, sem nós nem objetos.
+Nenhuma alocação depois de construída.
+Atualização pontual e soma de prefixo em O(log n), com laços curtos e sem recursão.
+Construção em O(n) a partir de um int[].
+
+Desvantagens:
+Só serve para operações inversíveis como a soma (não dá para obter mínimo ou máximo de um intervalo qualquer);
+para isso existe a ArvoreDeSegmentos.
+Atualizar um intervalo inteiro de uma vez exige outra formulação (duas árvores); aqui a atualização é pontual.
+ */
+
+public class ArvoreFenwick {
+
+    private final long[] arvore; // arvore[i] = soma de (i & -i) elementos terminando em i (índices a partir de 1)
+    private final int n;
+
+    /**
+     * Cria uma árvore com n elementos, todos iguais a zero.
+     */
+    public ArvoreFenwick(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("O tamanho não pode ser negativo.");
+        }
+        this.n = n;
+        this.arvore = new long[n + 1];
+    }
+
+    /**
+     * Constrói a árvore a partir dos valores em O(n): cada posição repassa sua soma para o "pai", o próximo bloco que a
+     * contém, em vez de fazer n atualizações de O(log n).
+     */
+    public ArvoreFenwick(int[] valores) {
+        this(valores.length);
+        for (int i = 1; i <= n; i++) {
+            arvore[i] += valores[i - 1];
+            int pai = i + (i & -i);
+            if (pai <= n) {
+                arvore[pai] += arvore[i];
+            }
+        }
+    }
+
+    /**
+     * Soma 'delta' ao elemento da posição (a partir de 0).
+     */
+    public void adicionar(int posicao, long delta) {
+        verificar(posicao);
+        for (int i = posicao + 1; i <= n; i += i & -i) {
+            arvore[i] += delta;
+        }
+    }
+
+    /**
+     * Troca o valor do elemento da posição.
+     */
+    public void definir(int posicao, long valor) {
+        adicionar(posicao, valor - obter(posicao));
+    }
+
+    /**
+     * Retorna o valor atual do elemento da posição.
+     */
+    public long obter(int posicao) {
+        verificar(posicao);
+        return somaPrefixo(posicao) - (posicao == 0 ? 0 : somaPrefixo(posicao - 1));
+    }
+
+    /**
+     * Soma dos elementos das posições [0, posicao].
+     */
+    public long somaPrefixo(int posicao) {
+        verificar(posicao);
+        long soma = 0;
+        for (int i = posicao + 1; i > 0; i -= i & -i) {
+            soma += arvore[i];
+        }
+        return soma;
+    }
+
+    /**
+     * Soma dos elementos das posições [inicio, fim]. Retorna 0 se inicio > fim.
+     */
+    public long somaIntervalo(int inicio, int fim) {
+        if (inicio > fim) {
+            return 0;
+        }
+        return somaPrefixo(fim) - (inicio == 0 ? 0 : somaPrefixo(inicio - 1));
+    }
+
+    /**
+     * Menor posição cuja soma de prefixo é maior ou igual a 'soma', ou getTamanho() se nenhuma for.
+     * Só vale se todos os elementos forem não negativos (prefixos crescentes). Desce pelos blocos do maior para o
+     * menor em O(log n), sem busca binária sobre somaPrefixo. Com frequências, é o k-ésimo elemento (percentil).
+     */
+    public int buscarPorSoma(long soma) {
+        int posicao = 0;
+        long acumulado = 0;
+        for (int passo = Integer.highestOneBit(Math.max(1, n)); passo > 0; passo >>= 1) {
+            int proxima = posicao + passo;
+            if (proxima <= n && acumulado + arvore[proxima] < soma) {
+                posicao = proxima;
+                acumulado += arvore[proxima];
+            }
+        }
+        return posicao; // posicao é o último índice (a partir de 1) com prefixo < soma, que é a resposta a partir de 0
+    }
+
+    public int getTamanho() {
+        return n;
+    }
+
+    private void verificar(int posicao) {
+        if (posicao < 0 || posicao >= n) {
+            throw new IndexOutOfBoundsException("Posição " + posicao + " fora de [0, " + n + ").");
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] valores = {5, 2, 9, 1, 7, 3, 8, 4};
+        ArvoreFenwick fenwick = new ArvoreFenwick(valores);
+        System.out.println("Soma de [0, 3]: " + fenwick.somaPrefixo(3));      // Esperado: 17
+        System.out.println("Soma de [2, 5]: " + fenwick.somaIntervalo(2, 5)); // Esperado: 20
+        fenwick.adicionar(4, 10); // valores[4] passa de 7 para 17
+        System.out.println("Após somar 10 na posição 4, soma de [2, 5]: " + fenwick.somaIntervalo(2, 5)); // Esperado: 30
+        fenwick.definir(0, 0);
+        System.out.println("Valor da posição 0: " + fenwick.obter(0));      // Esperado: 0
+        // Prefixos: 0, 2, 11, 12, 29, 32, 40, 44
+        System.out.println("Primeira posição com prefixo >= 12: " + fenwick.buscarPorSoma(12)); // Esperado: 3
+
+        System.out.println("\n--- Histograma de latências (0 a 999 ms), percentil 99 ---");
+        ArvoreFenwick histograma = new ArvoreFenwick(1000);
+        java.util.Random aleatorio = new java.util.Random(1);
+        int total = 1_000_000;
+        for (int i = 0; i < total; i++) {
+            histograma.adicionar(Math.max(0, Math.min(999, (int) (aleatorio.nextGaussian() * 40 + 200))), 1);
+        }
+        System.out.println("p50: " + histograma.buscarPorSoma(total / 2) + " ms, p99: "
+                + histograma.buscarPorSoma(total * 99L / 100) + " ms"); // Esperado: cerca de 200 e 293
+    }
+}
@@ -0,0 +1,763 @@
+/*
+Árvore Radix Adaptativa (Adaptive Radix Tree, ART)
+O que é? É uma trie (árvore de prefixos) sobre os bytes da chave: a chave long é lida como 8 bytes, do mais
+significativo para o menos significativo, e cada nível da árvore escolhe o filho pelo próximo byte. Não há comparações
+entre chaves como na ArvoreBinaria: o caminho é ditado pelos próprios bytes, então uma busca visita no máximo 8 nós
+internos, qualquer que seja o número de chaves.
+Uma trie comum com 256 filhos por nó desperdiçaria memória; a ART adapta o tipo de cada nó à quantidade de filhos:
+No4 e No16 guardam os bytes em ordem em um array pequeno, No48 tem um índice de 256 bytes que aponta para 48 posições,
+e No256 é o array direto. Os nós crescem e encolhem de tipo conforme filhos entram e saem.
+Duas técnicas eliminam os nós de um filho só:
+Compressão de caminho: um nó interno guarda os bytes que todas as chaves abaixo dele têm em comum e pula direto para o
+byte onde elas se separam (o campo 'profundidade' diz qual é esse byte).
+Expansão preguiçosa: uma chave sozinha em uma subárvore fica em uma folha pendurada no primeiro nível em que ela se
+separa das outras, sem uma cadeia de nós internos até o último byte.
+Para que a ordem dos bytes sem sinal seja a ordem dos números com sinal, o bit de sinal é invertido (chave ^
+Long.MIN_VALUE) antes de tudo; assim o percurso da trie sai em ordem crescente. Chaves int podem ser usadas
+diretamente (convertidas para long): os 4 bytes de cima, iguais em todas, viram um único prefixo comprimido.
+
+Para que serve? Para índices em memória de ids inteiros, principalmente densos (sequências, timestamps, ids de banco):
+ids vizinhos compartilham os bytes de cima, caem nos mesmos nós largos e a busca vira poucos acessos a arrays.
+Também responde consultas ordenadas: varredura de intervalos [inicio, fim] e de prefixos de bytes.
+
+Vantagens:
+Busca, inserção e remoção em O(k), com k = 8 bytes, independente de n; sem comparações de chave até a folha.
+Para ids densos, usa menos memória e menos acessos que uma árvore binária (um No256 substitui 255 nós binários).
+Mantém as chaves em ordem: cursor de intervalos e de prefixos sem alocação.
+Não precisa de rebalanceamento: a forma da árvore depende só do conjunto de chaves, não da ordem de inserção.
+
+Desvantagens:
+Quatro tipos de nó, crescimento e encolhimento: implementação bem mais longa que a de uma tabela hash.
+Para chaves muito esparsas (aleatórias em 64 bits) a maioria dos nós fica pequena; nesse caso a ArvoreCritBit, que
+ramifica por bit e não desperdiça posições, é mais econômica.
+Sem instruções SIMD em Java, o No16 usa busca binária em vez de comparar os 16 bytes de uma vez como no artigo original.
+ */
+
+public class ArvoreRadixAdaptativa {
+
+    private abstract static class No {
+    }
+
+    /**
+     * Folha: guarda a chave inteira (já com o sinal invertido) para conferir no final da busca.
+     */
+    private static final class Folha extends No {
+        final long chave;
+        long valor;
+
+        Folha(long chave, long valor) {
+            this.chave = chave;
+            this.valor = valor;
+        }
+    }
+
+    /**
+     * Nó interno. Todas as chaves abaixo dele têm os mesmos 'profundidade' bytes de cima, guardados nos bytes de cima
+     * de 'prefixo' (o resto de 'prefixo' não importa). O filho é escolhido pelo byte da posição 'profundidade'.
+     * Como a profundidade é absoluta, e não relativa ao pai, um nó continua válido se o pai for removido.
+     */
+    private abstract static class Interno extends No {
+        final long prefixo;
+        final int profundidade;
+        int quantidade;
+
+        Interno(long prefixo, int profundidade) {
+            this.prefixo = prefixo;
+            this.profundidade = profundidade;
+        }
+
+        abstract No filho(int b);
+
+        // Troca o filho de um byte que já existe
+        abstract void trocar(int b, No filho);
+
+        // Adiciona um filho para um byte que ainda não existe; o nó não pode estar cheio
+        abstract void adicionar(int b, No filho);
+
+        // Retira o filho de um byte que existe
+        abstract void retirar(int b);
+
+        abstract boolean estaCheio();
+
+        // Nó do tipo seguinte com os mesmos filhos
+        abstract Interno crescer();
+
+        // Nó do tipo anterior, se este estiver vazio demais; senão o próprio nó
+        abstract Interno encolher();
+
+        // Menor byte >= b que tem filho, ou -1
+        abstract int proximoByte(int b);
+    }
+
+    /**
+     * No4 (e, com 16 posições, No16): bytes em ordem crescente e os filhos nas mesmas posições.
+     */
+    private static class No4 extends Interno {
+        final byte[] bytes;
+        final No[] filhos;
+
+        No4(long prefixo, int profundidade) {
+            this(prefixo, profundidade, 4);
+        }
+
+        No4(long prefixo, int profundidade, int capacidade) {
+            super(prefixo, profundidade);
+            this.bytes = new byte[capacidade];
+            this.filhos = new No[capacidade];
+        }
+
+        // Posição do byte no array, ou -(ponto de inserção) - 1
+        int posicao(int b) {
+            for (int i = 0; i < quantidade; i++) {
+                int atual = bytes[i] & 0xFF;
+                if (atual >= b) {
+                    return atual == b ? i : -i - 1;
+                }
+            }
+            return -quantidade - 1;
+        }
+
+        @Override
+        No filho(int b) {
+            int i = posicao(b);
+            return i >= 0 ? filhos[i] : null;
+        }
+
+        @Override
+        void trocar(int b, No filho) {
+            filhos[posicao(b)] = filho;
+        }
+
+        @Override
+        void adicionar(int b, No filho) {
+            int i = -posicao(b) - 1;
+            System.arraycopy(bytes, i, bytes, i + 1, quantidade - i);
+            System.arraycopy(filhos, i, filhos, i + 1, quantidade - i);
+            bytes[i] = (byte) b;
+            filhos[i] = filho;
+            quantidade++;
+        }
+
+        @Override
+        void retirar(int b) {
+            int i = posicao(b);
+            System.arraycopy(bytes, i + 1, bytes, i, quantidade - i - 1);
+            System.arraycopy(filhos, i + 1, filhos, i, quantidade - i - 1);
+            quantidade--;
+            filhos[quantidade] = null;
+        }
+
+        @Override
+        boolean estaCheio() {
+            return quantidade == bytes.length;
+        }
+
+        @Override
+        Interno crescer() {
+            No16 maior = new No16(prefixo, profundidade);
+            System.arraycopy(bytes, 0, maior.bytes, 0, quantidade);
+            System.arraycopy(filhos, 0, maior.filhos, 0, quantidade);
+            maior.quantidade = quantidade;
+            return maior;
+        }
+
+        @Override
+        Interno encolher() {
+            return this;
+        }
+
+        @Override
+        int proximoByte(int b) {
+            for (int i = 0; i < quantidade; i++) {
+                if ((bytes[i] & 0xFF) >= b) {
+                    return bytes[i] & 0xFF;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class No16 extends No4 {
+        No16(long prefixo, int profundidade) {
+            super(prefixo, profundidade, 16);
+        }
+
+        @Override
+        int posicao(int b) {
+            int esquerda = 0;
+            int direita = quantidade - 1;
+            while (esquerda <= direita) {
+                int meio = (esquerda + direita) >>> 1;
+                int atual = bytes[meio] & 0xFF;
+                if (atual < b) {
+                    esquerda = meio + 1;
+                } else if (atual > b) {
+                    direita = meio - 1;
+                } else {
+                    return meio;
+                }
+            }
+            return -esquerda - 1;
+        }
+
+        @Override
+        Interno crescer() {
+            No48 maior = new No48(prefixo, profundidade);
+            for (int i = 0; i < quantidade; i++) {
+                maior.adicionar(bytes[i] & 0xFF, filhos[i]);
+            }
+            return maior;
+        }
+
+        @Override
+        Interno encolher() {
+            if (quantidade > 3) {
+                return this;
+            }
+            No4 menor = new No4(prefixo, profundidade);
+            System.arraycopy(bytes, 0, menor.bytes, 0, quantidade);
+            System.arraycopy(filhos, 0, menor.filhos, 0, quantidade);
+            menor.quantidade = quantidade;
+            return menor;
+        }
+    }
+
+    /**
+     * No48: um índice de 256 bytes (posição + 1 no array de filhos, 0 = sem filho) e 48 posições de filhos.
+     */
+    private static final class No48 extends Interno {
+        final byte[] indice = new byte[256];
+        final No[] filhos = new No[48];
+
+        No48(long prefixo, int profundidade) {
+            super(prefixo, profundidade);
+        }
+
+        @Override
+        No filho(int b) {
+            int i = indice[b];
+            return i != 0 ? filhos[i - 1] : null;
+        }
+
+        @Override
+        void trocar(int b, No filho) {
+            filhos[indice[b] - 1] = filho;
+        }
+
+        @Override
+        void adicionar(int b, No filho) {
+            int livre = 0;
+            while (filhos[livre] != null) { // Remoções deixam buracos: procura a primeira posição vazia
+                livre++;
+            }
+            filhos[livre] = filho;
+            indice[b] = (byte) (livre + 1);
+            quantidade++;
+        }
+
+        @Override
+        void retirar(int b) {
+            filhos[indice[b] - 1] = null;
+            indice[b] = 0;
+            quantidade--;
+        }
+
+        @Override
+        boolean estaCheio() {
+            return quantidade == 48;
+        }
+
+        @Override
+        Interno crescer() {
+            No256 maior = new No256(prefixo, profundidade);
+            for (int b = 0; b < 256; b++) {
+                if (indice[b] != 0) {
+                    maior.adicionar(b, filhos[indice[b] - 1]);
+                }
+            }
+            return maior;
+        }
+
+        @Override
+        Interno encolher() {
+            if (quantidade > 12) {
+                return this;
+            }
+            No16 menor = new No16(prefixo, profundidade);
+            for (int b = 0; b < 256; b++) {
+                if (indice[b] != 0) {
+                    menor.bytes[menor.quantidade] = (byte) b;
+                    menor.filhos[menor.quantidade++] = filhos[indice[b] - 1];
+                }
+            }
+            return menor;
+        }
+
+        @Override
+        int proximoByte(int b) {
+            for (; b < 256; b++) {
+                if (indice[b] != 0) {
+                    return b;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * No256: o filho de cada byte direto no array.
+     */
+    private static final class No256 extends Interno {
+        final No[] filhos = new No[256];
+
+        No256(long prefixo, int profundidade) {
+            super(prefixo, profundidade);
+        }
+
+        @Override
+        No filho(int b) {
+            return filhos[b];
+        }
+
+        @Override
+        void trocar(int b, No filho) {
+            filhos[b] = filho;
+        }
+
+        @Override
+        void adicionar(int b, No filho) {
+            filhos[b] = filho;
+            quantidade++;
+        }
+
+        @Override
+        void retirar(int b) {
+            filhos[b] = null;
+            quantidade--;
+        }
+
+        @Override
+        boolean estaCheio() {
+            return false;
+        }
+
+        @Override
+        Interno crescer() {
+            return this;
+        }
+
+        @Override
+        Interno encolher() {
+            if (quantidade > 36) { // Abaixo de 48 para não alternar entre os dois tipos a cada inserção e remoção
+                return this;
+            }
+            No48 menor = new No48(prefixo, profundidade);
+            for (int b = 0; b < 256; b++) {
+                if (filhos[b] != null) {
+                    menor.adicionar(b, filhos[b]);
+                }
+            }
+            return menor;
+        }
+
+        @Override
+        int proximoByte(int b) {
+            for (; b < 256; b++) {
+                if (filhos[b] != null) {
+                    return b;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private No raiz;
+    private int tamanho;
+    // Indica se a última inserção ou remoção recursiva mudou o número de chaves
+    private boolean modificou;
+
+    // Inverte o bit de sinal: a ordem sem sinal dos bytes passa a ser a ordem com sinal dos números
+    private static long paraBytes(long chave) {
+        return chave ^ Long.MIN_VALUE;
+    }
+
+    // Byte da posição 'profundidade' (0 = o mais significativo)
+    private static int byteEm(long chave, int profundidade) {
+        return (int) (chave >>> (56 - 8 * profundidade)) & 0xFF;
+    }
+
+    // Posição do primeiro byte em que as duas chaves diferem (8 se forem iguais)
+    private static int primeiroByteDiferente(long a, long b) {
+        return Long.numberOfLeadingZeros(a ^ b) >>> 3;
+    }
+
+    public boolean estaVazia() {
+        return tamanho == 0;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Busca otimista: desce só pelos bytes de ramificação, sem conferir os prefixos comprimidos no caminho, e
+     * compara a chave inteira uma única vez na folha.
+     */
+    private Folha buscarFolha(long chave) {
+        long bytes = paraBytes(chave);
+        No no = raiz;
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            no = interno.filho(byteEm(bytes, interno.profundidade));
+        }
+        return no != null && ((Folha) no).chave == bytes ? (Folha) no : null;
+    }
+
+    public boolean contem(long chave) {
+        return buscarFolha(chave) != null;
+    }
+
+    /**
+     * Retorna o valor associado à chave, ou 'valorPadrao' se a chave não existir.
+     */
+    public long obter(long chave, long valorPadrao) {
+        Folha folha = buscarFolha(chave);
+        return folha != null ? folha.valor : valorPadrao;
+    }
+
+    /**
+     * Associa o valor à chave, substituindo o valor anterior se ela já existir.
+     */
+    public void colocar(long chave, long valor) {
+        modificou = false;
+        raiz = inserir(raiz, paraBytes(chave), valor);
+        if (modificou) {
+            tamanho++;
+        }
+    }
+
+    // Devolve o nó que deve ocupar o lugar de 'no' (um nó maior, um novo nó acima dele ou o próprio nó)
+    private No inserir(No no, long chave, long valor) {
+        if (no == null) {
+            modificou = true;
+            return new Folha(chave, valor);
+        }
+        if (no instanceof Folha) {
+            Folha folha = (Folha) no;
+            if (folha.chave == chave) {
+                folha.valor = valor;
+                return folha;
+            }
+            // Expansão preguiçosa: só agora as duas chaves precisam de um nó para se separar, no primeiro byte diferente
+            return separar(folha, folha.chave, chave, valor);
+        }
+        Interno interno = (Interno) no;
+        int diferente = primeiroByteDiferente(interno.prefixo, chave);
+        if (diferente < interno.profundidade) {
+            // A chave sai do prefixo comprimido: um nó novo no byte da diferença passa a ter este nó como filho
+            return separar(interno, interno.prefixo, chave, valor);
+        }
+        int b = byteEm(chave, interno.profundidade);
+        No filho = interno.filho(b);
+        if (filho != null) {
+            No novo = inserir(filho, chave, valor);
+            if (novo != filho) {
+                interno.trocar(b, novo);
+            }
+            return interno;
+        }
+        if (interno.estaCheio()) {
+            interno = interno.crescer();
+        }
+        interno.adicionar(b, new Folha(chave, valor));
+        modificou = true;
+        return interno;
+    }
+
+    // Novo No4 no primeiro byte em que 'chave' difere de 'existente', com o nó antigo e uma folha nova como filhos
+    private No separar(No existente, long chaveExistente, long chave, long valor) {
+        int profundidade = primeiroByteDiferente(chaveExistente, chave);
+        No4 no = new No4(chave, profundidade);
+        no.adicionar(byteEm(chaveExistente, profundidade), existente);
+        no.adicionar(byteEm(chave, profundidade), new Folha(chave, valor));
+        modificou = true;
+        return no;
+    }
+
+    /**
+     * Remove a chave. Retorna true se ela existia.
+     */
+    public boolean remover(long chave) {
+        modificou = false;
+        raiz = remover(raiz, paraBytes(chave));
+        if (modificou) {
+            tamanho--;
+        }
+        return modificou;
+    }
+
+    private No remover(No no, long chave) {
+        if (no == null) {
+            return null;
+        }
+        if (no instanceof Folha) {
+            if (((Folha) no).chave != chave) {
+                return no;
+            }
+            modificou = true;
+            return null;
+        }
+        Interno interno = (Interno) no;
+        int b = byteEm(chave, interno.profundidade);
+        No filho = interno.filho(b);
+        if (filho == null) {
+            return interno;
+        }
+        No novo = remover(filho, chave);
+        if (novo == filho) {
+            return interno;
+        }
+        if (novo != null) {
+            interno.trocar(b, novo);
+            return interno;
+        }
+        interno.retirar(b);
+        if (interno.quantidade == 1) {
+            // Um só filho: o nó deixa de existir e o filho sobe (a profundidade dele é absoluta, então nada muda nele)
+            return interno.filho(interno.proximoByte(0));
+        }
+        return interno.encolher();
+    }
+
+    /**
+     * Cria um cursor para varrer intervalos em ordem crescente. O mesmo cursor pode ser reposicionado quantas vezes
+     * for preciso, sem alocar memória (a pilha tem no máximo 8 nós internos, um por byte).
+     */
+    public Cursor novoCursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Cursor de varredura por intervalo [inicio, fim] em ordem crescente.
+     * Uso: cursor.posicionar(a, b); while (cursor.avancar()) { cursor.chave(); cursor.valor(); }
+     */
+    public final class Cursor {
+        private final Interno[] nos = new Interno[8];
+        private final int[] proximos = new int[8]; // Próximo byte a visitar em cada nó da pilha
+        private int topo;
+        private Folha primeira;                     // Folha encontrada na descida, entregue antes da pilha
+        private long fim;
+        private Folha atual;
+
+        private Cursor() {
+        }
+
+        /**
+         * Posiciona o cursor antes da primeira chave >= inicio; a varredura para depois da última chave <= fim.
+         */
+        public void posicionar(long inicio, long fim) {
+            this.fim = paraBytes(fim);
+            this.topo = 0;
+            this.primeira = null;
+            this.atual = null;
+            long alvo = paraBytes(inicio);
+            No no = raiz;
+            while (no instanceof Interno) {
+                Interno interno = (Interno) no;
+                int diferente = primeiroByteDiferente(interno.prefixo, alvo);
+                if (diferente < interno.profundidade) {
+                    // O prefixo comprimido já decide: a subárvore inteira fica antes ou depois do início
+                    if (byteEm(interno.prefixo, diferente) > byteEm(alvo, diferente)) {
+                        empilhar(interno, 0);
+                    }
+                    return;
+                }
+                int b = byteEm(alvo, interno.profundidade);
+                empilhar(interno, b + 1); // Os filhos de bytes maiores vêm depois, inteiros
+                no = interno.filho(b);
+            }
+            if (no != null && Long.compareUnsigned(((Folha) no).chave, alvo) >= 0) {
+                primeira = (Folha) no;
+            }
+        }
+
+        /**
+         * Posiciona o cursor nas chaves cujos 'bytes' bytes mais significativos são iguais aos de 'prefixo'. Por
+         * exemplo, 0x1234_0000_0000_0000L com 2 bytes percorre as chaves que começam com 0x1234. Com pelo menos um
+         * byte o sinal fica fixo, então as chaves do prefixo formam um único intervalo.
+         */
+        public void posicionarPrefixo(long prefixo, int bytes) {
+            if (bytes < 0 || bytes > 8) {
+                throw new IllegalArgumentException("O prefixo deve ter de 0 a 8 bytes.");
+            }
+            if (bytes == 0) {
+                posicionarNoInicio();
+                return;
+            }
+            long resto = bytes == 8 ? 0 : -1L >>> (8 * bytes); // Bytes livres depois do prefixo, todos em 1
+            posicionar(prefixo & ~resto, prefixo | resto);
+        }
+
+        /**
+         * Posiciona o cursor antes da menor chave; a varredura percorre todas.
+         */
+        public void posicionarNoInicio() {
+            posicionar(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        private void empilhar(Interno no, int proximo) {
+            nos[topo] = no;
+            proximos[topo++] = proximo;
+        }
+
+        /**
+         * Avança para a próxima chave do intervalo.
+         * @return false quando o intervalo terminou.
+         */
+        public boolean avancar() {
+            Folha folha = primeira;
+            primeira = null;
+            while (folha == null && topo > 0) {
+                Interno no = nos[topo - 1];
+                int b = proximos[topo - 1] < 256 ? no.proximoByte(proximos[topo - 1]) : -1;
+                if (b < 0) {
+                    topo--;
+                    continue;
+                }
+                proximos[topo - 1] = b + 1;
+                No filho = no.filho(b);
+                if (filho instanceof Folha) {
+                    folha = (Folha) filho;
+                } else {
+                    empilhar((Interno) filho, 0);
+                }
+            }
+            if (folha == null || Long.compareUnsigned(folha.chave, fim) > 0) {
+                topo = 0;
+                atual = null;
+                return false;
+            }
+            atual = folha;
+            return true;
+        }
+
+        public long chave() {
+            return paraBytes(atual.chave);
+        }
+
+        public long valor() {
+            return atual.valor;
+        }
+    }
+
+    /**
+     * Quantos nós internos de cada tipo existem: {No4, No16, No48, No256}.
+     */
+    public int[] contarNos() {
+        int[] contagem = new int[4];
+        contarNos(raiz, contagem);
+        return contagem;
+    }
+
+    private static void contarNos(No no, int[] contagem) {
+        if (!(no instanceof Interno)) {
+            return;
+        }
+        Interno interno = (Interno) no;
+        if (interno instanceof No16) {
+            contagem[1]++;
+        } else if (interno instanceof No4) {
+            contagem[0]++;
+        } else if (interno instanceof No48) {
+            contagem[2]++;
+        } else {
+            contagem[3]++;
+        }
+        for (int b = interno.proximoByte(0); b >= 0; b = b < 255 ? interno.proximoByte(b + 1) : -1) {
+            contarNos(interno.filho(b), contagem);
+        }
+    }
+
+    public static void main(String[] args) {
+        ArvoreRadixAdaptativa arvore = new ArvoreRadixAdaptativa();
+        for (long chave : new long[]{0x1234_0001L, 0x1234_0002L, 0x1234_0100L, -5, 7, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            arvore.colocar(chave, chave * 10);
+        }
+        System.out.println("Tamanho: " + arvore.getTamanho()); // Esperado: 7
+        System.out.println("Valor de 0x12340002: " + arvore.obter(0x1234_0002L, -1)); // Esperado: 3053977620
+        System.out.println("Contém 8? " + arvore.contem(8)); // Esperado: false
+
+        Cursor cursor = arvore.novoCursor();
+        StringBuilder saida = new StringBuilder();
+        cursor.posicionarNoInicio();
+        while (cursor.avancar()) {
+            saida.append(cursor.chave()).append(' ');
+        }
+        // Esperado: -9223372036854775808 -5 7 305397761 305397762 305398016 9223372036854775807
+        System.out.println("Em ordem: " + saida.toString().trim());
+        saida.setLength(0);
+        cursor.posicionar(0, 0x1234_00FFL);
+        while (cursor.avancar()) {
+            saida.append(Long.toHexString(cursor.chave())).append(' ');
+        }
+        System.out.println("Intervalo [0, 0x123400ff]: " + saida.toString().trim()); // Esperado: 7 12340001 12340002
+        saida.setLength(0);
+        cursor.posicionarPrefixo(0x1234_0000L, 7); // Os 7 bytes de cima: 0x00000000123400
+        while (cursor.avancar()) {
+            saida.append(Long.toHexString(cursor.chave())).append(' ');
+        }
+        System.out.println("Prefixo 0x00000000123400: " + saida.toString().trim()); // Esperado: 12340001 12340002
+        arvore.remover(0x1234_0001L);
+        arvore.remover(-5);
+        System.out.println("Após remover dois, tamanho: " + arvore.getTamanho()
+                + ", contém 0x12340002? " + arvore.contem(0x1234_0002L)); // Esperado: 5, true
+
+        System.out.println("\n--- 2.000.000 de ids densos: ART x ArvoreBinaria x TreeMap<Long, Long> ---");
+        int n = 2_000_000;
+        long base = 4_000_000_000L;
+        long[] ids = new long[n];
+        java.util.Random aleatorio = new java.util.Random(1);
+        for (int i = 0; i < n; i++) {
+            ids[i] = base + i;
+        }
+        for (int i = n - 1; i > 0; i--) { // Embaralha a ordem de inserção
+            int j = aleatorio.nextInt(i + 1);
+            long temporario = ids[i];
+            ids[i] = ids[j];
+            ids[j] = temporario;
+        }
+        ArvoreRadixAdaptativa art = new ArvoreRadixAdaptativa();
+        ArvoreBinaria avl = new ArvoreBinaria();
+        java.util.TreeMap<Long, Long> treeMap = new java.util.TreeMap<>();
+        for (long id : ids) {
+            art.colocar(id, id);
+            avl.colocar((int) (id - base), id);
+            treeMap.put(id, id);
+        }
+        int[] nos = art.contarNos();
+        System.out.printf("Nós da ART: %d No4, %d No16, %d No48, %d No256%n", nos[0], nos[1], nos[2], nos[3]);
+        // Esperado: 0 No4, 0 No16, 1 No48, 7844 No256 (uma folha por id no último byte)
+        long somaEsperada = n * base + (long) n * (n - 1) / 2;
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long soma = 0;
+            long inicio = System.nanoTime();
+            for (long id : ids) {
+                soma += art.obter(id, 0);
+            }
+            long tempoArt = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            for (long id : ids) {
+                soma -= avl.obter((int) (id - base), 0);
+            }
+            long tempoAvl = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            for (long id : ids) {
+                soma += treeMap.get(id);
+            }
+            long tempoTreeMap = System.nanoTime() - inicio;
+            System.out.printf("Buscas: ART %d ms, ArvoreBinaria %d ms, TreeMap %d ms (soma correta? %b)%n",
+                    tempoArt / 1_000_000, tempoAvl / 1_000_000, tempoTreeMap / 1_000_000, soma == somaEsperada);
+            // Esperado: true
+        }
+    }
+}
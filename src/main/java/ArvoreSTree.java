@@ -0,0 +1,178 @@
+/*
+S-Tree (Árvore B Estática Implícita)
+O que é? É uma árvore B com 16 chaves por nó, guardada em um único array e sem ponteiros, construída a partir de um
+array ORDENADO. Cada nó ocupa 16 ints (64 bytes, o tamanho de uma linha de cache) e os 17 filhos do nó k são os nós
+k * 17 + 1 até k * 17 + 17, então a posição de um filho é calculada, não armazenada. É a mesma ideia da
+ArvoreEytzinger, mas com 17 caminhos por nível em vez de 2.
+
+Para que serve? Para consultas (contém, lower bound, rank) sobre um conjunto fixo e grande de inteiros ordenados.
+Como cada nível resolve 4 bits de decisão (log2(17)) com uma única linha de cache, a busca toca cerca de log17(n)
+linhas: 6 linhas para 16 milhões de chaves, contra 24 da busca binária comum.
+
+Vantagens:
+Poucos acessos à memória por busca: uma linha de cache por nível e poucos níveis.
+Dentro de cada nó, a comparação das 16 chaves é um laço simples sem desvios, que o compilador JIT pode vetorizar
+(instruções SIMD).
+Construção em O(n) a partir do array ordenado.
+
+Desvantagens:
+Imutável: qualquer alteração exige reconstruir o índice.
+O último nó é completado com Integer.MAX_VALUE, e para o rank é guardado um segundo array com a posição ordenada de
+cada chave.
+Em Java não é possível alinhar o array a 64 bytes, então um nó pode ocupar duas linhas de cache.
+ */
+
+import java.util.Arrays;
+
+public class ArvoreSTree {
+
+    /**
+     * Valor devolvido por lowerBound quando todas as chaves são menores que a consulta.
+     */
+    public static final long NENHUMA_CHAVE = Long.MIN_VALUE;
+
+    private static final int B = 16; // Chaves por nó: 16 ints = 64 bytes
+
+    private final int[] chaves;   // Nó k ocupa chaves[k * B .. k * B + B - 1]
+    private final int[] posicoes; // Posição de cada chave no array ordenado; n nas posições de preenchimento
+    private final int numeroDeNos;
+    private final int n;
+    private int proximo;          // Usado só durante a construção: próximo índice do array ordenado
+
+    /**
+     * Constrói o índice em O(n) a partir de um array em ordem crescente (que não é modificado).
+     * @throws IllegalArgumentException se o array não estiver ordenado.
+     */
+    public ArvoreSTree(int[] ordenado) {
+        for (int i = 1; i < ordenado.length; i++) {
+            if (ordenado[i - 1] > ordenado[i]) {
+                throw new IllegalArgumentException("O array precisa estar em ordem crescente.");
+            }
+        }
+        this.n = ordenado.length;
+        this.numeroDeNos = (n + B - 1) / B;
+        this.chaves = new int[numeroDeNos * B];
+        this.posicoes = new int[numeroDeNos * B];
+        this.proximo = 0;
+        construir(ordenado, 0);
+    }
+
+    private static int filho(int k, int i) {
+        return k * (B + 1) + i + 1;
+    }
+
+    /**
+     * Percurso em ordem da árvore B: filho 0, chave 0, filho 1, chave 1, ..., chave 15, filho 16.
+     * Assim as chaves saem do array ordenado exatamente na ordem em que a busca espera encontrá-las.
+     */
+    private void construir(int[] ordenado, int k) {
+        if (k >= numeroDeNos) {
+            return;
+        }
+        for (int i = 0; i < B; i++) {
+            construir(ordenado, filho(k, i));
+            if (proximo < n) {
+                chaves[k * B + i] = ordenado[proximo];
+                posicoes[k * B + i] = proximo;
+                proximo++;
+            } else {
+                // Preenchimento: maior que qualquer consulta (ou igual só a Integer.MAX_VALUE, tratado na busca)
+                chaves[k * B + i] = Integer.MAX_VALUE;
+                posicoes[k * B + i] = n;
+            }
+        }
+        construir(ordenado, filho(k, B));
+    }
+
+    /**
+     * Desce a árvore e retorna o índice (em chaves[]) da menor chave >= x, ou -1 se não houver.
+     */
+    private int buscar(int x) {
+        int k = 0;
+        int resposta = -1;
+        while (k < numeroDeNos) {
+            int base = k * B;
+            // Conta quantas chaves do nó são menores que x: é o índice da primeira >= x e também o filho a seguir
+            int i = 0;
+            for (int j = 0; j < B; j++) {
+                i += chaves[base + j] < x ? 1 : 0;
+            }
+            if (i < B) {
+                resposta = base + i; // Candidato; os próximos níveis só podem encontrar candidatos menores
+            }
+            k = filho(k, i);
+        }
+        // Se o candidato é uma posição de preenchimento, não existe chave >= x
+        return (resposta >= 0 && posicoes[resposta] < n) ? resposta : -1;
+    }
+
+    public boolean contem(int x) {
+        int i = buscar(x);
+        return i >= 0 && chaves[i] == x;
+    }
+
+    /**
+     * Lower bound: a menor chave maior ou igual a x, ou NENHUMA_CHAVE.
+     */
+    public long lowerBound(int x) {
+        int i = buscar(x);
+        return i < 0 ? NENHUMA_CHAVE : chaves[i];
+    }
+
+    /**
+     * Rank: quantas chaves são estritamente menores que x.
+     */
+    public int rank(int x) {
+        int i = buscar(x);
+        return i < 0 ? n : posicoes[i];
+    }
+
+    public int getTamanho() {
+        return n;
+    }
+
+    public static void main(String[] args) {
+        int[] ordenado = new int[40];
+        for (int i = 0; i < ordenado.length; i++) {
+            ordenado[i] = i * 5; // 0, 5, 10, ..., 195
+        }
+        ArvoreSTree indice = new ArvoreSTree(ordenado);
+        System.out.println("Nós: " + indice.numeroDeNos); // Esperado: 3
+        System.out.println("Raiz: " + Arrays.toString(Arrays.copyOfRange(indice.chaves, 0, B)));
+        System.out.println("Contém 95? " + indice.contem(95));           // Esperado: true
+        System.out.println("Contém 96? " + indice.contem(96));           // Esperado: false
+        System.out.println("lowerBound(96): " + indice.lowerBound(96));  // Esperado: 100
+        System.out.println("rank(96): " + indice.rank(96));              // Esperado: 20
+        System.out.println("lowerBound(500) existe? " + (indice.lowerBound(500) != NENHUMA_CHAVE)); // Esperado: false
+
+        System.out.println("\n--- Comparação com Arrays.binarySearch (16.000.000 chaves) ---");
+        int n = 16_000_000;
+        int[] grande = new int[n];
+        java.util.Random aleatorio = new java.util.Random(1);
+        for (int i = 0; i < n; i++) {
+            grande[i] = i * 128 + aleatorio.nextInt(128); // Já em ordem crescente e sem repetições
+        }
+        ArvoreSTree sTree = new ArvoreSTree(grande);
+        int[] consultas = new int[5_000_000];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = aleatorio.nextInt(n * 128);
+        }
+        for (int rodada = 0; rodada < 3; rodada++) { // A primeira rodada aquece o compilador JIT
+            long inicio = System.nanoTime();
+            long soma1 = 0;
+            for (int x : consultas) {
+                int i = Arrays.binarySearch(grande, x);
+                soma1 += i >= 0 ? i : -i - 1;
+            }
+            long tempoBinaria = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            long soma2 = 0;
+            for (int x : consultas) {
+                soma2 += sTree.rank(x);
+            }
+            long tempoSTree = System.nanoTime() - inicio;
+            System.out.printf("binarySearch: %d ms, S-Tree: %d ms (mesmos resultados? %b)%n",
+                    tempoBinaria / 1_000_000, tempoSTree / 1_000_000, soma1 == soma2);
+        }
+    }
+}
@@ -0,0 +1,859 @@
+/*
+Bitmap Compactado (Roaring Bitmap)
+O que é? É um conjunto de inteiros que divide o espaço dos int em pedaços de 65.536 valores (os 16 bits de cima de
+cada valor escolhem o pedaço) e guarda cada pedaço no contêiner que ocupar menos memória para o seu conteúdo:
+- array: os 16 bits de baixo dos valores presentes, em ordem, em um char[] (até 4.096 valores, 2 bytes cada);
+- bitmap: um long[1024] com um bit para cada um dos 65.536 valores (8 KB fixos, usado acima de 4.096 valores);
+- runs: sequências de valores consecutivos guardadas como (início, comprimento), 4 bytes por sequência. Criados por
+  otimizar(), quando o pedaço tem longos intervalos preenchidos.
+As chaves dos pedaços ficam em um array ordenado, com busca binária, e os valores negativos vêm antes dos positivos.
+União e interseção andam pelas duas listas de chaves como na intercalação do MergeSort, e combinam contêiner com
+contêiner: bitmap com bitmap é um laço de & ou | sobre 1024 longs, que o compilador JIT vetoriza (várias palavras por
+instrução), e array com array é uma intercalação de char[] ordenados.
+
+Para que serve? Para guardar e combinar conjuntos de ids (usuários de um segmento, documentos que contêm um termo,
+linhas que passam em um filtro) ocupando pouco mais que o necessário, qualquer que seja a densidade: ids esparsos
+custam 2 bytes cada, ids densos custam 1 bit por valor possível, e intervalos inteiros custam 4 bytes.
+
+Vantagens:
+Memória adaptada à densidade de cada pedaço: de 16 a mais de 1.000 vezes menos que um int[] ou um IntHashSet em
+conjuntos densos ou com intervalos.
+União, interseção e iteração sem descompactar: cada par de pedaços é combinado direto no formato em que está.
+Busca em O(log p + log 4096) (p = número de pedaços), sem hash.
+Itera em ordem crescente.
+
+Desvantagens:
+Mais complexo que um bitmap simples (BitmapSort) ou um IntHashSet: três formatos e suas combinações.
+Inserir no meio de um contêiner array desloca até 4.096 valores; carregar muitos valores fora de ordem é mais lento
+que em um IntHashSet.
+Um contêiner runs volta a ser array ou bitmap quando é alterado; é preciso chamar otimizar() de novo.
+Não é thread-safe.
+ */
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class BitmapCompactado {
+
+    private static final int LIMITE_DO_ARRAY = 4096; // Acima disso, um array ocuparia mais que os 8 KB do bitmap
+    private static final int PALAVRAS_DO_BITMAP = 1024;
+
+    private char[] chaves;            // 16 bits de cima de cada pedaço (com o bit de sinal invertido), em ordem
+    private Conteiner[] conteineres;  // conteineres[i] guarda os 16 bits de baixo dos valores do pedaço chaves[i]
+    private int pedacos;
+
+    public BitmapCompactado() {
+        chaves = new char[4];
+        conteineres = new Conteiner[4];
+    }
+
+    public static BitmapCompactado deArray(int... valores) {
+        BitmapCompactado conjunto = new BitmapCompactado();
+        for (int valor : valores) {
+            conjunto.adicionar(valor);
+        }
+        return conjunto;
+    }
+
+    // Inverter o bit de sinal faz a ordem dos char (sem sinal) ser a ordem dos int (com sinal)
+    private static char alto(int valor) {
+        return (char) ((valor >>> 16) ^ 0x8000);
+    }
+
+    private static char baixo(int valor) {
+        return (char) valor;
+    }
+
+    private static int base(char chave) {
+        return (chave ^ 0x8000) << 16;
+    }
+
+    private int buscarPedaco(char chave) {
+        return buscaBinaria(chaves, pedacos, chave);
+    }
+
+    // Posição de 'alvo' em a[0..tamanho), ou -(posição de inserção) - 1, como Arrays.binarySearch
+    private static int buscaBinaria(char[] a, int tamanho, char alvo) {
+        int inicio = 0;
+        int fim = tamanho - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            char valor = a[meio];
+            if (valor < alvo) {
+                inicio = meio + 1;
+            } else if (valor > alvo) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(inicio + 1);
+    }
+
+    public boolean contem(int valor) {
+        int i = buscarPedaco(alto(valor));
+        return i >= 0 && conteineres[i].contem(baixo(valor));
+    }
+
+    /**
+     * Adiciona o valor. Devolve false se ele já estava no conjunto.
+     */
+    public boolean adicionar(int valor) {
+        char chave = alto(valor);
+        int i = buscarPedaco(chave);
+        if (i < 0) {
+            i = -i - 1;
+            inserirPedaco(i, chave, new ConteinerArray());
+        }
+        Conteiner conteiner = conteineres[i];
+        int antes = conteiner.cardinalidade();
+        conteineres[i] = conteiner.adicionar(baixo(valor));
+        return conteineres[i].cardinalidade() != antes;
+    }
+
+    /**
+     * Remove o valor. Devolve false se ele não estava no conjunto.
+     */
+    public boolean remover(int valor) {
+        int i = buscarPedaco(alto(valor));
+        if (i < 0 || !conteineres[i].contem(baixo(valor))) {
+            return false;
+        }
+        conteineres[i] = conteineres[i].remover(baixo(valor));
+        if (conteineres[i].cardinalidade() == 0) {
+            System.arraycopy(chaves, i + 1, chaves, i, pedacos - i - 1);
+            System.arraycopy(conteineres, i + 1, conteineres, i, pedacos - i - 1);
+            conteineres[--pedacos] = null;
+        }
+        return true;
+    }
+
+    private void inserirPedaco(int i, char chave, Conteiner conteiner) {
+        if (pedacos == chaves.length) {
+            chaves = Arrays.copyOf(chaves, pedacos * 2);
+            conteineres = Arrays.copyOf(conteineres, pedacos * 2);
+        }
+        System.arraycopy(chaves, i, chaves, i + 1, pedacos - i);
+        System.arraycopy(conteineres, i, conteineres, i + 1, pedacos - i);
+        chaves[i] = chave;
+        conteineres[i] = conteiner;
+        pedacos++;
+    }
+
+    // Acrescenta um pedaço depois de todos os outros (usado pelas operações, que produzem as chaves em ordem)
+    private void anexar(char chave, Conteiner conteiner) {
+        if (conteiner != null && conteiner.cardinalidade() > 0) {
+            inserirPedaco(pedacos, chave, conteiner);
+        }
+    }
+
+    /**
+     * Novo conjunto com os valores que estão neste ou no outro.
+     */
+    public BitmapCompactado uniao(BitmapCompactado outro) {
+        BitmapCompactado resultado = new BitmapCompactado();
+        int i = 0;
+        int j = 0;
+        while (i < pedacos && j < outro.pedacos) {
+            char a = chaves[i];
+            char b = outro.chaves[j];
+            if (a < b) {
+                resultado.anexar(a, conteineres[i++].copiar());
+            } else if (a > b) {
+                resultado.anexar(b, outro.conteineres[j++].copiar());
+            } else {
+                resultado.anexar(a, Conteiner.uniao(conteineres[i++], outro.conteineres[j++]));
+            }
+        }
+        while (i < pedacos) {
+            resultado.anexar(chaves[i], conteineres[i++].copiar());
+        }
+        while (j < outro.pedacos) {
+            resultado.anexar(outro.chaves[j], outro.conteineres[j++].copiar());
+        }
+        return resultado;
+    }
+
+    /**
+     * Novo conjunto com os valores que estão neste e no outro.
+     */
+    public BitmapCompactado intersecao(BitmapCompactado outro) {
+        BitmapCompactado resultado = new BitmapCompactado();
+        int i = 0;
+        int j = 0;
+        while (i < pedacos && j < outro.pedacos) {
+            char a = chaves[i];
+            char b = outro.chaves[j];
+            if (a < b) {
+                i++;
+            } else if (a > b) {
+                j++;
+            } else {
+                resultado.anexar(a, Conteiner.intersecao(conteineres[i++], outro.conteineres[j++]));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Troca cada contêiner pelo formato que ocupa menos memória, incluindo runs para intervalos consecutivos.
+     */
+    public void otimizar() {
+        for (int i = 0; i < pedacos; i++) {
+            conteineres[i] = conteineres[i].otimizar();
+        }
+    }
+
+    public long getCardinalidade() {
+        long total = 0;
+        for (int i = 0; i < pedacos; i++) {
+            total += conteineres[i].cardinalidade();
+        }
+        return total;
+    }
+
+    public boolean estaVazio() {
+        return pedacos == 0;
+    }
+
+    /**
+     * Memória ocupada pelos valores (chaves e conteúdo dos contêineres), em bytes.
+     */
+    public long getBytes() {
+        long total = 2L * pedacos;
+        for (int i = 0; i < pedacos; i++) {
+            total += conteineres[i].bytes();
+        }
+        return total;
+    }
+
+    /**
+     * Quantos pedaços estão em cada formato: [array, bitmap, runs].
+     */
+    public int[] getContagemDeConteineres() {
+        int[] contagem = new int[3];
+        for (int i = 0; i < pedacos; i++) {
+            Conteiner conteiner = conteineres[i];
+            contagem[conteiner instanceof ConteinerArray ? 0 : conteiner instanceof ConteinerBitmap ? 1 : 2]++;
+        }
+        return contagem;
+    }
+
+    /**
+     * Visita os valores em ordem crescente.
+     */
+    public void paraCada(IntConsumer acao) {
+        for (int i = 0; i < pedacos; i++) {
+            conteineres[i].paraCada(base(chaves[i]), acao);
+        }
+    }
+
+    public int[] toArray() {
+        long cardinalidade = getCardinalidade();
+        if (cardinalidade > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("O conjunto tem valores demais para um array.");
+        }
+        int[] resultado = new int[(int) cardinalidade];
+        int k = 0;
+        for (int i = 0; i < pedacos; i++) {
+            k = conteineres[i].copiarPara(resultado, k, base(chaves[i]));
+        }
+        return resultado;
+    }
+
+    // Os 16 bits de baixo dos valores de um pedaço; 'adicionar' e 'remover' devolvem o contêiner que fica no lugar
+    private abstract static class Conteiner {
+
+        abstract boolean contem(char valor);
+
+        abstract Conteiner adicionar(char valor);
+
+        abstract Conteiner remover(char valor);
+
+        abstract int cardinalidade();
+
+        abstract void paraCada(int base, IntConsumer acao);
+
+        abstract int copiarPara(int[] destino, int k, int base);
+
+        abstract long bytes();
+
+        abstract Conteiner copiar();
+
+        // Liga no bitmap os bits dos valores deste contêiner
+        abstract void ouEm(long[] palavras);
+
+        abstract int contarRuns();
+
+        ConteinerBitmap comoBitmap() {
+            long[] palavras = new long[PALAVRAS_DO_BITMAP];
+            ouEm(palavras);
+            return new ConteinerBitmap(palavras, cardinalidade());
+        }
+
+        ConteinerArray comoArray() {
+            char[] valores = new char[Math.max(4, cardinalidade())];
+            int[] k = {0};
+            paraCada(0, valor -> valores[k[0]++] = (char) valor);
+            return new ConteinerArray(valores, k[0]);
+        }
+
+        // Array ou bitmap, conforme a cardinalidade: os formatos que aceitam alterações
+        Conteiner comoAlteravel() {
+            return cardinalidade() <= LIMITE_DO_ARRAY ? comoArray() : comoBitmap();
+        }
+
+        Conteiner otimizar() {
+            long bytesArray = 2L * cardinalidade();
+            long bytesBitmap = 8L * PALAVRAS_DO_BITMAP;
+            long bytesRuns = 4L * contarRuns();
+            if (bytesRuns < Math.min(bytesArray, bytesBitmap)) {
+                return this instanceof ConteinerRuns ? this : ConteinerRuns.de(this);
+            }
+            return comoAlteravel();
+        }
+
+        static Conteiner uniao(Conteiner a, Conteiner b) {
+            if (a instanceof ConteinerArray x && b instanceof ConteinerArray y
+                    && x.tamanho + y.tamanho <= LIMITE_DO_ARRAY) {
+                return ConteinerArray.uniao(x, y);
+            }
+            if (a instanceof ConteinerRuns x && b instanceof ConteinerRuns y) {
+                return ConteinerRuns.uniao(x, y);
+            }
+            // Os demais casos viram bitmap: copia o primeiro em formato bitmap e liga os bits do segundo
+            ConteinerBitmap resultado = a instanceof ConteinerBitmap x ? x.copiar() : a.comoBitmap();
+            if (b instanceof ConteinerBitmap y) {
+                long[] r = resultado.palavras;
+                long[] p = y.palavras;
+                for (int i = 0; i < PALAVRAS_DO_BITMAP; i++) {
+                    r[i] |= p[i]; // Laço simples sobre arrays: vetorizado pelo JIT
+                }
+            } else {
+                b.ouEm(resultado.palavras);
+            }
+            return resultado.recontar();
+        }
+
+        static Conteiner intersecao(Conteiner a, Conteiner b) {
+            if (a instanceof ConteinerArray x && b instanceof ConteinerArray y) {
+                return ConteinerArray.intersecao(x, y);
+            }
+            if (a instanceof ConteinerArray x) {
+                return x.filtrar(b);
+            }
+            if (b instanceof ConteinerArray y) {
+                return y.filtrar(a);
+            }
+            ConteinerBitmap resultado = a instanceof ConteinerBitmap x ? x.copiar() : a.comoBitmap();
+            long[] r = resultado.palavras;
+            long[] p = b instanceof ConteinerBitmap y ? y.palavras : b.comoBitmap().palavras;
+            for (int i = 0; i < PALAVRAS_DO_BITMAP; i++) {
+                r[i] &= p[i];
+            }
+            return resultado.recontar();
+        }
+    }
+
+    private static final class ConteinerArray extends Conteiner {
+        private char[] valores;
+        private int tamanho;
+
+        ConteinerArray() {
+            this(new char[4], 0);
+        }
+
+        ConteinerArray(char[] valores, int tamanho) {
+            this.valores = valores;
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return buscaBinaria(valores, tamanho, valor) >= 0;
+        }
+
+        @Override
+        Conteiner adicionar(char valor) {
+            int i = buscaBinaria(valores, tamanho, valor);
+            if (i >= 0) {
+                return this;
+            }
+            if (tamanho == LIMITE_DO_ARRAY) {
+                return comoBitmap().adicionar(valor);
+            }
+            i = -i - 1;
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(LIMITE_DO_ARRAY, tamanho * 2));
+            }
+            System.arraycopy(valores, i, valores, i + 1, tamanho - i);
+            valores[i] = valor;
+            tamanho++;
+            return this;
+        }
+
+        @Override
+        Conteiner remover(char valor) {
+            int i = buscaBinaria(valores, tamanho, valor);
+            if (i >= 0) {
+                System.arraycopy(valores, i + 1, valores, i, tamanho - i - 1);
+                tamanho--;
+            }
+            return this;
+        }
+
+        @Override
+        int cardinalidade() {
+            return tamanho;
+        }
+
+        @Override
+        void paraCada(int base, IntConsumer acao) {
+            for (int i = 0; i < tamanho; i++) {
+                acao.accept(base | valores[i]);
+            }
+        }
+
+        @Override
+        int copiarPara(int[] destino, int k, int base) {
+            for (int i = 0; i < tamanho; i++) {
+                destino[k++] = base | valores[i];
+            }
+            return k;
+        }
+
+        @Override
+        long bytes() {
+            return 2L * tamanho;
+        }
+
+        @Override
+        ConteinerArray copiar() {
+            return new ConteinerArray(Arrays.copyOf(valores, Math.max(4, tamanho)), tamanho);
+        }
+
+        @Override
+        ConteinerArray comoArray() {
+            return copiar();
+        }
+
+        @Override
+        void ouEm(long[] palavras) {
+            for (int i = 0; i < tamanho; i++) {
+                char valor = valores[i];
+                palavras[valor >>> 6] |= 1L << valor;
+            }
+        }
+
+        @Override
+        int contarRuns() {
+            int runs = tamanho > 0 ? 1 : 0;
+            for (int i = 1; i < tamanho; i++) {
+                if (valores[i] != valores[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        // Intercalação de dois char[] ordenados, como o merge do MergeSort (sem repetir os iguais)
+        static ConteinerArray uniao(ConteinerArray a, ConteinerArray b) {
+            char[] resultado = new char[Math.max(4, a.tamanho + b.tamanho)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < a.tamanho && j < b.tamanho) {
+                char x = a.valores[i];
+                char y = b.valores[j];
+                resultado[k++] = x <= y ? x : y;
+                i += x <= y ? 1 : 0;
+                j += y <= x ? 1 : 0;
+            }
+            while (i < a.tamanho) {
+                resultado[k++] = a.valores[i++];
+            }
+            while (j < b.tamanho) {
+                resultado[k++] = b.valores[j++];
+            }
+            return new ConteinerArray(resultado, k);
+        }
+
+        static ConteinerArray intersecao(ConteinerArray a, ConteinerArray b) {
+            if (a.tamanho > b.tamanho) {
+                ConteinerArray t = a;
+                a = b;
+                b = t;
+            }
+            char[] resultado = new char[Math.max(4, a.tamanho)];
+            int k = 0;
+            if (a.tamanho * 32 < b.tamanho) { // Muito desiguais: busca binária de cada valor do menor no maior
+                for (int i = 0; i < a.tamanho; i++) {
+                    if (buscaBinaria(b.valores, b.tamanho, a.valores[i]) >= 0) {
+                        resultado[k++] = a.valores[i];
+                    }
+                }
+            } else {
+                int i = 0;
+                int j = 0;
+                while (i < a.tamanho && j < b.tamanho) {
+                    char x = a.valores[i];
+                    char y = b.valores[j];
+                    if (x == y) {
+                        resultado[k++] = x;
+                    }
+                    i += x <= y ? 1 : 0;
+                    j += y <= x ? 1 : 0;
+                }
+            }
+            return new ConteinerArray(resultado, k);
+        }
+
+        // Os valores deste array que também estão no outro contêiner
+        ConteinerArray filtrar(Conteiner outro) {
+            char[] resultado = new char[Math.max(4, tamanho)];
+            int k = 0;
+            for (int i = 0; i < tamanho; i++) {
+                if (outro.contem(valores[i])) {
+                    resultado[k++] = valores[i];
+                }
+            }
+            return new ConteinerArray(resultado, k);
+        }
+    }
+
+    private static final class ConteinerBitmap extends Conteiner {
+        private final long[] palavras;
+        private int cardinalidade;
+
+        ConteinerBitmap(long[] palavras, int cardinalidade) {
+            this.palavras = palavras;
+            this.cardinalidade = cardinalidade;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return (palavras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        Conteiner adicionar(char valor) {
+            long antes = palavras[valor >>> 6];
+            long depois = antes | (1L << valor);
+            palavras[valor >>> 6] = depois;
+            cardinalidade += antes != depois ? 1 : 0;
+            return this;
+        }
+
+        @Override
+        Conteiner remover(char valor) {
+            long antes = palavras[valor >>> 6];
+            long depois = antes & ~(1L << valor);
+            palavras[valor >>> 6] = depois;
+            cardinalidade -= antes != depois ? 1 : 0;
+            return cardinalidade <= LIMITE_DO_ARRAY ? comoArray() : this;
+        }
+
+        @Override
+        int cardinalidade() {
+            return cardinalidade;
+        }
+
+        @Override
+        void paraCada(int base, IntConsumer acao) {
+            for (int i = 0; i < PALAVRAS_DO_BITMAP; i++) {
+                long w = palavras[i];
+                while (w != 0) {
+                    acao.accept(base | (i << 6) | Long.numberOfTrailingZeros(w));
+                    w &= w - 1; // Desliga o menor bit ligado, como no BitmapSort
+                }
+            }
+        }
+
+        @Override
+        int copiarPara(int[] destino, int k, int base) {
+            for (int i = 0; i < PALAVRAS_DO_BITMAP; i++) {
+                long w = palavras[i];
+                while (w != 0) {
+                    destino[k++] = base | (i << 6) | Long.numberOfTrailingZeros(w);
+                    w &= w - 1;
+                }
+            }
+            return k;
+        }
+
+        @Override
+        long bytes() {
+            return 8L * PALAVRAS_DO_BITMAP;
+        }
+
+        @Override
+        ConteinerBitmap copiar() {
+            return new ConteinerBitmap(palavras.clone(), cardinalidade);
+        }
+
+        @Override
+        ConteinerBitmap comoBitmap() {
+            return copiar();
+        }
+
+        @Override
+        void ouEm(long[] destino) {
+            for (int i = 0; i < PALAVRAS_DO_BITMAP; i++) {
+                destino[i] |= palavras[i];
+            }
+        }
+
+        @Override
+        int contarRuns() {
+            // Um run começa em cada bit ligado cujo vizinho de baixo está desligado
+            int runs = 0;
+            long anterior = 0;
+            for (int i = 0; i < PALAVRAS_DO_BITMAP; i++) {
+                long w = palavras[i];
+                runs += Long.bitCount(w & ~((w << 1) | (anterior >>> 63)));
+                anterior = w;
+            }
+            return runs;
+        }
+
+        // Recalcula a cardinalidade com popcount depois de um & ou |, e volta a ser array se ficou pequeno
+        Conteiner recontar() {
+            int total = 0;
+            for (long w : palavras) {
+                total += Long.bitCount(w);
+            }
+            cardinalidade = total;
+            return total <= LIMITE_DO_ARRAY ? comoArray() : this;
+        }
+    }
+
+    private static final class ConteinerRuns extends Conteiner {
+        private final char[] runs; // runs[2i] = início, runs[2i + 1] = comprimento - 1 (cabe em 16 bits)
+        private final int quantidade;
+        private final int cardinalidade;
+
+        ConteinerRuns(char[] runs, int quantidade) {
+            this.runs = runs;
+            this.quantidade = quantidade;
+            int total = 0;
+            for (int i = 0; i < quantidade; i++) {
+                total += runs[2 * i + 1] + 1;
+            }
+            this.cardinalidade = total;
+        }
+
+        static ConteinerRuns de(Conteiner conteiner) {
+            char[] runs = new char[2 * conteiner.contarRuns()];
+            int[] estado = {0, -2}; // Runs já fechados, último valor visto
+            conteiner.paraCada(0, valor -> {
+                int r = estado[0];
+                if (valor == estado[1] + 1 && r > 0) {
+                    runs[2 * r - 1]++; // Estende o run atual
+                } else {
+                    runs[2 * r] = (char) valor;
+                    estado[0] = r + 1;
+                }
+                estado[1] = valor;
+            });
+            return new ConteinerRuns(runs, estado[0]);
+        }
+
+        // Índice do run que começa no maior início <= valor, ou -1
+        private int runAte(char valor) {
+            int inicio = 0;
+            int fim = quantidade - 1;
+            while (inicio <= fim) {
+                int meio = (inicio + fim) >>> 1;
+                if (runs[2 * meio] <= valor) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio - 1;
+                }
+            }
+            return fim;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            int r = runAte(valor);
+            return r >= 0 && valor - runs[2 * r] <= runs[2 * r + 1];
+        }
+
+        @Override
+        Conteiner adicionar(char valor) {
+            return contem(valor) ? this : comoAlteravel().adicionar(valor);
+        }
+
+        @Override
+        Conteiner remover(char valor) {
+            return contem(valor) ? comoAlteravel().remover(valor) : this;
+        }
+
+        @Override
+        int cardinalidade() {
+            return cardinalidade;
+        }
+
+        @Override
+        void paraCada(int base, IntConsumer acao) {
+            for (int i = 0; i < quantidade; i++) {
+                int inicio = runs[2 * i];
+                int fim = inicio + runs[2 * i + 1];
+                for (int valor = inicio; valor <= fim; valor++) {
+                    acao.accept(base | valor);
+                }
+            }
+        }
+
+        @Override
+        int copiarPara(int[] destino, int k, int base) {
+            for (int i = 0; i < quantidade; i++) {
+                int inicio = runs[2 * i];
+                int fim = inicio + runs[2 * i + 1];
+                for (int valor = inicio; valor <= fim; valor++) {
+                    destino[k++] = base | valor;
+                }
+            }
+            return k;
+        }
+
+        @Override
+        long bytes() {
+            return 4L * quantidade;
+        }
+
+        @Override
+        ConteinerRuns copiar() {
+            return this; // Imutável: alterações criam outro contêiner
+        }
+
+        @Override
+        void ouEm(long[] palavras) {
+            for (int i = 0; i < quantidade; i++) {
+                int inicio = runs[2 * i];
+                int fim = inicio + runs[2 * i + 1]; // Inclusivo
+                int primeira = inicio >>> 6;
+                int ultima = fim >>> 6;
+                long mascaraInicio = -1L << inicio;        // Bits de 'inicio' em diante na primeira palavra
+                long mascaraFim = -1L >>> (63 - (fim & 63)); // Bits até 'fim' na última palavra
+                if (primeira == ultima) {
+                    palavras[primeira] |= mascaraInicio & mascaraFim;
+                } else {
+                    palavras[primeira] |= mascaraInicio;
+                    for (int p = primeira + 1; p < ultima; p++) {
+                        palavras[p] = -1L;
+                    }
+                    palavras[ultima] |= mascaraFim;
+                }
+            }
+        }
+
+        @Override
+        int contarRuns() {
+            return quantidade;
+        }
+
+        // Junta os runs dos dois em ordem de início, fundindo os que se sobrepõem ou se encostam
+        static ConteinerRuns uniao(ConteinerRuns a, ConteinerRuns b) {
+            char[] resultado = new char[2 * (a.quantidade + b.quantidade)];
+            int r = 0;
+            int fimAtual = -2;
+            int i = 0;
+            int j = 0;
+            while (i < a.quantidade || j < b.quantidade) {
+                ConteinerRuns origem;
+                int indice;
+                if (j >= b.quantidade || (i < a.quantidade && a.runs[2 * i] <= b.runs[2 * j])) {
+                    origem = a;
+                    indice = i++;
+                } else {
+                    origem = b;
+                    indice = j++;
+                }
+                int inicio = origem.runs[2 * indice];
+                int fim = inicio + origem.runs[2 * indice + 1];
+                if (r > 0 && inicio <= fimAtual + 1) {
+                    fimAtual = Math.max(fimAtual, fim);
+                    resultado[2 * r - 1] = (char) (fimAtual - resultado[2 * r - 2]);
+                } else {
+                    resultado[2 * r] = (char) inicio;
+                    resultado[2 * r + 1] = (char) (fim - inicio);
+                    fimAtual = fim;
+                    r++;
+                }
+            }
+            return new ConteinerRuns(resultado, r);
+        }
+    }
+
+    public static void main(String[] args) {
+        BitmapCompactado a = BitmapCompactado.deArray(5, -1, 70_000, 3, 1_000_000, 5);
+        BitmapCompactado b = BitmapCompactado.deArray(3, 70_000, 8, -1);
+        System.out.println("a = " + Arrays.toString(a.toArray())); // Esperado: [-1, 3, 5, 70000, 1000000]
+        System.out.println("a ∪ b = " + Arrays.toString(a.uniao(b).toArray()));
+        // Esperado: [-1, 3, 5, 8, 70000, 1000000]
+        System.out.println("a ∩ b = " + Arrays.toString(a.intersecao(b).toArray())); // Esperado: [-1, 3, 70000]
+        a.remover(70_000);
+        System.out.println("Depois de remover 70000: contém? " + a.contem(70_000) + ", tamanho "
+                + a.getCardinalidade()); // Esperado: false, tamanho 4
+
+        System.out.println("\n--- Três conjuntos de ids: esparso, denso e em intervalos ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        BitmapCompactado esparso = new BitmapCompactado(); // 200.000 ids espalhados por 2 bilhões
+        while (esparso.getCardinalidade() < 200_000) {
+            esparso.adicionar(aleatorio.nextInt(Integer.MAX_VALUE));
+        }
+        int[] metade = new int[10_000_000]; // Metade dos ids de 0 a 10.000.000, sorteados
+        for (int i = 0; i < metade.length; i++) {
+            metade[i] = i;
+        }
+        for (int i = metade.length - 1; i > 0; i--) {
+            int j = aleatorio.nextInt(i + 1);
+            int t = metade[i];
+            metade[i] = metade[j];
+            metade[j] = t;
+        }
+        int[] idsDensos = Arrays.copyOf(metade, 5_000_000);
+        BitmapSort.bitmapSort(idsDensos); // Em ordem, cada inserção vai para o fim do contêiner
+        BitmapCompactado denso = BitmapCompactado.deArray(idsDensos);
+        BitmapCompactado intervalos = new BitmapCompactado(); // 100 faixas de 50.000 ids consecutivos
+        for (int faixa = 0; faixa < 100; faixa++) {
+            for (int id = faixa * 100_000; id < faixa * 100_000 + 50_000; id++) {
+                intervalos.adicionar(id);
+            }
+        }
+        intervalos.otimizar();
+        for (BitmapCompactado conjunto : new BitmapCompactado[]{esparso, denso, intervalos}) {
+            System.out.printf("%,d ids: %,d bytes (%.2f bytes por id, int[] usaria 4), contêineres [array, bitmap, runs] = %s%n",
+                    conjunto.getCardinalidade(), conjunto.getBytes(),
+                    conjunto.getBytes() / (double) conjunto.getCardinalidade(), Arrays.toString(conjunto.getContagemDeConteineres()));
+        }
+        // Esperado: cerca de 2 bytes por id no esparso, 0,25 no denso (1 bit por id possível, metade presente) e quase 0
+        // nos intervalos
+
+        System.out.println("\n--- Interseção e união do denso com os intervalos ---");
+        IntHashSet densoEmHash = new IntHashSet(idsDensos.length);
+        for (int id : idsDensos) {
+            densoEmHash.adicionar(id);
+        }
+        int[] idsIntervalos = intervalos.toArray();
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long inicio = System.nanoTime();
+            BitmapCompactado intersecao = denso.intersecao(intervalos);
+            BitmapCompactado uniao = denso.uniao(intervalos);
+            long tempoCompactado = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            int intersecaoEmHash = 0;
+            for (int id : idsIntervalos) {
+                if (densoEmHash.contem(id)) {
+                    intersecaoEmHash++;
+                }
+            }
+            long tempoHash = System.nanoTime() - inicio;
+            System.out.printf("BitmapCompactado (interseção e união): %d ms, IntHashSet (só interseção): %d ms "
+                            + "(mesma interseção? %b, união com %,d ids)%n",
+                    tempoCompactado / 1_000_000, tempoHash / 1_000_000,
+                    intersecao.getCardinalidade() == intersecaoEmHash, uniao.getCardinalidade()); // Esperado: true
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+17. Bitmap Sort
+O que é? É o Counting Sort com um bit por valor em vez de um contador. Cada valor do intervalo [min, max] tem um bit
+em um long[]: ligar o bit de cada elemento marca quem aparece, e percorrer os bits em ordem devolve os elementos já
+ordenados. A leitura não testa bit por bit: cada palavra de 64 bits é consumida com Long.numberOfTrailingZeros (posição
+do menor bit ligado) e w & (w - 1) (desliga esse bit), então palavras vazias custam uma comparação e cada valor
+presente custa poucas instruções. Long.bitCount (popcount) conta os elementos de uma palavra de uma vez.
+Valores repetidos são raros no uso esperado (ids distintos); quando aparecem, as cópias extras são contadas em um
+IntIntHashMap e reescritas na saída.
+
+Para que serve? Para ordenar (ou deduplicar) muitos inteiros distintos em um intervalo conhecido: ids, números de
+linha, vértices de um grafo. O Counting Sort resolve o mesmo problema com um int[max + 1] de contadores, que ocupa 32
+vezes mais memória que um bit por valor.
+
+Vantagens:
+O(n + k/64) operações, onde k é o intervalo (max - min + 1).
+Memória k/8 bytes: 10.000.000 de valores possíveis cabem em 1,25 MB, contra 40 MB de contadores no CountingSort.
+Aceita negativos (o intervalo começa em min).
+Com poucos repetidos não aloca nada além do bitmap.
+
+Desvantagens:
+Como o Counting Sort, é ruim quando o intervalo é muito maior que n (o bitmap de todos os int tem 512 MB).
+Não é estável, nem faz sentido para objetos: só devolve valores, não registros com uma chave.
+Muitos repetidos fazem o IntIntHashMap crescer; aí o Counting Sort ou um Radix Sort é melhor.
+ */
+
+import java.util.Arrays;
+
+public class BitmapSort {
+
+    public static void bitmapSort(int[] array) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+        int min = array[0];
+        int max = array[0];
+        for (int valor : array) {
+            min = Math.min(min, valor);
+            max = Math.max(max, valor);
+        }
+        long intervalo = (long) max - min + 1; // Até 2^32: cabe em (2^32 / 64) = 2^26 palavras
+        long[] bits = new long[(int) ((intervalo + 63) >>> 6)];
+
+        IntIntHashMap repetidos = null; // Cópias extras de cada valor, criado só se aparecer algum repetido
+        for (int valor : array) {
+            int deslocado = valor - min; // Entre 0 e intervalo - 1, lido como sem sinal
+            int palavra = deslocado >>> 6;
+            long bit = 1L << deslocado;
+            if ((bits[palavra] & bit) != 0) {
+                if (repetidos == null) {
+                    repetidos = new IntIntHashMap();
+                }
+                repetidos.somar(valor, 1);
+            }
+            bits[palavra] |= bit;
+        }
+
+        int k = 0;
+        for (int palavra = 0; palavra < bits.length; palavra++) {
+            long w = bits[palavra];
+            int base = min + (palavra << 6);
+            if (repetidos == null) {
+                while (w != 0) {
+                    array[k++] = base + Long.numberOfTrailingZeros(w);
+                    w &= w - 1; // Desliga o menor bit ligado
+                }
+            } else {
+                while (w != 0) {
+                    int valor = base + Long.numberOfTrailingZeros(w);
+                    for (int copias = repetidos.obter(valor, 0); copias >= 0; copias--) {
+                        array[k++] = valor;
+                    }
+                    w &= w - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Devolve os valores distintos de 'array' em ordem crescente, sem alterar o array.
+     */
+    public static int[] distintosOrdenados(int[] array) {
+        if (array.length == 0) {
+            return new int[0];
+        }
+        int min = array[0];
+        int max = array[0];
+        for (int valor : array) {
+            min = Math.min(min, valor);
+            max = Math.max(max, valor);
+        }
+        long[] bits = new long[(int) (((long) max - min + 64) >>> 6)];
+        for (int valor : array) {
+            int deslocado = valor - min;
+            bits[deslocado >>> 6] |= 1L << deslocado;
+        }
+        int distintos = 0;
+        for (long w : bits) {
+            distintos += Long.bitCount(w); // popcount: já sabemos o tamanho exato da saída
+        }
+        int[] resultado = new int[distintos];
+        int k = 0;
+        for (int palavra = 0; palavra < bits.length; palavra++) {
+            long w = bits[palavra];
+            int base = min + (palavra << 6);
+            while (w != 0) {
+                resultado[k++] = base + Long.numberOfTrailingZeros(w);
+                w &= w - 1;
+            }
+        }
+        return resultado;
+    }
+
+    public static void main(String[] args) {
+        int[] dados = {42, -3, 17, 8, 100, 0, 17, 64, 63};
+        System.out.println("Array antes da ordenação (Bitmap Sort): " + Arrays.toString(dados));
+        bitmapSort(dados);
+        System.out.println("Array depois da ordenação (Bitmap Sort): " + Arrays.toString(dados));
+        // Esperado: [-3, 0, 8, 17, 17, 42, 63, 64, 100]
+        System.out.println("Distintos: " + Arrays.toString(distintosOrdenados(new int[]{5, 3, 5, 1, 3})));
+        // Esperado: [1, 3, 5]
+
+        System.out.println("\n--- 5.000.000 de ids distintos entre 0 e 10.000.000 ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[] todos = new int[10_000_000];
+        for (int i = 0; i < todos.length; i++) {
+            todos[i] = i;
+        }
+        for (int i = todos.length - 1; i > 0; i--) { // Embaralha e fica com a primeira metade
+            int j = aleatorio.nextInt(i + 1);
+            int t = todos[i];
+            todos[i] = todos[j];
+            todos[j] = t;
+        }
+        int[] ids = Arrays.copyOf(todos, 5_000_000);
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            int[] porBitmap = ids.clone();
+            int[] porContagem = ids.clone();
+            int[] porArraysSort = ids.clone();
+            long inicio = System.nanoTime();
+            bitmapSort(porBitmap);
+            long tempoBitmap = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            CountingSort.countingSort(porContagem);
+            long tempoContagem = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            Arrays.sort(porArraysSort);
+            long tempoArraysSort = System.nanoTime() - inicio;
+            System.out.printf("Bitmap Sort: %d ms, Counting Sort: %d ms, Arrays.sort: %d ms (iguais? %b)%n",
+                    tempoBitmap / 1_000_000, tempoContagem / 1_000_000, tempoArraysSort / 1_000_000,
+                    Arrays.equals(porBitmap, porContagem) && Arrays.equals(porBitmap, porArraysSort)); // Esperado: true
+        }
+        System.out.printf("Memória auxiliar: bitmap %.2f MB, contadores do Counting Sort %.2f MB%n",
+                (10_000_000 / 64 + 1) * 8 / 1e6, 10_000_000 * 4 / 1e6); // Esperado: 1.25 MB contra 40.00 MB
+    }
+}
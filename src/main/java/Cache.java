@@ -0,0 +1,599 @@
+/*
+Cache com Política de Remoção (LRU, LFU e W-TinyLFU)
+O que é? Um cache é uma estrutura chave -> valor com capacidade limitada que guarda os itens mais úteis para evitar
+recalculá-los ou buscá-los de uma fonte lenta. Quando o cache está cheio e um novo item chega, uma "política de
+remoção" (eviction) decide qual item sai. Esta implementação combina um HashMap (para achar o nó de uma chave em O(1))
+com listas duplamente encadeadas (para reordenar e remover nós em O(1)), exatamente como a ListaDuplamenteEncadeada
+faz com sua cabeça e cauda:
+LRU (Least Recently Used): remove o item usado há mais tempo. A lista é a ordem de uso: cada acesso move o nó para a
+cabeça e a vítima é sempre a cauda.
+LFU (Least Frequently Used): remove o item menos acessado. Os nós ficam em "baldes de frequência", cada balde é uma
+lista duplamente encadeada, e os baldes também formam uma lista em ordem crescente de frequência. Um acesso move o nó
+para o balde seguinte em O(1); a vítima é a cauda do primeiro balde (menor frequência, e entre iguais o mais antigo).
+W-TinyLFU (Window TinyLFU): uma pequena janela LRU (1% da capacidade) recebe os itens novos e uma região principal
+SLRU (probatória + protegida) guarda os itens frequentes. Quando um item sai da janela, ele só entra na região
+principal se sua frequência estimada for maior que a da vítima da região principal. A frequência é estimada por um
+"count-min sketch" de contadores de 4 bits que são periodicamente divididos por 2 (envelhecimento).
+
+Para que serve? Para manter em memória um conjunto limitado de dados muito acessados (sessões, resultados de
+consultas, páginas, objetos caros de construir), com métricas de acertos, falhas e remoções para avaliar a eficácia.
+
+Vantagens:
+Todas as operações (obter, colocar, remover) são O(1).
+A política é escolhida na construção, sem mudar o código que usa o cache.
+W-TinyLFU resiste a varreduras (um acesso único a muitos itens não expulsa os itens frequentes) e se adapta a
+mudanças de popularidade graças à janela e ao envelhecimento do sketch.
+O cache pode ser dividido em segmentos (striping), cada um com seu próprio bloqueio, para que várias threads
+consultem chaves diferentes em paralelo.
+
+Desvantagens:
+Cada entrada tem o custo de um nó com dois ponteiros, mais a entrada no HashMap.
+Com segmentos, a política é aplicada por segmento: a vítima é a pior do seu segmento, não do cache inteiro.
+O LFU puro não esquece: itens muito acessados no passado podem ficar para sempre (o W-TinyLFU corrige isso).
+ */
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Cache<K, V> {
+
+    // As políticas de remoção disponíveis
+    public enum Politica {
+        LRU,
+        LFU,
+        W_TINY_LFU
+    }
+
+    // Nó genérico do cache. Os campos anterior e proximo formam a lista duplamente encadeada
+    // da região onde o nó está (lista de uso no LRU, balde de frequência no LFU, janela/probatória/protegida
+    // no W-TinyLFU).
+    private static class No<K, V> {
+        final K chave;
+        V valor;
+        final int hash;       // Hash espalhado da chave (escolhe o segmento e alimenta o sketch)
+        No<K, V> anterior;
+        No<K, V> proximo;
+        Balde<K, V> balde;    // LFU: balde de frequência onde o nó está
+        int regiao;           // W-TinyLFU: JANELA, PROBATORIA ou PROTEGIDA
+
+        No(K chave, V valor, int hash) {
+            this.chave = chave;
+            this.valor = valor;
+            this.hash = hash;
+        }
+    }
+
+    // Lista duplamente encadeada de nós, com a mesma ideia de cabeça/cauda da ListaDuplamenteEncadeada.
+    // A cabeça é o nó usado mais recentemente e a cauda o usado há mais tempo.
+    private static class ListaDeNos<K, V> {
+        No<K, V> cabeca;
+        No<K, V> cauda;
+        int tamanho;
+
+        void ligarNoInicio(No<K, V> no) {
+            no.anterior = null;
+            no.proximo = cabeca;
+            if (cabeca == null) {
+                cauda = no;
+            } else {
+                cabeca.anterior = no;
+            }
+            cabeca = no;
+            tamanho++;
+        }
+
+        void desligar(No<K, V> no) {
+            if (no.anterior != null) {
+                no.anterior.proximo = no.proximo;
+            } else {
+                cabeca = no.proximo;
+            }
+            if (no.proximo != null) {
+                no.proximo.anterior = no.anterior;
+            } else {
+                cauda = no.anterior;
+            }
+            no.anterior = null;
+            no.proximo = null;
+            tamanho--;
+        }
+
+        void moverParaInicio(No<K, V> no) {
+            if (no != cabeca) {
+                desligar(no);
+                ligarNoInicio(no);
+            }
+        }
+
+        No<K, V> removerDoFinal() {
+            No<K, V> no = cauda;
+            if (no != null) {
+                desligar(no);
+            }
+            return no;
+        }
+    }
+
+    // Balde de frequência do LFU: todos os nós com a mesma frequência, em ordem de uso.
+    // Os baldes formam uma lista duplamente encadeada ordenada por frequência crescente.
+    private static class Balde<K, V> {
+        final long frequencia;
+        final ListaDeNos<K, V> nos = new ListaDeNos<>();
+        Balde<K, V> anterior;
+        Balde<K, V> proximo;
+
+        Balde(long frequencia) {
+            this.frequencia = frequencia;
+        }
+    }
+
+    // Contrato de uma política de remoção dentro de um segmento.
+    // As chamadas sempre acontecem com o bloqueio do segmento já adquirido.
+    private abstract static class PoliticaDeRemocao<K, V> {
+        // Uma chave foi consultada (acerto ou falha). Só o W-TinyLFU usa essa informação.
+        void registrarConsulta(int hash) {
+        }
+
+        // Um nó existente foi acessado (acerto em obter, ou colocar sobre chave existente)
+        abstract void registrarAcesso(No<K, V> no);
+
+        // Um nó novo entrou no cache. Retorna o nó que deve sair (pode ser o próprio novo nó), ou null.
+        abstract No<K, V> registrarInsercao(No<K, V> no);
+
+        // Um nó foi removido explicitamente pelo usuário
+        abstract void registrarRemocao(No<K, V> no);
+    }
+
+    // LRU: uma única lista em ordem de uso
+    private static class PoliticaLRU<K, V> extends PoliticaDeRemocao<K, V> {
+        private final int capacidade;
+        private final ListaDeNos<K, V> lista = new ListaDeNos<>();
+
+        PoliticaLRU(int capacidade) {
+            this.capacidade = capacidade;
+        }
+
+        @Override
+        void registrarAcesso(No<K, V> no) {
+            lista.moverParaInicio(no);
+        }
+
+        @Override
+        No<K, V> registrarInsercao(No<K, V> no) {
+            lista.ligarNoInicio(no);
+            return lista.tamanho > capacidade ? lista.removerDoFinal() : null;
+        }
+
+        @Override
+        void registrarRemocao(No<K, V> no) {
+            lista.desligar(no);
+        }
+    }
+
+    // LFU em O(1): baldes de frequência, cada um uma lista duplamente encadeada
+    private static class PoliticaLFU<K, V> extends PoliticaDeRemocao<K, V> {
+        private final int capacidade;
+        private int tamanho;
+        private Balde<K, V> primeiro; // Balde de menor frequência
+
+        PoliticaLFU(int capacidade) {
+            this.capacidade = capacidade;
+        }
+
+        @Override
+        void registrarAcesso(No<K, V> no) {
+            Balde<K, V> atual = no.balde;
+            Balde<K, V> seguinte = atual.proximo;
+            // Se o balde seguinte não for o da frequência + 1, cria um novo logo depois do atual
+            if (seguinte == null || seguinte.frequencia != atual.frequencia + 1) {
+                seguinte = new Balde<>(atual.frequencia + 1);
+                ligarBaldeDepois(atual, seguinte);
+            }
+            atual.nos.desligar(no);
+            seguinte.nos.ligarNoInicio(no);
+            no.balde = seguinte;
+            if (atual.nos.tamanho == 0) {
+                desligarBalde(atual);
+            }
+        }
+
+        @Override
+        No<K, V> registrarInsercao(No<K, V> no) {
+            // A vítima sai ANTES de o novo nó entrar; caso contrário o novo nó (frequência 1)
+            // seria sempre o menos frequente e nunca conseguiria ficar no cache.
+            No<K, V> vitima = null;
+            if (tamanho == capacidade) {
+                Balde<K, V> menor = primeiro;
+                vitima = menor.nos.removerDoFinal(); // Menor frequência e, entre empatados, o mais antigo
+                tamanho--;
+                if (menor.nos.tamanho == 0) {
+                    desligarBalde(menor);
+                }
+            }
+            if (primeiro == null || primeiro.frequencia != 1) {
+                Balde<K, V> balde = new Balde<>(1);
+                balde.proximo = primeiro;
+                if (primeiro != null) {
+                    primeiro.anterior = balde;
+                }
+                primeiro = balde;
+            }
+            primeiro.nos.ligarNoInicio(no);
+            no.balde = primeiro;
+            tamanho++;
+            return vitima;
+        }
+
+        @Override
+        void registrarRemocao(No<K, V> no) {
+            Balde<K, V> balde = no.balde;
+            balde.nos.desligar(no);
+            tamanho--;
+            if (balde.nos.tamanho == 0) {
+                desligarBalde(balde);
+            }
+        }
+
+        private void ligarBaldeDepois(Balde<K, V> atual, Balde<K, V> novo) {
+            novo.anterior = atual;
+            novo.proximo = atual.proximo;
+            if (atual.proximo != null) {
+                atual.proximo.anterior = novo;
+            }
+            atual.proximo = novo;
+        }
+
+        private void desligarBalde(Balde<K, V> balde) {
+            if (balde.anterior != null) {
+                balde.anterior.proximo = balde.proximo;
+            } else {
+                primeiro = balde.proximo;
+            }
+            if (balde.proximo != null) {
+                balde.proximo.anterior = balde.anterior;
+            }
+        }
+    }
+
+    // Count-min sketch com contadores de 4 bits (16 contadores por long), usado pelo W-TinyLFU para
+    // estimar a frequência de uma chave sem guardar a chave. Cada chave incrementa 4 contadores (um por
+    // "linha", com sementes diferentes); a estimativa é o menor deles. Depois de 'periodo' incrementos
+    // todos os contadores são divididos por 2, para que a popularidade antiga perca peso.
+    private static class SketchDeFrequencia {
+        private static final int[] SEMENTES = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+        private final long[] tabela;
+        private final int mascara;
+        private final int periodo;
+        private int amostras;
+
+        SketchDeFrequencia(int capacidade) {
+            // Cerca de 4 contadores por entrada do cache, arredondado para potência de 2
+            int contadores = Integer.highestOneBit(Math.max(16, capacidade) * 4 - 1) << 1;
+            this.tabela = new long[contadores / 16];
+            this.mascara = contadores - 1;
+            this.periodo = Math.max(10, capacidade * 10);
+        }
+
+        private int indice(int hash, int linha) {
+            int h = (hash + SEMENTES[linha]) * SEMENTES[(linha + 1) & 3];
+            return (h ^ (h >>> 15)) & mascara;
+        }
+
+        void incrementar(int hash) {
+            boolean mudou = false;
+            for (int linha = 0; linha < 4; linha++) {
+                int i = indice(hash, linha);
+                int deslocamento = (i & 15) << 2; // Posição do contador de 4 bits dentro do long
+                long palavra = tabela[i >>> 4];
+                if (((palavra >>> deslocamento) & 0xF) < 15) { // Satura em 15
+                    tabela[i >>> 4] = palavra + (1L << deslocamento);
+                    mudou = true;
+                }
+            }
+            if (mudou && ++amostras >= periodo) {
+                envelhecer();
+            }
+        }
+
+        int frequencia(int hash) {
+            int minimo = 15;
+            for (int linha = 0; linha < 4; linha++) {
+                int i = indice(hash, linha);
+                int valor = (int) ((tabela[i >>> 4] >>> ((i & 15) << 2)) & 0xF);
+                minimo = Math.min(minimo, valor);
+            }
+            return minimo;
+        }
+
+        // Divide todos os contadores por 2 de uma vez: desloca a palavra inteira e zera o bit
+        // que "vazou" de cada contador para o vizinho.
+        private void envelhecer() {
+            for (int i = 0; i < tabela.length; i++) {
+                tabela[i] = (tabela[i] >>> 1) & 0x7777777777777777L;
+            }
+            amostras /= 2;
+        }
+    }
+
+    // W-TinyLFU: janela LRU + região principal SLRU (probatória e protegida) + filtro de admissão
+    private static class PoliticaWTinyLFU<K, V> extends PoliticaDeRemocao<K, V> {
+        private static final int JANELA = 0;
+        private static final int PROBATORIA = 1;
+        private static final int PROTEGIDA = 2;
+
+        private final int capacidadeJanela;
+        private final int capacidadePrincipal;
+        private final int capacidadeProtegida;
+        private final ListaDeNos<K, V> janela = new ListaDeNos<>();
+        private final ListaDeNos<K, V> probatoria = new ListaDeNos<>();
+        private final ListaDeNos<K, V> protegida = new ListaDeNos<>();
+        private final SketchDeFrequencia sketch;
+
+        PoliticaWTinyLFU(int capacidade) {
+            this.capacidadeJanela = Math.max(1, capacidade / 100);
+            this.capacidadePrincipal = capacidade - capacidadeJanela;
+            this.capacidadeProtegida = capacidadePrincipal * 80 / 100;
+            this.sketch = new SketchDeFrequencia(capacidade);
+        }
+
+        private ListaDeNos<K, V> listaDa(int regiao) {
+            return regiao == JANELA ? janela : regiao == PROBATORIA ? probatoria : protegida;
+        }
+
+        @Override
+        void registrarConsulta(int hash) {
+            sketch.incrementar(hash);
+        }
+
+        @Override
+        void registrarAcesso(No<K, V> no) {
+            if (no.regiao == PROBATORIA) {
+                // Segundo acesso na região principal: promove para a protegida
+                probatoria.desligar(no);
+                protegida.ligarNoInicio(no);
+                no.regiao = PROTEGIDA;
+                if (protegida.tamanho > capacidadeProtegida) {
+                    // A protegida transbordou: o mais antigo dela volta para a probatória
+                    No<K, V> rebaixado = protegida.removerDoFinal();
+                    probatoria.ligarNoInicio(rebaixado);
+                    rebaixado.regiao = PROBATORIA;
+                }
+            } else {
+                listaDa(no.regiao).moverParaInicio(no);
+            }
+        }
+
+        @Override
+        No<K, V> registrarInsercao(No<K, V> no) {
+            janela.ligarNoInicio(no);
+            no.regiao = JANELA;
+            if (janela.tamanho <= capacidadeJanela) {
+                return null;
+            }
+            // A janela transbordou: o mais antigo dela é candidato a entrar na região principal
+            No<K, V> candidato = janela.removerDoFinal();
+            if (probatoria.tamanho + protegida.tamanho < capacidadePrincipal) {
+                probatoria.ligarNoInicio(candidato);
+                candidato.regiao = PROBATORIA;
+                return null;
+            }
+            No<K, V> vitima = probatoria.cauda != null ? probatoria.cauda : protegida.cauda;
+            if (vitima == null) {
+                return candidato; // Região principal sem espaço (capacidade muito pequena)
+            }
+            // Filtro de admissão TinyLFU: o candidato só entra se for mais frequente que a vítima
+            if (sketch.frequencia(candidato.hash) > sketch.frequencia(vitima.hash)) {
+                listaDa(vitima.regiao).desligar(vitima);
+                probatoria.ligarNoInicio(candidato);
+                candidato.regiao = PROBATORIA;
+                return vitima;
+            }
+            return candidato;
+        }
+
+        @Override
+        void registrarRemocao(No<K, V> no) {
+            listaDa(no.regiao).desligar(no);
+        }
+    }
+
+    // Um segmento é um cache independente, com seu próprio mapa, política e bloqueio.
+    // Threads que acessam segmentos diferentes não disputam o mesmo bloqueio.
+    private static class Segmento<K, V> {
+        final HashMap<K, No<K, V>> mapa = new HashMap<>();
+        final PoliticaDeRemocao<K, V> politica;
+
+        Segmento(Politica politica, int capacidade) {
+            switch (politica) {
+                case LRU:
+                    this.politica = new PoliticaLRU<>(capacidade);
+                    break;
+                case LFU:
+                    this.politica = new PoliticaLFU<>(capacidade);
+                    break;
+                default:
+                    this.politica = new PoliticaWTinyLFU<>(capacidade);
+                    break;
+            }
+        }
+    }
+
+    private final Segmento<K, V>[] segmentos;
+    private final int mascaraSegmentos;
+    private final int capacidade;
+    private final Politica politica;
+
+    // Métricas. LongAdder evita que todas as threads disputem o mesmo contador.
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    // Cria um cache de um único segmento
+    public Cache(int capacidade, Politica politica) {
+        this(capacidade, politica, 1);
+    }
+
+    // Cria um cache dividido em segmentos (arredondado para potência de 2) para uso concorrente.
+    // A capacidade é dividida igualmente entre os segmentos.
+    @SuppressWarnings("unchecked") // Arrays de tipo genérico precisam de cast em Java
+    public Cache(int capacidade, Politica politica, int numeroDeSegmentos) {
+        if (capacidade < 1 || numeroDeSegmentos < 1) {
+            throw new IllegalArgumentException("Capacidade e número de segmentos devem ser positivos.");
+        }
+        int n = Integer.highestOneBit(Math.min(numeroDeSegmentos, capacidade));
+        this.segmentos = (Segmento<K, V>[]) new Segmento<?, ?>[n];
+        this.mascaraSegmentos = n - 1;
+        this.capacidade = capacidade;
+        this.politica = politica;
+        for (int i = 0; i < n; i++) {
+            // Distribui o resto da divisão para que a soma das capacidades seja exatamente 'capacidade'
+            int capacidadeDoSegmento = capacidade / n + (i < capacidade % n ? 1 : 0);
+            segmentos[i] = new Segmento<>(politica, capacidadeDoSegmento);
+        }
+    }
+
+    // Espalha o hashCode da chave. Os bits baixos escolhem o segmento; os altos ficam para o HashMap.
+    private static int espalhar(Object chave) {
+        int h = chave.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segmento<K, V> segmentoDe(int hash) {
+        return segmentos[(hash >>> 16) & mascaraSegmentos];
+    }
+
+    // Método para obter o valor de uma chave, ou null se ela não estiver no cache
+    public V obter(K chave) {
+        int hash = espalhar(chave);
+        Segmento<K, V> segmento = segmentoDe(hash);
+        synchronized (segmento) {
+            segmento.politica.registrarConsulta(hash);
+            No<K, V> no = segmento.mapa.get(chave);
+            if (no == null) {
+                falhas.increment();
+                return null;
+            }
+            segmento.politica.registrarAcesso(no);
+            acertos.increment();
+            return no.valor;
+        }
+    }
+
+    // Método para colocar (ou atualizar) um valor. Pode remover outra entrada segundo a política.
+    public void colocar(K chave, V valor) {
+        int hash = espalhar(chave);
+        Segmento<K, V> segmento = segmentoDe(hash);
+        synchronized (segmento) {
+            No<K, V> no = segmento.mapa.get(chave);
+            if (no != null) {
+                no.valor = valor;
+                segmento.politica.registrarAcesso(no);
+                return;
+            }
+            segmento.politica.registrarConsulta(hash);
+            no = new No<>(chave, valor, hash);
+            segmento.mapa.put(chave, no);
+            No<K, V> vitima = segmento.politica.registrarInsercao(no);
+            if (vitima != null) {
+                segmento.mapa.remove(vitima.chave);
+                remocoes.increment();
+            }
+        }
+    }
+
+    // Método para remover explicitamente uma chave. Retorna o valor removido, ou null.
+    public V remover(K chave) {
+        int hash = espalhar(chave);
+        Segmento<K, V> segmento = segmentoDe(hash);
+        synchronized (segmento) {
+            No<K, V> no = segmento.mapa.remove(chave);
+            if (no == null) {
+                return null;
+            }
+            segmento.politica.registrarRemocao(no);
+            return no.valor;
+        }
+    }
+
+    // Método para obter o número de entradas no cache (soma de todos os segmentos)
+    public int getTamanho() {
+        int total = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.mapa.size();
+            }
+        }
+        return total;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public Politica getPolitica() {
+        return politica;
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    // Número de entradas removidas pela política (não conta remoções explícitas)
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+
+    // Fração das consultas que encontraram a chave no cache (0.0 a 1.0)
+    public double getTaxaDeAcerto() {
+        long a = acertos.sum();
+        long total = a + falhas.sum();
+        return total == 0 ? 0.0 : (double) a / total;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("--- LRU de capacidade 3 ---");
+        Cache<String, Integer> lru = new Cache<>(3, Politica.LRU);
+        lru.colocar("a", 1);
+        lru.colocar("b", 2);
+        lru.colocar("c", 3);
+        lru.obter("a");      // "a" passa a ser o mais recente; "b" é agora o mais antigo
+        lru.colocar("d", 4); // Remove "b"
+        System.out.println("b no cache? " + (lru.obter("b") != null)); // Esperado: false
+        System.out.println("a no cache? " + (lru.obter("a") != null)); // Esperado: true
+        System.out.println("Acertos: " + lru.getAcertos() + ", falhas: " + lru.getFalhas()
+                + ", remoções: " + lru.getRemocoes()); // Esperado: 2, 1, 1
+
+        System.out.println("\n--- LFU de capacidade 3 ---");
+        Cache<String, Integer> lfu = new Cache<>(3, Politica.LFU);
+        lfu.colocar("a", 1);
+        lfu.colocar("b", 2);
+        lfu.colocar("c", 3);
+        lfu.obter("a");
+        lfu.obter("a");
+        lfu.obter("c");
+        lfu.colocar("d", 4); // "b" tem a menor frequência e sai
+        System.out.println("b no cache? " + (lfu.obter("b") != null)); // Esperado: false
+        System.out.println("a no cache? " + (lfu.obter("a") != null)); // Esperado: true
+
+        // Carga com itens "quentes" (0 a 99, muito acessados) misturada a uma varredura de itens únicos.
+        // A varredura expulsa os itens quentes do LRU, mas não do W-TinyLFU.
+        System.out.println("\n--- Quentes + varredura (capacidade 200, 4 segmentos) ---");
+        for (Politica politica : Politica.values()) {
+            Cache<Integer, Integer> cache = new Cache<>(200, politica, 4);
+            java.util.Random aleatorio = new java.util.Random(42);
+            int unico = 1_000;
+            for (int i = 0; i < 200_000; i++) {
+                int chave = (i % 3 == 0) ? aleatorio.nextInt(100) : unico++;
+                if (cache.obter(chave) == null) {
+                    cache.colocar(chave, chave);
+                }
+            }
+            System.out.printf("%-10s taxa de acerto: %.3f  remoções: %d  tamanho: %d%n",
+                    politica, cache.getTaxaDeAcerto(), cache.getRemocoes(), cache.getTamanho());
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+Filtro Cuckoo (Cuckoo Filter)
+O que é? É um filtro de pertinência, como o FiltroDeBloom, que guarda para cada chave só uma impressão digital
+(fingerprint) de poucos bits, em uma tabela de baldes com 4 posições. Cada chave tem dois baldes possíveis: o primeiro
+vem do hash da chave, e o segundo é calculado a partir do primeiro e da impressão digital, então dá para ir de um balde
+para o outro sem conhecer a chave. Se os dois estiverem cheios, uma impressão digital de um deles é expulsa para o seu
+outro balde (como o cuco que tira o ovo do ninho), e assim por diante, até achar lugar.
+Consultar é olhar as 8 posições dos dois baldes. As impressões digitais ficam empacotadas em um long[], com exatamente
+f bits cada.
+
+Para que serve? Para o mesmo papel do FiltroDeBloom (responder "com certeza não está" na frente de uma estrutura cara),
+quando também é preciso remover chaves, ou quando a taxa de falsos positivos pedida é baixa.
+
+Vantagens:
+Permite remover: basta apagar uma impressão digital igual nos dois baldes.
+Consulta toca no máximo dois baldes (duas faltas de cache).
+Abaixo de cerca de 0,5% de falsos positivos gasta menos bits por chave que o Bloom (ex.: 0,01% com ~18 bits por
+chave, contra ~22 do FiltroDeBloom).
+
+Desvantagens:
+Remover uma chave que nunca foi adicionada pode apagar a impressão digital de outra (e criar um falso negativo).
+Adicionar a mesma chave muitas vezes enche os dois baldes dela: o filtro guarda um multiconjunto.
+A inserção pode falhar perto de 95% de ocupação; adicionar devolve false quando o filtro está cheio.
+Inserir com o filtro quase cheio fica mais lento (muitas expulsões em sequência).
+ */
+
+import java.util.function.IntPredicate;
+
+public class FiltroCuckoo {
+
+    private static final int POSICOES_POR_BALDE = 4;
+    private static final double OCUPACAO_MAXIMA = 0.95;
+    private static final int MAXIMO_DE_EXPULSOES = 500;
+    private static final int VAZIO = 0; // Impressão digital 0 marca posição vazia; as chaves usam de 1 a 2^f - 1
+
+    private final long[] bits; // baldes * 4 impressões de f bits, mais um long para ler a última sem sair do array
+    private final int baldes;
+    private final int bitsPorImpressao; // f
+    private final long mascaraDaImpressao;
+    private final double taxaConfigurada;
+    private int quantidade;
+
+    // Vítima da última expulsão que não achou lugar: continua no filtro, mas o filtro passa a recusar inserções
+    private boolean temVitima;
+    private int impressaoDaVitima;
+    private int baldeDaVitima;
+
+    private long semente = 0x9E3779B97F4A7C15L; // Gerador xorshift para escolher quem é expulso
+
+    /**
+     * Cria um filtro para 'capacidadeEsperada' chaves com a taxa de falsos positivos pedida (ex.: 0.01 = 1%).
+     */
+    public FiltroCuckoo(int capacidadeEsperada, double taxaDeFalsosPositivos) {
+        if (capacidadeEsperada <= 0) {
+            throw new IllegalArgumentException("A capacidade esperada precisa ser positiva.");
+        }
+        if (!(taxaDeFalsosPositivos > 0 && taxaDeFalsosPositivos < 1)) {
+            throw new IllegalArgumentException("A taxa de falsos positivos precisa estar entre 0 e 1.");
+        }
+        // Uma consulta compara com até 8 impressões: taxa ~ 8 / 2^f, então f = log2(8 / taxa)
+        int f = (int) Math.ceil(Math.log(2.0 * POSICOES_POR_BALDE / taxaDeFalsosPositivos) / Math.log(2));
+        this.bitsPorImpressao = Math.max(4, Math.min(32, f));
+        this.mascaraDaImpressao = (1L << bitsPorImpressao) - 1;
+        long quantidadeDeBaldes = Math.max(1, (long) Math.ceil(capacidadeEsperada / (POSICOES_POR_BALDE * OCUPACAO_MAXIMA)));
+        long totalDeBits = quantidadeDeBaldes * POSICOES_POR_BALDE * bitsPorImpressao;
+        if (totalDeBits / 64 + 2 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("O filtro ficaria grande demais para um array.");
+        }
+        this.baldes = (int) quantidadeDeBaldes;
+        this.bits = new long[(int) ((totalDeBits + 63) / 64) + 1];
+        this.taxaConfigurada = taxaDeFalsosPositivos;
+    }
+
+    private int impressaoDe(long h) {
+        int impressao = (int) ((h >>> 32) & mascaraDaImpressao);
+        return impressao == VAZIO ? 1 : impressao;
+    }
+
+    // Mapeia 32 bits para [0, baldes) com multiplicação, sem divisão (redução de Lemire)
+    private int reduzir(int h) {
+        return (int) (((h & 0xFFFFFFFFL) * baldes) >>> 32);
+    }
+
+    private int primeiroBalde(long h) {
+        return reduzir((int) h);
+    }
+
+    // O outro balde é (h(impressão) - balde) mod baldes: aplicar duas vezes volta ao original, para qualquer número de
+    // baldes (com xor seria preciso uma potência de 2 e até o dobro da memória)
+    private int outroBalde(int balde, int impressao) {
+        int outro = reduzir(IntHashSet.espalhar(impressao)) - balde;
+        return outro < 0 ? outro + baldes : outro;
+    }
+
+    // Lê os f bits da posição; o segundo long cobre as impressões que atravessam a fronteira (o deslocamento duplo
+    // evita o caso 'desvio == 0', em que << 64 não zeraria nada)
+    private int ler(int balde, int posicao) {
+        long deslocamento = ((long) balde * POSICOES_POR_BALDE + posicao) * bitsPorImpressao;
+        int i = (int) (deslocamento >>> 6);
+        int desvio = (int) deslocamento & 63;
+        long valor = (bits[i] >>> desvio) | ((bits[i + 1] << 1) << (63 - desvio));
+        return (int) (valor & mascaraDaImpressao);
+    }
+
+    private void escrever(int balde, int posicao, int impressao) {
+        long deslocamento = ((long) balde * POSICOES_POR_BALDE + posicao) * bitsPorImpressao;
+        int i = (int) (deslocamento >>> 6);
+        int desvio = (int) deslocamento & 63;
+        long valor = impressao & mascaraDaImpressao;
+        bits[i] = (bits[i] & ~(mascaraDaImpressao << desvio)) | (valor << desvio);
+        if (desvio + bitsPorImpressao > 64) {
+            int restante = 64 - desvio; // Bits que já couberam no primeiro long
+            bits[i + 1] = (bits[i + 1] & ~(mascaraDaImpressao >>> restante)) | (valor >>> restante);
+        }
+    }
+
+    private boolean colocarNoBalde(int balde, int impressao) {
+        for (int p = 0; p < POSICOES_POR_BALDE; p++) {
+            if (ler(balde, p) == VAZIO) {
+                escrever(balde, p, impressao);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean baldeTem(int balde, int impressao) {
+        for (int p = 0; p < POSICOES_POR_BALDE; p++) {
+            if (ler(balde, p) == impressao) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean apagarDoBalde(int balde, int impressao) {
+        for (int p = 0; p < POSICOES_POR_BALDE; p++) {
+            if (ler(balde, p) == impressao) {
+                escrever(balde, p, VAZIO);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adiciona a chave. Devolve false se o filtro está cheio (a chave não foi adicionada).
+     */
+    public boolean adicionar(int chave) {
+        if (temVitima) {
+            return false;
+        }
+        long h = FiltroDeBloom.espalhar(chave);
+        int impressao = impressaoDe(h);
+        int balde = primeiroBalde(h);
+        int outro = outroBalde(balde, impressao);
+        if (colocarNoBalde(balde, impressao) || colocarNoBalde(outro, impressao)) {
+            quantidade++;
+            return true;
+        }
+        // Os dois estão cheios: expulsa uma impressão aleatória e a leva para o outro balde dela
+        if ((proximoAleatorio() & 1) != 0) {
+            balde = outro;
+        }
+        for (int expulsoes = 0; expulsoes < MAXIMO_DE_EXPULSOES; expulsoes++) {
+            int posicao = (int) (proximoAleatorio() & (POSICOES_POR_BALDE - 1));
+            int expulsa = ler(balde, posicao);
+            escrever(balde, posicao, impressao);
+            impressao = expulsa;
+            balde = outroBalde(balde, impressao);
+            if (colocarNoBalde(balde, impressao)) {
+                quantidade++;
+                return true;
+            }
+        }
+        // Sem lugar depois de tantas expulsões: a última expulsa fica guardada à parte, para não virar falso negativo
+        temVitima = true;
+        impressaoDaVitima = impressao;
+        baldeDaVitima = balde;
+        quantidade++;
+        return true;
+    }
+
+    private long proximoAleatorio() {
+        semente ^= semente << 13;
+        semente ^= semente >>> 7;
+        semente ^= semente << 17;
+        return semente;
+    }
+
+    /**
+     * false: a chave com certeza não foi adicionada (ou foi removida). true: ela provavelmente está no filtro.
+     */
+    public boolean podeConter(int chave) {
+        long h = FiltroDeBloom.espalhar(chave);
+        int impressao = impressaoDe(h);
+        int balde = primeiroBalde(h);
+        int outro = outroBalde(balde, impressao);
+        if (baldeTem(balde, impressao) || baldeTem(outro, impressao)) {
+            return true;
+        }
+        return temVitima && impressaoDaVitima == impressao && (baldeDaVitima == balde || baldeDaVitima == outro);
+    }
+
+    /**
+     * Consulta com o filtro na frente: se o filtro diz "não", responde false sem tocar na estrutura; senão pergunta
+     * à estrutura de verdade (ex.: lista::contem).
+     */
+    public boolean contem(int chave, IntPredicate estrutura) {
+        return podeConter(chave) && estrutura.test(chave);
+    }
+
+    /**
+     * Remove uma ocorrência da chave. Só é seguro para chaves que foram adicionadas: remover uma chave ausente que
+     * seja um falso positivo apaga a impressão digital de outra. Devolve false se nenhuma impressão foi encontrada.
+     */
+    public boolean remover(int chave) {
+        long h = FiltroDeBloom.espalhar(chave);
+        int impressao = impressaoDe(h);
+        int balde = primeiroBalde(h);
+        int outro = outroBalde(balde, impressao);
+        if (apagarDoBalde(balde, impressao) || apagarDoBalde(outro, impressao)) {
+            quantidade--;
+            if (temVitima) { // Abriu uma posição: a vítima guardada à parte tenta voltar para a tabela
+                temVitima = !colocarNoBalde(baldeDaVitima, impressaoDaVitima)
+                        && !colocarNoBalde(outroBalde(baldeDaVitima, impressaoDaVitima), impressaoDaVitima);
+            }
+            return true;
+        }
+        if (temVitima && impressaoDaVitima == impressao && (baldeDaVitima == balde || baldeDaVitima == outro)) {
+            temVitima = false;
+            quantidade--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Taxa de falsos positivos esperada com a ocupação atual: cada uma das 8 posições consultadas tem chance
+     * ocupação / (2^f - 1) de ter a mesma impressão digital.
+     */
+    public double getTaxaEstimada() {
+        double porPosicao = getOcupacao() / (double) mascaraDaImpressao;
+        return 1 - Math.pow(1 - porPosicao, 2 * POSICOES_POR_BALDE);
+    }
+
+    public double getTaxaConfigurada() {
+        return taxaConfigurada;
+    }
+
+    /**
+     * Fração das posições ocupadas (a inserção começa a falhar perto de 0,95).
+     */
+    public double getOcupacao() {
+        return quantidade / ((double) baldes * POSICOES_POR_BALDE);
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public int getBitsPorImpressao() {
+        return bitsPorImpressao;
+    }
+
+    /**
+     * Memória ocupada pelas impressões digitais, em bytes.
+     */
+    public long getBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    public void limpar() {
+        java.util.Arrays.fill(bits, 0);
+        quantidade = 0;
+        temVitima = false;
+    }
+
+    public static void main(String[] args) {
+        FiltroCuckoo filtro = new FiltroCuckoo(1000, 0.01);
+        for (int id = 0; id < 1000; id++) {
+            filtro.adicionar(id * 7);
+        }
+        System.out.println("Pode conter 700? " + filtro.podeConter(700)); // Esperado: true (sem falsos negativos)
+        filtro.remover(700);
+        System.out.println("Depois de remover, pode conter 700? " + filtro.podeConter(700)); // Esperado: false (quase sempre)
+        System.out.println("f = " + filtro.getBitsPorImpressao() + " bits, memória: " + filtro.getBytes() + " bytes");
+        // Esperado: f = 10 bits, memória: 1328 bytes
+
+        System.out.println("\n--- Janela deslizante: 1.000.000 de ids entrando e saindo de um filtro para 100.000 ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        FiltroCuckoo janela = new FiltroCuckoo(100_000, 0.01);
+        int[] ids = new int[1_000_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = aleatorio.nextInt();
+        }
+        boolean semFalsosNegativos = true;
+        for (int i = 0; i < ids.length; i++) {
+            janela.adicionar(ids[i]);
+            if (i >= 100_000) {
+                janela.remover(ids[i - 100_000]); // Só os últimos 100.000 ficam no filtro
+            }
+            if (i % 1000 == 0) {
+                semFalsosNegativos &= janela.podeConter(ids[i - aleatorio.nextInt(Math.min(i + 1, 100_000))]);
+            }
+        }
+        System.out.printf("Quantidade: %d, ocupação: %.1f%%, sem falsos negativos? %b%n",
+                janela.getQuantidade(), janela.getOcupacao() * 100, semFalsosNegativos); // Esperado: 100000, true
+
+        System.out.println("\n--- Taxa de falsos positivos medida com 1.000.000 de chaves, contra o FiltroDeBloom ---");
+        for (double taxa : new double[]{0.01, 0.001, 0.0001}) {
+            FiltroCuckoo cuckoo = new FiltroCuckoo(1_000_000, taxa);
+            FiltroDeBloom bloom = new FiltroDeBloom(1_000_000, taxa);
+            IntHashSet adicionadas = new IntHashSet(1_000_000);
+            while (adicionadas.getTamanho() < 1_000_000) {
+                int chave = aleatorio.nextInt();
+                if (adicionadas.adicionar(chave)) {
+                    cuckoo.adicionar(chave);
+                    bloom.adicionar(chave);
+                }
+            }
+            int falsosCuckoo = 0;
+            int falsosBloom = 0;
+            int ausentes = 0;
+            while (ausentes < 2_000_000) {
+                int chave = aleatorio.nextInt();
+                if (!adicionadas.contem(chave)) {
+                    ausentes++;
+                    falsosCuckoo += cuckoo.podeConter(chave) ? 1 : 0;
+                    falsosBloom += bloom.podeConter(chave) ? 1 : 0;
+                }
+            }
+            System.out.printf("Configurada %.2f%%: cuckoo %.3f%% (estimada %.3f%%, %.1f bits por chave), bloom %.3f%% (%.1f bits por chave)%n",
+                    taxa * 100, 100.0 * falsosCuckoo / ausentes, cuckoo.getTaxaEstimada() * 100,
+                    cuckoo.getBytes() * 8.0 / 1_000_000, 100.0 * falsosBloom / ausentes, bloom.getBytes() * 8.0 / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+Filtro de Bloom Bloqueado (Blocked Bloom Filter)
+O que é? É um array de bits que responde "com certeza não está" ou "talvez esteja". Adicionar uma chave liga k bits
+escolhidos por hash; consultar verifica os mesmos k bits. Se algum estiver desligado, a chave nunca foi adicionada
+(nenhum falso negativo). Se todos estiverem ligados, ela provavelmente foi, mas os bits podem ter sido ligados por
+outras chaves: é um falso positivo, com taxa controlada pelo número de bits por chave.
+Na versão bloqueada, os k bits de uma chave ficam todos no mesmo bloco de 512 bits (64 bytes, uma linha de cache).
+O primeiro hash escolhe o bloco e os outros escolhem os bits dentro dele: cada consulta custa uma única falta de
+cache, em vez de até k faltas espalhadas pelo array. Como alguns blocos recebem mais chaves que outros, o tamanho e o
+k saem de um modelo da ocupação de cada bloco (taxaDoModelo), não da fórmula do Bloom clássico.
+
+Para que serve? Para ficar na frente de uma estrutura cara de consultar (uma ListaSimplesmenteEncadeada, uma árvore,
+um arquivo, um servidor) quando a maioria das consultas é por chaves que não existem. O filtro responde essas em
+nanossegundos, e só os "talvez" vão até a estrutura de verdade.
+
+Vantagens:
+Memória muito pequena: cerca de 10 bits por chave para 1% de falsos positivos, qualquer que seja o tamanho da chave.
+Adicionar e consultar em O(k) sobre uma única linha de cache.
+Nunca dá falso negativo.
+
+Desvantagens:
+Não permite remover (desligar um bit apagaria outras chaves); para isso existe o FiltroCuckoo.
+Precisa saber de antemão quantas chaves vai receber: acima disso a taxa de falsos positivos sobe rapidamente.
+Os blocos deixam a distribuição dos bits menos uniforme; para compensar, usa mais bits que um filtro de Bloom clássico
+com a mesma taxa: +6% em 1%, +17% em 0,01%, +40% em 0,0001%. Para taxas baixas o FiltroCuckoo gasta menos memória.
+k vai no máximo até 16 (abaixo de cerca de 0,00001% os bits por chave crescem rápido); uma taxa que não cabe em um
+array é rejeitada no construtor.
+ */
+
+import java.util.function.IntPredicate;
+
+public class FiltroDeBloom {
+
+    private static final int BITS_POR_BLOCO = 512;
+    private static final int LONGS_POR_BLOCO = BITS_POR_BLOCO / 64;
+    private static final int BITS_DA_POSICAO = 9; // log2(BITS_POR_BLOCO)
+    private static final int POSICOES_POR_MISTURA = 64 / BITS_DA_POSICAO; // 7 fatias de 9 bits em cada mistura
+    private static final int MAXIMO_DE_FUNCOES = 16;
+    private static final long PASSO_SPLITMIX = 0x9E3779B97F4A7C15L;
+
+    private final long[] bits;
+    private final int blocos;
+    private final int funcoesDeHash; // k
+    private final double taxaConfigurada;
+    private int quantidade;
+
+    /**
+     * Cria um filtro para 'capacidadeEsperada' chaves com a taxa de falsos positivos pedida (ex.: 0.01 = 1%).
+     */
+    public FiltroDeBloom(int capacidadeEsperada, double taxaDeFalsosPositivos) {
+        if (capacidadeEsperada <= 0) {
+            throw new IllegalArgumentException("A capacidade esperada precisa ser positiva.");
+        }
+        if (!(taxaDeFalsosPositivos > 0 && taxaDeFalsosPositivos < 1)) {
+            throw new IllegalArgumentException("A taxa de falsos positivos precisa estar entre 0 e 1.");
+        }
+        // Começa no Bloom clássico (m/n = -ln(p) / ln(2)²) e aumenta o número de blocos até o modelo dos blocos
+        // (taxaDoModelo) chegar à taxa pedida, usando para cada tamanho o k que dá a menor taxa.
+        double bitsClassicos = -Math.log(taxaDeFalsosPositivos) / (Math.log(2) * Math.log(2));
+        long quantidadeDeBlocos = Math.max(1, (long) Math.ceil(capacidadeEsperada * bitsClassicos / BITS_POR_BLOCO));
+        int k = melhorK((double) capacidadeEsperada / quantidadeDeBlocos);
+        while (taxaDoModelo((double) capacidadeEsperada / quantidadeDeBlocos, k) > taxaDeFalsosPositivos) {
+            if (quantidadeDeBlocos * LONGS_POR_BLOCO > Integer.MAX_VALUE - 8) {
+                break; // Taxa baixa demais para essa capacidade: rejeitada logo abaixo
+            }
+            quantidadeDeBlocos += Math.max(1, quantidadeDeBlocos / 50); // +2% por vez
+            k = melhorK((double) capacidadeEsperada / quantidadeDeBlocos);
+        }
+        if (quantidadeDeBlocos * LONGS_POR_BLOCO > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("O filtro ficaria grande demais para um array.");
+        }
+        this.blocos = (int) quantidadeDeBlocos;
+        this.bits = new long[blocos * LONGS_POR_BLOCO];
+        this.funcoesDeHash = k;
+        this.taxaConfigurada = taxaDeFalsosPositivos;
+    }
+
+    // Mistura de 64 bits (SplitMix64): os 32 bits de cima escolhem o bloco
+    static long espalhar(int chave) {
+        return misturar(chave * PASSO_SPLITMIX);
+    }
+
+    // Finalizador do SplitMix64
+    private static long misturar(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    // As posições dentro do bloco são fatias de 9 bits dos próximos valores da sequência SplitMix64 que começa em h,
+    // cada um misturado de novo: não compartilham bits com o bloco nem entre si, como k hashes independentes.
+    // (Derivar todas de um mesmo par a + i*b deixava poucos padrões distintos por bloco, e a taxa parava em ~0,01%.)
+    public void adicionar(int chave) {
+        long h = espalhar(chave);
+        int base = bloco(h) * LONGS_POR_BLOCO;
+        long fatias = 0;
+        for (int i = 0, restantes = 0; i < funcoesDeHash; i++, restantes--) {
+            if (restantes == 0) {
+                h += PASSO_SPLITMIX;
+                fatias = misturar(h);
+                restantes = POSICOES_POR_MISTURA;
+            }
+            int bit = (int) fatias & (BITS_POR_BLOCO - 1);
+            bits[base + (bit >>> 6)] |= 1L << bit;
+            fatias >>>= BITS_DA_POSICAO;
+        }
+        quantidade++;
+    }
+
+    /**
+     * false: a chave com certeza não foi adicionada. true: ela provavelmente foi (pode ser falso positivo).
+     */
+    public boolean podeConter(int chave) {
+        long h = espalhar(chave);
+        int base = bloco(h) * LONGS_POR_BLOCO;
+        long fatias = 0;
+        for (int i = 0, restantes = 0; i < funcoesDeHash; i++, restantes--) {
+            if (restantes == 0) {
+                h += PASSO_SPLITMIX;
+                fatias = misturar(h);
+                restantes = POSICOES_POR_MISTURA;
+            }
+            int bit = (int) fatias & (BITS_POR_BLOCO - 1);
+            if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+            fatias >>>= BITS_DA_POSICAO;
+        }
+        return true;
+    }
+
+    /**
+     * Consulta com o filtro na frente: se o filtro diz "não", responde false sem tocar na estrutura; senão pergunta
+     * à estrutura de verdade (ex.: lista::contem).
+     */
+    public boolean contem(int chave, IntPredicate estrutura) {
+        return podeConter(chave) && estrutura.test(chave);
+    }
+
+    // Mapeia os 32 bits de cima para [0, blocos) com multiplicação, sem divisão (redução de Lemire)
+    private int bloco(long h) {
+        return (int) (((h >>> 32) * blocos) >>> 32);
+    }
+
+    /**
+     * Taxa de falsos positivos esperada com a quantidade atual de chaves, pelo modelo dos blocos (taxaDoModelo).
+     */
+    public double getTaxaEstimada() {
+        return taxaDoModelo((double) quantidade / blocos, funcoesDeHash);
+    }
+
+    // O k (de 1 a MAXIMO_DE_FUNCOES) com a menor taxa para essa carga média por bloco
+    private static int melhorK(double chavesPorBloco) {
+        int melhor = 1;
+        for (int k = 2; k <= MAXIMO_DE_FUNCOES; k++) {
+            if (taxaDoModelo(chavesPorBloco, k) < taxaDoModelo(chavesPorBloco, melhor)) {
+                melhor = k;
+            }
+        }
+        return melhor;
+    }
+
+    /**
+     * Taxa de falsos positivos de um filtro bloqueado com 'chavesPorBloco' chaves por bloco, em média, e k posições
+     * por chave. A fórmula clássica supõe a mesma ocupação em todo o array, mas aqui cada bloco tem a sua: o número
+     * de chaves de um bloco segue uma distribuição de Poisson, e os blocos mais cheios dominam a taxa. Num bloco com
+     * j chaves, cada bit está ligado com probabilidade q = 1 - (1 - 1/512)^(jk); a consulta testa d posições
+     * distintas (as k fatias podem repetir) e dá falso positivo com probabilidade q^d.
+     */
+    static double taxaDoModelo(double chavesPorBloco, int k) {
+        // distintas[d]: probabilidade de k fatias de 9 bits caírem em exatamente d posições diferentes
+        double[] distintas = new double[k + 1];
+        distintas[0] = 1;
+        for (int i = 0; i < k; i++) {
+            for (int d = i + 1; d >= 1; d--) {
+                distintas[d] = distintas[d] * d / BITS_POR_BLOCO
+                        + distintas[d - 1] * (BITS_POR_BLOCO - d + 1) / BITS_POR_BLOCO;
+            }
+            distintas[0] = 0;
+        }
+        // Soma sobre a carga j do bloco, com a Poisson calculada em logaritmo (e^-carga não cabe em double acima de 745)
+        double taxa = 0;
+        double logPoisson = -chavesPorBloco; // log P(j = 0)
+        int limite = (int) (chavesPorBloco + 12 * Math.sqrt(chavesPorBloco) + 20);
+        for (int j = 0; j <= limite; j++) {
+            double q = 1 - Math.pow(1 - 1.0 / BITS_POR_BLOCO, (double) j * k);
+            double noBloco = 0;
+            for (int d = 1; d <= k; d++) {
+                noBloco += distintas[d] * Math.pow(q, d);
+            }
+            taxa += Math.exp(logPoisson) * noBloco;
+            logPoisson += Math.log(chavesPorBloco / (j + 1));
+        }
+        return taxa;
+    }
+
+    public double getTaxaConfigurada() {
+        return taxaConfigurada;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    public int getFuncoesDeHash() {
+        return funcoesDeHash;
+    }
+
+    /**
+     * Memória ocupada pelos bits do filtro, em bytes.
+     */
+    public long getBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    public void limpar() {
+        java.util.Arrays.fill(bits, 0);
+        quantidade = 0;
+    }
+
+    public static void main(String[] args) {
+        FiltroDeBloom filtro = new FiltroDeBloom(1000, 0.01);
+        for (int id = 0; id < 1000; id++) {
+            filtro.adicionar(id * 7);
+        }
+        System.out.println("Pode conter 700? " + filtro.podeConter(700)); // Esperado: true (sem falsos negativos)
+        System.out.println("k = " + filtro.getFuncoesDeHash() + ", memória: " + filtro.getBytes() + " bytes");
+        // Esperado: k = 7, memória: 1280 bytes
+
+        System.out.println("\n--- Filtro na frente de uma ListaSimplesmenteEncadeada com 20.000 ids ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        ListaSimplesmenteEncadeada lista = new ListaSimplesmenteEncadeada();
+        FiltroDeBloom naFrente = new FiltroDeBloom(20_000, 0.01);
+        IntHashSet presentes = new IntHashSet();
+        while (presentes.getTamanho() < 20_000) {
+            int id = aleatorio.nextInt();
+            if (presentes.adicionar(id)) {
+                lista.adicionarNoInicio(id);
+                naFrente.adicionar(id);
+            }
+        }
+        int[] consultas = new int[20_000];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = aleatorio.nextInt(); // Quase todas ausentes, como no uso real
+        }
+        long inicio = System.nanoTime();
+        int achadasSemFiltro = 0;
+        for (int consulta : consultas) {
+            if (lista.contem(consulta)) {
+                achadasSemFiltro++;
+            }
+        }
+        long tempoSemFiltro = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        int achadasComFiltro = 0;
+        for (int consulta : consultas) {
+            if (naFrente.contem(consulta, lista::contem)) {
+                achadasComFiltro++;
+            }
+        }
+        long tempoComFiltro = System.nanoTime() - inicio;
+        System.out.printf("Sem filtro: %d ms, com filtro: %d ms (mesmas respostas? %b)%n",
+                tempoSemFiltro / 1_000_000, tempoComFiltro / 1_000_000, achadasSemFiltro == achadasComFiltro);
+        // Esperado: true
+
+        System.out.println("\n--- Taxa de falsos positivos medida com 1.000.000 de chaves ---");
+        for (double taxa : new double[]{0.05, 0.01, 0.001, 0.0001}) {
+            FiltroDeBloom grande = new FiltroDeBloom(1_000_000, taxa);
+            IntHashSet adicionadas = new IntHashSet(1_000_000);
+            while (adicionadas.getTamanho() < 1_000_000) {
+                int chave = aleatorio.nextInt();
+                if (adicionadas.adicionar(chave)) {
+                    grande.adicionar(chave);
+                }
+            }
+            int falsosPositivos = 0;
+            int ausentes = 0;
+            while (ausentes < 2_000_000) {
+                int chave = aleatorio.nextInt();
+                if (!adicionadas.contem(chave)) {
+                    ausentes++;
+                    if (grande.podeConter(chave)) {
+                        falsosPositivos++;
+                    }
+                }
+            }
+            System.out.printf("Configurada %.3f%%: medida %.4f%% (estimada %.4f%%), %.1f bits por chave, k = %d%n",
+                    taxa * 100, 100.0 * falsosPositivos / ausentes, grande.getTaxaEstimada() * 100,
+                    grande.getBytes() * 8.0 / 1_000_000, grande.getFuncoesDeHash());
+        }
+    }
+}
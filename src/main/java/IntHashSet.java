@@ -0,0 +1,251 @@
+/*
+Conjunto Hash Primitivo (int) com Endereçamento Aberto
+O que é? É um conjunto de inteiros guardado em uma tabela hash de endereçamento aberto: as chaves ficam diretamente
+em um array de int, sem nós nem listas. A posição ideal de uma chave vem dos bits do seu hash; se ela estiver
+ocupada, a chave vai para a próxima posição livre (sondagem linear). A capacidade é sempre uma potência de 2, então
+a posição é hash & (capacidade - 1), sem divisão. A remoção usa deslocamento para trás (backward shift), como o
+índice da ListaDuplamenteEncadeada e o IntIntCache: em vez de deixar uma lápide, as chaves seguintes do mesmo
+agrupamento são puxadas para o buraco, e as buscas nunca atravessam posições apagadas.
+O valor 0 marca posição livre, então a chave 0 é guardada à parte, em um boolean.
+
+Para que serve? Para testes de pertinência com muitos inteiros (ids vistos, vértices visitados, deduplicação) em O(1),
+em vez de percorrer uma lista em O(n) como ListaSimplesmenteEncadeada.contem, e sem o custo de um HashSet<Integer>
+(um Integer e um nó por elemento).
+
+Vantagens:
+Busca, inserção e remoção em O(1) em média.
+4 bytes por posição e nenhuma alocação por operação (só quando a tabela dobra).
+Sondagem linear percorre posições vizinhas do array: quase sempre a mesma linha de cache.
+Sem lápides: a tabela não se degrada com muitas remoções.
+
+Desvantagens:
+Com ocupação alta os agrupamentos crescem e as sondagens ficam longas; por isso a tabela dobra acima de 75%.
+Depende de um bom espalhamento dos bits do hash (aqui, o finalizador do MurmurHash3).
+Não é thread-safe.
+ */
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntHashSet {
+
+    private static final int LIVRE = 0; // Posição livre; a chave 0 fica em temZero
+
+    private int[] chaves;
+    private int mascara;
+    private int tamanho;       // Chaves na tabela (sem contar o 0)
+    private int limite;        // Tamanho a partir do qual a tabela dobra
+    private boolean temZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    /**
+     * Cria o conjunto com espaço para 'capacidadeEsperada' chaves sem redimensionar.
+     */
+    public IntHashSet(int capacidadeEsperada) {
+        if (capacidadeEsperada < 0) {
+            throw new IllegalArgumentException("A capacidade esperada não pode ser negativa.");
+        }
+        alocar(capacidadePara(capacidadeEsperada));
+    }
+
+    // Menor potência de 2 que mantém 'quantidade' chaves abaixo de 75% de ocupação
+    static int capacidadePara(int quantidade) {
+        long minima = Math.max(4, (long) quantidade * 4 / 3 + 1);
+        if (minima > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade grande demais.");
+        }
+        return Integer.highestOneBit((int) minima - 1) << 1;
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        mascara = capacidade - 1;
+        limite = capacidade / 4 * 3;
+    }
+
+    // Espalha os bits da chave (finalizador do MurmurHash3), como na ListaDuplamenteEncadeada
+    static int espalhar(int chave) {
+        int h = chave;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    public boolean contem(int chave) {
+        if (chave == LIVRE) {
+            return temZero;
+        }
+        int[] chaves = this.chaves;
+        int i = espalhar(chave) & mascara;
+        int atual;
+        while ((atual = chaves[i]) != LIVRE) {
+            if (atual == chave) {
+                return true;
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * Adiciona a chave. Devolve false se ela já estava no conjunto.
+     */
+    public boolean adicionar(int chave) {
+        if (chave == LIVRE) {
+            boolean novo = !temZero;
+            temZero = true;
+            return novo;
+        }
+        int i = espalhar(chave) & mascara;
+        int atual;
+        while ((atual = chaves[i]) != LIVRE) {
+            if (atual == chave) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        chaves[i] = chave;
+        if (++tamanho > limite) {
+            redimensionar(chaves.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Remove a chave. Devolve false se ela não estava no conjunto.
+     */
+    public boolean remover(int chave) {
+        if (chave == LIVRE) {
+            boolean estava = temZero;
+            temZero = false;
+            return estava;
+        }
+        int i = espalhar(chave) & mascara;
+        int atual;
+        while ((atual = chaves[i]) != chave) {
+            if (atual == LIVRE) {
+                return false;
+            }
+            i = (i + 1) & mascara;
+        }
+        apagarPosicao(i);
+        tamanho--;
+        return true;
+    }
+
+    // Deslocamento para trás: puxa para 'livre' as chaves seguintes cuja posição ideal não está entre 'livre' e elas
+    private void apagarPosicao(int livre) {
+        int i = (livre + 1) & mascara;
+        int atual;
+        while ((atual = chaves[i]) != LIVRE) {
+            int ideal = espalhar(atual) & mascara;
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                chaves[livre] = atual;
+                livre = i;
+            }
+            i = (i + 1) & mascara;
+        }
+        chaves[livre] = LIVRE;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] antigas = chaves;
+        alocar(novaCapacidade);
+        for (int chave : antigas) {
+            if (chave != LIVRE) {
+                int i = espalhar(chave) & mascara;
+                while (chaves[i] != LIVRE) {
+                    i = (i + 1) & mascara;
+                }
+                chaves[i] = chave;
+            }
+        }
+    }
+
+    public int getTamanho() {
+        return tamanho + (temZero ? 1 : 0);
+    }
+
+    public boolean estaVazio() {
+        return getTamanho() == 0;
+    }
+
+    public void limpar() {
+        Arrays.fill(chaves, LIVRE); // Mantém a capacidade para reaproveitamento
+        tamanho = 0;
+        temZero = false;
+    }
+
+    /**
+     * Visita as chaves na ordem da tabela (sem ordem definida).
+     */
+    public void paraCada(IntConsumer acao) {
+        if (temZero) {
+            acao.accept(0);
+        }
+        for (int chave : chaves) {
+            if (chave != LIVRE) {
+                acao.accept(chave);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] resultado = new int[getTamanho()];
+        int k = 0;
+        if (temZero) {
+            resultado[k++] = 0;
+        }
+        for (int chave : chaves) {
+            if (chave != LIVRE) {
+                resultado[k++] = chave;
+            }
+        }
+        return resultado;
+    }
+
+    public static void main(String[] args) {
+        IntHashSet conjunto = new IntHashSet();
+        for (int valor : new int[]{42, 0, -7, 42, 1_000_000, 0, 15}) {
+            conjunto.adicionar(valor);
+        }
+        System.out.println("Tamanho: " + conjunto.getTamanho()); // Esperado: 5
+        System.out.println("Contém 0? " + conjunto.contem(0) + ", contém 15? " + conjunto.contem(15)
+                + ", contém 16? " + conjunto.contem(16)); // Esperado: true, true, false
+        conjunto.remover(42);
+        conjunto.remover(0);
+        int[] restantes = conjunto.toArray();
+        Arrays.sort(restantes);
+        System.out.println("Depois de remover 42 e 0: " + Arrays.toString(restantes)); // Esperado: [-7, 15, 1000000]
+
+        System.out.println("\n--- Deduplicando 10.000.000 de ids (cerca de 4.000.000 distintos) ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[] ids = new int[10_000_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = aleatorio.nextInt(5_000_000) * 31; // Múltiplos de 31: chaves com padrão, não aleatórias
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long inicio = System.nanoTime();
+            IntHashSet vistos = new IntHashSet();
+            for (int id : ids) {
+                vistos.adicionar(id);
+            }
+            long tempoPrimitivo = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            java.util.HashSet<Integer> vistosEmCaixas = new java.util.HashSet<>();
+            for (int id : ids) {
+                vistosEmCaixas.add(id);
+            }
+            long tempoHashSet = System.nanoTime() - inicio;
+            System.out.printf("IntHashSet: %d ms, HashSet<Integer>: %d ms (mesmo tamanho? %b, %d distintos)%n",
+                    tempoPrimitivo / 1_000_000, tempoHashSet / 1_000_000,
+                    vistos.getTamanho() == vistosEmCaixas.size(), vistos.getTamanho()); // Esperado: true
+        }
+    }
+}
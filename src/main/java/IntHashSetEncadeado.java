@@ -0,0 +1,193 @@
+/*
+Conjunto Hash Primitivo (int) com Encadeamento Separado
+O que é? É a tabela hash "de livro": um array de baldes, e cada balde é uma ListaSimplesmenteEncadeada com as chaves
+cujo hash cai nele. Buscar é escolher o balde pelo hash e percorrer só aquela lista (com ListaSimplesmenteEncadeada.
+contem); inserir é adicionar no início da lista; remover é ListaSimplesmenteEncadeada.removerValor. Quando a média de
+chaves por balde passa de 1, o número de baldes dobra e as chaves são redistribuídas, então as listas continuam
+curtas. Está aqui para comparação com o IntHashSet, que usa endereçamento aberto.
+
+Para que serve? Para mostrar como uma tabela hash transforma a busca O(n) de uma lista em O(1): a mesma lista
+encadeada, só que dividida em muitos pedaços curtos. Também é a organização usada quando as chaves não podem ser
+movidas de lugar (referências externas para os nós) ou quando a ocupação pode passar de 100%.
+
+Vantagens:
+Simples, e continua funcionando com ocupação acima de 100% (as listas só ficam mais longas).
+Remover é só desligar um nó: não há lápides nem deslocamento de outras chaves.
+Um hash ruim degrada um balde, não a vizinhança inteira como na sondagem linear.
+
+Desvantagens:
+Um nó (objeto) por chave: cerca de 24 bytes por chave mais a lista de cada balde, contra 4 a 8 bytes no IntHashSet.
+Cada passo da busca segue um ponteiro para um endereço arbitrário da memória: faltas de cache que o endereçamento
+aberto evita.
+Aloca em toda inserção, o que pesa no coletor de lixo.
+ */
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+public class IntHashSetEncadeado {
+
+    private ListaSimplesmenteEncadeada[] baldes; // null enquanto o balde nunca recebeu chave
+    private int mascara;
+    private int tamanho;
+
+    public IntHashSetEncadeado() {
+        this(16);
+    }
+
+    public IntHashSetEncadeado(int capacidadeEsperada) {
+        if (capacidadeEsperada < 0) {
+            throw new IllegalArgumentException("A capacidade esperada não pode ser negativa.");
+        }
+        int quantidade = Integer.highestOneBit(Math.max(4, capacidadeEsperada) - 1) << 1; // Potência de 2 >= esperado
+        baldes = new ListaSimplesmenteEncadeada[quantidade];
+        mascara = quantidade - 1;
+    }
+
+    private ListaSimplesmenteEncadeada baldeDe(int chave) {
+        return baldes[IntHashSet.espalhar(chave) & mascara];
+    }
+
+    public boolean contem(int chave) {
+        ListaSimplesmenteEncadeada balde = baldeDe(chave);
+        return balde != null && balde.contem(chave);
+    }
+
+    /**
+     * Adiciona a chave. Devolve false se ela já estava no conjunto.
+     */
+    public boolean adicionar(int chave) {
+        int indice = IntHashSet.espalhar(chave) & mascara;
+        ListaSimplesmenteEncadeada balde = baldes[indice];
+        if (balde == null) {
+            balde = baldes[indice] = new ListaSimplesmenteEncadeada();
+        } else if (balde.contem(chave)) {
+            return false;
+        }
+        balde.adicionarNoInicio(chave); // O(1): a ordem dentro do balde não importa
+        if (++tamanho > baldes.length) {
+            redistribuir(baldes.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Remove a chave. Devolve false se ela não estava no conjunto.
+     */
+    public boolean remover(int chave) {
+        ListaSimplesmenteEncadeada balde = baldeDe(chave);
+        if (balde == null || !balde.removerValor(chave)) {
+            return false;
+        }
+        tamanho--;
+        return true;
+    }
+
+    // Dobra o número de baldes e redistribui as chaves (média de uma chave por balde no máximo)
+    private void redistribuir(int quantidade) {
+        ListaSimplesmenteEncadeada[] antigos = baldes;
+        baldes = new ListaSimplesmenteEncadeada[quantidade];
+        mascara = quantidade - 1;
+        for (ListaSimplesmenteEncadeada balde : antigos) {
+            if (balde == null) {
+                continue;
+            }
+            PrimitiveIterator.OfInt chaves = balde.iterador();
+            while (chaves.hasNext()) {
+                int chave = chaves.nextInt();
+                int indice = IntHashSet.espalhar(chave) & mascara;
+                if (baldes[indice] == null) {
+                    baldes[indice] = new ListaSimplesmenteEncadeada();
+                }
+                baldes[indice].adicionarNoInicio(chave);
+            }
+        }
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public boolean estaVazio() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Tamanho da maior lista: mostra como o hash distribuiu as chaves.
+     */
+    public int getMaiorBalde() {
+        int maior = 0;
+        for (ListaSimplesmenteEncadeada balde : baldes) {
+            if (balde != null) {
+                maior = Math.max(maior, balde.getTamanho());
+            }
+        }
+        return maior;
+    }
+
+    public int[] toArray() {
+        int[] resultado = new int[tamanho];
+        int k = 0;
+        for (ListaSimplesmenteEncadeada balde : baldes) {
+            if (balde != null) {
+                PrimitiveIterator.OfInt chaves = balde.iterador();
+                while (chaves.hasNext()) {
+                    resultado[k++] = chaves.nextInt();
+                }
+            }
+        }
+        return resultado;
+    }
+
+    public static void main(String[] args) {
+        IntHashSetEncadeado conjunto = new IntHashSetEncadeado();
+        for (int valor : new int[]{42, 0, -7, 42, 1_000_000, 0, 15}) {
+            conjunto.adicionar(valor);
+        }
+        System.out.println("Tamanho: " + conjunto.getTamanho()); // Esperado: 5
+        System.out.println("Contém 15? " + conjunto.contem(15) + ", contém 16? " + conjunto.contem(16)); // Esperado: true, false
+        conjunto.remover(42);
+        int[] restantes = conjunto.toArray();
+        Arrays.sort(restantes);
+        System.out.println("Depois de remover 42: " + Arrays.toString(restantes)); // Esperado: [-7, 0, 15, 1000000]
+
+        System.out.println("\n--- 2.000.000 de buscas em 1.000.000 de chaves: lista x hash encadeado x endereçamento aberto ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[] chaves = new int[1_000_000];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = aleatorio.nextInt();
+        }
+        int[] consultas = new int[2_000_000];
+        for (int i = 0; i < consultas.length; i++) {
+            consultas[i] = i % 2 == 0 ? chaves[aleatorio.nextInt(chaves.length)] : aleatorio.nextInt();
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            IntHashSetEncadeado encadeado = new IntHashSetEncadeado();
+            IntHashSet aberto = new IntHashSet();
+            java.util.HashSet<Integer> emCaixas = new java.util.HashSet<>();
+            for (int chave : chaves) {
+                encadeado.adicionar(chave);
+                aberto.adicionar(chave);
+                emCaixas.add(chave);
+            }
+            long[] tempos = new long[3];
+            int[] achadas = new int[3];
+            for (int tipo = 0; tipo < 3; tipo++) {
+                long inicio = System.nanoTime();
+                for (int consulta : consultas) {
+                    boolean achou = tipo == 0 ? encadeado.contem(consulta)
+                            : tipo == 1 ? aberto.contem(consulta) : emCaixas.contains(consulta);
+                    if (achou) {
+                        achadas[tipo]++;
+                    }
+                }
+                tempos[tipo] = System.nanoTime() - inicio;
+            }
+            System.out.printf("Encadeado: %d ms, endereçamento aberto: %d ms, HashSet<Integer>: %d ms (mesmas respostas? %b)%n",
+                    tempos[0] / 1_000_000, tempos[1] / 1_000_000, tempos[2] / 1_000_000,
+                    achadas[0] == achadas[1] && achadas[1] == achadas[2]); // Esperado: true
+            System.out.println("Maior balde do encadeado: " + encadeado.getMaiorBalde() + " chaves");
+        }
+        // Uma única ListaSimplesmenteEncadeada com as mesmas chaves faria cada busca percorrer até 1.000.000 de nós
+    }
+}
@@ -0,0 +1,322 @@
+/*
+Cache LRU Primitivo (int -> int)
+O que é? É a versão do Cache (política LRU) especializada para chaves e valores int. Em vez de objetos Nó ligados por
+referências, cada entrada ocupa uma posição ("slot") em arrays paralelos: chaves[], valores[], anterior[] e
+proximo[]. Os arrays anterior[] e proximo[] formam a mesma lista duplamente encadeada da ListaDuplamenteEncadeada
+(cabeça = usado mais recentemente, cauda = usado há mais tempo), só que os "ponteiros" são índices de slot. Uma
+tabela hash de endereçamento aberto (sondagem linear) leva a chave ao seu slot.
+
+Para que serve? Para caches muito acessados de ids numéricos (ex.: id de usuário -> id de sessão) onde o custo de
+boxing de Integer, de um nó por entrada e do HashMap seria dominante.
+
+Vantagens:
+Zero alocação depois de construído: a entrada removida tem o slot reaproveitado pela nova.
+Muito menos memória que Cache<Integer, Integer>: cerca de 24 bytes por entrada, sem objetos.
+Acesso sequencial a arrays é amigável ao cache do processador.
+Divisão em segmentos (cada um com seus arrays e seu bloqueio) para uso concorrente.
+
+Desvantagens:
+Só oferece a política LRU.
+A capacidade é fixa (os arrays são alocados na construção).
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class IntIntCache {
+
+    private static final int VAZIO = -1; // Índice que representa "nenhum slot" (equivale ao null)
+
+    // Um segmento é um cache LRU completo sobre arrays
+    private static class Segmento {
+        final int capacidade;
+        final int[] chaves;
+        final int[] valores;
+        final int[] anterior;  // anterior[slot]: slot usado logo antes deste (em direção à cabeça)
+        final int[] proximo;   // proximo[slot]: slot usado logo depois deste (em direção à cauda)
+        int cabeca = VAZIO;
+        int cauda = VAZIO;
+        int tamanho;
+
+        // Tabela hash: cada posição guarda slot + 1 (0 significa posição livre)
+        final int[] tabela;
+        final int mascara;
+
+        Segmento(int capacidade) {
+            this.capacidade = capacidade;
+            this.chaves = new int[capacidade];
+            this.valores = new int[capacidade];
+            this.anterior = new int[capacidade];
+            this.proximo = new int[capacidade];
+            // Tabela com no máximo 50% de ocupação para sondagens curtas
+            int tamanhoTabela = Integer.highestOneBit(Math.max(2, capacidade) * 2 - 1) << 1;
+            this.tabela = new int[tamanhoTabela];
+            this.mascara = tamanhoTabela - 1;
+        }
+
+        // Retorna o slot da chave, ou VAZIO
+        int buscar(int chave, int hash) {
+            int i = hash & mascara;
+            int slot;
+            while ((slot = tabela[i]) != 0) {
+                if (chaves[slot - 1] == chave) {
+                    return slot - 1;
+                }
+                i = (i + 1) & mascara;
+            }
+            return VAZIO;
+        }
+
+        void indexar(int slot, int hash) {
+            int i = hash & mascara;
+            while (tabela[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            tabela[i] = slot + 1;
+        }
+
+        // Remove a chave da tabela hash com deslocamento para trás (sem lápides)
+        void desindexar(int chave, int hash) {
+            int livre = hash & mascara;
+            while (chaves[tabela[livre] - 1] != chave) {
+                livre = (livre + 1) & mascara;
+            }
+            int i = (livre + 1) & mascara;
+            while (tabela[i] != 0) {
+                int ideal = espalhar(chaves[tabela[i] - 1]) & mascara;
+                if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                    tabela[livre] = tabela[i];
+                    livre = i;
+                }
+                i = (i + 1) & mascara;
+            }
+            tabela[livre] = 0;
+        }
+
+        void ligarNoInicio(int slot) {
+            anterior[slot] = VAZIO;
+            proximo[slot] = cabeca;
+            if (cabeca == VAZIO) {
+                cauda = slot;
+            } else {
+                anterior[cabeca] = slot;
+            }
+            cabeca = slot;
+        }
+
+        void desligar(int slot) {
+            if (anterior[slot] != VAZIO) {
+                proximo[anterior[slot]] = proximo[slot];
+            } else {
+                cabeca = proximo[slot];
+            }
+            if (proximo[slot] != VAZIO) {
+                anterior[proximo[slot]] = anterior[slot];
+            } else {
+                cauda = anterior[slot];
+            }
+        }
+    }
+
+    private final Segmento[] segmentos;
+    private final int mascaraSegmentos;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public IntIntCache(int capacidade) {
+        this(capacidade, 1);
+    }
+
+    // Cria um cache dividido em segmentos (arredondado para potência de 2) para uso concorrente
+    public IntIntCache(int capacidade, int numeroDeSegmentos) {
+        if (capacidade < 1 || numeroDeSegmentos < 1) {
+            throw new IllegalArgumentException("Capacidade e número de segmentos devem ser positivos.");
+        }
+        int n = Integer.highestOneBit(Math.min(numeroDeSegmentos, capacidade));
+        this.segmentos = new Segmento[n];
+        this.mascaraSegmentos = n - 1;
+        for (int i = 0; i < n; i++) {
+            segmentos[i] = new Segmento(capacidade / n + (i < capacidade % n ? 1 : 0));
+        }
+    }
+
+    // Finalizador do MurmurHash3: espalha os bits para que ids sequenciais não formem agrupamentos
+    private static int espalhar(int chave) {
+        int h = chave;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private Segmento segmentoDe(int hash) {
+        return segmentos[(hash >>> 16) & mascaraSegmentos];
+    }
+
+    // Método para obter o valor da chave, ou 'valorPadrao' se ela não estiver no cache
+    public int obter(int chave, int valorPadrao) {
+        int hash = espalhar(chave);
+        Segmento s = segmentoDe(hash);
+        synchronized (s) {
+            int slot = s.buscar(chave, hash);
+            if (slot == VAZIO) {
+                falhas.increment();
+                return valorPadrao;
+            }
+            if (slot != s.cabeca) {
+                s.desligar(slot);
+                s.ligarNoInicio(slot);
+            }
+            acertos.increment();
+            return s.valores[slot];
+        }
+    }
+
+    // Método para verificar se a chave está no cache (não altera a ordem de uso nem as métricas)
+    public boolean contem(int chave) {
+        int hash = espalhar(chave);
+        Segmento s = segmentoDe(hash);
+        synchronized (s) {
+            return s.buscar(chave, hash) != VAZIO;
+        }
+    }
+
+    // Método para colocar (ou atualizar) um valor. Se o segmento estiver cheio, o slot da cauda
+    // (usado há mais tempo) é reaproveitado para a nova chave.
+    public void colocar(int chave, int valor) {
+        int hash = espalhar(chave);
+        Segmento s = segmentoDe(hash);
+        synchronized (s) {
+            int slot = s.buscar(chave, hash);
+            if (slot != VAZIO) {
+                s.valores[slot] = valor;
+                if (slot != s.cabeca) {
+                    s.desligar(slot);
+                    s.ligarNoInicio(slot);
+                }
+                return;
+            }
+            if (s.tamanho < s.capacidade) {
+                slot = s.tamanho++; // Ainda há slots nunca usados
+            } else {
+                slot = s.cauda;
+                s.desligar(slot);
+                s.desindexar(s.chaves[slot], espalhar(s.chaves[slot]));
+                remocoes.increment();
+            }
+            s.chaves[slot] = chave;
+            s.valores[slot] = valor;
+            s.indexar(slot, hash);
+            s.ligarNoInicio(slot);
+        }
+    }
+
+    // Método para remover uma chave. Retorna true se ela estava no cache.
+    public boolean remover(int chave) {
+        int hash = espalhar(chave);
+        Segmento s = segmentoDe(hash);
+        synchronized (s) {
+            int slot = s.buscar(chave, hash);
+            if (slot == VAZIO) {
+                return false;
+            }
+            s.desligar(slot);
+            s.desindexar(chave, hash);
+            // Mantém os slots ocupados contíguos em [0, tamanho): o último slot ocupado vai para o buraco
+            int ultimo = --s.tamanho;
+            if (slot != ultimo) {
+                int chaveMovida = s.chaves[ultimo];
+                int hashMovido = espalhar(chaveMovida);
+                s.desindexar(chaveMovida, hashMovido);
+                s.chaves[slot] = chaveMovida;
+                s.valores[slot] = s.valores[ultimo];
+                s.anterior[slot] = s.anterior[ultimo];
+                s.proximo[slot] = s.proximo[ultimo];
+                // Os vizinhos do slot movido passam a apontar para a nova posição
+                if (s.anterior[slot] != VAZIO) {
+                    s.proximo[s.anterior[slot]] = slot;
+                } else {
+                    s.cabeca = slot;
+                }
+                if (s.proximo[slot] != VAZIO) {
+                    s.anterior[s.proximo[slot]] = slot;
+                } else {
+                    s.cauda = slot;
+                }
+                s.indexar(slot, hashMovido);
+            }
+            return true;
+        }
+    }
+
+    public int getTamanho() {
+        int total = 0;
+        for (Segmento s : segmentos) {
+            synchronized (s) {
+                total += s.tamanho;
+            }
+        }
+        return total;
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+
+    public double getTaxaDeAcerto() {
+        long a = acertos.sum();
+        long total = a + falhas.sum();
+        return total == 0 ? 0.0 : (double) a / total;
+    }
+
+    public static void main(String[] args) {
+        IntIntCache cache = new IntIntCache(3);
+        cache.colocar(1, 100);
+        cache.colocar(2, 200);
+        cache.colocar(3, 300);
+        cache.obter(1, -1);      // 1 passa a ser o mais recente; 2 é o mais antigo
+        cache.colocar(4, 400);   // Reaproveita o slot de 2
+        System.out.println("Valor de 2: " + cache.obter(2, -1)); // Esperado: -1
+        System.out.println("Valor de 1: " + cache.obter(1, -1)); // Esperado: 100
+        System.out.println("Removendo 3: " + cache.remover(3));  // Esperado: true
+        System.out.println("Tamanho: " + cache.getTamanho());    // Esperado: 2
+        System.out.println("Acertos: " + cache.getAcertos() + ", falhas: " + cache.getFalhas()
+                + ", remoções: " + cache.getRemocoes()); // Esperado: 2, 1, 1
+
+        // Várias threads consultando um cache com 8 segmentos
+        IntIntCache compartilhado = new IntIntCache(10_000, 8);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int semente = t;
+            threads[t] = new Thread(() -> {
+                java.util.Random aleatorio = new java.util.Random(semente);
+                for (int i = 0; i < 500_000; i++) {
+                    int chave = aleatorio.nextInt(20_000);
+                    if (compartilhado.obter(chave, -1) == -1) {
+                        compartilhado.colocar(chave, chave * 2);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        System.out.printf("%nConcorrente: taxa de acerto %.3f, tamanho %d%n",
+                compartilhado.getTaxaDeAcerto(), compartilhado.getTamanho());
+    }
+}
@@ -0,0 +1,258 @@
+/*
+Mapa Hash Primitivo (int -> int) com Endereçamento Aberto
+O que é? É o IntHashSet com um valor ao lado de cada chave. Chave e valor ficam lado a lado no mesmo array de int
+(posição i nas casas 2i e 2i + 1), então a sondagem que acha a chave já trouxe o valor para a cache. A tabela usa
+sondagem linear, capacidade em potência de 2, remoção por deslocamento para trás e a chave 0 guardada à parte,
+exatamente como no IntHashSet.
+
+Para que serve? Para contagens e associações entre ids numéricos (id -> contagem, id -> índice em um array, vértice ->
+distância) sem o custo de um HashMap<Integer, Integer>: dois Integer e um nó por entrada, e boxing em cada acesso.
+
+Vantagens:
+Busca, inserção, remoção e incremento (somar) em O(1) em média, sem nenhuma alocação por operação.
+8 bytes por posição, contra cerca de 50 a 70 bytes por entrada no HashMap<Integer, Integer>.
+Chave e valor na mesma linha de cache.
+
+Desvantagens:
+Os valores são int: para "não existe" é preciso escolher um valor padrão em obter ou perguntar com contem.
+Ocupação máxima de 75%, como no IntHashSet.
+Não é thread-safe.
+ */
+
+import java.util.Arrays;
+
+public class IntIntHashMap {
+
+    private static final int LIVRE = 0; // Chave de posição livre; a chave 0 fica em temZero/valorDoZero
+
+    /**
+     * Recebe cada par chave -> valor em paraCada.
+     */
+    public interface ConsumidorDeEntrada {
+        void aceitar(int chave, int valor);
+    }
+
+    private int[] tabela; // tabela[2i] = chave, tabela[2i + 1] = valor
+    private int mascara;  // capacidade - 1 (capacidade = número de posições)
+    private int tamanho;
+    private int limite;
+    private boolean temZero;
+    private int valorDoZero;
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Cria o mapa com espaço para 'capacidadeEsperada' entradas sem redimensionar.
+     */
+    public IntIntHashMap(int capacidadeEsperada) {
+        if (capacidadeEsperada < 0) {
+            throw new IllegalArgumentException("A capacidade esperada não pode ser negativa.");
+        }
+        alocar(IntHashSet.capacidadePara(capacidadeEsperada));
+    }
+
+    private void alocar(int capacidade) {
+        tabela = new int[capacidade * 2];
+        mascara = capacidade - 1;
+        limite = capacidade / 4 * 3;
+    }
+
+    // Posição da chave (diferente de 0) ou, se ela não estiver no mapa, a posição livre onde ela entraria
+    private int posicaoDe(int chave) {
+        int[] tabela = this.tabela;
+        int i = IntHashSet.espalhar(chave) & mascara;
+        int atual;
+        while ((atual = tabela[2 * i]) != LIVRE && atual != chave) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    public boolean contem(int chave) {
+        if (chave == LIVRE) {
+            return temZero;
+        }
+        return tabela[2 * posicaoDe(chave)] != LIVRE;
+    }
+
+    /**
+     * Valor da chave, ou valorPadrao se ela não estiver no mapa.
+     */
+    public int obter(int chave, int valorPadrao) {
+        if (chave == LIVRE) {
+            return temZero ? valorDoZero : valorPadrao;
+        }
+        int i = posicaoDe(chave);
+        return tabela[2 * i] != LIVRE ? tabela[2 * i + 1] : valorPadrao;
+    }
+
+    public void colocar(int chave, int valor) {
+        if (chave == LIVRE) {
+            temZero = true;
+            valorDoZero = valor;
+            return;
+        }
+        int i = posicaoDe(chave);
+        tabela[2 * i + 1] = valor;
+        if (tabela[2 * i] == LIVRE) {
+            tabela[2 * i] = chave;
+            if (++tamanho > limite) {
+                redimensionar(2 * (mascara + 1));
+            }
+        }
+    }
+
+    /**
+     * Soma 'delta' ao valor da chave (uma chave nova começa em 0) e devolve o novo valor, com uma única sondagem.
+     */
+    public int somar(int chave, int delta) {
+        if (chave == LIVRE) {
+            valorDoZero = (temZero ? valorDoZero : 0) + delta;
+            temZero = true;
+            return valorDoZero;
+        }
+        int i = posicaoDe(chave);
+        if (tabela[2 * i] != LIVRE) {
+            return tabela[2 * i + 1] += delta;
+        }
+        tabela[2 * i] = chave;
+        tabela[2 * i + 1] = delta;
+        if (++tamanho > limite) {
+            redimensionar(2 * (mascara + 1));
+        }
+        return delta;
+    }
+
+    /**
+     * Remove a chave. Devolve false se ela não estava no mapa.
+     */
+    public boolean remover(int chave) {
+        if (chave == LIVRE) {
+            boolean estava = temZero;
+            temZero = false;
+            return estava;
+        }
+        int livre = posicaoDe(chave);
+        if (tabela[2 * livre] == LIVRE) {
+            return false;
+        }
+        // Deslocamento para trás, como no IntHashSet, movendo chave e valor juntos
+        int i = (livre + 1) & mascara;
+        int atual;
+        while ((atual = tabela[2 * i]) != LIVRE) {
+            int ideal = IntHashSet.espalhar(atual) & mascara;
+            if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                tabela[2 * livre] = atual;
+                tabela[2 * livre + 1] = tabela[2 * i + 1];
+                livre = i;
+            }
+            i = (i + 1) & mascara;
+        }
+        tabela[2 * livre] = LIVRE;
+        tamanho--;
+        return true;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] antiga = tabela;
+        alocar(novaCapacidade);
+        for (int j = 0; j < antiga.length; j += 2) {
+            int chave = antiga[j];
+            if (chave != LIVRE) {
+                int i = IntHashSet.espalhar(chave) & mascara;
+                while (tabela[2 * i] != LIVRE) {
+                    i = (i + 1) & mascara;
+                }
+                tabela[2 * i] = chave;
+                tabela[2 * i + 1] = antiga[j + 1];
+            }
+        }
+    }
+
+    public int getTamanho() {
+        return tamanho + (temZero ? 1 : 0);
+    }
+
+    public boolean estaVazio() {
+        return getTamanho() == 0;
+    }
+
+    public void limpar() {
+        Arrays.fill(tabela, LIVRE); // Mantém a capacidade para reaproveitamento
+        tamanho = 0;
+        temZero = false;
+    }
+
+    /**
+     * Visita as entradas na ordem da tabela (sem ordem definida).
+     */
+    public void paraCada(ConsumidorDeEntrada acao) {
+        if (temZero) {
+            acao.aceitar(0, valorDoZero);
+        }
+        for (int j = 0; j < tabela.length; j += 2) {
+            if (tabela[j] != LIVRE) {
+                acao.aceitar(tabela[j], tabela[j + 1]);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        IntIntHashMap estoque = new IntIntHashMap();
+        estoque.colocar(101, 5);
+        estoque.colocar(0, 7); // A chave 0 também funciona
+        estoque.somar(101, 10);
+        estoque.somar(202, 3);
+        System.out.println("Estoque de 101: " + estoque.obter(101, -1)); // Esperado: 15
+        System.out.println("Estoque de 0: " + estoque.obter(0, -1));     // Esperado: 7
+        System.out.println("Estoque de 303: " + estoque.obter(303, -1)); // Esperado: -1
+        estoque.remover(101);
+        System.out.println("Depois de remover 101: contém 101? " + estoque.contem(101) + ", tamanho "
+                + estoque.getTamanho()); // Esperado: false, tamanho 2
+
+        System.out.println("\n--- Contando 10.000.000 de eventos de 1.000.000 de usuários ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[] eventos = new int[10_000_000];
+        for (int i = 0; i < eventos.length; i++) {
+            eventos[i] = aleatorio.nextInt(1_000_000);
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long inicio = System.nanoTime();
+            IntIntHashMap contagem = new IntIntHashMap();
+            for (int usuario : eventos) {
+                contagem.somar(usuario, 1);
+            }
+            long leituras = 0;
+            for (int usuario = 0; usuario < 2_000_000; usuario++) {
+                leituras += contagem.obter(usuario, 0); // Metade das consultas não encontra a chave
+            }
+            long tempoPrimitivo = System.nanoTime() - inicio;
+
+            inicio = System.nanoTime();
+            java.util.HashMap<Integer, Integer> contagemEmCaixas = new java.util.HashMap<>();
+            for (int usuario : eventos) {
+                contagemEmCaixas.merge(usuario, 1, Integer::sum);
+            }
+            long leiturasEmCaixas = 0;
+            for (int usuario = 0; usuario < 2_000_000; usuario++) {
+                leiturasEmCaixas += contagemEmCaixas.getOrDefault(usuario, 0);
+            }
+            long tempoHashMap = System.nanoTime() - inicio;
+
+            inicio = System.nanoTime();
+            IntHashSetEncadeado encadeado = new IntHashSetEncadeado(1_000_000);
+            for (int usuario : eventos) {
+                encadeado.adicionar(usuario);
+            }
+            long tempoEncadeado = System.nanoTime() - inicio;
+
+            System.out.printf("IntIntHashMap: %d ms, HashMap<Integer, Integer>: %d ms (mesmas contagens? %b)%n",
+                    tempoPrimitivo / 1_000_000, tempoHashMap / 1_000_000,
+                    leituras == leiturasEmCaixas && contagem.getTamanho() == contagemEmCaixas.size()); // Esperado: true
+            System.out.printf("Só a inserção no IntHashSetEncadeado (listas encadeadas como baldes): %d ms (%d usuários)%n",
+                    tempoEncadeado / 1_000_000, encadeado.getTamanho());
+        }
+    }
+}
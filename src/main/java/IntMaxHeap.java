@@ -0,0 +1,113 @@
+/*
+Heap Máximo Primitivo (int)
+O que é? É o Max Heap do HeapSort como estrutura reutilizável. Em vez de repetir todo o código do IntMinHeap com as
+comparações invertidas, ele guarda ~x (o complemento de bits, igual a -x - 1) de cada valor em um IntMinHeap. O
+complemento inverte a ordem de todos os int sem overflow (~Integer.MIN_VALUE é Integer.MAX_VALUE e vice-versa),
+então o menor ~x guardado corresponde ao maior x.
+
+Para que serve? Para filas de prioridade "maior primeiro" de inteiros: os k menores de um fluxo (o máximo do heap é
+o porteiro), a metade inferior na mediana móvel, escalonamento por prioridade decrescente.
+
+Vantagens:
+As mesmas do IntMinHeap: sem boxing, sem alocação em regime, aridade configurável.
+Uma única implementação do heap para as duas ordens; ao contrário de -x, ~x não tem caso especial para MIN_VALUE.
+
+Desvantagens:
+Os valores guardados internamente são os complementos (sem efeito para quem usa a classe).
+Não é thread-safe.
+ */
+
+import java.util.Arrays;
+
+public class IntMaxHeap {
+
+    private final IntMinHeap complementos;
+
+    public IntMaxHeap() {
+        this(16, 2);
+    }
+
+    public IntMaxHeap(int capacidadeInicial, int aridade) {
+        this.complementos = new IntMinHeap(capacidadeInicial, aridade);
+    }
+
+    private IntMaxHeap(IntMinHeap complementos) {
+        this.complementos = complementos;
+    }
+
+    /**
+     * Monta um heap com os elementos do array em O(n). O array não é alterado.
+     */
+    public static IntMaxHeap deArray(int[] array, int aridade) {
+        int[] complementos = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            complementos[i] = ~array[i];
+        }
+        return new IntMaxHeap(IntMinHeap.deArray(complementos, aridade));
+    }
+
+    public void adicionar(int valor) {
+        complementos.adicionar(~valor);
+    }
+
+    public int maximo() {
+        return ~complementos.minimo();
+    }
+
+    public int removerMaximo() {
+        return ~complementos.removerMinimo();
+    }
+
+    /**
+     * Remove o máximo e insere o valor numa operação só.
+     */
+    public int substituirMaximo(int valor) {
+        return ~complementos.substituirMinimo(~valor);
+    }
+
+    public int getTamanho() {
+        return complementos.getTamanho();
+    }
+
+    public boolean estaVazio() {
+        return complementos.estaVazio();
+    }
+
+    public void limpar() {
+        complementos.limpar();
+    }
+
+    public static void main(String[] args) {
+        IntMaxHeap heap = new IntMaxHeap();
+        for (int valor : new int[]{12, 11, 13, 5, Integer.MIN_VALUE, 7, 90, 1, Integer.MAX_VALUE, -5}) {
+            heap.adicionar(valor);
+        }
+        System.out.println("Máximo: " + heap.maximo()); // Esperado: 2147483647
+        StringBuilder ordem = new StringBuilder();
+        while (!heap.estaVazio()) {
+            ordem.append(heap.removerMaximo()).append(' ');
+        }
+        System.out.println("Removendo em ordem: " + ordem); // Esperado: 2147483647 90 13 12 11 7 5 1 -5 -2147483648
+
+        // Mediana móvel: metade inferior em um heap máximo, metade superior em um heap mínimo
+        IntMaxHeap inferior = new IntMaxHeap();
+        IntMinHeap superior = new IntMinHeap();
+        int[] fluxo = {5, 15, 1, 3, 2, 8, 7, 9, 10, 6, 11, 4};
+        StringBuilder medianas = new StringBuilder();
+        for (int valor : fluxo) {
+            if (inferior.estaVazio() || valor <= inferior.maximo()) {
+                inferior.adicionar(valor);
+            } else {
+                superior.adicionar(valor);
+            }
+            if (inferior.getTamanho() > superior.getTamanho() + 1) {
+                superior.adicionar(inferior.removerMaximo());
+            } else if (superior.getTamanho() > inferior.getTamanho()) {
+                inferior.adicionar(superior.removerMinimo());
+            }
+            medianas.append(inferior.maximo()).append(' '); // Com quantidade par, a menor das duas do meio
+        }
+        System.out.println("Medianas do fluxo " + Arrays.toString(fluxo) + ": " + medianas);
+        // Esperado: 5 5 5 3 3 3 5 5 7 6 7 6
+    }
+}
@@ -0,0 +1,218 @@
+/*
+Heap Mínimo Primitivo (int)
+O que é? É o heap do HeapSort transformado em estrutura reutilizável: um array de int onde cada pai é menor ou igual
+aos filhos, então o menor elemento está sempre na posição 0. Inserir coloca o elemento no fim e o faz subir;
+remover o mínimo põe o último elemento na raiz e o faz descer (o heapify do HeapSort, só que iterativo e para Min
+Heap). O heap pode ser d-ário: cada nó tem 'aridade' filhos em vez de 2, nas posições d*i + 1 .. d*i + d.
+
+Para que serve? Para filas de prioridade de inteiros (prazos, distâncias, ids) sem o custo de um PriorityQueue<Integer>:
+sem boxing, sem um objeto por elemento e sem alocação depois que o array atinge o tamanho necessário.
+
+Vantagens:
+Inserção e remoção do mínimo em O(log n); consulta do mínimo em O(1); construção a partir de um array em O(n).
+Os elementos ficam em um único array de int, contíguo na memória.
+Com aridade 4 ou 8 o heap fica mais baixo e os filhos de um nó ficam na mesma linha de cache: menos níveis e menos
+faltas de cache na descida, ao custo de mais comparações por nível.
+
+Desvantagens:
+Remover ou alterar um elemento qualquer exige procurá-lo (O(n)); para isso existe a FilaDePrioridadeIndexada.
+Não é thread-safe.
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IntMinHeap {
+
+    private int[] elementos;
+    private int tamanho;
+    private final int aridade;
+
+    public IntMinHeap() {
+        this(16, 2);
+    }
+
+    public IntMinHeap(int capacidadeInicial, int aridade) {
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("A capacidade inicial não pode ser negativa.");
+        }
+        if (aridade < 2) {
+            throw new IllegalArgumentException("A aridade precisa ser pelo menos 2.");
+        }
+        this.elementos = new int[Math.max(1, capacidadeInicial)];
+        this.aridade = aridade;
+    }
+
+    /**
+     * Monta um heap com os elementos do array em O(n), descendo cada nó interno a partir do último, como no
+     * primeiro laço do HeapSort. O array não é alterado.
+     */
+    public static IntMinHeap deArray(int[] array, int aridade) {
+        IntMinHeap heap = new IntMinHeap(array.length, aridade);
+        System.arraycopy(array, 0, heap.elementos, 0, array.length);
+        heap.tamanho = array.length;
+        for (int i = (heap.tamanho - 2) / aridade; i >= 0 && heap.tamanho > 1; i--) {
+            heap.descer(i);
+        }
+        return heap;
+    }
+
+    public void adicionar(int valor) {
+        if (tamanho == elementos.length) {
+            elementos = Arrays.copyOf(elementos, elementos.length * 2);
+        }
+        subir(tamanho++, valor);
+    }
+
+    public int minimo() {
+        if (tamanho == 0) {
+            throw new NoSuchElementException("O heap está vazio.");
+        }
+        return elementos[0];
+    }
+
+    public int removerMinimo() {
+        if (tamanho == 0) {
+            throw new NoSuchElementException("O heap está vazio.");
+        }
+        int minimo = elementos[0];
+        tamanho--;
+        if (tamanho > 0) {
+            elementos[0] = elementos[tamanho];
+            descer(0);
+        }
+        return minimo;
+    }
+
+    /**
+     * Remove o mínimo e insere o valor numa operação só (uma descida em vez de uma descida e uma subida). Útil para
+     * manter os k maiores de um fluxo: se o novo valor é maior que o mínimo, ele toma o lugar do mínimo.
+     */
+    public int substituirMinimo(int valor) {
+        if (tamanho == 0) {
+            throw new NoSuchElementException("O heap está vazio.");
+        }
+        int minimo = elementos[0];
+        elementos[0] = valor;
+        descer(0);
+        return minimo;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public boolean estaVazio() {
+        return tamanho == 0;
+    }
+
+    public void limpar() {
+        tamanho = 0; // O array é mantido para reaproveitamento
+    }
+
+    // Sobe o valor a partir da posição i até o pai ser menor ou igual a ele
+    private void subir(int i, int valor) {
+        while (i > 0) {
+            int pai = (i - 1) / aridade;
+            if (elementos[pai] <= valor) {
+                break;
+            }
+            elementos[i] = elementos[pai];
+            i = pai;
+        }
+        elementos[i] = valor;
+    }
+
+    // Desce elementos[i] até todos os filhos serem maiores ou iguais a ele
+    private void descer(int i) {
+        int valor = elementos[i];
+        while (true) {
+            int primeiroFilho = aridade * i + 1;
+            if (primeiroFilho >= tamanho) {
+                break;
+            }
+            int ultimoFilho = Math.min(primeiroFilho + aridade, tamanho);
+            int menor = primeiroFilho;
+            for (int filho = primeiroFilho + 1; filho < ultimoFilho; filho++) {
+                if (elementos[filho] < elementos[menor]) {
+                    menor = filho;
+                }
+            }
+            if (elementos[menor] >= valor) {
+                break;
+            }
+            elementos[i] = elementos[menor];
+            i = menor;
+        }
+        elementos[i] = valor;
+    }
+
+    public static void main(String[] args) {
+        IntMinHeap heap = new IntMinHeap();
+        for (int valor : new int[]{12, 11, 13, 5, 6, 7, 90, 1, 0, -5}) {
+            heap.adicionar(valor);
+        }
+        System.out.println("Mínimo: " + heap.minimo()); // Esperado: -5
+        StringBuilder ordem = new StringBuilder();
+        while (!heap.estaVazio()) {
+            ordem.append(heap.removerMinimo()).append(' ');
+        }
+        System.out.println("Removendo em ordem: " + ordem); // Esperado: -5 0 1 5 6 7 11 12 13 90
+
+        IntMinHeap quaternario = deArray(new int[]{9, 4, 7, 1, 8, 2, 6, 3, 5}, 4);
+        System.out.println("Heap 4-ário a partir de array, mínimo: " + quaternario.minimo()); // Esperado: 1
+
+        // Os 5 maiores de 1.000.000 de valores com um heap de 5: o mínimo do heap é o "porteiro"
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[] valores = new int[1_000_000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = aleatorio.nextInt(1_000_000_000);
+        }
+        IntMinHeap maiores = new IntMinHeap(5, 2);
+        for (int valor : valores) {
+            if (maiores.getTamanho() < 5) {
+                maiores.adicionar(valor);
+            } else if (valor > maiores.minimo()) {
+                maiores.substituirMinimo(valor);
+            }
+        }
+        int[] top5 = new int[5];
+        for (int i = 0; i < 5; i++) {
+            top5[i] = maiores.removerMinimo();
+        }
+        int[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        System.out.println("5 maiores: " + Arrays.toString(top5) + " (iguais ao fim do array ordenado? "
+                + Arrays.equals(top5, Arrays.copyOfRange(ordenados, ordenados.length - 5, ordenados.length)) + ")");
+        // Esperado: true
+
+        System.out.println("\n--- 5.000.000 de inserções e remoções: binário x 4-ário x PriorityQueue<Integer> ---");
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long[] tempos = new long[3];
+            long[] somas = new long[3];
+            for (int tipo = 0; tipo < 3; tipo++) {
+                IntMinHeap primitivo = tipo < 2 ? new IntMinHeap(valores.length, tipo == 0 ? 2 : 4) : null;
+                java.util.PriorityQueue<Integer> fila = tipo == 2 ? new java.util.PriorityQueue<>(valores.length) : null;
+                long inicio = System.nanoTime();
+                long soma = 0;
+                for (int repeticao = 0; repeticao < 5; repeticao++) {
+                    for (int valor : valores) {
+                        if (primitivo != null) {
+                            primitivo.adicionar(valor);
+                        } else {
+                            fila.add(valor);
+                        }
+                    }
+                    for (int i = 0; i < valores.length; i++) {
+                        soma += primitivo != null ? primitivo.removerMinimo() : fila.poll();
+                    }
+                }
+                tempos[tipo] = System.nanoTime() - inicio;
+                somas[tipo] = soma;
+            }
+            System.out.printf("Binário: %d ms, 4-ário: %d ms, PriorityQueue<Integer>: %d ms (mesmo resultado? %b)%n",
+                    tempos[0] / 1_000_000, tempos[1] / 1_000_000, tempos[2] / 1_000_000,
+                    somas[0] == somas[1] && somas[1] == somas[2]); // Esperado: true
+        }
+    }
+}
@@ -0,0 +1,528 @@
+/*
+16. Intercalação de K Vias (K-way Merge com Árvore de Perdedores)
+O que é? É a intercalação do MergeSort generalizada de 2 para k sequências ordenadas (runs) de uma vez. A cada passo
+é preciso achar o menor entre os k primeiros elementos; em vez de comparar todos, usa-se um torneio guardado em uma
+árvore binária completa. Cada folha é uma run e cada nó interno guarda o PERDEDOR do jogo entre as duas subárvores;
+o vencedor geral fica em cima de tudo. Quando o vencedor é emitido, a run dele avança e só o caminho da folha dessa
+run até a raiz é refeito: log k comparações, uma por nível, sempre contra o perdedor guardado no nó, sem olhar o
+irmão. Como alternativa há um heap binário de runs, com a mesma descida do heapify do HeapSort; ele compara com os
+dois filhos a cada nível (cerca de 2 log k comparações), mas tira as runs esgotadas do heap e encolhe.
+As entradas podem ser arrays (int[][]), iteradores (PrimitiveIterator.OfInt) ou arquivos de ints gravados em
+sequência; a saída vai para um buffer do chamador, em pedaços, e pode eliminar repetidos durante a intercalação.
+
+Para que serve? Para juntar muitas saídas ordenadas (partições de um índice, arquivos de uma ordenação externa,
+resultados de vários servidores) em uma única passada. Intercalar de duas em duas, como o MergeSort.merge e o
+TimSort.merge fazem, lê e escreve todos os dados log k vezes; com 256 runs são 8 passadas pela memória contra 1.
+
+Vantagens:
+Uma passada só sobre os dados, qualquer que seja k.
+Árvore de perdedores: uma comparação por nível e um caminho fixo da folha até a raiz, sem desvios imprevisíveis
+para escolher o filho.
+Memória extra O(k), mais um buffer por arquivo; a saída vai para um buffer reaproveitado pelo chamador, então
+entradas maiores que a memória (arquivos) podem ser intercaladas.
+Eliminação de repetidos sem passada extra.
+
+Desvantagens:
+Com k pequeno (2 a 4) o ganho sobre a intercalação de duas vias é pequeno.
+Os arquivos precisam ter sido gravados no formato deste programa (ints de 4 bytes em little-endian, em ordem crescente);
+a ordem não é verificada.
+Não é thread-safe: cada intercalação deve ser consumida por uma única thread.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+public class IntercalacaoKVias implements AutoCloseable {
+
+    public enum Estrategia {ARVORE_DE_PERDEDORES, HEAP}
+
+    // Chave de uma run esgotada: maior que qualquer int, então nunca vence um jogo contra uma run com elementos
+    private static final long ESGOTADA = Long.MAX_VALUE;
+    private static final int TAMANHO_DO_BUFFER_DE_ARQUIVO = 1 << 16;
+
+    /**
+     * Uma run ordenada, entregue em blocos: os próximos elementos são bloco[posicao..fim-1]. Ler do bloco é só um
+     * acesso a array; a chamada virtual de recarregar() acontece uma vez por bloco, e nunca para arrays.
+     */
+    private abstract static class Fonte {
+        int[] bloco;
+        int posicao;
+        int fim;
+
+        // Põe o próximo bloco em bloco[0..fim-1]; false quando a run acabou
+        abstract boolean recarregar();
+
+        void fechar() throws IOException {
+        }
+    }
+
+    private static final class FonteArray extends Fonte {
+        FonteArray(int[] array) {
+            bloco = array;
+            fim = array.length;
+        }
+
+        @Override
+        boolean recarregar() {
+            return false;
+        }
+    }
+
+    private static final class FonteIterador extends Fonte {
+        private final PrimitiveIterator.OfInt iterador;
+
+        FonteIterador(PrimitiveIterator.OfInt iterador) {
+            this.iterador = iterador;
+            bloco = new int[256];
+        }
+
+        @Override
+        boolean recarregar() {
+            int lidos = 0;
+            while (lidos < bloco.length && iterador.hasNext()) {
+                bloco[lidos++] = iterador.nextInt();
+            }
+            posicao = 0;
+            fim = lidos;
+            return lidos > 0;
+        }
+    }
+
+    private static final class FonteArquivo extends Fonte {
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_DO_BUFFER_DE_ARQUIVO)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        FonteArquivo(FileChannel canal) {
+            this.canal = canal;
+            bloco = new int[TAMANHO_DO_BUFFER_DE_ARQUIVO / Integer.BYTES];
+            buffer.limit(0);
+        }
+
+        @Override
+        boolean recarregar() {
+            buffer.compact(); // Guarda os bytes de um int que tenha ficado pela metade no bloco anterior
+            try {
+                while (buffer.position() < Integer.BYTES) {
+                    if (canal.read(buffer) < 0) {
+                        if (buffer.position() != 0) {
+                            throw new IOException("O arquivo termina no meio de um int.");
+                        }
+                        buffer.flip();
+                        return false;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.flip();
+            int ints = buffer.remaining() / Integer.BYTES;
+            buffer.asIntBuffer().get(bloco, 0, ints);
+            buffer.position(buffer.position() + ints * Integer.BYTES);
+            posicao = 0;
+            fim = ints;
+            return true;
+        }
+
+        @Override
+        void fechar() throws IOException {
+            canal.close();
+        }
+    }
+
+    private static long proxima(Fonte fonte) {
+        if (fonte.posicao == fonte.fim && !fonte.recarregar()) {
+            return ESGOTADA;
+        }
+        return fonte.bloco[fonte.posicao++];
+    }
+
+    private final Fonte[] fontes;
+    private final boolean semRepetidos;
+    private final Estrategia estrategia;
+    private final long[] chaves; // Elemento atual de cada run (ESGOTADA se acabou); só o heap o mantém depois de montado
+
+    // Árvore de perdedores: perdedores[1..folhas-1] são os nós internos, perdedores[0] é o vencedor geral.
+    // A folha da run i fica na posição folhas + i; as folhas além de k são runs vazias.
+    // chaveDoPerdedor[no] repete a chave de perdedores[no]: o caminho até a raiz lê só estes dois arrays, em
+    // posições vizinhas, em vez de saltar para chaves[perdedor].
+    private int[] perdedores;
+    private long[] chaveDoPerdedor;
+    private int folhas;
+
+    // Heap de runs (usado só na estratégia HEAP): heap[0..tamanhoDoHeap-1] com a menor chave em heap[0]
+    private int[] heap;
+    private int tamanhoDoHeap;
+
+    private long ultimoEmitido;
+    private boolean emitiuAlgum;
+    private boolean esgotada;
+
+    private IntercalacaoKVias(Fonte[] fontes, boolean semRepetidos, Estrategia estrategia) {
+        this.fontes = fontes;
+        this.semRepetidos = semRepetidos;
+        this.estrategia = estrategia;
+        int k = fontes.length;
+        chaves = new long[k];
+        for (int i = 0; i < k; i++) {
+            chaves[i] = proxima(fontes[i]);
+        }
+        if (estrategia == Estrategia.ARVORE_DE_PERDEDORES) {
+            montarArvore();
+            esgotada = chaveDoPerdedor[0] == ESGOTADA;
+        } else {
+            montarHeap();
+            esgotada = tamanhoDoHeap == 0;
+        }
+    }
+
+    public static IntercalacaoKVias deArrays(int[][] runs, boolean semRepetidos, Estrategia estrategia) {
+        Fonte[] fontes = new Fonte[runs.length];
+        for (int i = 0; i < runs.length; i++) {
+            fontes[i] = new FonteArray(runs[i]);
+        }
+        return new IntercalacaoKVias(fontes, semRepetidos, estrategia);
+    }
+
+    public static IntercalacaoKVias deIteradores(List<? extends PrimitiveIterator.OfInt> runs, boolean semRepetidos,
+                                                 Estrategia estrategia) {
+        Fonte[] fontes = new Fonte[runs.size()];
+        for (int i = 0; i < fontes.length; i++) {
+            fontes[i] = new FonteIterador(runs.get(i));
+        }
+        return new IntercalacaoKVias(fontes, semRepetidos, estrategia);
+    }
+
+    /**
+     * Intercala arquivos gravados por gravarRun. Os arquivos ficam abertos até close().
+     */
+    public static IntercalacaoKVias deArquivos(List<Path> runs, boolean semRepetidos, Estrategia estrategia)
+            throws IOException {
+        Fonte[] fontes = new Fonte[runs.size()];
+        try {
+            for (int i = 0; i < fontes.length; i++) {
+                fontes[i] = new FonteArquivo(FileChannel.open(runs.get(i), StandardOpenOption.READ));
+            }
+            return new IntercalacaoKVias(fontes, semRepetidos, estrategia);
+        } catch (IOException | RuntimeException e) {
+            for (Fonte fonte : fontes) {
+                if (fonte != null) {
+                    fonte.fechar();
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Grava uma run ordenada no formato lido por deArquivos (ints de 4 bytes, little-endian).
+     */
+    public static void gravarRun(Path arquivo, int[] run) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_DO_BUFFER_DE_ARQUIVO).order(ByteOrder.LITTLE_ENDIAN);
+            for (int valor : run) {
+                if (!buffer.hasRemaining()) {
+                    escreverTudo(canal, buffer);
+                }
+                buffer.putInt(valor);
+            }
+            escreverTudo(canal, buffer);
+        }
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Intercala as runs em um array novo, com a árvore de perdedores.
+     */
+    public static int[] intercalar(int[][] runs, boolean semRepetidos) {
+        long total = 0;
+        for (int[] run : runs) {
+            total += run.length;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("As runs somam mais elementos do que cabem em um array.");
+        }
+        int[] resultado = new int[(int) total];
+        int escritos = deArrays(runs, semRepetidos, Estrategia.ARVORE_DE_PERDEDORES)
+                .intercalar(resultado, 0, resultado.length);
+        return escritos == resultado.length ? resultado : Arrays.copyOf(resultado, escritos);
+    }
+
+    /**
+     * Escreve até 'quantidade' elementos em destino[inicio..] e devolve quantos escreveu. Escreve menos que
+     * 'quantidade' só quando todas as runs acabaram; a partir daí esgotada() é true. Pode ser chamado de novo com o
+     * mesmo buffer até a intercalação acabar.
+     */
+    public int intercalar(int[] destino, int inicio, int quantidade) {
+        if (inicio < 0 || quantidade < 0 || inicio > destino.length - quantidade) {
+            throw new IndexOutOfBoundsException("Faixa [" + inicio + ", " + inicio + " + " + quantidade
+                    + ") fora do buffer de tamanho " + destino.length + ".");
+        }
+        return estrategia == Estrategia.ARVORE_DE_PERDEDORES
+                ? intercalarComArvore(destino, inicio, quantidade)
+                : intercalarComHeap(destino, inicio, quantidade);
+    }
+
+    /**
+     * true quando todas as runs acabaram e tudo já foi entregue.
+     */
+    public boolean esgotada() {
+        return esgotada;
+    }
+
+    private int intercalarComArvore(int[] destino, int inicio, int quantidade) {
+        int[] perdedores = this.perdedores;
+        long[] chaveDoPerdedor = this.chaveDoPerdedor;
+        int k = inicio;
+        int fim = inicio + quantidade;
+        while (k < fim) {
+            int vencedor = perdedores[0];
+            long chave = chaveDoPerdedor[0];
+            if (chave == ESGOTADA) {
+                break;
+            }
+            if (!semRepetidos || !emitiuAlgum || chave != ultimoEmitido) {
+                destino[k++] = (int) chave;
+                ultimoEmitido = chave;
+                emitiuAlgum = true;
+            }
+            // Refaz só o caminho da folha do vencedor até a raiz, jogando contra o perdedor guardado em cada nó.
+            // Com dados aleatórios cada jogo é cara ou coroa: as escritas são incondicionais e as escolhas são
+            // seleções (ternários), que o compilador JIT pode transformar em instruções sem desvio (cmov)
+            long atual = proxima(fontes[vencedor]);
+            for (int no = (vencedor + folhas) >>> 1; no > 0; no >>>= 1) {
+                long chaveDoAdversario = chaveDoPerdedor[no];
+                int adversario = perdedores[no];
+                boolean perdeu = chaveDoAdversario < atual;
+                perdedores[no] = perdeu ? vencedor : adversario;
+                chaveDoPerdedor[no] = perdeu ? atual : chaveDoAdversario;
+                vencedor = perdeu ? adversario : vencedor;
+                atual = perdeu ? chaveDoAdversario : atual;
+            }
+            perdedores[0] = vencedor;
+            chaveDoPerdedor[0] = atual;
+        }
+        esgotada = chaveDoPerdedor[0] == ESGOTADA;
+        return k - inicio;
+    }
+
+    private void montarArvore() {
+        folhas = fontes.length <= 1 ? 1 : Integer.highestOneBit(fontes.length - 1) << 1;
+        long[] chavesDasFolhas = new long[folhas]; // As folhas além de k são runs vazias
+        Arrays.fill(chavesDasFolhas, ESGOTADA);
+        System.arraycopy(chaves, 0, chavesDasFolhas, 0, fontes.length);
+        perdedores = new int[folhas];
+        chaveDoPerdedor = new long[folhas];
+        // vencedores[no] é o vencedor da subárvore 'no'; cada nó interno guarda o outro jogador
+        int[] vencedores = new int[2 * folhas];
+        for (int i = 0; i < folhas; i++) {
+            vencedores[folhas + i] = i;
+        }
+        for (int no = folhas - 1; no > 0; no--) {
+            int a = vencedores[2 * no];
+            int b = vencedores[2 * no + 1];
+            boolean aVence = chavesDasFolhas[a] <= chavesDasFolhas[b];
+            vencedores[no] = aVence ? a : b;
+            perdedores[no] = aVence ? b : a;
+            chaveDoPerdedor[no] = chavesDasFolhas[perdedores[no]];
+        }
+        perdedores[0] = folhas > 1 ? vencedores[1] : 0;
+        chaveDoPerdedor[0] = chavesDasFolhas[perdedores[0]];
+    }
+
+    private int intercalarComHeap(int[] destino, int inicio, int quantidade) {
+        int k = inicio;
+        int fim = inicio + quantidade;
+        while (k < fim && tamanhoDoHeap > 0) {
+            int menor = heap[0];
+            long chave = chaves[menor];
+            if (!semRepetidos || !emitiuAlgum || chave != ultimoEmitido) {
+                destino[k++] = (int) chave;
+                ultimoEmitido = chave;
+                emitiuAlgum = true;
+            }
+            chaves[menor] = proxima(fontes[menor]);
+            if (chaves[menor] == ESGOTADA) {
+                heap[0] = heap[--tamanhoDoHeap]; // Run esgotada sai do heap
+            }
+            descer(0);
+        }
+        esgotada = tamanhoDoHeap == 0;
+        return k - inicio;
+    }
+
+    private void montarHeap() {
+        heap = new int[fontes.length];
+        for (int i = 0; i < fontes.length; i++) {
+            if (chaves[i] != ESGOTADA) {
+                heap[tamanhoDoHeap++] = i;
+            }
+        }
+        for (int i = tamanhoDoHeap / 2 - 1; i >= 0; i--) {
+            descer(i);
+        }
+    }
+
+    // O heapify do HeapSort, iterativo e para Min Heap: desce heap[i] até os dois filhos serem maiores ou iguais
+    private void descer(int i) {
+        int run = heap[i];
+        long chave = chaves[run];
+        while (true) {
+            int menor = 2 * i + 1;
+            if (menor >= tamanhoDoHeap) {
+                break;
+            }
+            int direita = menor + 1;
+            if (direita < tamanhoDoHeap && chaves[heap[direita]] < chaves[heap[menor]]) {
+                menor = direita;
+            }
+            if (chaves[heap[menor]] >= chave) {
+                break;
+            }
+            heap[i] = heap[menor];
+            i = menor;
+        }
+        heap[i] = run;
+    }
+
+    /**
+     * Fecha os arquivos abertos por deArquivos; não faz nada para arrays e iteradores.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException erro = null;
+        for (Fonte fonte : fontes) {
+            try {
+                fonte.fechar();
+            } catch (IOException e) {
+                if (erro == null) {
+                    erro = e;
+                } else {
+                    erro.addSuppressed(e);
+                }
+            }
+        }
+        if (erro != null) {
+            throw erro;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[][] runs = {{1, 4, 7, 10}, {2, 4, 8}, {}, {0, 3, 4, 9, 12}, {5}};
+        System.out.println("Intercalação: " + Arrays.toString(intercalar(runs, false)));
+        // Esperado: [0, 1, 2, 3, 4, 4, 4, 5, 7, 8, 9, 10, 12]
+        System.out.println("Sem repetidos: " + Arrays.toString(intercalar(runs, true)));
+        // Esperado: [0, 1, 2, 3, 4, 5, 7, 8, 9, 10, 12]
+
+        List<PrimitiveIterator.OfInt> iteradores = new ArrayList<>();
+        for (int[] run : runs) {
+            iteradores.add(Arrays.stream(run).iterator());
+        }
+        IntercalacaoKVias porIteradores = deIteradores(iteradores, false, Estrategia.HEAP);
+        int[] buffer = new int[5]; // Buffer pequeno de propósito: a saída vem em pedaços
+        StringBuilder pedacos = new StringBuilder();
+        while (!porIteradores.esgotada()) {
+            int lidos = porIteradores.intercalar(buffer, 0, buffer.length);
+            pedacos.append(Arrays.toString(Arrays.copyOf(buffer, lidos)));
+        }
+        System.out.println("Em pedaços de 5 (heap, iteradores): " + pedacos);
+        // Esperado: [0, 1, 2, 3, 4][4, 4, 5, 7, 8][9, 10, 12]
+
+        Path pasta = Files.createTempDirectory("runs");
+        List<Path> arquivos = new ArrayList<>();
+        for (int i = 0; i < runs.length; i++) {
+            Path arquivo = pasta.resolve("run-" + i + ".bin");
+            gravarRun(arquivo, runs[i]);
+            arquivos.add(arquivo);
+        }
+        try (IntercalacaoKVias porArquivos = deArquivos(arquivos, true, Estrategia.ARVORE_DE_PERDEDORES)) {
+            int[] saida = new int[20];
+            int lidos = porArquivos.intercalar(saida, 0, saida.length);
+            System.out.println("Dos arquivos, sem repetidos: " + Arrays.toString(Arrays.copyOf(saida, lidos))
+                    + " (esgotada? " + porArquivos.esgotada() + ")");
+            // Esperado: [0, 1, 2, 3, 4, 5, 7, 8, 9, 10, 12] (esgotada? true)
+        }
+        for (Path arquivo : arquivos) {
+            Files.delete(arquivo);
+        }
+        Files.delete(pasta);
+
+        System.out.println("\n--- 256 runs ordenadas de 40.000 ints (10.240.000 no total) ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[][] grandes = new int[256][];
+        for (int i = 0; i < grandes.length; i++) {
+            grandes[i] = new int[40_000];
+            for (int j = 0; j < grandes[i].length; j++) {
+                grandes[i][j] = aleatorio.nextInt();
+            }
+            Arrays.sort(grandes[i]);
+        }
+        int[] referencia = Arrays.stream(grandes).flatMapToInt(Arrays::stream).toArray();
+        Arrays.sort(referencia);
+        int[] saida = new int[referencia.length];
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long inicio = System.nanoTime();
+            deArrays(grandes, false, Estrategia.ARVORE_DE_PERDEDORES).intercalar(saida, 0, saida.length);
+            long tempoArvore = System.nanoTime() - inicio;
+            boolean iguais = Arrays.equals(saida, referencia);
+            inicio = System.nanoTime();
+            deArrays(grandes, false, Estrategia.HEAP).intercalar(saida, 0, saida.length);
+            long tempoHeap = System.nanoTime() - inicio;
+            iguais &= Arrays.equals(saida, referencia);
+            inicio = System.nanoTime();
+            int[] aosPares = intercalarAosPares(grandes);
+            long tempoAosPares = System.nanoTime() - inicio;
+            iguais &= Arrays.equals(aosPares, referencia);
+            System.out.printf("Árvore de perdedores: %d ms, heap: %d ms, de duas em duas (8 passadas): %d ms (mesmo resultado? %b)%n",
+                    tempoArvore / 1_000_000, tempoHeap / 1_000_000, tempoAosPares / 1_000_000, iguais);
+            // Esperado: true
+        }
+        // Os tempos dependem muito da máquina: a intercalação de duas em duas é um laço simples e sequencial, mas
+        // passa 8 vezes pelos dados; a vantagem das k vias cresce quando os dados não cabem na cache ou vêm do disco
+    }
+
+    // A alternativa sem k vias, para comparação: intercala as runs de duas em duas até sobrar uma
+    private static int[] intercalarAosPares(int[][] runs) {
+        List<int[]> nivel = new ArrayList<>(Arrays.asList(runs));
+        while (nivel.size() > 1) {
+            List<int[]> proximo = new ArrayList<>();
+            for (int i = 0; i + 1 < nivel.size(); i += 2) {
+                int[] a = nivel.get(i);
+                int[] b = nivel.get(i + 1);
+                int[] c = new int[a.length + b.length];
+                int x = 0;
+                int y = 0;
+                int z = 0;
+                while (x < a.length && y < b.length) {
+                    c[z++] = a[x] <= b[y] ? a[x++] : b[y++];
+                }
+                System.arraycopy(a, x, c, z, a.length - x);
+                System.arraycopy(b, y, c, z + a.length - x, b.length - y);
+                proximo.add(c);
+            }
+            if (nivel.size() % 2 == 1) {
+                proximo.add(nivel.get(nivel.size() - 1));
+            }
+            nivel = proximo;
+        }
+        return nivel.isEmpty() ? new int[0] : nivel.get(0);
+    }
+}
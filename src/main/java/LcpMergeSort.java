@@ -0,0 +1,172 @@
+/*
+14. LCP Merge Sort
+O que é? É o Merge Sort para strings que também calcula o array LCP (Longest Common Prefix): lcp[i] é o tamanho do
+maior prefixo comum entre a string i e a string i - 1 do resultado ordenado. Cada metade ordenada volta da recursão
+com o seu array LCP, e a intercalação usa esses valores para evitar comparar caracteres que já se sabe serem iguais.
+Durante a intercalação, para a próxima string de cada metade guarda-se o LCP dela com a última string copiada para o
+resultado. Se o LCP da esquerda é maior que o da direita, a da esquerda é menor sem olhar nenhum caractere (ela
+concorda por mais tempo com a última string copiada, e as duas vêm depois dela). Só quando os dois LCPs são iguais
+é preciso comparar, e a comparação começa depois do prefixo comum.
+
+Para que serve? Para ordenar strings com prefixos longos em comum de forma estável e, de brinde, obter o array LCP,
+usado para contar strings distintas, achar o maior prefixo repetido, comprimir listas ordenadas (front coding) ou
+montar árvores de prefixos sem comparar as strings de novo.
+
+Vantagens:
+Estável e com O(n log n) comparações no pior caso, como o MergeSort.
+Cada caractere é examinado bem menos vezes que no MergeSort comum: o número de caracteres lidos fica perto do total
+de caracteres que distinguem as strings, mais O(n log n).
+Devolve o array LCP sem custo adicional relevante.
+
+Desvantagens:
+Precisa de arrays auxiliares do tamanho da entrada (strings e LCPs), como o MergeSort.
+Mais lento que o MsdRadixSort quando o alfabeto é pequeno e não se precisa do array LCP.
+ */
+
+import java.util.Arrays;
+
+public class LcpMergeSort {
+
+    /**
+     * Ordena o array e devolve o array LCP: lcp[0] = 0 e lcp[i] = maior prefixo comum entre array[i - 1] e array[i].
+     */
+    public static int[] lcpMergeSort(String[] array) {
+        int[] lcp = new int[array.length];
+        if (array.length < 2) {
+            return lcp;
+        }
+        String[] auxiliar = new String[array.length];
+        int[] lcpAuxiliar = new int[array.length];
+        sort(array, lcp, auxiliar, lcpAuxiliar, 0, array.length - 1);
+        return lcp;
+    }
+
+    // Ordena array[inicio..fim]; no final, lcp[inicio] = 0 e lcp[i] é o LCP com array[i - 1]
+    private static void sort(String[] array, int[] lcp, String[] auxiliar, int[] lcpAuxiliar, int inicio, int fim) {
+        if (inicio >= fim) {
+            lcp[inicio] = 0;
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        sort(array, lcp, auxiliar, lcpAuxiliar, inicio, meio);
+        sort(array, lcp, auxiliar, lcpAuxiliar, meio + 1, fim);
+        System.arraycopy(array, inicio, auxiliar, inicio, fim - inicio + 1);
+        System.arraycopy(lcp, inicio, lcpAuxiliar, inicio, fim - inicio + 1);
+        intercalar(array, lcp, auxiliar, lcpAuxiliar, inicio, meio, fim);
+    }
+
+    /**
+     * Intercala auxiliar[inicio..meio] e auxiliar[meio+1..fim] em array[inicio..fim].
+     * lcpEsquerda e lcpDireita são os LCPs das próximas strings de cada metade com a última string copiada (0 antes
+     * da primeira, porque ainda não há nenhuma).
+     */
+    private static void intercalar(String[] array, int[] lcp, String[] auxiliar, int[] lcpAuxiliar,
+                                   int inicio, int meio, int fim) {
+        int i = inicio;
+        int j = meio + 1;
+        int k = inicio;
+        int lcpEsquerda = 0;
+        int lcpDireita = 0;
+        while (i <= meio && j <= fim) {
+            boolean esquerdaPrimeiro;
+            int lcpEntreAsDuas;
+            if (lcpEsquerda > lcpDireita) {
+                esquerdaPrimeiro = true;
+                lcpEntreAsDuas = lcpDireita; // A da direita diverge da copiada antes: diverge da esquerda no mesmo ponto
+            } else if (lcpEsquerda < lcpDireita) {
+                esquerdaPrimeiro = false;
+                lcpEntreAsDuas = lcpEsquerda;
+            } else {
+                // Mesmo LCP com a última copiada: as duas são iguais até ele, e a comparação começa ali
+                String a = auxiliar[i];
+                String b = auxiliar[j];
+                int h = lcpEsquerda;
+                int limite = Math.min(a.length(), b.length());
+                while (h < limite && a.charAt(h) == b.charAt(h)) {
+                    h++;
+                }
+                esquerdaPrimeiro = h == a.length() || (h < b.length() && a.charAt(h) < b.charAt(h)); // Empate: esquerda
+                lcpEntreAsDuas = h;
+            }
+            if (esquerdaPrimeiro) {
+                array[k] = auxiliar[i];
+                lcp[k++] = lcpEsquerda;
+                i++;
+                lcpEsquerda = i <= meio ? lcpAuxiliar[i] : 0;
+                lcpDireita = lcpEntreAsDuas;
+            } else {
+                array[k] = auxiliar[j];
+                lcp[k++] = lcpDireita;
+                j++;
+                lcpDireita = j <= fim ? lcpAuxiliar[j] : 0;
+                lcpEsquerda = lcpEntreAsDuas;
+            }
+        }
+        // A primeira string que sobrar leva o LCP com a última copiada; as outras mantêm o LCP com a anterior da metade
+        if (i <= meio) {
+            array[k] = auxiliar[i];
+            lcp[k++] = lcpEsquerda;
+            System.arraycopy(auxiliar, i + 1, array, k, meio - i);
+            System.arraycopy(lcpAuxiliar, i + 1, lcp, k, meio - i);
+        } else if (j <= fim) {
+            array[k] = auxiliar[j];
+            lcp[k++] = lcpDireita;
+            System.arraycopy(auxiliar, j + 1, array, k, fim - j);
+            System.arraycopy(lcpAuxiliar, j + 1, lcp, k, fim - j);
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] palavras = {"banana", "bandeira", "ban", "abacate", "banana", "bando", "abacaxi"};
+        System.out.println("Array antes da ordenação (LCP Merge Sort): " + Arrays.toString(palavras));
+        int[] lcp = lcpMergeSort(palavras);
+        // Esperado: [abacate, abacaxi, ban, banana, banana, bandeira, bando]
+        System.out.println("Array depois da ordenação (LCP Merge Sort): " + Arrays.toString(palavras));
+        System.out.println("Array LCP: " + Arrays.toString(lcp)); // Esperado: [0, 5, 0, 3, 6, 3, 4]
+        int distintas = 0;
+        for (int i = 0; i < palavras.length; i++) {
+            if (i == 0 || lcp[i] < palavras[i].length() || lcp[i] < palavras[i - 1].length()) {
+                distintas++; // Igual à anterior só se o LCP cobrir as duas strings inteiras
+            }
+        }
+        System.out.println("Palavras distintas: " + distintas); // Esperado: 6
+
+        System.out.println("\n--- 1.000.000 de URLs com prefixos longos em comum: os três ordenadores de strings ---");
+        String[] categorias = {"eletronicos", "eletrodomesticos", "informatica", "livros", "brinquedos", "moveis"};
+        java.util.Random aleatorio = new java.util.Random(1);
+        String[] urls = new String[1_000_000];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "https://loja.exemplo.com.br/produtos/" + categorias[aleatorio.nextInt(categorias.length)]
+                    + "/item-" + String.valueOf(10_000_000 + aleatorio.nextInt(5_000_000)).substring(1);
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            String[] referencia = urls.clone();
+            long inicio = System.nanoTime();
+            Arrays.sort(referencia);
+            long tempoArraysSort = System.nanoTime() - inicio;
+            String[] copia = urls.clone();
+            inicio = System.nanoTime();
+            int[] lcpUrls = lcpMergeSort(copia);
+            long tempoLcp = System.nanoTime() - inicio;
+            boolean iguais = Arrays.equals(copia, referencia);
+            copia = urls.clone();
+            inicio = System.nanoTime();
+            MsdRadixSort.msdRadixSort(copia);
+            long tempoMsd = System.nanoTime() - inicio;
+            iguais &= Arrays.equals(copia, referencia);
+            copia = urls.clone();
+            inicio = System.nanoTime();
+            MultikeyQuickSort.multikeyQuickSort(copia);
+            long tempoMultikey = System.nanoTime() - inicio;
+            iguais &= Arrays.equals(copia, referencia);
+            long somaLcp = 0;
+            for (int valor : lcpUrls) {
+                somaLcp += valor;
+            }
+            System.out.printf("Arrays.sort: %d ms, LCP Merge Sort: %d ms, MSD Radix Sort: %d ms, Multikey Quick Sort: %d ms%n",
+                    tempoArraysSort / 1_000_000, tempoLcp / 1_000_000, tempoMsd / 1_000_000, tempoMultikey / 1_000_000);
+            System.out.printf("Mesmo resultado? %b, LCP médio entre vizinhas: %.1f caracteres%n",
+                    iguais, (double) somaLcp / urls.length); // Esperado: true
+        }
+    }
+}
@@ -30,6 +30,14 @@ Acesso Aleatório Lento: Assim como na lista simples, o acesso a um elemento por
 
  */
 
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 public class ListaDuplamenteEncadeada {
 
     // Classe interna para representar um nó da lista duplamente encadeada
@@ -46,15 +54,163 @@ public class ListaDuplamenteEncadeada {
         }
     }
 
+    // Índice hash opcional que mapeia um valor (int) para o nó que o contém.
+    // Usa endereçamento aberto com sondagem linear sobre arrays primitivos, então não há boxing de Integer
+    // nem alocação por operação (só quando a tabela cresce). Como remover um nó conhecido de uma lista
+    // duplamente encadeada já é O(1), o índice torna O(1) também o passo de ENCONTRAR o nó pelo valor.
+    // Com valores repetidos, o índice guarda uma das ocorrências e conta quantas existem.
+    private static class IndiceHash {
+        private static final int CAPACIDADE_INICIAL = 16; // Sempre potência de 2
+
+        int[] chaves;     // O valor (chave) de cada posição ocupada
+        No[] nos;         // O nó associado a cada chave; null indica posição livre
+        int[] contagens;  // Quantas ocorrências da chave existem na lista
+        int ocupados;     // Quantas posições estão ocupadas
+        int mascara;      // capacidade - 1, usada no lugar do operador % (capacidade é potência de 2)
+
+        IndiceHash() {
+            alocar(CAPACIDADE_INICIAL);
+        }
+
+        private void alocar(int capacidade) {
+            chaves = new int[capacidade];
+            nos = new No[capacidade];
+            contagens = new int[capacidade];
+            mascara = capacidade - 1;
+            ocupados = 0;
+        }
+
+        // Espalha os bits do valor (finalizador do MurmurHash3) para que chaves sequenciais
+        // não caiam em posições vizinhas e formem grandes agrupamentos na sondagem linear.
+        private static int espalhar(int chave) {
+            int h = chave;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        }
+
+        // Retorna a posição onde a chave está, ou -1 se ela não estiver no índice.
+        private int posicaoDe(int chave) {
+            int i = espalhar(chave) & mascara;
+            while (nos[i] != null) {
+                if (chaves[i] == chave) {
+                    return i;
+                }
+                i = (i + 1) & mascara; // Sondagem linear: tenta a próxima posição
+            }
+            return -1;
+        }
+
+        No buscar(int chave) {
+            int i = posicaoDe(chave);
+            return i >= 0 ? nos[i] : null;
+        }
+
+        // Registra um nó recém-inserido na lista
+        void registrar(No no) {
+            int i = espalhar(no.dado) & mascara;
+            while (nos[i] != null) {
+                if (chaves[i] == no.dado) {
+                    contagens[i]++; // Valor repetido: mantém o nó já indexado e só conta a ocorrência
+                    return;
+                }
+                i = (i + 1) & mascara;
+            }
+            chaves[i] = no.dado;
+            nos[i] = no;
+            contagens[i] = 1;
+            ocupados++;
+            // Mantém a ocupação abaixo de 75% para que as sondagens continuem curtas
+            if (ocupados * 4 > nos.length * 3) {
+                redimensionar(nos.length * 2);
+            }
+        }
+
+        // Remove do índice um nó que acabou de ser desligado da lista.
+        // Se o nó indexado sai, mas ainda restam ocorrências do mesmo valor, procura outra ocorrência
+        // na lista (O(n), só acontece com valores repetidos).
+        void remover(No no, No cabecaDaLista) {
+            int i = posicaoDe(no.dado);
+            if (i < 0) {
+                return;
+            }
+            if (--contagens[i] > 0) {
+                if (nos[i] == no) {
+                    No atual = cabecaDaLista;
+                    while (atual.dado != no.dado) {
+                        atual = atual.proximo;
+                    }
+                    nos[i] = atual;
+                }
+                return;
+            }
+            apagarPosicao(i);
+        }
+
+        // Remoção com deslocamento para trás (backward shift): em vez de deixar uma "lápide",
+        // puxa para a posição livre as chaves seguintes que estavam fora de sua posição ideal.
+        // Assim as buscas nunca precisam atravessar posições apagadas.
+        private void apagarPosicao(int livre) {
+            int i = (livre + 1) & mascara;
+            while (nos[i] != null) {
+                int ideal = espalhar(chaves[i]) & mascara;
+                // A chave em 'i' pode ocupar 'livre' se 'livre' estiver entre sua posição ideal e 'i'
+                if (((i - ideal) & mascara) >= ((i - livre) & mascara)) {
+                    chaves[livre] = chaves[i];
+                    nos[livre] = nos[i];
+                    contagens[livre] = contagens[i];
+                    livre = i;
+                }
+                i = (i + 1) & mascara;
+            }
+            nos[livre] = null;
+            ocupados--;
+        }
+
+        private void redimensionar(int novaCapacidade) {
+            int[] chavesAntigas = chaves;
+            No[] nosAntigos = nos;
+            int[] contagensAntigas = contagens;
+            alocar(novaCapacidade);
+            for (int j = 0; j < nosAntigos.length; j++) {
+                if (nosAntigos[j] != null) {
+                    int i = espalhar(chavesAntigas[j]) & mascara;
+                    while (nos[i] != null) {
+                        i = (i + 1) & mascara;
+                    }
+                    chaves[i] = chavesAntigas[j];
+                    nos[i] = nosAntigos[j];
+                    contagens[i] = contagensAntigas[j];
+                    ocupados++;
+                }
+            }
+        }
+    }
+
     private No cabeca; // Referência para o primeiro nó da lista (cabeça)
     private No cauda;  // Referência para o último nó da lista (cauda) - opcional, mas útil
     private int tamanho; // Mantém o controle do número de nós na lista
+    private IndiceHash indice; // Índice valor -> nó; null quando a lista foi criada sem índice
 
     // Construtor da lista duplamente encadeada
     public ListaDuplamenteEncadeada() {
         this.cabeca = null;
         this.cauda = null;
         this.tamanho = 0;
+        this.indice = null;
+    }
+
+    // Construtor que permite ativar o índice hash valor -> nó.
+    // Com o índice, contem, removerValor, moverParaInicio e moverParaFinal passam a ser O(1),
+    // ao custo de uma tabela extra mantida em sincronia em cada inserção e remoção.
+    public ListaDuplamenteEncadeada(boolean usarIndice) {
+        this();
+        if (usarIndice) {
+            this.indice = new IndiceHash();
+        }
     }
 
     // Método para verificar se a lista está vazia
@@ -70,31 +226,143 @@ public class ListaDuplamenteEncadeada {
     // Método para adicionar um elemento no início da lista
     public void adicionarNoInicio(int dado) {
         No novoNo = new No(dado);
-        if (estaVazia()) {
-            // Se a lista está vazia, o novo nó é tanto a cabeça quanto a cauda
-            cabeca = novoNo;
-            cauda = novoNo;
-        } else {
-            novoNo.proximo = cabeca; // O próximo do novo nó é a antiga cabeça
-            cabeca.anterior = novoNo; // O anterior da antiga cabeça é o novo nó
-            cabeca = novoNo;          // A cabeça agora é o novo nó
-        }
+        ligarNoInicio(novoNo);
         tamanho++;
+        if (indice != null) {
+            indice.registrar(novoNo);
+        }
     }
 
     // Método para adicionar um elemento no final da lista
     public void adicionarNoFinal(int dado) {
         No novoNo = new No(dado);
-        if (estaVazia()) {
-            // Se a lista está vazia, o novo nó é tanto a cabeça quanto a cauda
-            cabeca = novoNo;
-            cauda = novoNo;
+        ligarNoFinal(novoNo);
+        tamanho++;
+        if (indice != null) {
+            indice.registrar(novoNo);
+        }
+    }
+
+    // Liga um nó (novo ou recém-desligado) antes da cabeça atual. Não altera o tamanho.
+    private void ligarNoInicio(No no) {
+        no.anterior = null;
+        if (cabeca == null) {
+            // Se a lista está vazia, o nó é tanto a cabeça quanto a cauda
+            no.proximo = null;
+            cabeca = no;
+            cauda = no;
         } else {
-            cauda.proximo = novoNo;  // O próximo da antiga cauda é o novo nó
-            novoNo.anterior = cauda; // O anterior do novo nó é a antiga cauda
-            cauda = novoNo;          // A cauda agora é o novo nó
+            no.proximo = cabeca; // O próximo do nó é a antiga cabeça
+            cabeca.anterior = no; // O anterior da antiga cabeça é o nó
+            cabeca = no;          // A cabeça agora é o nó
+        }
+    }
+
+    // Liga um nó (novo ou recém-desligado) depois da cauda atual. Não altera o tamanho.
+    private void ligarNoFinal(No no) {
+        no.proximo = null;
+        if (cauda == null) {
+            // Se a lista está vazia, o nó é tanto a cabeça quanto a cauda
+            no.anterior = null;
+            cabeca = no;
+            cauda = no;
+        } else {
+            cauda.proximo = no;  // O próximo da antiga cauda é o nó
+            no.anterior = cauda; // O anterior do nó é a antiga cauda
+            cauda = no;          // A cauda agora é o nó
         }
-        tamanho++;
+    }
+
+    // Desliga um nó qualquer da lista em O(1), usando os ponteiros anterior e proximo.
+    // Esta é a grande vantagem da lista duplamente encadeada. Não altera o tamanho.
+    private void desligar(No no) {
+        if (no.anterior != null) {
+            no.anterior.proximo = no.proximo;
+        } else {
+            cabeca = no.proximo; // O nó era a cabeça
+        }
+        if (no.proximo != null) {
+            no.proximo.anterior = no.anterior;
+        } else {
+            cauda = no.anterior; // O nó era a cauda
+        }
+        no.anterior = null;
+        no.proximo = null;
+    }
+
+    // Encontra um nó pelo valor: O(1) pelo índice, ou O(n) percorrendo a partir da cabeça.
+    private No localizar(int dado) {
+        if (indice != null) {
+            return indice.buscar(dado);
+        }
+        No atual = cabeca;
+        while (atual != null && atual.dado != dado) {
+            atual = atual.proximo;
+        }
+        return atual;
+    }
+
+    // Método para verificar se um valor está na lista (O(1) com índice, O(n) sem índice)
+    public boolean contem(int dado) {
+        return localizar(dado) != null;
+    }
+
+    // Método para remover um valor de qualquer posição da lista.
+    // Sem índice remove a primeira ocorrência; com índice remove a ocorrência indexada.
+    // Retorna false se o valor não estiver na lista.
+    public boolean removerValor(int dado) {
+        No no = localizar(dado);
+        if (no == null) {
+            return false;
+        }
+        desligar(no);
+        tamanho--;
+        if (indice != null) {
+            indice.remover(no, cabeca);
+        }
+        return true;
+    }
+
+    // Método para mover um valor para o início da lista (ex.: marcar como usado mais recentemente).
+    // Apenas religa o nó existente: nenhum nó é criado. Retorna false se o valor não estiver na lista.
+    public boolean moverParaInicio(int dado) {
+        No no = localizar(dado);
+        if (no == null) {
+            return false;
+        }
+        if (no != cabeca) {
+            desligar(no);
+            ligarNoInicio(no);
+        }
+        return true;
+    }
+
+    // Método para mover um valor para o final da lista. Retorna false se o valor não estiver na lista.
+    public boolean moverParaFinal(int dado) {
+        No no = localizar(dado);
+        if (no == null) {
+            return false;
+        }
+        if (no != cauda) {
+            desligar(no);
+            ligarNoFinal(no);
+        }
+        return true;
+    }
+
+    // Métodos para consultar o primeiro e o último valor sem remover (O(1), pela cabeça e pela cauda)
+    public int getPrimeiro() {
+        if (estaVazia()) {
+            throw new NoSuchElementException("A lista está vazia.");
+        }
+        return cabeca.dado;
+    }
+
+    public int getUltimo() {
+        if (estaVazia()) {
+            throw new NoSuchElementException("A lista está vazia.");
+        }
+        return cauda.dado;
     }
 
     // Método para remover um elemento do início da lista
@@ -113,6 +381,9 @@ public class ListaDuplamenteEncadeada {
             noRemovido.proximo = null; // Limpa a referência do nó removido
         }
         tamanho--;
+        if (indice != null) {
+            indice.remover(noRemovido, cabeca);
+        }
         return noRemovido;
     }
 
@@ -132,9 +403,377 @@ public class ListaDuplamenteEncadeada {
             noRemovido.anterior = null; // Limpa a referência do nó removido
         }
         tamanho--;
+        if (indice != null) {
+            indice.remover(noRemovido, cabeca);
+        }
         return noRemovido;
     }
 
+    // Método para ordenar a lista em ordem crescente com um Merge Sort "de baixo para cima" (bottom-up).
+    // Mescla sequências de 1, 2, 4, 8... nós religando só os ponteiros 'proximo', sem recursão, sem array e sem
+    // criar nós: O(n log n) de tempo e O(1) de espaço extra. É estável. No fim, uma única passada refaz os
+    // ponteiros 'anterior' e a cauda. Os nós continuam os mesmos, então o índice hash (se houver) segue válido.
+    public void ordenar() {
+        if (tamanho < 2) {
+            return;
+        }
+        for (int largura = 1; largura < tamanho; largura *= 2) {
+            No restante = cabeca; // Parte da lista ainda não mesclada nesta passada
+            No ultimo = null;     // Último nó da parte já mesclada nesta passada
+            while (restante != null) {
+                No esquerda = restante;
+                No direita = cortar(esquerda, largura);
+                restante = cortar(direita, largura);
+                ultimo = mesclarApos(ultimo, esquerda, direita);
+            }
+        }
+        religarAnteriores();
+    }
+
+    // Separa os primeiros 'quantidade' nós da cadeia e retorna o resto (ou null se a cadeia acabou antes)
+    private static No cortar(No inicio, int quantidade) {
+        for (int i = 1; inicio != null && i < quantidade; i++) {
+            inicio = inicio.proximo;
+        }
+        if (inicio == null) {
+            return null;
+        }
+        No resto = inicio.proximo;
+        inicio.proximo = null;
+        return resto;
+    }
+
+    // Mescla as cadeias ordenadas 'a' e 'b' (só pelos ponteiros 'proximo') depois de 'ultimo',
+    // ou na cabeça se 'ultimo' for null. Em empate o nó de 'a' vem primeiro. Retorna o último nó mesclado.
+    private No mesclarApos(No ultimo, No a, No b) {
+        while (a != null && b != null) {
+            No menor;
+            if (a.dado <= b.dado) {
+                menor = a;
+                a = a.proximo;
+            } else {
+                menor = b;
+                b = b.proximo;
+            }
+            if (ultimo == null) {
+                cabeca = menor;
+            } else {
+                ultimo.proximo = menor;
+            }
+            ultimo = menor;
+        }
+        No resto = (a != null) ? a : b;
+        if (ultimo == null) {
+            cabeca = resto;
+            ultimo = resto;
+        } else {
+            ultimo.proximo = resto;
+        }
+        while (ultimo.proximo != null) {
+            ultimo = ultimo.proximo;
+        }
+        return ultimo;
+    }
+
+    // Refaz os ponteiros 'anterior' e a cauda a partir dos ponteiros 'proximo', em uma passada O(n)
+    private void religarAnteriores() {
+        No anterior = null;
+        for (No atual = cabeca; atual != null; atual = atual.proximo) {
+            atual.anterior = anterior;
+            anterior = atual;
+        }
+        cauda = anterior;
+    }
+
+    // Método para ordenar a lista com um Radix Sort LSD que distribui os próprios nós em 256 baldes (um por valor
+    // de byte), do byte menos significativo ao mais significativo. Cada balde é uma cadeia com cabeça e cauda,
+    // então distribuir e concatenar é só religar ponteiros. Bytes que não variam entre os valores são pulados e
+    // o bit de sinal é invertido na chave para que negativos venham antes. O(4 * (n + 256)), estável.
+    public void ordenarRadix() {
+        if (tamanho < 2) {
+            return;
+        }
+        int primeiro = cabeca.dado;
+        int diferencas = 0;
+        for (No atual = cabeca.proximo; atual != null; atual = atual.proximo) {
+            diferencas |= atual.dado ^ primeiro;
+        }
+        No[] cabecasDosBaldes = new No[256];
+        No[] caudasDosBaldes = new No[256];
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 8) {
+            if (((diferencas >>> deslocamento) & 0xFF) == 0) {
+                continue;
+            }
+            // Distribui os nós nos baldes, na ordem atual (mantém a estabilidade)
+            No atual = cabeca;
+            while (atual != null) {
+                No proximoNo = atual.proximo;
+                int balde = ((atual.dado ^ Integer.MIN_VALUE) >>> deslocamento) & 0xFF;
+                atual.proximo = null;
+                if (cabecasDosBaldes[balde] == null) {
+                    cabecasDosBaldes[balde] = atual;
+                } else {
+                    caudasDosBaldes[balde].proximo = atual;
+                }
+                caudasDosBaldes[balde] = atual;
+                atual = proximoNo;
+            }
+            // Concatena os baldes em ordem e os esvazia para a próxima passada
+            No ultimo = null;
+            for (int balde = 0; balde < 256; balde++) {
+                if (cabecasDosBaldes[balde] != null) {
+                    if (ultimo == null) {
+                        cabeca = cabecasDosBaldes[balde];
+                    } else {
+                        ultimo.proximo = cabecasDosBaldes[balde];
+                    }
+                    ultimo = caudasDosBaldes[balde];
+                    cabecasDosBaldes[balde] = null;
+                    caudasDosBaldes[balde] = null;
+                }
+            }
+        }
+        religarAnteriores();
+    }
+
+    // Método para mesclar outra lista ordenada nesta lista (também ordenada) em O(n + m), reaproveitando os
+    // nós das duas. Ao final esta lista tem todos os elementos em ordem e a outra lista fica vazia.
+    public void mesclar(ListaDuplamenteEncadeada outra) {
+        if (outra == null || outra == this || outra.estaVazia()) {
+            return;
+        }
+        if (indice != null) {
+            // Os nós que vêm da outra lista passam a ser encontrados pelo índice desta
+            for (No atual = outra.cabeca; atual != null; atual = atual.proximo) {
+                indice.registrar(atual);
+            }
+        }
+        No a = cabeca;
+        cabeca = null;
+        mesclarApos(null, a, outra.cabeca);
+        religarAnteriores();
+        tamanho += outra.tamanho;
+        outra.esvaziar();
+    }
+
+    // Deixa a lista vazia sem tocar nos nós (usado quando os nós passaram para outra lista)
+    private void esvaziar() {
+        cabeca = null;
+        cauda = null;
+        tamanho = 0;
+        if (indice != null) {
+            indice = new IndiceHash();
+        }
+    }
+
+    // Método para adicionar todos os valores do array no final da lista, construindo a cadeia em uma passada
+    public void adicionarTodos(int[] valores) {
+        if (valores == null) {
+            return;
+        }
+        for (int valor : valores) {
+            No novoNo = new No(valor);
+            novoNo.anterior = cauda;
+            if (cauda == null) {
+                cabeca = novoNo;
+            } else {
+                cauda.proximo = novoNo;
+            }
+            cauda = novoNo;
+            if (indice != null) {
+                indice.registrar(novoNo);
+            }
+        }
+        tamanho += valores.length;
+    }
+
+    // Método para copiar os elementos da lista (da cabeça para a cauda) para um novo array
+    public int[] toArray() {
+        int[] array = new int[tamanho];
+        int i = 0;
+        for (No atual = cabeca; atual != null; atual = atual.proximo) {
+            array[i++] = atual.dado;
+        }
+        return array;
+    }
+
+    // Método para concatenar outra lista no final desta em O(1): basta ligar a cauda desta à cabeça da outra.
+    // A outra lista fica vazia. Se esta lista tiver índice, os nós recebidos são registrados nele (O(m)).
+    public void concatenar(ListaDuplamenteEncadeada outra) {
+        if (outra == null || outra == this || outra.estaVazia()) {
+            return;
+        }
+        if (indice != null) {
+            for (No atual = outra.cabeca; atual != null; atual = atual.proximo) {
+                indice.registrar(atual);
+            }
+        }
+        if (cauda == null) {
+            cabeca = outra.cabeca;
+        } else {
+            cauda.proximo = outra.cabeca;
+            outra.cabeca.anterior = cauda;
+        }
+        cauda = outra.cauda;
+        tamanho += outra.tamanho;
+        outra.esvaziar();
+    }
+
+    // Método para dividir a lista na posição 'posicao': esta lista fica com os elementos [0, posicao) e a lista
+    // retornada com [posicao, tamanho). O corte em si é O(1); encontrar o nó da posição percorre a lista a partir
+    // da ponta mais próxima (cabeça ou cauda), no máximo n/2 passos. Com índice, os dois índices são refeitos (O(n)).
+    public ListaDuplamenteEncadeada dividir(int posicao) {
+        ListaDuplamenteEncadeada nova = new ListaDuplamenteEncadeada(indice != null);
+        if (posicao < 0) {
+            posicao = 0;
+        }
+        if (posicao >= tamanho) {
+            return nova;
+        }
+        No corte; // Primeiro nó que vai para a nova lista
+        if (posicao <= tamanho / 2) {
+            corte = cabeca;
+            for (int i = 0; i < posicao; i++) {
+                corte = corte.proximo;
+            }
+        } else {
+            corte = cauda;
+            for (int i = tamanho - 1; i > posicao; i--) {
+                corte = corte.anterior;
+            }
+        }
+        nova.cabeca = corte;
+        nova.cauda = cauda;
+        nova.tamanho = tamanho - posicao;
+        cauda = corte.anterior;
+        if (cauda == null) {
+            cabeca = null;
+        } else {
+            cauda.proximo = null;
+        }
+        corte.anterior = null;
+        tamanho = posicao;
+        if (indice != null) {
+            reconstruirIndice();
+            nova.reconstruirIndice();
+        }
+        return nova;
+    }
+
+    // Refaz o índice a partir dos nós atuais da lista
+    private void reconstruirIndice() {
+        indice = new IndiceHash();
+        for (No atual = cabeca; atual != null; atual = atual.proximo) {
+            indice.registrar(atual);
+        }
+    }
+
+    // Método que retorna um iterador de int (sem boxing) da cabeça para a cauda.
+    // A lista não deve ser modificada enquanto o iterador estiver em uso.
+    public PrimitiveIterator.OfInt iterador() {
+        return new IteradorDeNos(cabeca);
+    }
+
+    // Método que retorna um Spliterator.OfInt de tamanho exato para alimentar IntStreams. A divisão copia lotes
+    // crescentes de nós para arrays (1024, 2048, 3072...), que outras threads processam em paralelo enquanto
+    // esta continua percorrendo a lista, já que uma lista encadeada não pode ser cortada ao meio sem percorrê-la.
+    public Spliterator.OfInt spliterator() {
+        return new SpliteradorDeNos(cabeca, tamanho);
+    }
+
+    // Método que retorna um IntStream com os elementos da lista (paralelo ou não)
+    public IntStream stream(boolean paralelo) {
+        return StreamSupport.intStream(spliterator(), paralelo);
+    }
+
+    // Iterador primitivo que segue os ponteiros 'proximo'
+    private static class IteradorDeNos implements PrimitiveIterator.OfInt {
+        private No atual;
+
+        IteradorDeNos(No inicio) {
+            this.atual = inicio;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return atual != null;
+        }
+
+        @Override
+        public int nextInt() {
+            if (atual == null) {
+                throw new NoSuchElementException();
+            }
+            int dado = atual.dado;
+            atual = atual.proximo;
+            return dado;
+        }
+    }
+
+    // Spliterator sobre uma cadeia de nós com tamanho conhecido, que se divide copiando lotes para arrays
+    private static class SpliteradorDeNos implements Spliterator.OfInt {
+        private static final int UNIDADE_DO_LOTE = 1 << 10;
+        private static final int LOTE_MAXIMO = 1 << 25;
+
+        private No atual;
+        private long restante;
+        private int lote;
+
+        SpliteradorDeNos(No inicio, long tamanho) {
+            this.atual = inicio;
+            this.restante = tamanho;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer acao) {
+            if (atual == null) {
+                return false;
+            }
+            int dado = atual.dado;
+            atual = atual.proximo;
+            restante--;
+            acao.accept(dado);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer acao) {
+            No no = atual;
+            atual = null;
+            restante = 0;
+            while (no != null) {
+                acao.accept(no.dado);
+                no = no.proximo;
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (atual == null || restante <= 1) {
+                return null;
+            }
+            int n = (int) Math.min(Math.min(lote + UNIDADE_DO_LOTE, LOTE_MAXIMO), restante);
+            int[] copia = new int[n];
+            for (int i = 0; i < n; i++) {
+                copia[i] = atual.dado;
+                atual = atual.proximo;
+            }
+            lote = n;
+            restante -= n;
+            return Spliterators.spliterator(copia, 0, n, characteristics());
+        }
+
+        @Override
+        public long estimateSize() {
+            return restante;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
     // Método para exibir os elementos da lista (da cabeça para a cauda)
     public void exibirParaFrente() {
         if (estaVazia()) {
@@ -190,5 +829,58 @@ public class ListaDuplamenteEncadeada {
         lista.adicionarNoFinal(30);
         lista.exibirParaFrente();
         lista.exibirParaTras();
+
+        System.out.println("\n--- Lista com índice hash (operações por valor em O(1)) ---");
+        ListaDuplamenteEncadeada sessoes = new ListaDuplamenteEncadeada(true);
+        for (int id = 100; id <= 105; id++) {
+            sessoes.adicionarNoFinal(id); // Lista: 100 <-> 101 <-> 102 <-> 103 <-> 104 <-> 105
+        }
+        sessoes.exibirParaFrente();
+        System.out.println("Contém 103? " + sessoes.contem(103)); // Esperado: true
+        System.out.println("Contém 999? " + sessoes.contem(999)); // Esperado: false
+
+        sessoes.moverParaInicio(104); // Lista: 104 <-> 100 <-> 101 <-> 102 <-> 103 <-> 105
+        sessoes.moverParaFinal(100);  // Lista: 104 <-> 101 <-> 102 <-> 103 <-> 105 <-> 100
+        sessoes.exibirParaFrente();
+
+        System.out.println("Removendo o valor 102: " + sessoes.removerValor(102)); // Esperado: true
+        System.out.println("Removendo o valor 102 de novo: " + sessoes.removerValor(102)); // Esperado: false
+        sessoes.exibirParaFrente(); // Lista: 104 <-> 101 <-> 103 <-> 105 <-> 100
+        sessoes.exibirParaTras();
+        System.out.println("Tamanho da lista: " + sessoes.getTamanho()); // Esperado: 5
+        System.out.println("Primeiro: " + sessoes.getPrimeiro() + ", último: " + sessoes.getUltimo()); // Esperado: 104, 100
+
+        System.out.println("\n--- Ordenando sem criar nós ---");
+        ListaDuplamenteEncadeada numeros = new ListaDuplamenteEncadeada();
+        for (int valor : new int[]{15, -3, 8, 42, 8, 0, -100}) {
+            numeros.adicionarNoFinal(valor);
+        }
+        numeros.ordenar();
+        numeros.exibirParaFrente(); // Esperado: -100 <-> -3 <-> 0 <-> 8 <-> 8 <-> 15 <-> 42
+        numeros.exibirParaTras();
+
+        ListaDuplamenteEncadeada outros = new ListaDuplamenteEncadeada();
+        for (int valor : new int[]{1000, 7, -20, 300}) {
+            outros.adicionarNoFinal(valor);
+        }
+        outros.ordenarRadix();
+        outros.exibirParaFrente(); // Esperado: -20 <-> 7 <-> 300 <-> 1000
+
+        numeros.mesclar(outros);
+        numeros.exibirParaFrente(); // Esperado: -100 <-> -20 <-> -3 <-> 0 <-> 7 <-> 8 <-> 8 <-> 15 <-> 42 <-> 300 <-> 1000
+        System.out.println("Tamanho: " + numeros.getTamanho() + ", tamanho da outra: " + outros.getTamanho()); // Esperado: 11, 0
+
+        System.out.println("\n--- Operações em lote, concatenação e divisão ---");
+        ListaDuplamenteEncadeada a = new ListaDuplamenteEncadeada();
+        ListaDuplamenteEncadeada b = new ListaDuplamenteEncadeada();
+        a.adicionarTodos(new int[]{1, 2, 3});
+        b.adicionarTodos(new int[]{4, 5, 6, 7});
+        a.concatenar(b);              // O(1): a = 1..7, b vazia
+        a.exibirParaFrente();
+        ListaDuplamenteEncadeada fim = a.dividir(5); // a = 1..5, fim = 6, 7
+        a.exibirParaFrente();
+        fim.exibirParaTras();
+        System.out.println("Soma via IntStream: " + a.stream(false).sum()); // Esperado: 15
+        System.out.println("Como array: " + java.util.Arrays.toString(fim.toArray())); // Esperado: [6, 7]
     }
 }
\ No newline at end of file
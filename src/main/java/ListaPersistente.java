@@ -0,0 +1,301 @@
+/*
+Lista Persistente (Persistent / Immutable Linked List)
+O que é? É uma lista simplesmente encadeada imutável: nenhum nó é alterado depois de criado. Operações que
+"modificam" a lista, como adicionarNoInicio e removerDoInicio, não mexem na lista original; elas devolvem uma NOVA
+versão que compartilha os nós da antiga (compartilhamento estrutural). Adicionar no início cria um único nó que aponta
+para a cabeça antiga; remover do início devolve uma versão cuja cabeça é o segundo nó. As duas operações são O(1) e
+a versão antiga continua válida e inalterada.
+Para publicar versões entre threads existe a classe interna Compartilhada: um escritor troca a versão atual por meio de
+uma AtomicReference (compare-and-set) e os leitores pegam um "snapshot" (a versão atual naquele instante) sem bloqueio.
+
+Para que serve? Para cenários em que leitores percorrem a lista enquanto um escritor a modifica. Com a
+ListaSimplesmenteEncadeada isso exige um bloqueio global ou uma cópia inteira por leitura; aqui cada leitor enxerga uma
+versão consistente, que ninguém mais vai alterar, e as versões antigas são liberadas pelo coletor de lixo quando
+nenhum leitor as referencia mais.
+
+Vantagens:
+Leitores nunca bloqueiam e nunca veem um estado pela metade.
+adicionarNoInicio e removerDoInicio são O(1) e não copiam a lista.
+Versões antigas continuam disponíveis de graça (útil para desfazer, auditoria, histórico).
+Imutabilidade simplifica o raciocínio sobre código concorrente.
+
+Desvantagens:
+Alterar o final ou o meio da lista exige copiar todos os nós anteriores ao ponto alterado (O(n)).
+Cada modificação cria pelo menos um objeto novo, o que gera mais trabalho para o coletor de lixo.
+Com vários escritores disputando a mesma referência, o compare-and-set pode precisar de novas tentativas.
+ */
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+public final class ListaPersistente {
+
+    /**
+     * Nó imutável: o dado e o próximo são 'final', então, depois de publicado, nunca muda.
+     * Campos final também garantem que outra thread veja o nó completamente construído.
+     */
+    private static final class No {
+        final int dado;
+        final No proximo;
+
+        No(int dado, No proximo) {
+            this.dado = dado;
+            this.proximo = proximo;
+        }
+    }
+
+    /**
+     * A lista vazia. Como é imutável, uma única instância serve para todos.
+     */
+    public static final ListaPersistente VAZIA = new ListaPersistente(null, 0);
+
+    private final No cabeca;
+    private final int tamanho;
+
+    private ListaPersistente(No cabeca, int tamanho) {
+        this.cabeca = cabeca;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Cria uma lista com os valores na mesma ordem do array, em O(n).
+     * Os nós são criados do último para o primeiro, assim cada um já nasce apontando para o seu próximo.
+     */
+    public static ListaPersistente de(int... valores) {
+        No cabeca = null;
+        for (int i = valores.length - 1; i >= 0; i--) {
+            cabeca = new No(valores[i], cabeca);
+        }
+        return new ListaPersistente(cabeca, valores.length);
+    }
+
+    public boolean estaVazia() {
+        return cabeca == null;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Retorna uma nova versão com o dado no início. Esta versão não muda.
+     * O novo nó aponta para a cabeça atual, então todos os nós existentes são compartilhados. O(1).
+     */
+    public ListaPersistente adicionarNoInicio(int dado) {
+        return new ListaPersistente(new No(dado, cabeca), tamanho + 1);
+    }
+
+    /**
+     * Retorna uma nova versão sem o primeiro elemento (ou esta mesma, se estiver vazia). O(1), sem cópia.
+     */
+    public ListaPersistente removerDoInicio() {
+        if (cabeca == null) {
+            return this;
+        }
+        return new ListaPersistente(cabeca.proximo, tamanho - 1);
+    }
+
+    /**
+     * Retorna o primeiro elemento.
+     * @throws NoSuchElementException se a lista estiver vazia.
+     */
+    public int primeiro() {
+        if (cabeca == null) {
+            throw new NoSuchElementException("A lista está vazia.");
+        }
+        return cabeca.dado;
+    }
+
+    /**
+     * Verifica se um valor está nesta versão da lista. O(n).
+     */
+    public boolean contem(int dado) {
+        for (No atual = cabeca; atual != null; atual = atual.proximo) {
+            if (atual.dado == dado) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int[] toArray() {
+        int[] array = new int[tamanho];
+        int i = 0;
+        for (No atual = cabeca; atual != null; atual = atual.proximo) {
+            array[i++] = atual.dado;
+        }
+        return array;
+    }
+
+    /**
+     * Iterador primitivo. Como a versão é imutável, é seguro usá-lo mesmo com escritores ativos.
+     */
+    public PrimitiveIterator.OfInt iterador() {
+        return new PrimitiveIterator.OfInt() {
+            private No atual = cabeca;
+
+            @Override
+            public boolean hasNext() {
+                return atual != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (atual == null) {
+                    throw new NoSuchElementException();
+                }
+                int dado = atual.dado;
+                atual = atual.proximo;
+                return dado;
+            }
+        };
+    }
+
+    /**
+     * IntStream com os elementos desta versão. O spliterator é IMMUTABLE porque a versão nunca muda.
+     */
+    public IntStream stream() {
+        Spliterator.OfInt spliterator = Spliterators.spliterator(iterador(), tamanho,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    public void exibirLista() {
+        if (cabeca == null) {
+            System.out.println("Lista vazia.");
+            return;
+        }
+        System.out.print("Lista: Cabeça -> ");
+        for (No atual = cabeca; atual != null; atual = atual.proximo) {
+            System.out.print(atual.dado + " -> ");
+        }
+        System.out.println("null (Fim)");
+    }
+
+    /**
+     * Ponto de publicação de versões compartilhado entre threads.
+     * Escritores trocam a versão atual com compare-and-set; leitores chamam snapshot() e percorrem a versão
+     * obtida sem bloqueio e sem cópia. Uma versão só é coletada pelo GC quando nenhum leitor a referencia.
+     */
+    public static final class Compartilhada {
+        private final AtomicReference<ListaPersistente> atual;
+
+        public Compartilhada() {
+            this(VAZIA);
+        }
+
+        public Compartilhada(ListaPersistente inicial) {
+            this.atual = new AtomicReference<>(inicial);
+        }
+
+        /**
+         * Retorna a versão publicada neste instante. Ela nunca mudará, mesmo que novas versões sejam publicadas.
+         */
+        public ListaPersistente snapshot() {
+            return atual.get();
+        }
+
+        /**
+         * Publica uma versão com o dado no início. Seguro com vários escritores.
+         */
+        public void adicionarNoInicio(int dado) {
+            atualizar(lista -> lista.adicionarNoInicio(dado));
+        }
+
+        /**
+         * Publica uma versão sem o primeiro elemento e retorna o elemento removido, ou vazio se não havia nenhum.
+         */
+        public OptionalInt removerDoInicio() {
+            while (true) {
+                ListaPersistente versao = atual.get();
+                if (versao.estaVazia()) {
+                    return OptionalInt.empty();
+                }
+                if (atual.compareAndSet(versao, versao.removerDoInicio())) {
+                    return OptionalInt.of(versao.cabeca.dado);
+                }
+                // Outro escritor publicou antes: tenta de novo sobre a versão mais recente
+            }
+        }
+
+        /**
+         * Aplica uma transformação à versão atual e publica o resultado, repetindo se outro escritor publicar
+         * no meio do caminho. A função deve ser pura, pois pode ser chamada mais de uma vez.
+         * @return A versão publicada.
+         */
+        public ListaPersistente atualizar(UnaryOperator<ListaPersistente> transformacao) {
+            return atual.updateAndGet(transformacao);
+        }
+    }
+
+    // Percorre o snapshot nó a nó e confere o conteúdo que o escritor do main publica: depois de adicionar m, a lista
+    // é m, m - 1, ..., 1 sem os múltiplos de 3 (cada um é removido logo depois de entrar); só a cabeça pode ser um
+    // múltiplo de 3, se a remoção dele ainda não foi publicada. O snapshot não muda enquanto é percorrido, então o
+    // número de nós visitados também bate com o tamanho.
+    private static boolean consistente(ListaPersistente snapshot) {
+        PrimitiveIterator.OfInt it = snapshot.iterador();
+        int esperado = snapshot.estaVazia() ? 0 : snapshot.primeiro();
+        int visitados = 0;
+        while (it.hasNext()) {
+            if (visitados > 0 && esperado % 3 == 0) {
+                esperado--; // Fora da cabeça, múltiplos de 3 já foram removidos
+            }
+            if (it.nextInt() != esperado) {
+                return false;
+            }
+            esperado--;
+            visitados++;
+        }
+        return visitados == snapshot.getTamanho() && esperado == 0;
+    }
+
+    public static void main(String[] args) {
+        ListaPersistente v1 = ListaPersistente.de(20, 30);
+        ListaPersistente v2 = v1.adicionarNoInicio(10); // Compartilha os nós 20 e 30 com v1
+        ListaPersistente v3 = v2.removerDoInicio().removerDoInicio();
+
+        System.out.println("--- Versões independentes ---");
+        v1.exibirLista(); // Esperado: 20 -> 30
+        v2.exibirLista(); // Esperado: 10 -> 20 -> 30
+        v3.exibirLista(); // Esperado: 30
+        System.out.println("v1 e v2 compartilham a cauda? " + (v1.cabeca == v2.cabeca.proximo)); // Esperado: true
+
+        System.out.println("\n--- Escritor publicando, leitores sem bloqueio ---");
+        Compartilhada compartilhada = new Compartilhada();
+        final int total = 200_000;
+        Thread escritor = new Thread(() -> {
+            for (int i = 1; i <= total; i++) {
+                compartilhada.adicionarNoInicio(i);
+                if (i % 3 == 0) {
+                    compartilhada.removerDoInicio();
+                }
+            }
+        });
+        Thread leitor = new Thread(() -> {
+            int inconsistentes = 0;
+            for (int leitura = 0; leitura < 200; leitura++) {
+                ListaPersistente snapshot = compartilhada.snapshot();
+                if (!consistente(snapshot)) {
+                    inconsistentes++;
+                }
+            }
+            System.out.println("Leituras inconsistentes: " + inconsistentes); // Esperado: 0
+        });
+        escritor.start();
+        leitor.start();
+        try {
+            escritor.join();
+            leitor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("Tamanho final: " + compartilhada.snapshot().getTamanho()); // Esperado: 133334
+    }
+}
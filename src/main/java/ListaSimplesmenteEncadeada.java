@@ -29,6 +29,14 @@ Percorrer para Trás é Ineficiente/Impossível: Em, uma lista simplesmente enca
 anterior diretamente a partir de um nó atual; seria necessário começar da cabeça novamente.
  */
 
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 public class ListaSimplesmenteEncadeada {
 
     /**
@@ -223,6 +231,351 @@ public class ListaSimplesmenteEncadeada {
         return null;
     }
 
+    /**
+     * Verifica se um valor está na lista (O(n), percorrendo a partir da cabeça).
+     * @param dado O valor a ser buscado.
+     * @return true se algum nó contém o dado.
+     */
+    public boolean contem(int dado) {
+        return buscar(dado) != null;
+    }
+
+    /**
+     * Remove a primeira ocorrência de um valor, em qualquer posição da lista.
+     * Como não há ponteiro para o nó anterior, o percurso guarda o anterior de cada nó visitado.
+     * @param dado O valor a ser removido.
+     * @return true se o valor estava na lista e foi removido, false caso contrário.
+     */
+    public boolean removerValor(int dado) {
+        No anterior = null;
+        No atual = cabeca;
+        while (atual != null && atual.dado != dado) {
+            anterior = atual;
+            atual = atual.proximo;
+        }
+        if (atual == null) {
+            return false; // Não encontrado
+        }
+        if (anterior == null) {
+            cabeca = atual.proximo; // O nó removido era a cabeça
+        } else {
+            anterior.proximo = atual.proximo; // O anterior "pula" o nó removido
+        }
+        atual.proximo = null;
+        tamanho--;
+        return true;
+    }
+
+    /**
+     * Ordena a lista em ordem crescente com um Merge Sort "de baixo para cima" (bottom-up), sem recursão.
+     * Na primeira passada mescla pares de sequências de 1 nó, depois de 2, 4, 8... até cobrir a lista inteira.
+     * Diferente do MergeSort de arrays, não precisa de memória auxiliar O(n): mesclar duas listas encadeadas é
+     * só religar os ponteiros 'proximo'. Nenhum nó é criado e nenhum array é usado.
+     * Complexidade: O(n log n) de tempo, O(1) de espaço extra. É estável (iguais mantêm a ordem relativa).
+     */
+    public void ordenar() {
+        if (tamanho < 2) {
+            return;
+        }
+        for (int largura = 1; largura < tamanho; largura *= 2) {
+            No restante = cabeca; // Início da parte da lista que ainda não foi mesclada nesta passada
+            No ultimo = null;     // Último nó da parte já mesclada nesta passada
+            while (restante != null) {
+                // Corta duas sequências consecutivas de 'largura' nós cada (a segunda pode ser menor ou vazia)
+                No esquerda = restante;
+                No direita = cortar(esquerda, largura);
+                restante = cortar(direita, largura);
+                // Mescla as duas e pendura o resultado depois da parte já mesclada
+                ultimo = mesclarApos(ultimo, esquerda, direita);
+            }
+        }
+    }
+
+    /**
+     * Separa os primeiros 'quantidade' nós da cadeia que começa em 'inicio'.
+     * @return O primeiro nó depois do corte (o resto da cadeia), ou null se a cadeia acabou antes.
+     */
+    private static No cortar(No inicio, int quantidade) {
+        for (int i = 1; inicio != null && i < quantidade; i++) {
+            inicio = inicio.proximo;
+        }
+        if (inicio == null) {
+            return null;
+        }
+        No resto = inicio.proximo;
+        inicio.proximo = null;
+        return resto;
+    }
+
+    /**
+     * Mescla duas cadeias ordenadas 'a' e 'b' e liga o resultado depois de 'ultimo'
+     * (ou na cabeça da lista, se 'ultimo' for null). Em caso de empate o nó de 'a' vem primeiro (estabilidade).
+     * @return O último nó da cadeia mesclada.
+     */
+    private No mesclarApos(No ultimo, No a, No b) {
+        while (a != null && b != null) {
+            No menor;
+            if (a.dado <= b.dado) {
+                menor = a;
+                a = a.proximo;
+            } else {
+                menor = b;
+                b = b.proximo;
+            }
+            if (ultimo == null) {
+                cabeca = menor;
+            } else {
+                ultimo.proximo = menor;
+            }
+            ultimo = menor;
+        }
+        // Uma das cadeias acabou: o que sobrou da outra já está ordenado e é ligado de uma vez
+        No resto = (a != null) ? a : b;
+        if (ultimo == null) {
+            cabeca = resto;
+            ultimo = resto;
+        } else {
+            ultimo.proximo = resto;
+        }
+        while (ultimo.proximo != null) {
+            ultimo = ultimo.proximo;
+        }
+        return ultimo;
+    }
+
+    /**
+     * Ordena a lista com um Radix Sort LSD que distribui os próprios nós em 256 "baldes" (um por valor de byte),
+     * do byte menos significativo ao mais significativo. Cada balde é uma cadeia de nós com cabeça e cauda, então
+     * distribuir e depois concatenar os baldes é só religar ponteiros. Bytes iguais em todos os valores são pulados.
+     * Números negativos são tratados invertendo o bit de sinal na chave usada para escolher o balde.
+     * Complexidade: O(4 * (n + 256)) de tempo. Estável. Nenhum nó é criado.
+     */
+    public void ordenarRadix() {
+        if (tamanho < 2) {
+            return;
+        }
+        // Descobre quais bytes variam entre os valores; os que não variam não precisam de passada
+        int primeiro = cabeca.dado;
+        int diferencas = 0;
+        for (No atual = cabeca.proximo; atual != null; atual = atual.proximo) {
+            diferencas |= atual.dado ^ primeiro;
+        }
+        No[] cabecasDosBaldes = new No[256];
+        No[] caudasDosBaldes = new No[256];
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 8) {
+            if (((diferencas >>> deslocamento) & 0xFF) == 0) {
+                continue;
+            }
+            // 1. Distribui os nós nos baldes, na ordem atual (isso mantém a estabilidade)
+            No atual = cabeca;
+            while (atual != null) {
+                No proximoNo = atual.proximo;
+                int balde = ((atual.dado ^ Integer.MIN_VALUE) >>> deslocamento) & 0xFF;
+                atual.proximo = null;
+                if (cabecasDosBaldes[balde] == null) {
+                    cabecasDosBaldes[balde] = atual;
+                } else {
+                    caudasDosBaldes[balde].proximo = atual;
+                }
+                caudasDosBaldes[balde] = atual;
+                atual = proximoNo;
+            }
+            // 2. Concatena os baldes em ordem e os deixa vazios para a próxima passada
+            No ultimo = null;
+            for (int balde = 0; balde < 256; balde++) {
+                if (cabecasDosBaldes[balde] != null) {
+                    if (ultimo == null) {
+                        cabeca = cabecasDosBaldes[balde];
+                    } else {
+                        ultimo.proximo = cabecasDosBaldes[balde];
+                    }
+                    ultimo = caudasDosBaldes[balde];
+                    cabecasDosBaldes[balde] = null;
+                    caudasDosBaldes[balde] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mescla outra lista ordenada nesta lista (também ordenada) em O(n + m), reaproveitando os nós das duas.
+     * Ao final esta lista contém todos os elementos em ordem e a outra lista fica vazia.
+     * @param outra A lista ordenada cujos nós serão incorporados.
+     */
+    public void mesclar(ListaSimplesmenteEncadeada outra) {
+        if (outra == null || outra == this || outra.estaVazia()) {
+            return;
+        }
+        No a = cabeca;
+        cabeca = null;
+        mesclarApos(null, a, outra.cabeca);
+        tamanho += outra.tamanho;
+        outra.cabeca = null;
+        outra.tamanho = 0;
+    }
+
+    /**
+     * Adiciona todos os valores do array no final da lista, na mesma ordem.
+     * Em vez de chamar adicionarNoFinal para cada valor (o que percorreria a lista a cada chamada), encontra o
+     * último nó uma única vez e vai pendurando os novos nós, construindo a cadeia em uma só passada.
+     * @param valores Os valores a serem adicionados.
+     */
+    public void adicionarTodos(int[] valores) {
+        if (valores == null || valores.length == 0) {
+            return;
+        }
+        // 1. Encontra o último nó (ou null se a lista estiver vazia).
+        No ultimo = cabeca;
+        if (ultimo != null) {
+            while (ultimo.proximo != null) {
+                ultimo = ultimo.proximo;
+            }
+        }
+        // 2. Cria e liga os nós em sequência.
+        for (int valor : valores) {
+            No novoNo = new No(valor);
+            if (ultimo == null) {
+                cabeca = novoNo;
+            } else {
+                ultimo.proximo = novoNo;
+            }
+            ultimo = novoNo;
+        }
+        tamanho += valores.length;
+    }
+
+    /**
+     * Copia os elementos da lista para um novo array, da cabeça até o fim.
+     * @return Um array com os elementos na ordem da lista.
+     */
+    public int[] toArray() {
+        int[] array = new int[tamanho];
+        int i = 0;
+        for (No atual = cabeca; atual != null; atual = atual.proximo) {
+            array[i++] = atual.dado;
+        }
+        return array;
+    }
+
+    /**
+     * Retorna um iterador de int (sem boxing) que percorre a lista da cabeça até o fim.
+     * A lista não deve ser modificada enquanto o iterador estiver em uso.
+     */
+    public PrimitiveIterator.OfInt iterador() {
+        return new IteradorDeNos(cabeca);
+    }
+
+    /**
+     * Retorna um Spliterator.OfInt que conhece o tamanho exato da lista, para alimentar IntStreams.
+     * Como uma lista encadeada não pode ser dividida ao meio sem percorrê-la, a divisão (trySplit) copia um
+     * lote de nós para um array, que pode ser processado em paralelo por outra thread enquanto esta continua
+     * percorrendo a lista. Os lotes crescem a cada divisão (1024, 2048, 3072...), como nas coleções do JDK.
+     */
+    public Spliterator.OfInt spliterator() {
+        return new SpliteradorDeNos(cabeca, tamanho);
+    }
+
+    /**
+     * Retorna um IntStream com os elementos da lista.
+     * @param paralelo true para um stream paralelo (usa o spliterator em lotes).
+     */
+    public IntStream stream(boolean paralelo) {
+        return StreamSupport.intStream(spliterator(), paralelo);
+    }
+
+    /**
+     * Iterador primitivo que segue os ponteiros 'proximo'.
+     */
+    private static class IteradorDeNos implements PrimitiveIterator.OfInt {
+        private No atual;
+
+        IteradorDeNos(No inicio) {
+            this.atual = inicio;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return atual != null;
+        }
+
+        @Override
+        public int nextInt() {
+            if (atual == null) {
+                throw new NoSuchElementException();
+            }
+            int dado = atual.dado;
+            atual = atual.proximo;
+            return dado;
+        }
+    }
+
+    /**
+     * Spliterator sobre uma cadeia de nós com tamanho conhecido. Divide-se copiando lotes crescentes para arrays.
+     */
+    private static class SpliteradorDeNos implements Spliterator.OfInt {
+        private static final int UNIDADE_DO_LOTE = 1 << 10; // Tamanho do primeiro lote
+        private static final int LOTE_MAXIMO = 1 << 25;     // Limite para não criar arrays gigantes
+
+        private No atual;
+        private long restante; // Quantos nós ainda faltam a partir de 'atual'
+        private int lote;      // Tamanho do último lote entregue em trySplit
+
+        SpliteradorDeNos(No inicio, long tamanho) {
+            this.atual = inicio;
+            this.restante = tamanho;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer acao) {
+            if (atual == null) {
+                return false;
+            }
+            int dado = atual.dado;
+            atual = atual.proximo;
+            restante--;
+            acao.accept(dado);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer acao) {
+            No no = atual;
+            atual = null;
+            restante = 0;
+            while (no != null) {
+                acao.accept(no.dado);
+                no = no.proximo;
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (atual == null || restante <= 1) {
+                return null;
+            }
+            int n = (int) Math.min(Math.min(lote + UNIDADE_DO_LOTE, LOTE_MAXIMO), restante);
+            int[] copia = new int[n];
+            for (int i = 0; i < n; i++) {
+                copia[i] = atual.dado;
+                atual = atual.proximo;
+            }
+            lote = n;
+            restante -= n;
+            // O prefixo vira um spliterator de array, que se divide ao meio em O(1)
+            return Spliterators.spliterator(copia, 0, n, characteristics());
+        }
+
+        @Override
+        public long estimateSize() {
+            return restante;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
     /**
      * Exibe todos os elementos da lista em ordem, começando da cabeça.
      */
@@ -293,6 +646,12 @@ public class ListaSimplesmenteEncadeada {
         lista.exibirLista(); // Esperado: Lista: Cabeça -> 1 -> 10 -> 20 -> 30 -> null (Fim)
         System.out.println("Tamanho da lista: " + lista.getTamanho()); // Esperado: 4
 
+        // Testa a remoção por valor no meio da lista.
+        System.out.println("\n--- Removendo o valor 20 ---");
+        System.out.println("Removido? " + lista.removerValor(20)); // Esperado: true
+        System.out.println("Contém 20? " + lista.contem(20)); // Esperado: false
+        lista.exibirLista(); // Esperado: Lista: Cabeça -> 1 -> 10 -> 30 -> null (Fim)
+
         // Testa remover até a lista ficar vazia
         System.out.println("\n--- Removendo tudo ---");
         while (!lista.estaVazia()) {
@@ -300,5 +659,42 @@ public class ListaSimplesmenteEncadeada {
         }
         lista.exibirLista(); // Esperado: Lista vazia.
         System.out.println("Tamanho da lista: " + lista.getTamanho()); // Esperado: 0
+
+        // Testa as ordenações que apenas religam os nós.
+        System.out.println("\n--- Ordenando a lista (Merge Sort de nós) ---");
+        int[] valores = {42, -7, 19, 3, 3, 100, 0, -50, 8};
+        for (int valor : valores) {
+            lista.adicionarNoFinal(valor);
+        }
+        lista.exibirLista();
+        lista.ordenar();
+        lista.exibirLista(); // Esperado: -50 -> -7 -> 0 -> 3 -> 3 -> 8 -> 19 -> 42 -> 100
+
+        System.out.println("\n--- Ordenando a lista (Radix Sort de nós) ---");
+        ListaSimplesmenteEncadeada outra = new ListaSimplesmenteEncadeada();
+        for (int valor : new int[]{70000, -1, 256, 5, Integer.MIN_VALUE, 255}) {
+            outra.adicionarNoFinal(valor);
+        }
+        outra.ordenarRadix();
+        outra.exibirLista(); // Esperado: -2147483648 -> -1 -> 5 -> 255 -> 256 -> 70000
+
+        System.out.println("\n--- Mesclando duas listas ordenadas ---");
+        lista.mesclar(outra);
+        lista.exibirLista();
+        System.out.println("Tamanho da lista: " + lista.getTamanho() + ", tamanho da outra: " + outra.getTamanho()); // Esperado: 15, 0
+
+        // Testa as operações em lote e o uso com IntStream.
+        System.out.println("\n--- Operações em lote e streams ---");
+        ListaSimplesmenteEncadeada grande = new ListaSimplesmenteEncadeada();
+        int[] muitos = new int[1_000_000];
+        for (int i = 0; i < muitos.length; i++) {
+            muitos[i] = i;
+        }
+        grande.adicionarTodos(muitos);
+        System.out.println("Tamanho: " + grande.getTamanho()); // Esperado: 1000000
+        System.out.println("Soma (sequencial): " + grande.stream(false).asLongStream().sum()); // Esperado: 499999500000
+        System.out.println("Soma (paralela): " + grande.stream(true).asLongStream().sum());    // Esperado: 499999500000
+        System.out.println("Primeiros 5 via toArray: " + java.util.Arrays.toString(
+                java.util.Arrays.copyOf(grande.toArray(), 5))); // Esperado: [0, 1, 2, 3, 4]
     }
 }
\ No newline at end of file
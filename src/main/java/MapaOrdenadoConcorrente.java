@@ -0,0 +1,561 @@
+/*
+Mapa Ordenado Concorrente (Concurrent B+ Tree with Optimistic Lock Coupling)
+O que é? É um mapa ordenado int -> long em forma de árvore B+ (como a ArvoreBMais) que várias threads podem ler e
+alterar ao mesmo tempo. Cada nó tem um contador de versão em vez de um bloqueio de leitura. O leitor anota a versão
+do nó, lê o que precisa e confere se a versão continua a mesma; se um escritor mudou o nó no meio do caminho, o
+leitor simplesmente recomeça. Um escritor trava só o nó que vai alterar (e o pai, quando o nó se divide) com um
+compare-and-set na própria versão, e ao destravar incrementa a versão. Nós cheios são divididos já na descida
+("divisão antecipada"), então uma inserção nunca precisa subir a árvore com bloqueios.
+
+Para que serve? Para índices ordenados em memória muito disputados, como ids de pedidos consultados por várias threads,
+onde um TreeMap com um bloqueio global vira gargalo. Leituras não escrevem em memória compartilhada (nem mesmo um
+contador de leitores), então não disputam linhas de cache entre os núcleos e escalam com o número de núcleos.
+
+Vantagens:
+obter e contem nunca bloqueiam nem escrevem em memória compartilhada.
+Escritores em folhas diferentes não se atrapalham; a trava é só de um nó.
+Chaves e valores primitivos em arrays: sem boxing, ao contrário de ConcurrentSkipListMap<Integer, Long>.
+obter, colocar e remover são linearizáveis; a varredura por intervalo é fracamente consistente (vê cada chave no máximo
+uma vez, em ordem, mas pode ou não ver alterações feitas durante a varredura).
+
+Desvantagens:
+Sob disputa intensa na mesma folha, leitores e escritores podem recomeçar várias vezes.
+Remoções não fundem nós (como na maioria das árvores com acoplamento otimista); folhas podem ficar vazias até receberem
+novas chaves. Com muitas remoções a árvore ocupa mais memória do que precisaria.
+Depende de regras sutis do modelo de memória do Java (leituras com corrida validadas depois, como no StampedLock).
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MapaOrdenadoConcorrente {
+
+    /**
+     * Recebe as entradas de uma varredura por intervalo.
+     */
+    @FunctionalInterface
+    public interface ConsumidorDeEntrada {
+        void aceitar(int chave, long valor);
+    }
+
+    private static final long TRAVADO = 0b10;   // Bit de trava dentro da versão
+    private static final long REINICIAR = -1;   // Versão impossível: sinaliza "recomece a operação"
+
+    /**
+     * Nó genérico. A versão é par e cresce de 4 em 4: travar soma 2 e destravar soma mais 2.
+     */
+    private abstract static class No {
+        long versao; // Acessada só pelo VarHandle VERSAO
+        // Lida sem trava pelos leitores. Um escritor nunca a deixa fora de [0, ordem], então mesmo um valor
+        // desatualizado é um limite seguro para os arrays (a validação da versão depois descarta a leitura).
+        int quantidade;
+        final int[] chaves;
+
+        No(int ordem) {
+            this.chaves = new int[ordem];
+        }
+    }
+
+    private static final class Folha extends No {
+        final long[] valores;
+        Folha proxima; // Folha vizinha à direita, usada pela varredura por intervalo
+
+        Folha(int ordem) {
+            super(ordem);
+            this.valores = new long[ordem];
+        }
+    }
+
+    private static final class Interno extends No {
+        final No[] filhos; // filhos[i] contém as chaves em [chaves[i - 1], chaves[i])
+
+        Interno(int ordem) {
+            super(ordem);
+            this.filhos = new No[ordem + 1];
+        }
+    }
+
+    private static final VarHandle VERSAO;
+
+    static {
+        try {
+            VERSAO = MethodHandles.lookup().findVarHandle(No.class, "versao", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int ordem;
+    private volatile No raiz;
+    private final LongAdder tamanho = new LongAdder();
+
+    public MapaOrdenadoConcorrente() {
+        this(64);
+    }
+
+    /**
+     * @param ordem Máximo de chaves por nó (pelo menos 4).
+     */
+    public MapaOrdenadoConcorrente(int ordem) {
+        if (ordem < 4) {
+            throw new IllegalArgumentException("A ordem deve ser pelo menos 4.");
+        }
+        this.ordem = ordem;
+        this.raiz = new Folha(ordem);
+    }
+
+    /**
+     * Lê a versão para uma leitura otimista, ou REINICIAR se o nó estiver travado por um escritor.
+     */
+    private static long lerVersao(No no) {
+        long v = (long) VERSAO.getAcquire(no);
+        return (v & TRAVADO) != 0 ? REINICIAR : v;
+    }
+
+    /**
+     * Confere se ninguém alterou o nó desde que a versão v foi lida. A barreira impede que as leituras dos dados sejam
+     * reordenadas para depois desta verificação (o mesmo padrão do StampedLock.validate).
+     */
+    private static boolean validar(No no, long v) {
+        VarHandle.acquireFence();
+        return (long) VERSAO.getVolatile(no) == v;
+    }
+
+    /**
+     * Transforma uma leitura otimista em trava de escrita, desde que o nó ainda esteja na versão v.
+     */
+    private static boolean travar(No no, long v) {
+        return VERSAO.compareAndSet(no, v, v + TRAVADO);
+    }
+
+    private static void destravar(No no) {
+        VERSAO.setRelease(no, (long) VERSAO.get(no) + TRAVADO);
+    }
+
+    private static int primeiraMaiorOuIgual(No no, int quantidade, int chave) {
+        int baixo = 0;
+        int alto = quantidade;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (no.chaves[meio] < chave) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private static int indiceDoFilho(Interno no, int quantidade, int chave) {
+        int baixo = 0;
+        int alto = quantidade;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (no.chaves[meio] <= chave) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Retorna o valor da chave, ou 'valorPadrao' se ela não existir. Não trava nada.
+     */
+    public long obter(int chave, long valorPadrao) {
+        return buscar(chave, valorPadrao, false);
+    }
+
+    public boolean contem(int chave) {
+        return buscar(chave, 0, true) == 1;
+    }
+
+    /**
+     * Busca otimista: desce anotando versões e recomeça se algum nó mudou durante a leitura.
+     * @return O valor (ou 'valorPadrao'), ou 1/0 para existe/não existe se 'soExistencia' for true.
+     */
+    private long buscar(int chave, long valorPadrao, boolean soExistencia) {
+        while (true) {
+            No no = raiz;
+            long v = lerVersao(no);
+            if (v == REINICIAR || no != raiz) { // A raiz pode ter sido substituída entre as duas leituras
+                Thread.onSpinWait();
+                continue;
+            }
+            No pai = null;
+            long vPai = 0;
+            boolean reiniciar = false;
+            while (no instanceof Interno) {
+                Interno interno = (Interno) no;
+                if (pai != null && !validar(pai, vPai)) {
+                    reiniciar = true;
+                    break;
+                }
+                pai = interno;
+                vPai = v;
+                no = interno.filhos[indiceDoFilho(interno, interno.quantidade, chave)];
+                // O ponteiro só é seguido depois de confirmar que o nó não mudou enquanto era lido
+                if (!validar(interno, v) || (v = lerVersao(no)) == REINICIAR) {
+                    reiniciar = true;
+                    break;
+                }
+            }
+            if (reiniciar) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int q = no.quantidade;
+            int i = primeiraMaiorOuIgual(no, q, chave);
+            boolean existe = i < q && no.chaves[i] == chave;
+            long valor = existe ? ((Folha) no).valores[i] : valorPadrao;
+            if ((pai == null || validar(pai, vPai)) && validar(no, v)) {
+                return soExistencia ? (existe ? 1 : 0) : valor;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Insere a chave com o valor, ou atualiza o valor se ela já existir.
+     * @return true se a chave era nova.
+     */
+    public boolean colocar(int chave, long valor) {
+        while (true) {
+            No no = raiz;
+            long v = lerVersao(no);
+            if (v == REINICIAR || no != raiz) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Interno pai = null;
+            long vPai = 0;
+            boolean reiniciar = false;
+            while (no instanceof Interno) {
+                Interno interno = (Interno) no;
+                if (interno.quantidade == ordem) {
+                    // Divisão antecipada: o pai não está cheio (senão teria sido dividido antes), então cabe a separadora
+                    dividir(interno, v, pai, vPai);
+                    reiniciar = true;
+                    break;
+                }
+                if (pai != null && !validar(pai, vPai)) {
+                    reiniciar = true;
+                    break;
+                }
+                pai = interno;
+                vPai = v;
+                no = interno.filhos[indiceDoFilho(interno, interno.quantidade, chave)];
+                if (!validar(interno, v) || (v = lerVersao(no)) == REINICIAR) {
+                    reiniciar = true;
+                    break;
+                }
+            }
+            if (reiniciar) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Folha folha = (Folha) no;
+            if (folha.quantidade == ordem) {
+                dividir(folha, v, pai, vPai);
+                Thread.onSpinWait();
+                continue;
+            }
+            if (!travar(folha, v)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (pai != null && !validar(pai, vPai)) {
+                destravar(folha);
+                continue;
+            }
+            // Com a folha travada, nenhuma outra thread a altera: daqui em diante é código sequencial comum
+            int q = folha.quantidade;
+            int i = primeiraMaiorOuIgual(folha, q, chave);
+            boolean nova = !(i < q && folha.chaves[i] == chave);
+            if (nova) {
+                System.arraycopy(folha.chaves, i, folha.chaves, i + 1, q - i);
+                System.arraycopy(folha.valores, i, folha.valores, i + 1, q - i);
+                folha.chaves[i] = chave;
+                folha.quantidade = q + 1;
+            }
+            folha.valores[i] = valor;
+            destravar(folha);
+            if (nova) {
+                tamanho.increment();
+            }
+            return nova;
+        }
+    }
+
+    /**
+     * Trava o pai (se houver) e o nó cheio, divide o nó ao meio e coloca a separadora no pai (ou cria uma nova raiz).
+     * Se alguma versão mudou, não faz nada: quem chamou recomeça de qualquer forma.
+     */
+    private void dividir(No no, long v, Interno pai, long vPai) {
+        if (pai != null && !travar(pai, vPai)) {
+            return;
+        }
+        if (!travar(no, v)) {
+            if (pai != null) {
+                destravar(pai);
+            }
+            return;
+        }
+        if (pai == null && no != raiz) {
+            destravar(no); // Outra thread acabou de criar uma nova raiz acima deste nó
+            return;
+        }
+        int separadora;
+        No novo;
+        int q = no.quantidade;
+        if (no instanceof Folha) {
+            Folha folha = (Folha) no;
+            Folha nova = new Folha(ordem);
+            int ficam = q / 2;
+            nova.quantidade = q - ficam;
+            System.arraycopy(folha.chaves, ficam, nova.chaves, 0, nova.quantidade);
+            System.arraycopy(folha.valores, ficam, nova.valores, 0, nova.quantidade);
+            nova.proxima = folha.proxima;
+            folha.proxima = nova;
+            folha.quantidade = ficam;
+            separadora = nova.chaves[0];
+            novo = nova;
+        } else {
+            Interno interno = (Interno) no;
+            Interno irmao = new Interno(ordem);
+            int meio = q / 2;
+            irmao.quantidade = q - meio - 1;
+            System.arraycopy(interno.chaves, meio + 1, irmao.chaves, 0, irmao.quantidade);
+            System.arraycopy(interno.filhos, meio + 1, irmao.filhos, 0, irmao.quantidade + 1);
+            separadora = interno.chaves[meio];
+            interno.quantidade = meio;
+            novo = irmao;
+        }
+        if (pai == null) {
+            Interno novaRaiz = new Interno(ordem);
+            novaRaiz.filhos[0] = no;
+            novaRaiz.filhos[1] = novo;
+            novaRaiz.chaves[0] = separadora;
+            novaRaiz.quantidade = 1;
+            raiz = novaRaiz; // Escrita volatile: publica a nova raiz já completa
+        } else {
+            int qPai = pai.quantidade;
+            int i = indiceDoFilho(pai, qPai, separadora);
+            System.arraycopy(pai.chaves, i, pai.chaves, i + 1, qPai - i);
+            System.arraycopy(pai.filhos, i + 1, pai.filhos, i + 2, qPai - i);
+            pai.chaves[i] = separadora;
+            pai.filhos[i + 1] = novo;
+            pai.quantidade = qPai + 1;
+        }
+        // O nó novo só fica visível depois destas liberações, então quem o alcança vê seu conteúdo completo
+        destravar(no);
+        if (pai != null) {
+            destravar(pai);
+        }
+    }
+
+    /**
+     * Remove a chave. Os nós não são fundidos: uma folha pode ficar vazia e continua na árvore.
+     * @return true se a chave existia.
+     */
+    public boolean remover(int chave) {
+        while (true) {
+            No no = raiz;
+            long v = lerVersao(no);
+            if (v == REINICIAR || no != raiz) {
+                Thread.onSpinWait();
+                continue;
+            }
+            No pai = null;
+            long vPai = 0;
+            boolean reiniciar = false;
+            while (no instanceof Interno) {
+                Interno interno = (Interno) no;
+                if (pai != null && !validar(pai, vPai)) {
+                    reiniciar = true;
+                    break;
+                }
+                pai = interno;
+                vPai = v;
+                no = interno.filhos[indiceDoFilho(interno, interno.quantidade, chave)];
+                if (!validar(interno, v) || (v = lerVersao(no)) == REINICIAR) {
+                    reiniciar = true;
+                    break;
+                }
+            }
+            if (reiniciar || !travar(no, v)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (pai != null && !validar(pai, vPai)) {
+                destravar(no);
+                continue;
+            }
+            Folha folha = (Folha) no;
+            int q = folha.quantidade;
+            int i = primeiraMaiorOuIgual(folha, q, chave);
+            boolean existe = i < q && folha.chaves[i] == chave;
+            if (existe) {
+                System.arraycopy(folha.chaves, i + 1, folha.chaves, i, q - i - 1);
+                System.arraycopy(folha.valores, i + 1, folha.valores, i, q - i - 1);
+                folha.quantidade = q - 1;
+            }
+            destravar(folha);
+            if (existe) {
+                tamanho.decrement();
+            }
+            return existe;
+        }
+    }
+
+    /**
+     * Desce até a folha que cobria a chave no momento da leitura. Como as chaves só se movem para a direita
+     * (divisões), seguir 'proxima' a partir dela encontra todas as chaves maiores.
+     */
+    private Folha folhaDe(int chave) {
+        while (true) {
+            No no = raiz;
+            long v = lerVersao(no);
+            boolean reiniciar = v == REINICIAR || no != raiz;
+            while (!reiniciar && no instanceof Interno) {
+                Interno interno = (Interno) no;
+                no = interno.filhos[indiceDoFilho(interno, interno.quantidade, chave)];
+                reiniciar = !validar(interno, v) || (v = lerVersao(no)) == REINICIAR;
+            }
+            if (!reiniciar) {
+                return (Folha) no;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Varredura fracamente consistente das chaves em [inicio, fim], em ordem crescente. Cada folha é copiada de forma
+     * otimista e validada antes de as entradas serem entregues, então 'acao' nunca vê um estado pela metade e pode
+     * demorar o quanto quiser sem atrasar os escritores.
+     */
+    public void paraCadaNoIntervalo(int inicio, int fim, ConsumidorDeEntrada acao) {
+        int[] chaves = new int[ordem];
+        long[] valores = new long[ordem];
+        long limite = inicio; // Menor chave ainda não entregue (long para poder passar de Integer.MAX_VALUE)
+        Folha folha = folhaDe(inicio);
+        while (folha != null) {
+            long v = lerVersao(folha);
+            if (v == REINICIAR) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int q = folha.quantidade;
+            int copiadas = 0;
+            for (int i = 0; i < q; i++) {
+                int chave = folha.chaves[i];
+                if (chave >= limite && chave <= fim) {
+                    chaves[copiadas] = chave;
+                    valores[copiadas] = folha.valores[i];
+                    copiadas++;
+                }
+            }
+            boolean passouDoFim = q > 0 && folha.chaves[q - 1] >= fim;
+            Folha proxima = folha.proxima;
+            if (!validar(folha, v)) {
+                continue; // A folha mudou durante a cópia: copia de novo (chaves que saíram estão à direita)
+            }
+            for (int i = 0; i < copiadas; i++) {
+                acao.aceitar(chaves[i], valores[i]);
+            }
+            if (copiadas > 0) {
+                limite = chaves[copiadas - 1] + 1L;
+            }
+            folha = passouDoFim ? null : proxima;
+        }
+    }
+
+    /**
+     * Número de chaves. Com escritores ativos, é um valor aproximado do instante da chamada.
+     */
+    public long getTamanho() {
+        return tamanho.sum();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        MapaOrdenadoConcorrente mapa = new MapaOrdenadoConcorrente(4);
+        for (int chave : new int[]{50, 20, 80, 10, 30, 60, 90, 40, 70}) {
+            mapa.colocar(chave, chave * 10L);
+        }
+        System.out.println("Valor de 30: " + mapa.obter(30, -1)); // Esperado: 300
+        System.out.println("Remover 30: " + mapa.remover(30));    // Esperado: true
+        System.out.println("Contém 30? " + mapa.contem(30));      // Esperado: false
+        System.out.print("Chaves entre 15 e 75: ");
+        mapa.paraCadaNoIntervalo(15, 75, (chave, valor) -> System.out.print(chave + " "));
+        System.out.println(); // Esperado: 20 40 50 60 70
+
+        // Várias threads inserindo faixas disjuntas ao mesmo tempo: nenhuma inserção pode se perder
+        MapaOrdenadoConcorrente compartilhado = new MapaOrdenadoConcorrente();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int base = t * 250_000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 250_000; i++) {
+                    compartilhado.colocar(base + i, i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long[] contagem = new long[1];
+        compartilhado.paraCadaNoIntervalo(Integer.MIN_VALUE, Integer.MAX_VALUE, (chave, valor) -> contagem[0]++);
+        System.out.println("Tamanho: " + compartilhado.getTamanho() + ", varridas: " + contagem[0]); // Esperado: 1000000, 1000000
+
+        int numeroDeThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        System.out.println("\n--- 90% leituras / 10% escritas, " + numeroDeThreads + " threads, 1.000.000 chaves ---");
+        ConcurrentSkipListMap<Integer, Long> skipList = new ConcurrentSkipListMap<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            skipList.put(i, (long) i);
+        }
+        for (int rodada = 0; rodada < 3; rodada++) { // A primeira rodada aquece o compilador JIT
+            long tempoArvore = medir(numeroDeThreads, () -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                for (int i = 0; i < 1_000_000; i++) {
+                    int chave = aleatorio.nextInt(2_000_000);
+                    if (aleatorio.nextInt(10) == 0) {
+                        compartilhado.colocar(chave, i);
+                    } else {
+                        compartilhado.obter(chave, -1);
+                    }
+                }
+            });
+            long tempoSkipList = medir(numeroDeThreads, () -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                for (int i = 0; i < 1_000_000; i++) {
+                    int chave = aleatorio.nextInt(2_000_000);
+                    if (aleatorio.nextInt(10) == 0) {
+                        skipList.put(chave, (long) i);
+                    } else {
+                        skipList.get(chave);
+                    }
+                }
+            });
+            System.out.printf("MapaOrdenadoConcorrente: %d ms, ConcurrentSkipListMap: %d ms%n",
+                    tempoArvore / 1_000_000, tempoSkipList / 1_000_000);
+        }
+    }
+
+    private static long medir(int numeroDeThreads, Runnable tarefa) throws InterruptedException {
+        Thread[] threads = new Thread[numeroDeThreads];
+        long inicio = System.nanoTime();
+        for (int t = 0; t < numeroDeThreads; t++) {
+            threads[t] = new Thread(tarefa);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - inicio;
+    }
+}
@@ -20,6 +20,8 @@ Para listas pequenas, pode ser mais lento que algoritmos mais simples como o Ins
 recursão e da mesclagem.
  */
 
+import java.util.function.IntBinaryOperator;
+
 public class MergeSort {
 
     // Método principal que inicia a ordenação Merge Sort
@@ -104,6 +106,48 @@ public class MergeSort {
         }
     }
 
+    // Merge Sort estável com um comparador: ordena 'array' (por exemplo, índices das linhas de uma tabela) na ordem
+    // definida pelo comparador, e não pelos próprios valores. Usa um único array auxiliar para todas as mesclagens.
+    public static void mergeSort(int[] array, IntBinaryOperator comparador) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+        int[] auxiliar = new int[array.length];
+        sort(array, auxiliar, 0, array.length - 1, comparador);
+    }
+
+    private static void sort(int[] array, int[] auxiliar, int esquerda, int direita, IntBinaryOperator comparador) {
+        if (esquerda < direita) {
+            int meio = esquerda + (direita - esquerda) / 2;
+            sort(array, auxiliar, esquerda, meio, comparador);
+            sort(array, auxiliar, meio + 1, direita, comparador);
+            // Se o último da esquerda não é maior que o primeiro da direita, as metades já estão em ordem
+            if (comparador.applyAsInt(array[meio], array[meio + 1]) > 0) {
+                merge(array, auxiliar, esquerda, meio, direita, comparador);
+            }
+        }
+    }
+
+    private static void merge(int[] array, int[] auxiliar, int esquerda, int meio, int direita,
+                              IntBinaryOperator comparador) {
+        System.arraycopy(array, esquerda, auxiliar, esquerda, direita - esquerda + 1);
+        int i = esquerda;
+        int j = meio + 1;
+        int k = esquerda;
+        while (i <= meio && j <= direita) {
+            // Com '<=' o elemento da esquerda vence os empates: é isso que mantém a ordenação estável
+            if (comparador.applyAsInt(auxiliar[i], auxiliar[j]) <= 0) {
+                array[k++] = auxiliar[i++];
+            } else {
+                array[k++] = auxiliar[j++];
+            }
+        }
+        while (i <= meio) {
+            array[k++] = auxiliar[i++];
+        }
+        // Os restantes da direita já estão no lugar certo
+    }
+
     public static void main(String[] args) {
         int[] dados = {38, 27, 43, 3, 9, 82, 10, 1};
         System.out.println("Array antes da ordenação (Merge Sort):");
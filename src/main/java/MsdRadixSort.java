@@ -0,0 +1,141 @@
+/*
+13. MSD Radix Sort (para Strings)
+O que é? É o Radix Sort lido da esquerda para a direita (Most Significant Digit first): as strings são distribuídas
+em baldes pelo primeiro caractere, com um Counting Sort, e cada balde é ordenado recursivamente pelo caractere
+seguinte. Strings que terminam antes do caractere da vez vão para um balde próprio, que vem antes de todos os outros
+e não precisa de mais nada (as strings dele são iguais). O RadixSort deste projeto é LSD e só serve para inteiros;
+aqui a versão MSD é que faz sentido, porque as strings têm tamanhos diferentes e a ordem depende primeiro do começo.
+Três detalhes deixam a versão prática:
+Corte para inserção: baldes pequenos (a maioria, nas últimas posições) são ordenados por inserção a partir do
+caractere da vez, sem array de contagem.
+Alfabeto adaptativo: o array de contagem só cobre do menor ao maior caractere presente no subarray (os 60 e poucos
+caracteres de uma URL, por exemplo), e não os 65.536 valores possíveis de um char. Se a faixa for larga demais, o
+subarray é entregue ao MultikeyQuickSort.
+Salto de prefixo: se todas as strings do subarray caem no mesmo balde, o prefixo comum inteiro é medido de uma vez,
+lendo cada string em sequência, em vez de uma passada de distribuição por caractere.
+
+Para que serve? Para ordenar muitas strings com prefixos em comum (URLs, caminhos, chaves de banco) lendo cada
+caractere de cada string praticamente uma vez, em vez de uma vez por comparação como em Arrays.sort(String[]).
+
+Vantagens:
+Não compara strings inteiras: o trabalho é proporcional aos caracteres que distinguem as strings.
+O caractere da vez de cada string é lido uma única vez por nível e guardado em um array de int.
+Ótimo com alfabetos pequenos e prefixos longos.
+
+Desvantagens:
+Precisa de um array auxiliar do tamanho da entrada, mais um array de caracteres, e de um array de contagem por
+subarray grande.
+Muitos baldes pequenos com alfabetos largos custariam caro; por isso o corte para inserção e o recurso ao
+MultikeyQuickSort.
+ */
+
+import java.util.Arrays;
+
+public class MsdRadixSort {
+
+    // Subarrays menores que isto são ordenados por inserção a partir do caractere da vez
+    static final int LIMITE_INSERCAO = 32;
+    // Maior faixa de caracteres (maior - menor + 1) para a qual ainda vale montar um array de contagem
+    static final int ALFABETO_MAXIMO = 256;
+
+    public static void msdRadixSort(String[] array) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+        String[] auxiliar = new String[array.length];
+        int[] caracteres = new int[array.length]; // Caractere da vez de cada string, lido uma só vez por nível
+        sort(array, auxiliar, caracteres, 0, array.length - 1, 0);
+    }
+
+    // Ordena array[inicio..fim], cujas strings já são iguais nos primeiros 'd' caracteres
+    private static void sort(String[] array, String[] auxiliar, int[] caracteres, int inicio, int fim, int d) {
+        if (fim - inicio < LIMITE_INSERCAO) {
+            MultikeyQuickSort.insertionSort(array, inicio, fim, d);
+            return;
+        }
+        int menor;
+        int maior;
+        while (true) {
+            menor = Integer.MAX_VALUE;
+            maior = -1;
+            boolean algumaTerminou = false;
+            for (int i = inicio; i <= fim; i++) {
+                int c = MultikeyQuickSort.caractere(array[i], d);
+                caracteres[i] = c;
+                if (c >= 0) {
+                    menor = Math.min(menor, c);
+                    maior = Math.max(maior, c);
+                } else {
+                    algumaTerminou = true;
+                }
+            }
+            if (maior < 0) {
+                return; // Todas terminaram: são todas iguais
+            }
+            if (menor < maior || algumaTerminou) {
+                break;
+            }
+            // Um balde só: pula o prefixo comum inteiro de uma vez em vez de distribuir caractere por caractere
+            d = MultikeyQuickSort.prefixoComum(array, inicio, fim, d + 1);
+        }
+        if (maior - menor >= ALFABETO_MAXIMO) {
+            MultikeyQuickSort.multikeyQuickSort(array, inicio, fim, d);
+            return;
+        }
+
+        // Balde 0: strings que terminaram; balde c - menor + 1: caractere c
+        int baldes = maior - menor + 2;
+        int[] contagem = new int[baldes + 1];
+        for (int i = inicio; i <= fim; i++) {
+            contagem[balde(caracteres[i], menor) + 1]++;
+        }
+        for (int b = 0; b < baldes; b++) {
+            contagem[b + 1] += contagem[b]; // contagem[b] passa a ser o início do balde b
+        }
+        for (int i = inicio; i <= fim; i++) {
+            auxiliar[contagem[balde(caracteres[i], menor)]++] = array[i];
+        }
+        System.arraycopy(auxiliar, 0, array, inicio, fim - inicio + 1);
+
+        // Agora contagem[b] é o fim do balde b (o início do b + 1); o balde 0 já está pronto
+        for (int b = 1; b < baldes; b++) {
+            if (contagem[b] - contagem[b - 1] > 1) {
+                sort(array, auxiliar, caracteres, inicio + contagem[b - 1], inicio + contagem[b] - 1, d + 1);
+            }
+        }
+    }
+
+    private static int balde(int c, int menor) {
+        return c < 0 ? 0 : c - menor + 1;
+    }
+
+    public static void main(String[] args) {
+        String[] palavras = {"casa", "carro", "ca", "cachorro", "bola", "casa", "abacaxi", "cão", "carroça", "b"};
+        System.out.println("Array antes da ordenação (MSD Radix Sort): " + Arrays.toString(palavras));
+        msdRadixSort(palavras);
+        // Esperado: [abacaxi, b, bola, ca, cachorro, carro, carroça, casa, casa, cão]
+        System.out.println("Array depois da ordenação (MSD Radix Sort): " + Arrays.toString(palavras));
+
+        System.out.println("\n--- 1.000.000 de URLs com prefixos longos em comum ---");
+        String[] categorias = {"eletronicos", "eletrodomesticos", "informatica", "livros", "brinquedos", "moveis"};
+        java.util.Random aleatorio = new java.util.Random(1);
+        String[] urls = new String[1_000_000];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "https://loja.exemplo.com.br/produtos/" + categorias[aleatorio.nextInt(categorias.length)]
+                    + "/item-" + String.valueOf(10_000_000 + aleatorio.nextInt(5_000_000)).substring(1);
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            String[] copia = urls.clone();
+            long inicio = System.nanoTime();
+            msdRadixSort(copia);
+            long tempoMsd = System.nanoTime() - inicio;
+            String[] referencia = urls.clone();
+            inicio = System.nanoTime();
+            Arrays.sort(referencia);
+            long tempoArraysSort = System.nanoTime() - inicio;
+            System.out.printf("MSD Radix Sort: %d ms, Arrays.sort: %d ms (mesmo resultado? %b)%n",
+                    tempoMsd / 1_000_000, tempoArraysSort / 1_000_000, Arrays.equals(copia, referencia));
+            // Esperado: true
+        }
+    }
+}
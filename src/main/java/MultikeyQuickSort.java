@@ -0,0 +1,174 @@
+/*
+12. Multikey Quick Sort
+O que é? O Multikey Quick Sort (Quick Sort de três vias por radical, de Bentley e Sedgewick) é o Quick Sort adaptado
+para strings. Em vez de comparar strings inteiras com o pivô, ele compara um único caractere, o da posição 'd', e
+particiona em três grupos: caractere menor, igual e maior que o do pivô. Os grupos menor e maior continuam na mesma
+posição 'd'; o grupo igual já sabe que as strings coincidem até 'd' e passa para o caractere d + 1. Assim um prefixo
+comum nunca é comparado de novo.
+
+Para que serve? Para ordenar grandes volumes de strings com prefixos longos em comum (URLs, caminhos de arquivos,
+identificadores com o mesmo formato), onde Arrays.sort(String[]) gasta a maior parte do tempo comparando de novo os
+mesmos prefixos a cada comparação.
+
+Vantagens:
+Cada caractere de prefixo comum é examinado praticamente uma vez por string, e não uma vez por comparação.
+In-place, como o Quick Sort: só a pilha de recursão como memória extra.
+Funciona com qualquer alfabeto (char de 16 bits) sem arrays de contagem.
+Partição de três vias: muitas strings iguais não degradam o desempenho.
+Quando todas as strings de um subarray têm o mesmo caractere, o prefixo comum inteiro é pulado de uma vez.
+
+Desvantagens:
+Não é estável.
+Como o Quick Sort, tem pior caso ruim; a mediana de três reduz o risco em entradas já ordenadas.
+A recursão no grupo "igual" vai um nível mais fundo por caractere: strings enormes e iguais geram recursões profundas.
+ */
+
+import java.util.Arrays;
+
+public class MultikeyQuickSort {
+
+    // Subarrays menores que isto são ordenados por inserção, comparando a partir do caractere 'd'
+    static final int LIMITE_INSERCAO = 16;
+
+    public static void multikeyQuickSort(String[] array) {
+        if (array == null || array.length < 2) {
+            return;
+        }
+        multikeyQuickSort(array, 0, array.length - 1, 0);
+    }
+
+    /**
+     * Ordena array[inicio..fim] sabendo que todas essas strings já são iguais nos primeiros 'profundidade' caracteres.
+     * Usado também pelo MsdRadixSort para subarrays com alfabeto largo demais para um array de contagem.
+     */
+    public static void multikeyQuickSort(String[] array, int inicio, int fim, int profundidade) {
+        if (fim - inicio < LIMITE_INSERCAO) {
+            insertionSort(array, inicio, fim, profundidade);
+            return;
+        }
+        // Diferente do QuickSort (último elemento), o pivô é a mediana de três: evita O(n²) em entradas já ordenadas
+        int pivo = medianaDeTres(caractere(array[inicio], profundidade),
+                caractere(array[(inicio + fim) >>> 1], profundidade), caractere(array[fim], profundidade));
+
+        // array[inicio..menores-1] < pivô, array[menores..i-1] == pivô, array[maiores+1..fim] > pivô
+        int menores = inicio;
+        int maiores = fim;
+        int i = inicio;
+        while (i <= maiores) {
+            int c = caractere(array[i], profundidade);
+            if (c < pivo) {
+                trocar(array, menores++, i++);
+            } else if (c > pivo) {
+                trocar(array, i, maiores--);
+            } else {
+                i++;
+            }
+        }
+
+        multikeyQuickSort(array, inicio, menores - 1, profundidade);
+        if (pivo >= 0) { // Se o pivô é o fim da string, o grupo igual tem strings idênticas: nada a ordenar
+            int proxima = profundidade + 1;
+            if (menores == inicio && maiores == fim) {
+                // Todas tinham o mesmo caractere: em vez de uma partição por caractere do prefixo comum, mede o
+                // prefixo inteiro de uma vez, lendo cada string em sequência
+                proxima = prefixoComum(array, inicio, fim, proxima);
+            }
+            multikeyQuickSort(array, menores, maiores, proxima);
+        }
+        multikeyQuickSort(array, maiores + 1, fim, profundidade);
+    }
+
+    /**
+     * Tamanho do maior prefixo comum de array[inicio..fim], sabendo que elas já são iguais antes de 'profundidade'.
+     */
+    static int prefixoComum(String[] array, int inicio, int fim, int profundidade) {
+        String primeira = array[inicio];
+        int comum = primeira.length();
+        for (int i = inicio + 1; i <= fim && comum > profundidade; i++) {
+            String s = array[i];
+            int limite = Math.min(comum, s.length());
+            int h = profundidade;
+            while (h < limite && s.charAt(h) == primeira.charAt(h)) {
+                h++;
+            }
+            comum = h;
+        }
+        return Math.max(comum, profundidade);
+    }
+
+    /**
+     * Insertion Sort em array[inicio..fim] comparando só a partir do caractere 'profundidade'.
+     */
+    public static void insertionSort(String[] array, int inicio, int fim, int profundidade) {
+        for (int i = inicio + 1; i <= fim; i++) {
+            String atual = array[i];
+            int j = i - 1;
+            while (j >= inicio && menor(atual, array[j], profundidade)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = atual;
+        }
+    }
+
+    // a < b, sabendo que as duas são iguais antes de 'profundidade'
+    private static boolean menor(String a, String b, int profundidade) {
+        int limite = Math.min(a.length(), b.length());
+        for (int i = profundidade; i < limite; i++) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(i);
+            if (ca != cb) {
+                return ca < cb;
+            }
+        }
+        return a.length() < b.length();
+    }
+
+    // Caractere da posição d, ou -1 depois do fim da string (o fim vem antes de qualquer caractere)
+    static int caractere(String s, int d) {
+        return d < s.length() ? s.charAt(d) : -1;
+    }
+
+    private static int medianaDeTres(int a, int b, int c) {
+        if (a < b) {
+            return b < c ? b : Math.max(a, c);
+        }
+        return a < c ? a : Math.max(b, c);
+    }
+
+    private static void trocar(String[] array, int i, int j) {
+        String temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    public static void main(String[] args) {
+        String[] nomes = {"Alice", "David", "Charlie", "Bob", "Eve", "Fiona", "George", "Al", "Alicia", "Bob"};
+        System.out.println("Array antes da ordenação (Multikey Quick Sort): " + Arrays.toString(nomes));
+        multikeyQuickSort(nomes);
+        // Esperado: [Al, Alice, Alicia, Bob, Bob, Charlie, David, Eve, Fiona, George]
+        System.out.println("Array depois da ordenação (Multikey Quick Sort): " + Arrays.toString(nomes));
+
+        System.out.println("\n--- 1.000.000 de URLs com prefixos longos em comum ---");
+        String[] categorias = {"eletronicos", "eletrodomesticos", "informatica", "livros", "brinquedos", "moveis"};
+        java.util.Random aleatorio = new java.util.Random(1);
+        String[] urls = new String[1_000_000];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "https://loja.exemplo.com.br/produtos/" + categorias[aleatorio.nextInt(categorias.length)]
+                    + "/item-" + String.valueOf(10_000_000 + aleatorio.nextInt(5_000_000)).substring(1);
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            String[] copia = urls.clone();
+            long inicio = System.nanoTime();
+            multikeyQuickSort(copia);
+            long tempoMultikey = System.nanoTime() - inicio;
+            String[] referencia = urls.clone();
+            inicio = System.nanoTime();
+            Arrays.sort(referencia);
+            long tempoArraysSort = System.nanoTime() - inicio;
+            System.out.printf("Multikey Quick Sort: %d ms, Arrays.sort: %d ms (mesmo resultado? %b)%n",
+                    tempoMultikey / 1_000_000, tempoArraysSort / 1_000_000, Arrays.equals(copia, referencia));
+            // Esperado: true
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+18. Ordenação Multi-Coluna (ORDER BY col1, col2, col3 em tabelas colunares)
+O que é? Ordena as linhas de uma tabela guardada por colunas (um int[] ou long[] por coluna, com a linha i na posição
+i de todos eles) por vários critérios, como o ORDER BY de um banco de dados: primeiro pela coluna 1, os empates pela
+coluna 2, e assim por diante, cada uma crescente ou decrescente. O resultado é uma permutação (a ordem das linhas),
+que pode ser aplicada depois a qualquer coluna da tabela, inclusive às que não fazem parte da ordenação.
+A ordenação é LSD, como o RadixSort, só que sobre colunas em vez de dígitos: ordena pela ÚLTIMA coluna, depois pela
+penúltima, até a primeira. Como cada passo é estável, os empates de uma coluna ficam na ordem deixada pelas colunas
+seguintes, que é exatamente a ordem lexicográfica. Cada coluna é ordenada com RadixSort.radixSortPorBytes (base 256),
+com a chave transformada para que a ordem sem sinal dos bits seja a ordem pedida: o bit de sinal é invertido para
+crescente, e todos os bits exceto o de sinal para decrescente. As passadas de bytes constantes são puladas, então uma
+coluna com valores pequenos custa 1 ou 2 passadas.
+Com poucas linhas, as passadas não compensam: o MergeSort estável ordena os índices com um comparador que percorre
+as colunas.
+
+Para que serve? Para ordenar tabelas em formato colunar (struct of arrays) sem montar um objeto por linha e um
+Comparator encadeado (thenComparing), que custam uma alocação por linha e várias chamadas indiretas por comparação.
+
+Vantagens:
+O(c * p * n), onde c é o número de colunas e p o número de bytes que variam em cada uma: linear em n.
+Estável: linhas com todas as chaves iguais mantêm a ordem original.
+Lê as colunas em sequência; não há objetos por linha.
+A mesma permutação reordena quantas colunas forem precisas.
+
+Desvantagens:
+Cada coluna da ordenação custa um array auxiliar de chaves (n ints ou longs) e dois arrays de índices.
+Com muitas colunas e poucos empates na primeira, uma ordenação por comparação pararia cedo na maioria das comparações,
+enquanto a LSD sempre passa por todas as colunas.
+Só ordena chaves numéricas de tamanho fixo (int e long); textos precisam de outra estratégia (veja MsdRadixSort).
+ */
+
+import java.util.Arrays;
+
+public class OrdenacaoMultiColuna {
+
+    // Até aqui, o MergeSort com comparador é mais rápido que as passadas de bytes (que têm custo fixo de 256 contadores)
+    private static final int LIMITE_POR_COMPARACAO = 1 << 11;
+
+    /**
+     * Um critério do ORDER BY: uma coluna e o sentido.
+     */
+    public static final class Criterio {
+        private final int[] inteiros; // Exatamente um dos dois não é null
+        private final long[] longos;
+        private final boolean crescente;
+
+        private Criterio(int[] inteiros, long[] longos, boolean crescente) {
+            this.inteiros = inteiros;
+            this.longos = longos;
+            this.crescente = crescente;
+        }
+
+        public static Criterio crescente(int[] coluna) {
+            return new Criterio(coluna, null, true);
+        }
+
+        public static Criterio decrescente(int[] coluna) {
+            return new Criterio(coluna, null, false);
+        }
+
+        public static Criterio crescente(long[] coluna) {
+            return new Criterio(null, coluna, true);
+        }
+
+        public static Criterio decrescente(long[] coluna) {
+            return new Criterio(null, coluna, false);
+        }
+
+        private int tamanho() {
+            return inteiros != null ? inteiros.length : longos.length;
+        }
+
+        private int comparar(int linha1, int linha2) {
+            int resultado = inteiros != null
+                    ? Integer.compare(inteiros[linha1], inteiros[linha2])
+                    : Long.compare(longos[linha1], longos[linha2]);
+            return crescente ? resultado : -resultado;
+        }
+
+        // Ordena 'ordem' de forma estável por esta coluna (chave lida na linha ordem[i])
+        private void ordenar(int[] ordem) {
+            int n = ordem.length;
+            if (inteiros != null) {
+                // Crescente: inverte o sinal (negativos antes). Decrescente: inverte os outros 31 bits também
+                int mascara = crescente ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+                int[] chaves = new int[n];
+                for (int i = 0; i < n; i++) {
+                    chaves[i] = inteiros[ordem[i]] ^ mascara;
+                }
+                RadixSort.radixSortPorBytes(chaves, ordem);
+            } else {
+                long mascara = crescente ? Long.MIN_VALUE : Long.MAX_VALUE;
+                long[] chaves = new long[n];
+                for (int i = 0; i < n; i++) {
+                    chaves[i] = longos[ordem[i]] ^ mascara;
+                }
+                RadixSort.radixSortPorBytes(chaves, ordem);
+            }
+        }
+    }
+
+    /**
+     * Devolve a ordem das linhas: permutacao[k] é a linha que fica na posição k. As colunas não são alteradas.
+     */
+    public static int[] permutacao(Criterio... criterios) {
+        if (criterios.length == 0) {
+            throw new IllegalArgumentException("É preciso pelo menos um critério.");
+        }
+        int n = criterios[0].tamanho();
+        for (Criterio criterio : criterios) {
+            if (criterio.tamanho() != n) {
+                throw new IllegalArgumentException("Todas as colunas precisam ter o mesmo número de linhas.");
+            }
+        }
+        int[] ordem = new int[n];
+        for (int i = 0; i < n; i++) {
+            ordem[i] = i;
+        }
+        if (n <= LIMITE_POR_COMPARACAO) {
+            MergeSort.mergeSort(ordem, (linha1, linha2) -> {
+                for (Criterio criterio : criterios) {
+                    int resultado = criterio.comparar(linha1, linha2);
+                    if (resultado != 0) {
+                        return resultado;
+                    }
+                }
+                return 0;
+            });
+            return ordem;
+        }
+        for (int c = criterios.length - 1; c >= 0; c--) { // Da última coluna para a primeira (LSD)
+            criterios[c].ordenar(ordem);
+        }
+        return ordem;
+    }
+
+    /**
+     * Ordena as linhas e reordena no lugar as colunas dos critérios e as colunas extras. Devolve a permutação usada,
+     * para reordenar outras colunas depois com aplicar.
+     */
+    public static int[] ordenar(Criterio[] criterios, int[]... colunasExtras) {
+        int[] ordem = permutacao(criterios);
+        Object[] jaAplicadas = new Object[criterios.length + colunasExtras.length];
+        int aplicadas = 0;
+        for (Criterio criterio : criterios) {
+            Object coluna = criterio.inteiros != null ? criterio.inteiros : criterio.longos;
+            if (!contemMesmoArray(jaAplicadas, aplicadas, coluna)) { // A mesma coluna em dois critérios
+                if (criterio.inteiros != null) {
+                    aplicar(ordem, criterio.inteiros);
+                } else {
+                    aplicar(ordem, criterio.longos);
+                }
+                jaAplicadas[aplicadas++] = coluna;
+            }
+        }
+        for (int[] coluna : colunasExtras) {
+            if (!contemMesmoArray(jaAplicadas, aplicadas, coluna)) {
+                aplicar(ordem, coluna);
+                jaAplicadas[aplicadas++] = coluna;
+            }
+        }
+        return ordem;
+    }
+
+    private static boolean contemMesmoArray(Object[] arrays, int quantidade, Object array) {
+        for (int i = 0; i < quantidade; i++) {
+            if (arrays[i] == array) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reordena a coluna no lugar: a posição k recebe o valor que estava na linha permutacao[k]. Segue os ciclos da
+     * permutação, com um bit por linha para marcar as já colocadas, em vez de copiar a coluna inteira.
+     */
+    public static void aplicar(int[] permutacao, int[] coluna) {
+        verificarTamanhos(permutacao, coluna.length);
+        long[] colocadas = new long[(coluna.length + 63) >>> 6];
+        for (int inicio = 0; inicio < coluna.length; inicio++) {
+            if ((colocadas[inicio >>> 6] & (1L << inicio)) != 0) {
+                continue;
+            }
+            int guardado = coluna[inicio];
+            int posicao = inicio;
+            while (true) {
+                colocadas[posicao >>> 6] |= 1L << posicao;
+                int origem = permutacao[posicao];
+                if (origem == inicio) {
+                    coluna[posicao] = guardado; // Fechou o ciclo
+                    break;
+                }
+                coluna[posicao] = coluna[origem];
+                posicao = origem;
+            }
+        }
+    }
+
+    public static void aplicar(int[] permutacao, long[] coluna) {
+        verificarTamanhos(permutacao, coluna.length);
+        long[] colocadas = new long[(coluna.length + 63) >>> 6];
+        for (int inicio = 0; inicio < coluna.length; inicio++) {
+            if ((colocadas[inicio >>> 6] & (1L << inicio)) != 0) {
+                continue;
+            }
+            long guardado = coluna[inicio];
+            int posicao = inicio;
+            while (true) {
+                colocadas[posicao >>> 6] |= 1L << posicao;
+                int origem = permutacao[posicao];
+                if (origem == inicio) {
+                    coluna[posicao] = guardado;
+                    break;
+                }
+                coluna[posicao] = coluna[origem];
+                posicao = origem;
+            }
+        }
+    }
+
+    private static void verificarTamanhos(int[] permutacao, int linhas) {
+        if (permutacao.length != linhas) {
+            throw new IllegalArgumentException("A permutação e a coluna precisam ter o mesmo número de linhas.");
+        }
+    }
+
+    // Uma linha da tabela como objeto, para comparar com o jeito "de objetos" (Comparator encadeado)
+    private static final class Linha {
+        final int cidade;
+        final long salario;
+        final int id;
+
+        Linha(int cidade, long salario, int id) {
+            this.cidade = cidade;
+            this.salario = salario;
+            this.id = id;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] cidade = {2, 1, 2, 1, 3, 1};
+        long[] salario = {5000, 7000, 5000, 3000, 9000, 7000};
+        int[] id = {10, 11, 12, 13, 14, 15};
+        // ORDER BY cidade ASC, salario DESC (id fica na ordem original nos empates: ordenação estável)
+        int[] ordem = ordenar(new Criterio[]{Criterio.crescente(cidade), Criterio.decrescente(salario)}, id);
+        System.out.println("Ordem das linhas: " + Arrays.toString(ordem)); // Esperado: [1, 5, 3, 0, 2, 4]
+        System.out.println("cidade:  " + Arrays.toString(cidade));        // Esperado: [1, 1, 1, 2, 2, 3]
+        System.out.println("salario: " + Arrays.toString(salario));       // Esperado: [7000, 7000, 3000, 5000, 5000, 9000]
+        System.out.println("id:      " + Arrays.toString(id));            // Esperado: [11, 15, 13, 10, 12, 14]
+
+        System.out.println("\n--- ORDER BY cidade, salario DESC, id em 5.000.000 de linhas ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int n = 5_000_000;
+        int[] cidades = new int[n];
+        long[] salarios = new long[n];
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            cidades[i] = aleatorio.nextInt(500);
+            salarios[i] = 1_000 + aleatorio.nextInt(50_000) * 10L;
+            ids[i] = aleatorio.nextInt();
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long inicio = System.nanoTime();
+            int[] porColunas = permutacao(Criterio.crescente(cidades), Criterio.decrescente(salarios),
+                    Criterio.crescente(ids));
+            long tempoColunas = System.nanoTime() - inicio;
+
+            inicio = System.nanoTime();
+            Linha[] linhas = new Linha[n];
+            for (int i = 0; i < n; i++) {
+                linhas[i] = new Linha(cidades[i], salarios[i], ids[i]);
+            }
+            Arrays.sort(linhas, java.util.Comparator.<Linha>comparingInt(linha -> linha.cidade)
+                    .thenComparing(linha -> linha.salario, java.util.Comparator.reverseOrder())
+                    .thenComparingInt(linha -> linha.id));
+            long tempoObjetos = System.nanoTime() - inicio;
+
+            boolean iguais = true;
+            for (int k = 0; k < n; k++) {
+                int linha = porColunas[k];
+                iguais &= cidades[linha] == linhas[k].cidade && salarios[linha] == linhas[k].salario
+                        && ids[linha] == linhas[k].id;
+            }
+            System.out.printf("Colunar (radix LSD): %d ms, objetos + Comparator encadeado: %d ms (mesma ordem? %b)%n",
+                    tempoColunas / 1_000_000, tempoObjetos / 1_000_000, iguais); // Esperado: true
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+19. Ordenação Preguiçosa (Lazy Sort: heap e Quick Sort incremental)
+O que é? É uma ordenação que entrega os elementos em ordem crescente um de cada vez, fazendo só o trabalho necessário
+para achar o próximo. Em vez de ordenar o array inteiro e depois devolver o começo, ela devolve um iterador
+(PrimitiveIterator.OfInt) ou um Flow.Publisher, e cada elemento pedido custa um pouco mais de trabalho. Há duas
+estratégias:
+- HEAP: monta um IntMinHeap a partir do array em O(n) (o primeiro laço do HeapSort) e cada próximo elemento é um
+  removerMinimo, O(log n).
+- QUICKSORT_INCREMENTAL: o Quick Sort incremental (IQS). Particiona só o pedaço onde está o próximo elemento e guarda
+  em uma pilha as posições dos pivôs já colocados; a metade da direita de cada partição só é particionada quando o
+  consumidor chega nela. Pedaços pequenos são terminados com o insertionSort do TimSort. O pivô é sorteado e a
+  partição é em três partes (menores, iguais, maiores), então entradas ordenadas ou com muitos repetidos não
+  degradam para O(n²).
+Nos dois casos, os k primeiros custam O(n + k log n) (o IQS, em média); consumir tudo custa o mesmo que ordenar.
+
+Para que serve? Para resultados ordenados que quase sempre são lidos só no começo: a primeira página de uma busca, os
+k menores de uma lista, "os próximos vencimentos". HeapSort.heapSort e QuickSort.quickSort ordenam tudo, mesmo que o
+consumidor pare no décimo elemento.
+
+Vantagens:
+O primeiro elemento sai em O(n), e cada um dos seguintes custa só o necessário para achá-lo.
+Quem consome decide quando parar; o trabalho das partes não lidas nunca é feito.
+O Flow.Publisher respeita a demanda (backpressure): só produz o que o assinante pediu com request(n).
+O array do chamador não é alterado.
+
+Desvantagens:
+Faz uma cópia do array (O(n) de memória extra) para não alterar o original.
+Se o consumidor acaba lendo tudo, fica um pouco mais lento que um bom ordenador completo (Arrays.sort, TimSort).
+O iterador não é thread-safe; cada assinante do Publisher recebe a sua própria cópia e o seu próprio iterador.
+ */
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OrdenacaoPreguicosa {
+
+    public enum Estrategia {HEAP, QUICKSORT_INCREMENTAL}
+
+    private static final int ARIDADE_DO_HEAP = 4;       // Heap mais baixo: menos níveis e menos faltas de cache
+    private static final int LIMITE_DO_INSERTION_SORT = 16;
+
+    /**
+     * Iterador que devolve os elementos do array em ordem crescente, ordenando aos poucos (Quick Sort incremental).
+     */
+    public static PrimitiveIterator.OfInt iterador(int[] array) {
+        return iterador(array, Estrategia.QUICKSORT_INCREMENTAL);
+    }
+
+    public static PrimitiveIterator.OfInt iterador(int[] array, Estrategia estrategia) {
+        Objects.requireNonNull(array);
+        if (estrategia == Estrategia.HEAP) {
+            IntMinHeap heap = IntMinHeap.deArray(array, ARIDADE_DO_HEAP);
+            return new PrimitiveIterator.OfInt() {
+                @Override
+                public boolean hasNext() {
+                    return !heap.estaVazio();
+                }
+
+                @Override
+                public int nextInt() {
+                    if (heap.estaVazio()) {
+                        throw new NoSuchElementException("Não há mais elementos.");
+                    }
+                    return heap.removerMinimo();
+                }
+            };
+        }
+        return new QuickSortIncremental(array.clone());
+    }
+
+    /**
+     * Os k menores elementos, em ordem crescente (a "primeira página"), em O(n + k log n).
+     */
+    public static int[] primeiros(int[] array, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k não pode ser negativo.");
+        }
+        PrimitiveIterator.OfInt elementos = iterador(array);
+        int[] resultado = new int[Math.min(k, array.length)];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = elementos.nextInt();
+        }
+        return resultado;
+    }
+
+    /**
+     * Publisher que entrega os elementos em ordem crescente no ForkJoinPool comum, só quando pedidos.
+     */
+    public static Flow.Publisher<Integer> publicador(int[] array) {
+        return publicador(array, Estrategia.QUICKSORT_INCREMENTAL, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Publisher que entrega os elementos em ordem crescente no executor dado. Cada assinante recebe todos os
+     * elementos (do array como estava na criação do Publisher), e o trabalho de ordenar só é feito à medida que
+     * ele pede com request(n).
+     */
+    public static Flow.Publisher<Integer> publicador(int[] array, Estrategia estrategia, Executor executor) {
+        int[] copia = array.clone();
+        Objects.requireNonNull(estrategia);
+        Objects.requireNonNull(executor);
+        return assinante -> new Assinatura(iterador(copia, estrategia), Objects.requireNonNull(assinante), executor)
+                .iniciar();
+    }
+
+    // O IQS: a pilha (inicios, fins) guarda, do topo para baixo, pedaços [inicio, fim) já na posição final à direita
+    // do próximo elemento. O que está entre 'proximo' e o início do topo ainda não foi particionado.
+    private static final class QuickSortIncremental implements PrimitiveIterator.OfInt {
+        private final int[] array;
+        private int proximo;       // Posição do próximo elemento a devolver
+        private int ordenadoAte;   // array[proximo..ordenadoAte) já está na posição final
+        private int[] inicios = new int[16];
+        private int[] fins = new int[16];
+        private int topo;
+
+        QuickSortIncremental(int[] array) {
+            this.array = array;
+            empilhar(array.length, array.length); // Sentinela: nada a partir do fim
+        }
+
+        private void empilhar(int inicio, int fim) {
+            if (topo == inicios.length) {
+                inicios = Arrays.copyOf(inicios, topo * 2);
+                fins = Arrays.copyOf(fins, topo * 2);
+            }
+            inicios[topo] = inicio;
+            fins[topo] = fim;
+            topo++;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proximo < array.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (proximo >= array.length) {
+                throw new NoSuchElementException("Não há mais elementos.");
+            }
+            while (proximo >= ordenadoAte) {
+                int limite = inicios[topo - 1];
+                if (limite == proximo) {
+                    // Chegou a um bloco de iguais ao pivô: já está na posição final
+                    ordenadoAte = fins[--topo];
+                } else if (limite - proximo <= LIMITE_DO_INSERTION_SORT) {
+                    TimSort.insertionSort(array, proximo, limite - 1);
+                    ordenadoAte = limite;
+                } else {
+                    particionar(proximo, limite - 1);
+                }
+            }
+            return array[proximo++];
+        }
+
+        // Partição em três partes (bandeira holandesa) de array[inicio..fim] em torno de um pivô sorteado: empilha o
+        // bloco dos iguais ao pivô, que já está na posição final. Só a parte da esquerda será particionada a seguir.
+        private void particionar(int inicio, int fim) {
+            int pivo = array[ThreadLocalRandom.current().nextInt(inicio, fim + 1)];
+            int menores = inicio; // array[inicio..menores) < pivo
+            int i = inicio;       // array[menores..i) == pivo
+            int maiores = fim;    // array(maiores..fim] > pivo
+            while (i <= maiores) {
+                int valor = array[i];
+                if (valor < pivo) {
+                    array[i++] = array[menores];
+                    array[menores++] = valor;
+                } else if (valor > pivo) {
+                    array[i] = array[maiores];
+                    array[maiores--] = valor;
+                } else {
+                    i++;
+                }
+            }
+            empilhar(menores, maiores + 1);
+        }
+    }
+
+    // Uma assinatura: entrega até 'pedidos' elementos e para. As entregas rodam no executor, uma de cada vez:
+    // quem chama request só soma a demanda e, se ninguém estiver entregando, agenda uma entrega.
+    private static final class Assinatura implements Flow.Subscription, Runnable {
+        private final PrimitiveIterator.OfInt elementos;
+        private final Flow.Subscriber<? super Integer> assinante;
+        private final Executor executor;
+        private final AtomicLong pedidos = new AtomicLong();
+        private final AtomicInteger agendamentos = new AtomicInteger(); // > 0: há uma entrega agendada ou rodando
+        private volatile boolean cancelada;
+        private volatile IllegalArgumentException pedidoInvalido;
+        private boolean terminada; // Só lida e escrita dentro de run, que nunca roda em paralelo consigo mesma
+
+        Assinatura(PrimitiveIterator.OfInt elementos, Flow.Subscriber<? super Integer> assinante, Executor executor) {
+            this.elementos = elementos;
+            this.assinante = assinante;
+            this.executor = executor;
+        }
+
+        void iniciar() {
+            assinante.onSubscribe(this);
+            agendar(); // Um array vazio termina sem nenhum request
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pedidoInvalido = new IllegalArgumentException("request precisa pedir pelo menos 1 elemento.");
+            } else {
+                pedidos.getAndUpdate(atual -> atual + n < 0 ? Long.MAX_VALUE : atual + n); // Satura em Long.MAX_VALUE
+            }
+            agendar();
+        }
+
+        @Override
+        public void cancel() {
+            cancelada = true;
+        }
+
+        private void agendar() {
+            if (agendamentos.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int pendentes = 1;
+            do {
+                if (!terminada && !cancelada) {
+                    entregar();
+                }
+                pendentes = agendamentos.addAndGet(-pendentes); // Pedidos que chegaram durante a entrega
+            } while (pendentes != 0);
+        }
+
+        private void entregar() {
+            if (pedidoInvalido != null) {
+                terminada = true;
+                assinante.onError(pedidoInvalido);
+                return;
+            }
+            long demanda = pedidos.get();
+            long entregues = 0;
+            while (entregues < demanda && !cancelada && elementos.hasNext()) {
+                assinante.onNext(elementos.nextInt()); // Só agora o próximo elemento é calculado
+                entregues++;
+            }
+            if (demanda != Long.MAX_VALUE) { // Demanda saturada significa "sem limite"
+                pedidos.addAndGet(-entregues);
+            }
+            if (!cancelada && !elementos.hasNext()) {
+                terminada = true;
+                assinante.onComplete();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] dados = {42, 7, 19, 3, 88, 7, 1, 56};
+        PrimitiveIterator.OfInt ordenados = iterador(dados);
+        System.out.print("Três primeiros: ");
+        for (int i = 0; i < 3; i++) {
+            System.out.print(ordenados.nextInt() + " ");
+        }
+        System.out.println(); // Esperado: 1 3 7
+        System.out.println("Primeira página (4): " + Arrays.toString(primeiros(dados, 4)));
+        // Esperado: [1, 3, 7, 7]
+        System.out.println("Array original intacto: " + Arrays.toString(dados)); // Esperado: [42, 7, 19, 3, 88, 7, 1, 56]
+
+        System.out.println("\n--- Primeira página (100 elementos) de 5.000.000 de ints ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[] grande = new int[5_000_000];
+        for (int i = 0; i < grande.length; i++) {
+            grande[i] = aleatorio.nextInt();
+        }
+        int[] esperado = grande.clone();
+        Arrays.sort(esperado);
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            long[] tempos = new long[4];
+            boolean corretos = true;
+            for (int tipo = 0; tipo < 4; tipo++) {
+                long inicio = System.nanoTime();
+                int[] pagina = new int[100];
+                if (tipo < 2) {
+                    PrimitiveIterator.OfInt elementos = iterador(grande,
+                            tipo == 0 ? Estrategia.QUICKSORT_INCREMENTAL : Estrategia.HEAP);
+                    for (int i = 0; i < pagina.length; i++) {
+                        pagina[i] = elementos.nextInt();
+                    }
+                } else {
+                    int[] copia = grande.clone();
+                    if (tipo == 2) {
+                        QuickSort.quickSort(copia);
+                    } else {
+                        HeapSort.heapSort(copia);
+                    }
+                    System.arraycopy(copia, 0, pagina, 0, pagina.length);
+                }
+                tempos[tipo] = System.nanoTime() - inicio;
+                corretos &= Arrays.equals(pagina, Arrays.copyOf(esperado, 100));
+            }
+            System.out.printf("Preguiçosa: IQS %d ms, heap %d ms; completa: QuickSort %d ms, HeapSort %d ms (corretos? %b)%n",
+                    tempos[0] / 1_000_000, tempos[1] / 1_000_000, tempos[2] / 1_000_000, tempos[3] / 1_000_000,
+                    corretos); // Esperado: true
+        }
+        long inicio = System.nanoTime();
+        PrimitiveIterator.OfInt todos = iterador(grande);
+        boolean emOrdem = true;
+        for (int i = 0; i < esperado.length; i++) {
+            emOrdem &= todos.nextInt() == esperado[i];
+        }
+        System.out.printf("Consumindo tudo pelo IQS: %d ms (em ordem? %b)%n",
+                (System.nanoTime() - inicio) / 1_000_000, emOrdem); // Esperado: true
+
+        System.out.println("\n--- Flow.Publisher: o assinante pede de 10 em 10 e cancela depois de 30 ---");
+        java.util.concurrent.CountDownLatch fim = new java.util.concurrent.CountDownLatch(1);
+        publicador(grande).subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription assinatura;
+            private int recebidos;
+            private int ultimo = Integer.MIN_VALUE;
+            private boolean emOrdem = true;
+
+            @Override
+            public void onSubscribe(Flow.Subscription assinatura) {
+                this.assinatura = assinatura;
+                assinatura.request(10);
+            }
+
+            @Override
+            public void onNext(Integer valor) {
+                emOrdem &= valor >= ultimo;
+                ultimo = valor;
+                if (++recebidos == 30) {
+                    assinatura.cancel();
+                    System.out.println("Recebidos: " + recebidos + ", em ordem? " + emOrdem + ", último igual ao 30º? "
+                            + (valor == esperado[29])); // Esperado: 30, true, true
+                    fim.countDown();
+                } else if (recebidos % 10 == 0) {
+                    assinatura.request(10); // Backpressure: só pede mais quando terminou o lote anterior
+                }
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+                erro.printStackTrace();
+                fim.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                fim.countDown();
+            }
+        });
+        fim.await();
+    }
+}
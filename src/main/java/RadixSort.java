@@ -5,6 +5,8 @@ individuais. Ele pode funcionar de duas maneiras: LSD (Least Significant Digit -
 MSD (Most Significant Digit - dígito mais significativo primeiro). A abordagem LSD é mais comum e é a que
 implementaremos. Para cada posição de dígito (unidades, dezenas, centenas, etc.), ele usa um algoritmo de ordenação
 estável (como o Counting Sort) para ordenar os números com base nesse dígito.
+Além da versão decimal, radixSortPorBytes usa a base 256 (um byte por passada) sobre chaves de 32 ou 64 bits e leva
+junto um array de índices, para ordenar linhas de uma tabela por uma coluna (veja OrdenacaoMultiColuna).
 
 Para que serve? Para ordenar eficientemente listas de inteiros (ou strings, que podem ser tratadas como números em uma
 base diferente). É particularmente útil quando os números têm um número fixo ou limitado de dígitos.
@@ -104,6 +106,112 @@ public class RadixSort {
         }
     }
 
+    // Radix Sort LSD na base 256 para chaves de 32 bits lidas SEM sinal, levando junto o array 'ordem' (ordem[i] é
+    // movido sempre junto com chaves[i]). São 4 passadas de Counting Sort estável, uma por byte, do menos para o mais
+    // significativo. As contagens dos 4 bytes saem de uma única leitura das chaves, e uma passada em que todas as chaves
+    // têm o mesmo byte é pulada (ex.: valores pequenos pulam os bytes de cima).
+    public static void radixSortPorBytes(int[] chaves, int[] ordem) {
+        int n = chaves.length;
+        if (ordem.length != n) {
+            throw new IllegalArgumentException("Chaves e ordem precisam ter o mesmo tamanho.");
+        }
+        if (n < 2) {
+            return;
+        }
+        int[][] contagens = new int[4][256];
+        for (int chave : chaves) {
+            contagens[0][chave & 0xFF]++;
+            contagens[1][(chave >>> 8) & 0xFF]++;
+            contagens[2][(chave >>> 16) & 0xFF]++;
+            contagens[3][chave >>> 24]++;
+        }
+        int[] chavesAtuais = chaves;
+        int[] ordemAtual = ordem;
+        int[] chavesSaida = new int[n];
+        int[] ordemSaida = new int[n];
+        for (int b = 0; b < 4; b++) {
+            int deslocamento = 8 * b;
+            int[] contagem = contagens[b];
+            if (contagem[(chaves[0] >>> deslocamento) & 0xFF] == n) {
+                continue; // Todas têm o mesmo byte aqui: a passada não mudaria nada
+            }
+            // Contagens viram a primeira posição de cada byte na saída
+            int soma = 0;
+            for (int d = 0; d < 256; d++) {
+                int quantidade = contagem[d];
+                contagem[d] = soma;
+                soma += quantidade;
+            }
+            // De frente para trás, cada um vai para a próxima posição do seu byte: a ordem dos empates é mantida
+            for (int i = 0; i < n; i++) {
+                int chave = chavesAtuais[i];
+                int posicao = contagem[(chave >>> deslocamento) & 0xFF]++;
+                chavesSaida[posicao] = chave;
+                ordemSaida[posicao] = ordemAtual[i];
+            }
+            int[] troca = chavesAtuais;
+            chavesAtuais = chavesSaida;
+            chavesSaida = troca;
+            troca = ordemAtual;
+            ordemAtual = ordemSaida;
+            ordemSaida = troca;
+        }
+        if (chavesAtuais != chaves) { // Número ímpar de passadas: o resultado está nos arrays auxiliares
+            System.arraycopy(chavesAtuais, 0, chaves, 0, n);
+            System.arraycopy(ordemAtual, 0, ordem, 0, n);
+        }
+    }
+
+    // A mesma coisa para chaves de 64 bits sem sinal: até 8 passadas
+    public static void radixSortPorBytes(long[] chaves, int[] ordem) {
+        int n = chaves.length;
+        if (ordem.length != n) {
+            throw new IllegalArgumentException("Chaves e ordem precisam ter o mesmo tamanho.");
+        }
+        if (n < 2) {
+            return;
+        }
+        int[][] contagens = new int[8][256];
+        for (long chave : chaves) {
+            for (int b = 0; b < 8; b++) {
+                contagens[b][(int) (chave >>> (8 * b)) & 0xFF]++;
+            }
+        }
+        long[] chavesAtuais = chaves;
+        int[] ordemAtual = ordem;
+        long[] chavesSaida = new long[n];
+        int[] ordemSaida = new int[n];
+        for (int b = 0; b < 8; b++) {
+            int deslocamento = 8 * b;
+            int[] contagem = contagens[b];
+            if (contagem[(int) (chaves[0] >>> deslocamento) & 0xFF] == n) {
+                continue;
+            }
+            int soma = 0;
+            for (int d = 0; d < 256; d++) {
+                int quantidade = contagem[d];
+                contagem[d] = soma;
+                soma += quantidade;
+            }
+            for (int i = 0; i < n; i++) {
+                long chave = chavesAtuais[i];
+                int posicao = contagem[(int) (chave >>> deslocamento) & 0xFF]++;
+                chavesSaida[posicao] = chave;
+                ordemSaida[posicao] = ordemAtual[i];
+            }
+            long[] troca = chavesAtuais;
+            chavesAtuais = chavesSaida;
+            chavesSaida = troca;
+            int[] trocaOrdem = ordemAtual;
+            ordemAtual = ordemSaida;
+            ordemSaida = trocaOrdem;
+        }
+        if (chavesAtuais != chaves) {
+            System.arraycopy(chavesAtuais, 0, chaves, 0, n);
+            System.arraycopy(ordemAtual, 0, ordem, 0, n);
+        }
+    }
+
     public static void main(String[] args) {
         int[] dados = {170, 45, 75, 90, 802, 24, 2, 66, 901, 0};
         System.out.println("Array antes da ordenação (Radix Sort):");
@@ -136,5 +244,13 @@ public class RadixSort {
             System.out.print(valor + " ");
         }
         System.out.println();
+
+        System.out.println("------------------------------------");
+
+        int[] idades = {30, 25, 30, 18};
+        int[] linhas = {0, 1, 2, 3};
+        radixSortPorBytes(idades, linhas); // As linhas acompanham as idades; empates mantêm a ordem original
+        System.out.println("Linhas em ordem de idade (radixSortPorBytes): " + Arrays.toString(linhas));
+        // Esperado: [3, 1, 0, 2]
     }
 }
\ No newline at end of file
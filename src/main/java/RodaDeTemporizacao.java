@@ -0,0 +1,429 @@
+/*
+Roda de Temporização Hierárquica (Hierarchical Hashed Timing Wheel)
+O que é? É um agendador de temporizadores em que o tempo é dividido em "ticks" (a resolução, ex.: 1 ms) e cada nível
+é um array circular de slots, como os ponteiros de um relógio. No nível 0 cada slot vale 1 tick; no nível 1 cada
+slot vale uma volta inteira do nível 0 (slotsPorNivel ticks); no nível 2, uma volta do nível 1, e assim por diante.
+Um temporizador vai para o nível mais baixo cuja volta cobre o seu prazo, no slot dado pelos bits do prazo naquele
+nível. Quando o nível 0 completa uma volta, o slot da vez do nível 1 é "cascateado": seus temporizadores são
+redistribuídos nos níveis de baixo, agora com mais precisão. Cada slot é uma ListaDuplamenteEncadeada com índice
+hash de ids de temporizador: agendar é adicionar no fim da lista do slot, e cancelar é remover o id da lista do
+slot em O(1), sem procurar. As tarefas vencidas rodam em um Executor escolhido por quem cria a roda (pode ser um
+executor de threads virtuais).
+
+Para que serve? Para sistemas com milhões de timeouts por minuto (requisições, conexões ociosas, retransmissões,
+sessões), onde quase todos os temporizadores são cancelados antes de vencer. Um ScheduledThreadPoolExecutor guarda
+os temporizadores em um heap: agendar e cancelar custam O(log n) e disputam o mesmo bloqueio com a thread que dispara.
+
+Vantagens:
+Agendar e cancelar em O(1), qualquer que seja o número de temporizadores pendentes.
+Cada temporizador é cascateado no máximo uma vez por nível até vencer.
+O identificador devolvido é um long (id + geração): cancelar um temporizador que já venceu, ou cujo id foi
+reaproveitado, simplesmente devolve false.
+O disparo não roda as tarefas na thread da roda: elas vão para o Executor configurado.
+
+Desvantagens:
+A precisão é de um tick: uma tarefa pode disparar até um tick depois do prazo (nunca antes).
+Prazos além do alcance da roda (slotsPorNivel ^ niveis ticks) ficam no último nível e são reavaliados a cada volta dele.
+A thread do relógio acorda a cada tick enquanto houver temporizadores pendentes (com a roda vazia ela dorme).
+As operações usam um único bloqueio; com muitas threads agendando ao mesmo tempo, vale ter várias rodas.
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class RodaDeTemporizacao implements AutoCloseable {
+
+    private final long nanosPorTick;
+    private final int bitsPorNivel;
+    private final int mascara;
+    private final int niveis;
+    private final Executor executor;
+    private final ListaDuplamenteEncadeada[][] slots; // slots[nivel][slot]: ids dos temporizadores do slot
+
+    // Dados de cada temporizador, por id (arrays paralelos que crescem quando faltam ids)
+    private long[] prazos;       // Tick em que o temporizador vence
+    private Runnable[] tarefas;  // null quando o id está livre
+    private int[] nivelDe;       // Nível e slot onde o temporizador está, para cancelar sem procurar
+    private int[] slotDe;
+    private int[] geracoes;      // Muda a cada reaproveitamento do id: invalida identificadores antigos
+    private int[] livres;        // Pilha de ids livres
+    private int quantidadeDeLivres;
+    private int proximoIdNovo;
+    private int pendentes;
+
+    private final long origemEmNanos;
+    private long tickAtual; // Último tick já processado
+    private Runnable[] vencidas = new Runnable[64]; // Área de trabalho reaproveitada a cada tick
+
+    private Thread relogio;
+    private volatile boolean parado;
+
+    /**
+     * Cria a roda. A capacidade de tempo sem reavaliação é slotsPorNivel ^ niveis ticks (ex.: 256 slots, 4 níveis e
+     * 1 ms por tick cobrem cerca de 49 dias). slotsPorNivel precisa ser potência de 2.
+     */
+    public RodaDeTemporizacao(long resolucao, TimeUnit unidade, int slotsPorNivel, int niveis, Executor executor) {
+        if (resolucao <= 0) {
+            throw new IllegalArgumentException("A resolução precisa ser positiva.");
+        }
+        if (slotsPorNivel < 2 || Integer.bitCount(slotsPorNivel) != 1) {
+            throw new IllegalArgumentException("O número de slots por nível precisa ser uma potência de 2 maior que 1.");
+        }
+        if (niveis < 1 || (long) Integer.numberOfTrailingZeros(slotsPorNivel) * niveis > 62) {
+            throw new IllegalArgumentException("O número de níveis precisa estar entre 1 e o alcance de um long.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("O executor não pode ser null.");
+        }
+        this.nanosPorTick = unidade.toNanos(resolucao);
+        this.bitsPorNivel = Integer.numberOfTrailingZeros(slotsPorNivel);
+        this.mascara = slotsPorNivel - 1;
+        this.niveis = niveis;
+        this.executor = executor;
+        this.slots = new ListaDuplamenteEncadeada[niveis][slotsPorNivel];
+        for (ListaDuplamenteEncadeada[] nivel : slots) {
+            for (int s = 0; s < slotsPorNivel; s++) {
+                nivel[s] = new ListaDuplamenteEncadeada(true);
+            }
+        }
+        int capacidade = 1024;
+        prazos = new long[capacidade];
+        tarefas = new Runnable[capacidade];
+        nivelDe = new int[capacidade];
+        slotDe = new int[capacidade];
+        geracoes = new int[capacidade];
+        livres = new int[capacidade];
+        origemEmNanos = System.nanoTime();
+    }
+
+    /**
+     * Roda com 1 ms por tick, 256 slots e 4 níveis.
+     */
+    public RodaDeTemporizacao(Executor executor) {
+        this(1, TimeUnit.MILLISECONDS, 256, 4, executor);
+    }
+
+    /**
+     * Inicia a thread do relógio, que avança a roda conforme o tempo real (System.nanoTime). Sem ela, a roda só anda
+     * com avancarTicks (útil para simulações e testes).
+     */
+    public synchronized void iniciar() {
+        if (relogio != null) {
+            throw new IllegalStateException("A roda já foi iniciada.");
+        }
+        relogio = new Thread(this::executarRelogio, "roda-de-temporizacao");
+        relogio.setDaemon(true);
+        relogio.start();
+    }
+
+    private void executarRelogio() {
+        while (!parado) {
+            long proximoTick;
+            synchronized (this) {
+                if (pendentes == 0) {
+                    proximoTick = -1;
+                } else {
+                    proximoTick = origemEmNanos + (tickAtual + 1) * nanosPorTick;
+                }
+            }
+            if (proximoTick == -1) {
+                LockSupport.park(this); // Roda vazia: dorme até agendar (ou close) acordar o relógio
+                continue;
+            }
+            long espera = proximoTick - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(this, espera);
+                continue; // Acordar antes da hora (ou por unpark) só reavalia a espera
+            }
+            avancarAte(System.nanoTime());
+        }
+    }
+
+    /**
+     * Agenda a tarefa para daqui a 'atraso' e devolve o identificador usado para cancelar. O atraso é arredondado
+     * para cima em ticks, com no mínimo 1 tick: a tarefa nunca roda antes do prazo.
+     */
+    public long agendar(Runnable tarefa, long atraso, TimeUnit unidade) {
+        if (tarefa == null) {
+            throw new IllegalArgumentException("A tarefa não pode ser null.");
+        }
+        if (atraso < 0) {
+            throw new IllegalArgumentException("O atraso não pode ser negativo.");
+        }
+        long nanos = unidade.toNanos(atraso);
+        long ticks = Math.max(1, nanos / nanosPorTick + (nanos % nanosPorTick != 0 ? 1 : 0));
+        synchronized (this) {
+            long agora = tickAtual;
+            if (relogio != null) {
+                // O relógio pode não ter processado ainda os ticks que já passaram: contar a partir do tempo real
+                // evita disparar cedo
+                agora = Math.max(agora, (System.nanoTime() - origemEmNanos) / nanosPorTick);
+                if (pendentes == 0) {
+                    tickAtual = agora; // Roda vazia: nada a processar nos ticks do meio
+                }
+            }
+            int id = novoId();
+            prazos[id] = agora + ticks;
+            tarefas[id] = tarefa;
+            colocar(id);
+            if (++pendentes == 1 && relogio != null) {
+                LockSupport.unpark(relogio);
+            }
+            return ((long) geracoes[id] << 32) | id;
+        }
+    }
+
+    /**
+     * Cancela o temporizador. Devolve false se ele já venceu, já foi cancelado ou o identificador é inválido.
+     */
+    public synchronized boolean cancelar(long identificador) {
+        int id = (int) identificador;
+        if (id < 0 || id >= proximoIdNovo || tarefas[id] == null || geracoes[id] != (int) (identificador >>> 32)) {
+            return false;
+        }
+        slots[nivelDe[id]][slotDe[id]].removerValor(id);
+        liberar(id);
+        pendentes--;
+        return true;
+    }
+
+    public synchronized int getPendentes() {
+        return pendentes;
+    }
+
+    /**
+     * Processa os próximos 'quantidade' ticks sem olhar o relógio real.
+     */
+    public void avancarTicks(long quantidade) {
+        Runnable[] lote;
+        synchronized (this) {
+            lote = processarAte(tickAtual + quantidade);
+        }
+        disparar(lote);
+    }
+
+    private void avancarAte(long instanteEmNanos) {
+        Runnable[] lote;
+        synchronized (this) {
+            lote = processarAte((instanteEmNanos - origemEmNanos) / nanosPorTick);
+        }
+        disparar(lote);
+    }
+
+    // Entrega as tarefas vencidas ao executor, fora do bloqueio: agendar e cancelar não esperam por elas.
+    // Cada entrega tem o seu próprio try: um executor que recusa (RejectedExecutionException depois de um shutdown)
+    // ou uma tarefa que lança exceção (com um executor como Runnable::run) não pode matar a thread do relógio nem
+    // perder o resto do lote, que já saiu da roda. A falha vai para o UncaughtExceptionHandler da thread atual.
+    // Um Error (OutOfMemoryError, StackOverflowError...) não é capturado: a JVM não está em estado de continuar.
+    private void disparar(Runnable[] lote) {
+        if (lote != null) {
+            for (Runnable tarefa : lote) {
+                try {
+                    executor.execute(tarefa);
+                } catch (RuntimeException falha) {
+                    Thread atual = Thread.currentThread();
+                    atual.getUncaughtExceptionHandler().uncaughtException(atual, falha);
+                }
+            }
+        }
+    }
+
+    // Processa os ticks até 'alvo' e devolve as tarefas vencidas (null se nenhuma; só aloca quando alguma venceu)
+    private Runnable[] processarAte(long alvo) {
+        int quantidade = 0;
+        while (tickAtual < alvo) {
+            if (pendentes == 0) {
+                tickAtual = alvo; // Roda vazia: não há o que cascatear nem disparar nos ticks do meio
+                break;
+            }
+            long tick = ++tickAtual;
+            // Cascateia de cima para baixo os níveis que completaram uma volta neste tick
+            for (int nivel = niveis - 1; nivel >= 1; nivel--) {
+                if ((tick & ((1L << (bitsPorNivel * nivel)) - 1)) == 0) {
+                    ListaDuplamenteEncadeada slot = slots[nivel][(int) (tick >>> (bitsPorNivel * nivel)) & mascara];
+                    int ids = slot.getTamanho();
+                    for (int i = 0; i < ids; i++) {
+                        int id = slot.getPrimeiro();
+                        slot.removerDoInicio();
+                        colocar(id); // Volta para um nível mais baixo (ou para este mesmo, se o prazo está além do alcance)
+                    }
+                }
+            }
+            ListaDuplamenteEncadeada slot = slots[0][(int) tick & mascara];
+            int ids = slot.getTamanho();
+            for (int i = 0; i < ids; i++) {
+                int id = slot.getPrimeiro();
+                slot.removerDoInicio();
+                if (prazos[id] > tick) {
+                    colocar(id); // Só com um nível: prazo além do alcance, que espera mais uma volta
+                    continue;
+                }
+                if (quantidade == vencidas.length) {
+                    vencidas = Arrays.copyOf(vencidas, quantidade * 2);
+                }
+                vencidas[quantidade++] = tarefas[id];
+                liberar(id);
+                pendentes--;
+            }
+        }
+        if (quantidade == 0) {
+            return null;
+        }
+        Runnable[] lote = Arrays.copyOf(vencidas, quantidade);
+        Arrays.fill(vencidas, 0, quantidade, null);
+        return lote;
+    }
+
+    /**
+     * Coloca o temporizador no nível mais baixo que alcança o prazo, no slot dado pelos bits do prazo naquele nível.
+     * No nível n ficam os prazos entre S^n e S^(n+1) - 1 ticks à frente (S = slots por nível): o slot deles é
+     * cascateado depois do tick atual e antes do prazo, e nenhum outro giro do nível passa por ele antes disso.
+     */
+    private void colocar(int id) {
+        long prazo = prazos[id];
+        long distancia = prazo - tickAtual;
+        int nivel = 0;
+        while (nivel < niveis - 1 && distancia >= (1L << (bitsPorNivel * (nivel + 1)))) {
+            nivel++;
+        }
+        long alcance = 1L << (bitsPorNivel * (nivel + 1));
+        if (distancia >= alcance) {
+            prazo = tickAtual + alcance - 1; // Além do alcance: espera no último nível e é reavaliado ao cascatear
+        }
+        int slot = (int) (prazo >>> (bitsPorNivel * nivel)) & mascara;
+        slots[nivel][slot].adicionarNoFinal(id);
+        nivelDe[id] = nivel;
+        slotDe[id] = slot;
+    }
+
+    private int novoId() {
+        if (quantidadeDeLivres > 0) {
+            return livres[--quantidadeDeLivres];
+        }
+        if (proximoIdNovo == prazos.length) {
+            int capacidade = prazos.length * 2;
+            prazos = Arrays.copyOf(prazos, capacidade);
+            tarefas = Arrays.copyOf(tarefas, capacidade);
+            nivelDe = Arrays.copyOf(nivelDe, capacidade);
+            slotDe = Arrays.copyOf(slotDe, capacidade);
+            geracoes = Arrays.copyOf(geracoes, capacidade);
+            livres = Arrays.copyOf(livres, capacidade);
+        }
+        return proximoIdNovo++;
+    }
+
+    private void liberar(int id) {
+        tarefas[id] = null;
+        geracoes[id]++;
+        livres[quantidadeDeLivres++] = id;
+    }
+
+    /**
+     * Para a thread do relógio. Os temporizadores pendentes não disparam mais; o executor não é encerrado (ele
+     * pertence a quem criou a roda).
+     */
+    @Override
+    public void close() {
+        parado = true;
+        Thread thread;
+        synchronized (this) {
+            thread = relogio;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // Roda pequena (8 slots, 3 níveis: alcance de 512 ticks) movida à mão, com as tarefas rodando na própria thread
+        RodaDeTemporizacao roda = new RodaDeTemporizacao(1, TimeUnit.MILLISECONDS, 8, 3, Runnable::run);
+        StringBuilder disparos = new StringBuilder();
+        long[] agora = {0};
+        roda.agendar(() -> disparos.append("A@").append(agora[0]).append(' '), 5, TimeUnit.MILLISECONDS);
+        roda.agendar(() -> disparos.append("B@").append(agora[0]).append(' '), 20, TimeUnit.MILLISECONDS);
+        long c = roda.agendar(() -> disparos.append("C@").append(agora[0]).append(' '), 30, TimeUnit.MILLISECONDS);
+        roda.agendar(() -> disparos.append("D@").append(agora[0]).append(' '), 100, TimeUnit.MILLISECONDS);
+        roda.agendar(() -> disparos.append("E@").append(agora[0]).append(' '), 1000, TimeUnit.MILLISECONDS); // Além do alcance
+        System.out.println("Pendentes: " + roda.getPendentes()); // Esperado: 5
+        System.out.println("Cancelando C: " + roda.cancelar(c)); // Esperado: true
+        System.out.println("Cancelando C de novo: " + roda.cancelar(c)); // Esperado: false
+        for (int tick = 1; tick <= 1100; tick++) {
+            agora[0] = tick;
+            roda.avancarTicks(1);
+        }
+        System.out.println("Disparos (tarefa@tick): " + disparos); // Esperado: A@5 B@20 D@100 E@1000
+        System.out.println("Pendentes: " + roda.getPendentes()); // Esperado: 0
+
+        System.out.println("\n--- 1.000.000 de timeouts em tempo real, 90% cancelados antes de vencer ---");
+        // Simula requisições com timeout de 2 a 3 s: há sempre 100.000 em andamento, e cada uma termina (e cancela o
+        // seu timeout) quando chegam 100.000 novas; só 1 em cada 10 estoura o prazo
+        int total = 1_000_000;
+        int emAndamento = 100_000;
+        java.util.Random aleatorio = new java.util.Random(1);
+        long[] atrasos = new long[total];
+        for (int i = 0; i < total; i++) {
+            atrasos[i] = 2000 + aleatorio.nextInt(1000);
+        }
+        long[] identificadores = new long[total];
+        try (ExecutorService virtuais = Executors.newVirtualThreadPerTaskExecutor();
+             RodaDeTemporizacao tempoReal = new RodaDeTemporizacao(virtuais)) {
+            tempoReal.iniciar();
+            LongAdder disparadas = new LongAdder();
+            LongAdder somaDosAtrasos = new LongAdder(); // Atraso de cada disparo em relação ao prazo, em ms
+            long inicio = System.nanoTime();
+            for (int i = 0; i < total + emAndamento; i++) {
+                if (i < total) {
+                    long prazo = System.nanoTime() + atrasos[i] * 1_000_000;
+                    identificadores[i] = tempoReal.agendar(() -> {
+                        disparadas.increment();
+                        somaDosAtrasos.add((System.nanoTime() - prazo) / 1_000_000);
+                    }, atrasos[i], TimeUnit.MILLISECONDS);
+                }
+                int terminada = i - emAndamento;
+                if (terminada >= 0 && terminada % 10 != 0) {
+                    tempoReal.cancelar(identificadores[terminada]);
+                }
+            }
+            long tempoRoda = System.nanoTime() - inicio;
+            while (tempoReal.getPendentes() > 0) {
+                Thread.sleep(50);
+            }
+            Thread.sleep(100); // As últimas tarefas entregues às threads virtuais terminam
+            System.out.printf("Roda: agendar + cancelar em %d ms; disparadas: %d, atraso médio após o prazo %.1f ms%n",
+                    tempoRoda / 1_000_000, disparadas.sum(), (double) somaDosAtrasos.sum() / disparadas.sum());
+            // Esperado: disparadas: 100000
+        }
+
+        ScheduledThreadPoolExecutor agendador = new ScheduledThreadPoolExecutor(1);
+        agendador.setRemoveOnCancelPolicy(true); // Sem isto os cancelados ficam no heap até o prazo
+        ScheduledFuture<?>[] futuros = new ScheduledFuture<?>[total];
+        LongAdder disparadasNoHeap = new LongAdder();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < total + emAndamento; i++) {
+            if (i < total) {
+                futuros[i] = agendador.schedule(disparadasNoHeap::increment, atrasos[i], TimeUnit.MILLISECONDS);
+            }
+            int terminada = i - emAndamento;
+            if (terminada >= 0 && terminada % 10 != 0) {
+                futuros[terminada].cancel(false);
+            }
+        }
+        long tempoHeap = System.nanoTime() - inicio;
+        agendador.shutdown(); // Os agendados que não foram cancelados ainda rodam
+        agendador.awaitTermination(1, TimeUnit.MINUTES);
+        System.out.printf("ScheduledThreadPoolExecutor: agendar + cancelar em %d ms; disparadas: %d%n",
+                tempoHeap / 1_000_000, disparadasNoHeap.sum()); // Esperado: disparadas: 100000
+    }
+}
@@ -0,0 +1,340 @@
+/*
+15. Sample Sort (Super Scalar Sample Sort paralelo)
+O que é? O Sample Sort generaliza o Quick Sort para muitos pivôs de uma vez. Em vez de um pivô e duas partes, ele
+sorteia uma amostra do array (oversampling: várias vezes mais elementos que o número de baldes), ordena a amostra e
+escolhe k - 1 divisores igualmente espaçados nela. Cada elemento é classificado em um dos k baldes, os elementos são
+copiados para os seus baldes e cada balde é ordenado de forma independente. Como a amostra reflete a distribuição
+dos dados, os baldes saem com tamanhos parecidos.
+A variante "super scalar" classifica com uma árvore de decisão sem desvios condicionais: os divisores ficam no layout
+de Eytzinger (como na ArvoreEytzinger) e cada nível faz j = 2j + (x > divisor[j]), sem if. Vários elementos são
+classificados lado a lado no mesmo laço, para que o processador execute as comparações deles em paralelo.
+Aqui tudo é paralelo: cada tarefa classifica e conta um bloco do array, uma soma de prefixos diz onde cada tarefa
+escreve em cada balde, as tarefas redistribuem ao mesmo tempo sem sincronização, e os baldes são ordenados em
+paralelo com o ordenador sequencial (TimSort para int[], Arrays.sort para objetos).
+
+Para que serve? Para ordenar arrays grandes usando todos os núcleos do processador. Um Quick Sort paralelo ingênuo
+particiona o array inteiro em uma única thread no primeiro nível, o que limita o ganho; no Sample Sort, todas as
+fases (classificação, redistribuição e ordenação dos baldes) são divididas entre as threads desde o início.
+
+Vantagens:
+Todas as fases escalam com o número de núcleos; só a amostra (alguns milhares de elementos) é ordenada em uma thread.
+Classificação sem desvios imprevisíveis, com poucos acessos à memória por elemento (a árvore de divisores cabe na cache).
+Cada balde cabe na cache ao ser ordenado.
+Funciona com int[] e com qualquer T[] com Comparator.
+A versão de objetos é estável: elementos iguais sempre caem no mesmo balde, a redistribuição copia cada bloco em
+ordem (a tarefa 0 antes da 1, e assim por diante) e cada balde é ordenado com Arrays.sort, que é estável.
+
+Desvantagens:
+Usa um array auxiliar do tamanho da entrada e um byte por elemento para guardar o balde (o "oráculo").
+Com uma única thread perde para um bom ordenador sequencial, por causa das cópias extras.
+Muitas chaves repetidas concentram elementos em poucos baldes, reduzindo o paralelismo da última fase.
+ */
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+public class SampleSort {
+
+    // Abaixo disto o array inteiro é ordenado de forma sequencial
+    static final int LIMITE_SEQUENCIAL = 1 << 16;
+    // Tamanho de balde desejado: pequeno o bastante para caber na cache ao ser ordenado
+    static final int TAMANHO_DO_BALDE = 1 << 14;
+    // Máximo de baldes: o número do balde de cada elemento cabe em um byte
+    static final int MAXIMO_DE_BALDES = 256;
+    // Elementos da amostra por balde (oversampling)
+    static final int FATOR_DE_AMOSTRAGEM = 16;
+    // Tamanho mínimo do bloco de cada tarefa de classificação e redistribuição
+    static final int TAMANHO_MINIMO_DO_BLOCO = 1 << 15;
+
+    public static void sampleSort(int[] array) {
+        int n = array.length;
+        if (n < LIMITE_SEQUENCIAL) {
+            TimSort.timSort(array);
+            return;
+        }
+        int baldes = quantidadeDeBaldes(n);
+        int niveis = Integer.numberOfTrailingZeros(baldes);
+        int[] divisores = escolherDivisores(array, baldes);
+
+        int tarefas = quantidadeDeTarefas(n);
+        int tamanhoDoBloco = (n + tarefas - 1) / tarefas;
+        byte[] baldeDe = new byte[n];
+        int[][] posicoes = new int[tarefas][baldes]; // Primeiro a contagem, depois onde cada tarefa escreve em cada balde
+
+        // Fase 1: cada tarefa classifica o seu bloco, guarda o balde de cada elemento e conta os tamanhos
+        IntStream.range(0, tarefas).parallel().forEach(t -> {
+            int inicio = t * tamanhoDoBloco;
+            int fim = Math.min(n, inicio + tamanhoDoBloco);
+            int[] contagem = posicoes[t];
+            int i = inicio;
+            // Quatro elementos por vez: as quatro descidas são independentes e o processador as executa juntas
+            for (; i + 3 < fim; i += 4) {
+                int a = array[i];
+                int b = array[i + 1];
+                int c = array[i + 2];
+                int d = array[i + 3];
+                int ja = 1;
+                int jb = 1;
+                int jc = 1;
+                int jd = 1;
+                for (int nivel = 0; nivel < niveis; nivel++) {
+                    ja = 2 * ja + maior(a, divisores[ja]);
+                    jb = 2 * jb + maior(b, divisores[jb]);
+                    jc = 2 * jc + maior(c, divisores[jc]);
+                    jd = 2 * jd + maior(d, divisores[jd]);
+                }
+                baldeDe[i] = (byte) (ja - baldes);
+                baldeDe[i + 1] = (byte) (jb - baldes);
+                baldeDe[i + 2] = (byte) (jc - baldes);
+                baldeDe[i + 3] = (byte) (jd - baldes);
+                contagem[ja - baldes]++;
+                contagem[jb - baldes]++;
+                contagem[jc - baldes]++;
+                contagem[jd - baldes]++;
+            }
+            for (; i < fim; i++) {
+                int x = array[i];
+                int j = 1;
+                for (int nivel = 0; nivel < niveis; nivel++) {
+                    j = 2 * j + maior(x, divisores[j]);
+                }
+                baldeDe[i] = (byte) (j - baldes);
+                contagem[j - baldes]++;
+            }
+        });
+
+        int[] inicioDoBalde = somarPrefixos(posicoes, baldes, n);
+
+        // Fase 2: cada tarefa copia o seu bloco para as suas faixas exclusivas dentro dos baldes
+        int[] auxiliar = new int[n];
+        IntStream.range(0, tarefas).parallel().forEach(t -> {
+            int inicio = t * tamanhoDoBloco;
+            int fim = Math.min(n, inicio + tamanhoDoBloco);
+            int[] destino = posicoes[t];
+            for (int i = inicio; i < fim; i++) {
+                auxiliar[destino[baldeDe[i] & 0xFF]++] = array[i];
+            }
+        });
+
+        // Fase 3: cada balde é ordenado de forma independente e copiado de volta
+        IntStream.range(0, baldes).parallel().forEach(b -> {
+            int inicio = inicioDoBalde[b];
+            int fim = inicioDoBalde[b + 1];
+            TimSort.timSort(auxiliar, inicio, fim - 1);
+            System.arraycopy(auxiliar, inicio, array, inicio, fim - inicio);
+        });
+    }
+
+    // 1 se x > divisor, 0 se não, sem desvio condicional: o sinal de (divisor - x) calculado em long, sem overflow
+    private static int maior(int x, int divisor) {
+        return (int) (((long) divisor - x) >>> 63);
+    }
+
+    /**
+     * Sorteia a amostra, ordena e devolve os k - 1 divisores no layout de Eytzinger (posições 1 a k - 1). Divisores
+     * repetidos (chaves muito frequentes) são eliminados e o fim é completado com o maior deles; os baldes depois
+     * dele ficam vazios em vez de repetir a mesma chave em vários baldes.
+     */
+    private static int[] escolherDivisores(int[] array, int baldes) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        int[] amostra = new int[baldes * FATOR_DE_AMOSTRAGEM];
+        for (int i = 0; i < amostra.length; i++) {
+            amostra[i] = array[aleatorio.nextInt(array.length)];
+        }
+        TimSort.timSort(amostra);
+        int[] ordenados = new int[baldes - 1];
+        int distintos = 0;
+        for (int i = 0; i < baldes - 1; i++) {
+            int divisor = amostra[(i + 1) * FATOR_DE_AMOSTRAGEM - 1];
+            if (distintos == 0 || divisor != ordenados[distintos - 1]) {
+                ordenados[distintos++] = divisor;
+            }
+        }
+        Arrays.fill(ordenados, distintos, baldes - 1, ordenados[distintos - 1]);
+        int[] eytzinger = new int[baldes];
+        preencherEytzinger(ordenados, eytzinger, 1, 0);
+        return eytzinger;
+    }
+
+    // Percurso em ordem das posições da árvore implícita, entregando os divisores ordenados um a um
+    private static int preencherEytzinger(int[] ordenados, int[] eytzinger, int k, int proximo) {
+        if (k < eytzinger.length) {
+            proximo = preencherEytzinger(ordenados, eytzinger, 2 * k, proximo);
+            eytzinger[k] = ordenados[proximo++];
+            proximo = preencherEytzinger(ordenados, eytzinger, 2 * k + 1, proximo);
+        }
+        return proximo;
+    }
+
+    /**
+     * Ordena o array com o Comparator, em paralelo e de forma estável. Mesmo algoritmo da versão int[]; a
+     * classificação não pode ser sem desvios (depende do Comparator), mas continua com poucos acessos à memória por
+     * elemento.
+     */
+    public static <T> void sampleSort(T[] array, Comparator<? super T> comparador) {
+        int n = array.length;
+        if (n < LIMITE_SEQUENCIAL) {
+            Arrays.sort(array, comparador);
+            return;
+        }
+        int baldes = quantidadeDeBaldes(n);
+        int niveis = Integer.numberOfTrailingZeros(baldes);
+        T[] divisores = escolherDivisores(array, baldes, comparador);
+
+        int tarefas = quantidadeDeTarefas(n);
+        int tamanhoDoBloco = (n + tarefas - 1) / tarefas;
+        byte[] baldeDe = new byte[n];
+        int[][] posicoes = new int[tarefas][baldes];
+
+        IntStream.range(0, tarefas).parallel().forEach(t -> {
+            int inicio = t * tamanhoDoBloco;
+            int fim = Math.min(n, inicio + tamanhoDoBloco);
+            int[] contagem = posicoes[t];
+            for (int i = inicio; i < fim; i++) {
+                T x = array[i];
+                int j = 1;
+                for (int nivel = 0; nivel < niveis; nivel++) {
+                    j = 2 * j + (comparador.compare(x, divisores[j]) > 0 ? 1 : 0);
+                }
+                baldeDe[i] = (byte) (j - baldes);
+                contagem[j - baldes]++;
+            }
+        });
+
+        int[] inicioDoBalde = somarPrefixos(posicoes, baldes, n);
+
+        T[] auxiliar = Arrays.copyOf(array, n); // Só para ter um T[] do tamanho certo; o conteúdo é sobrescrito
+        IntStream.range(0, tarefas).parallel().forEach(t -> {
+            int inicio = t * tamanhoDoBloco;
+            int fim = Math.min(n, inicio + tamanhoDoBloco);
+            int[] destino = posicoes[t];
+            for (int i = inicio; i < fim; i++) {
+                auxiliar[destino[baldeDe[i] & 0xFF]++] = array[i];
+            }
+        });
+
+        IntStream.range(0, baldes).parallel().forEach(b -> {
+            int inicio = inicioDoBalde[b];
+            int fim = inicioDoBalde[b + 1];
+            Arrays.sort(auxiliar, inicio, fim, comparador);
+            System.arraycopy(auxiliar, inicio, array, inicio, fim - inicio);
+        });
+    }
+
+    private static <T> T[] escolherDivisores(T[] array, int baldes, Comparator<? super T> comparador) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        T[] amostra = Arrays.copyOf(array, baldes * FATOR_DE_AMOSTRAGEM);
+        for (int i = 0; i < amostra.length; i++) {
+            amostra[i] = array[aleatorio.nextInt(array.length)];
+        }
+        Arrays.sort(amostra, comparador);
+        T[] ordenados = Arrays.copyOf(array, baldes - 1);
+        int distintos = 0;
+        for (int i = 0; i < baldes - 1; i++) {
+            T divisor = amostra[(i + 1) * FATOR_DE_AMOSTRAGEM - 1];
+            if (distintos == 0 || comparador.compare(divisor, ordenados[distintos - 1]) != 0) {
+                ordenados[distintos++] = divisor;
+            }
+        }
+        Arrays.fill(ordenados, distintos, baldes - 1, ordenados[distintos - 1]);
+        T[] eytzinger = Arrays.copyOf(array, baldes);
+        preencherEytzinger(ordenados, eytzinger, 1, 0);
+        return eytzinger;
+    }
+
+    private static <T> int preencherEytzinger(T[] ordenados, T[] eytzinger, int k, int proximo) {
+        if (k < eytzinger.length) {
+            proximo = preencherEytzinger(ordenados, eytzinger, 2 * k, proximo);
+            eytzinger[k] = ordenados[proximo++];
+            proximo = preencherEytzinger(ordenados, eytzinger, 2 * k + 1, proximo);
+        }
+        return proximo;
+    }
+
+    // Potência de 2 entre 2 e MAXIMO_DE_BALDES, com baldes de cerca de TAMANHO_DO_BALDE elementos
+    private static int quantidadeDeBaldes(int n) {
+        return Math.max(2, Math.min(MAXIMO_DE_BALDES, Integer.highestOneBit(n / TAMANHO_DO_BALDE)));
+    }
+
+    // Algumas tarefas por thread, para o balanceamento do ForkJoinPool, mas com blocos grandes o bastante
+    private static int quantidadeDeTarefas(int n) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(4 * threads, n / TAMANHO_MINIMO_DO_BLOCO));
+    }
+
+    /**
+     * Transforma as contagens de cada tarefa em posições de escrita: no balde b, a tarefa 0 escreve primeiro, depois a
+     * tarefa 1, e assim por diante. Devolve o início de cada balde (com n na última posição).
+     */
+    private static int[] somarPrefixos(int[][] posicoes, int baldes, int n) {
+        int[] inicioDoBalde = new int[baldes + 1];
+        int soma = 0;
+        for (int b = 0; b < baldes; b++) {
+            inicioDoBalde[b] = soma;
+            for (int[] contagem : posicoes) {
+                int quantidade = contagem[b];
+                contagem[b] = soma;
+                soma += quantidade;
+            }
+        }
+        inicioDoBalde[baldes] = n;
+        return inicioDoBalde;
+    }
+
+    public static void main(String[] args) {
+        int[] dados = {10, 7, 8, 9, 1, 5, 0, 100, -3, 42};
+        System.out.println("Array antes da ordenação (Sample Sort): " + Arrays.toString(dados));
+        sampleSort(dados); // Array pequeno: vai direto para o TimSort
+        System.out.println("Array depois da ordenação (Sample Sort): " + Arrays.toString(dados));
+        // Esperado: [-3, 0, 1, 5, 7, 8, 9, 10, 42, 100]
+
+        System.out.println("\n--- 20.000.000 de ints aleatórios (" + Runtime.getRuntime().availableProcessors()
+                + " processadores disponíveis) ---");
+        java.util.Random aleatorio = new java.util.Random(1);
+        int[] grande = new int[20_000_000];
+        for (int i = 0; i < grande.length; i++) {
+            grande[i] = aleatorio.nextInt();
+        }
+        for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada aquece o compilador JIT
+            int[] copia = grande.clone();
+            long inicio = System.nanoTime();
+            sampleSort(copia);
+            long tempoSampleSort = System.nanoTime() - inicio;
+            int[] referencia = grande.clone();
+            inicio = System.nanoTime();
+            Arrays.parallelSort(referencia);
+            long tempoParallelSort = System.nanoTime() - inicio;
+            int[] sequencial = grande.clone();
+            inicio = System.nanoTime();
+            TimSort.timSort(sequencial);
+            long tempoTimSort = System.nanoTime() - inicio;
+            System.out.printf("Sample Sort: %d ms, Arrays.parallelSort: %d ms, TimSort sequencial: %d ms (mesmo resultado? %b)%n",
+                    tempoSampleSort / 1_000_000, tempoParallelSort / 1_000_000, tempoTimSort / 1_000_000,
+                    Arrays.equals(copia, referencia) && Arrays.equals(sequencial, referencia)); // Esperado: true
+        }
+        // O ganho do Sample Sort sobre o Arrays.parallelSort aparece com muitos núcleos; com um ou dois, as cópias
+        // extras pesam mais que o paralelismo
+
+        System.out.println("\n--- 2.000.000 de pedidos ordenados por valor e depois por id, com Comparator ---");
+        long[][] pedidos = new long[2_000_000][];
+        for (int i = 0; i < pedidos.length; i++) {
+            pedidos[i] = new long[]{i, aleatorio.nextInt(10_000)}; // {id, valor em centavos}
+        }
+        Comparator<long[]> porValorEId = Comparator.<long[]>comparingLong(p -> p[1]).thenComparingLong(p -> p[0]);
+        for (int rodada = 0; rodada < 2; rodada++) {
+            long[][] copia = pedidos.clone();
+            long inicio = System.nanoTime();
+            sampleSort(copia, porValorEId);
+            long tempoSampleSort = System.nanoTime() - inicio;
+            long[][] referencia = pedidos.clone();
+            inicio = System.nanoTime();
+            Arrays.parallelSort(referencia, porValorEId);
+            long tempoParallelSort = System.nanoTime() - inicio;
+            System.out.printf("Sample Sort: %d ms, Arrays.parallelSort: %d ms (mesmo resultado? %b)%n",
+                    tempoSampleSort / 1_000_000, tempoParallelSort / 1_000_000, Arrays.equals(copia, referencia));
+            // Esperado: true
+        }
+    }
+}
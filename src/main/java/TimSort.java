@@ -124,46 +124,60 @@ public class TimSort {
      * @param array O array a ser ordenado.
      */
     public static void timSort(int[] array) {
-        int n = array.length;
+        timSort(array, 0, array.length - 1);
+    }
+
+    /**
+     * Ordena só o subarray array[inicio...fim] (fim incluído), com o mesmo algoritmo.
+     * Usado, por exemplo, pelo SampleSort para ordenar cada balde no lugar.
+     *
+     * @param array O array que contém o subarray.
+     * @param inicio O índice inicial do subarray.
+     * @param fim O índice final do subarray.
+     */
+    public static void timSort(int[] array, int inicio, int fim) {
+        int n = fim - inicio + 1;
         if (n < 2) {
             return; // Já está ordenado ou não há o que ordenar.
         }
         // Se o array for muito pequeno, usar Insertion Sort diretamente é mais eficiente.
         if (n < RUN) {
-            insertionSort(array, 0, n - 1);
+            insertionSort(array, inicio, fim);
             return;
         }
 
         // Passo 1: Ordenar "runs" individuais de tamanho RUN usando Insertion Sort.
-        // O loop percorre o array em blocos de tamanho RUN.
+        // O loop percorre o subarray em blocos de tamanho RUN.
         // Para cada bloco, chama insertionSort.
         // O último bloco pode ser menor que RUN.
-        for (int i = 0; i < n; i += RUN) {
-            // 'Math.min((i + RUN - 1), (n - 1))' garante que não ultrapassemos o final do array.
-            // O índice final do run é o menor entre (incio do run + RUN - 1) e (último índice do array).
-            insertionSort(array, i, Math.min((i + RUN - 1), (n - 1)));
+        for (int i = inicio; i <= fim; i += RUN) {
+            // 'Math.min((i + RUN - 1), fim)' garante que não ultrapassemos o final do subarray.
+            // O índice final do run é o menor entre (início do run + RUN - 1) e (último índice do subarray).
+            insertionSort(array, i, Math.min((i + RUN - 1), fim));
         }
 
         // Passo 2: Começar a mesclar os "runs" ordenados.
         // Começa com o tamanho do run 'RUN' e dobra a cada iteração (RUN, 2*RUN, 4*RUN, ...).
-        // O loop continua enquanto o tamanho do run atual for menor que 'n' (o tamanho total do array),
+        // O loop continua enquanto o tamanho do run atual for menor que 'n' (o tamanho total do subarray),
         // pois isso significa que ainda há runs para serem mesclados em runs maiores.
         for (int tamanhoRunAtual = RUN; tamanhoRunAtual < n; tamanhoRunAtual = 2 * tamanhoRunAtual) {
             // Pega o ponto de partida do subarray esquerdo a ser mesclado.
-            // O loop percorre o array, pegando pares de subarrays (runs) para mesclar.
+            // O loop percorre o subarray, pegando pares de runs para mesclar.
             // O incremento é de 2 * tamanhoRunAtual porque estamos processando dois runs de cada vez.
-            for (int inicio = 0; inicio < n; inicio += 2 * tamanhoRunAtual) {
-                // Encontra o ponto meio' é o final do primeiro subarray (run).
-                // 'fim' é o final do segundo subarray (run).
-                int meio = Math.min((inicio + tamanhoRunAtual - 1), (n - 1)); // Garante que 'meio' não ultrapasse o array
-                int fim = Math.min((inicio + 2 * tamanhoRunAtual - 1), (n - 1)); // Garante que 'fim' não ultrapasse o array
-
-                // Mescla array[inicio...meio] e array[meio+1...fim].
-                // Só mescla se o segundo subarray (run) existir (ou seja, meio < fim).
-                // Se meio >= fim, significa que não há um segundo run completo para mesclar ou
-                // que estamos no final do array com apenas um run restante (que já está ordenado).
-                if (meio < fim) {
-                    merge(array, inicio, meio, fim);
+            for (int esquerda = inicio; esquerda <= fim; esquerda += 2 * tamanhoRunAtual) {
+                // 'meio' é o final do primeiro run.
+                // 'direita' é o final do segundo run.
+                int meio = Math.min((esquerda + tamanhoRunAtual - 1), fim); // Garante que 'meio' não ultrapasse o subarray
+                int direita = Math.min((esquerda + 2 * tamanhoRunAtual - 1), fim); // Garante que 'direita' não ultrapasse o subarray
+
+                // Mescla array[esquerda...meio] e array[meio+1...direita].
+                // Só mescla se o segundo run existir (ou seja, meio < direita).
+                // Se meio >= direita, significa que não há um segundo run completo para mesclar ou
+                // que estamos no final do subarray com apenas um run restante (que já está ordenado).
+                // Se o último do primeiro run já é <= o primeiro do segundo, os dois juntos já estão em ordem e a
+                // mesclagem é pulada (dados já ordenados não fazem nenhuma mesclagem).
+                if (meio < direita && array[meio] > array[meio + 1]) {
+                    merge(array, esquerda, meio, direita);
                 }
             }
         }